@@ -0,0 +1,30 @@
+--// Add denormalized coordinates to marketplace_listings for search-index geo queries
+--// Migration: 20260125090000
+--// Feature: F12.2 - Marketplace radius search in Elasticsearch
+
+-- Copy geo_cities latitude/longitude onto each listing so Hibernate Search can index a geo_point
+-- (@GeoPointBinding on MarketplaceListing). Radius filtering, distance sorting and pagination then run in
+-- Elasticsearch instead of over-fetching hits and re-filtering them with PostGIS.
+-- Kept in sync by MarketplaceListing.create()/update() whenever geo_city_id changes.
+ALTER TABLE marketplace_listings
+ADD COLUMN latitude DOUBLE PRECISION,
+ADD COLUMN longitude DOUBLE PRECISION;
+
+-- Backfill from the referenced city
+UPDATE marketplace_listings ml
+SET latitude = gc.latitude::DOUBLE PRECISION,
+    longitude = gc.longitude::DOUBLE PRECISION
+FROM geo_cities gc
+WHERE gc.id = ml.geo_city_id;
+
+-- Comments
+COMMENT ON COLUMN marketplace_listings.latitude IS 'Copy of geo_cities.latitude for geo_city_id (search index geo_point)';
+COMMENT ON COLUMN marketplace_listings.longitude IS 'Copy of geo_cities.longitude for geo_city_id (search index geo_point)';
+
+-- NOTE: Existing documents gain the "location" field after a mass reindex of MarketplaceListing.
+
+--//@UNDO
+-- Undo SQL: Remove coordinate columns
+
+ALTER TABLE marketplace_listings DROP COLUMN IF EXISTS longitude;
+ALTER TABLE marketplace_listings DROP COLUMN IF EXISTS latitude;
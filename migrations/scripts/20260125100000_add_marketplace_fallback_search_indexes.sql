@@ -0,0 +1,73 @@
+--// Add full-text, trigram and keyset indexes for the Postgres marketplace search engine
+--// Migration: 20260125100000
+--// Feature: F12.2 - Marketplace search (Postgres fallback parity)
+-- Dependencies: 20250110002300_add_marketplace_search_indexes.sql, 20260125090000_add_listing_coordinates.sql
+
+-- Trigram operators (word similarity on titles for typo-tolerant matching)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- FULL-TEXT INDEX
+-- Purpose: Replace ILIKE '%query%' seq scans in the Postgres fallback
+-- Used by: MarketplaceSearchService.searchWithPostgres / countWithPostgres
+-- NOTE: Expression must match the query text exactly:
+--   to_tsvector('english', ml.title || ' ' || ml.description) @@ websearch_to_tsquery('english', :query)
+-- Expression index rather than a generated column so the entity mapping (and test schema) is unchanged.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_marketplace_listings_fts
+ON marketplace_listings USING GIN (to_tsvector('english', title || ' ' || description))
+WHERE status = 'active';
+
+COMMENT ON INDEX idx_marketplace_listings_fts IS
+'English full-text index on title + description for Postgres marketplace search. '
+'Partial index includes only active listings.';
+
+-- TRIGRAM INDEX
+-- Purpose: Typo tolerance comparable to Elasticsearch fuzzy matching (:query <% title)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_marketplace_listings_title_trgm
+ON marketplace_listings USING GIN (title gin_trgm_ops)
+WHERE status = 'active';
+
+COMMENT ON INDEX idx_marketplace_listings_title_trgm IS
+'Trigram index on title for fuzzy (word similarity) matching in Postgres marketplace search.';
+
+-- KEYSET INDEXES
+-- Purpose: Cursor pagination seeks directly to (sort value, id) instead of scanning OFFSET rows
+-- Column order and NULLS placement match the ORDER BY clauses in MarketplaceSearchService
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_marketplace_listings_newest_keyset
+ON marketplace_listings (created_at DESC, id DESC)
+WHERE status = 'active';
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_marketplace_listings_price_asc_keyset
+ON marketplace_listings (price ASC NULLS LAST, id ASC)
+WHERE status = 'active';
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_marketplace_listings_price_desc_keyset
+ON marketplace_listings (price DESC NULLS LAST, id DESC)
+WHERE status = 'active';
+
+COMMENT ON INDEX idx_marketplace_listings_newest_keyset IS
+'Keyset pagination index for newest-first marketplace search (created_at DESC, id DESC).';
+COMMENT ON INDEX idx_marketplace_listings_price_asc_keyset IS
+'Keyset pagination index for price ascending marketplace search (price ASC NULLS LAST, id ASC).';
+COMMENT ON INDEX idx_marketplace_listings_price_desc_keyset IS
+'Keyset pagination index for price descending marketplace search (price DESC NULLS LAST, id DESC).';
+
+-- COORDINATE INDEX
+-- Purpose: Bounding-box prefilter on listing coordinates ahead of ST_DWithin() in radius searches
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_marketplace_listings_coordinates
+ON marketplace_listings (latitude, longitude)
+WHERE status = 'active' AND latitude IS NOT NULL;
+
+COMMENT ON INDEX idx_marketplace_listings_coordinates IS
+'Bounding-box index on denormalized listing coordinates for Postgres radius search.';
+
+ANALYZE marketplace_listings;
+
+--//@UNDO
+-- Undo SQL: Drop fallback search indexes (pg_trgm extension is left installed)
+
+DROP INDEX IF EXISTS idx_marketplace_listings_coordinates;
+DROP INDEX IF EXISTS idx_marketplace_listings_price_desc_keyset;
+DROP INDEX IF EXISTS idx_marketplace_listings_price_asc_keyset;
+DROP INDEX IF EXISTS idx_marketplace_listings_newest_keyset;
+DROP INDEX IF EXISTS idx_marketplace_listings_title_trgm;
+DROP INDEX IF EXISTS idx_marketplace_listings_fts;
@@ -0,0 +1,27 @@
+--// Add claim tracking for concurrent email dispatch
+--// Migration: 20260125110000
+--// Feature: I5.T3 - Email Notification Service (parallel dispatcher)
+-- Dependencies: 20260123000600_create_email_delivery_logs.sql
+
+-- claimed_at: when a dispatcher flipped the row to SENDING, or when a failed send was requeued (retry backoff clock)
+-- Used by EmailDeliveryLog.claimBatch to reclaim rows stuck in SENDING after a pod dies mid-batch
+ALTER TABLE email_delivery_logs ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMPTZ;
+
+COMMENT ON COLUMN email_delivery_logs.claimed_at IS
+'Last dispatcher claim (SENDING) or requeue (QUEUED) time; drives stale-claim recovery and retry backoff';
+
+-- DISPATCH CLAIM INDEX
+-- Purpose: FIFO claim scan over the undelivered rows only (QUEUED plus in-flight SENDING)
+-- Used by: UPDATE ... WHERE id IN (SELECT ... ORDER BY created_at LIMIT n FOR UPDATE SKIP LOCKED)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_email_delivery_logs_dispatch
+ON email_delivery_logs (created_at)
+WHERE status IN ('QUEUED', 'SENDING');
+
+COMMENT ON INDEX idx_email_delivery_logs_dispatch IS
+'Partial index of undelivered emails in queue order for EmailDispatchService claims.';
+
+--//@UNDO
+-- Undo SQL: Drop dispatch index and claim column
+
+DROP INDEX IF EXISTS idx_email_delivery_logs_dispatch;
+ALTER TABLE email_delivery_logs DROP COLUMN IF EXISTS claimed_at;
@@ -0,0 +1,19 @@
+--// Add unread-notification index for the batched notification digest
+--// Migration: 20260125120000
+--// Feature: F14.3 - Email Communication (notification digest)
+-- Dependencies: 20260122000100_create_user_notifications.sql
+
+-- UNREAD NOTIFICATIONS INDEX
+-- Purpose: Per-user unread lookups bounded by created_at, without scanning read notifications
+-- Used by: NotificationDigestService recipient page (EXISTS subquery) and per-page unread notification load
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_notifications_unread
+ON user_notifications (user_id, created_at DESC)
+WHERE read_at IS NULL;
+
+COMMENT ON INDEX idx_user_notifications_unread IS
+'Partial index of unread notifications per user for digest generation and unread lookups.';
+
+--//@UNDO
+-- Undo SQL: Drop unread notifications index
+
+DROP INDEX IF EXISTS idx_user_notifications_unread;
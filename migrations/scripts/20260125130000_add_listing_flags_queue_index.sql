@@ -0,0 +1,19 @@
+--// Add moderation queue keyset index on listing flags
+--// Migration: 20260125130000
+--// Feature: F12.9 - Moderation & fraud detection (moderation queue)
+-- Dependencies: 20250110002500_create_listing_flags.sql
+
+-- MODERATION QUEUE INDEX
+-- Purpose: Serve a queue page (flags of one status, newest first) as an index range scan that starts after the
+--          keyset cursor (created_at, id), instead of sorting all flags of the status and skipping the offset
+-- Used by: ModerationQueueService page query (GET /admin/api/moderation/queue)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_listing_flags_status_created_id
+ON listing_flags (status, created_at DESC, id DESC);
+
+COMMENT ON INDEX idx_listing_flags_status_created_id IS
+'Moderation queue order per status with id tie-breaker for keyset pagination.';
+
+--//@UNDO
+-- Undo SQL: Drop moderation queue index
+
+DROP INDEX IF EXISTS idx_listing_flags_status_created_id;
@@ -0,0 +1,16 @@
+--// Track the last digest window per user so interrupted digest runs can be retried
+--// Migration: 20260125140000
+--// Feature: F14.3 - Email Communication (notification digest)
+-- Dependencies: 20260122000200_create_notification_preferences.sql
+
+-- last_digest_since: start of the newest digest window a digest was queued for
+-- Set in the same transaction as the digest row; NotificationDigestService skips users already sent for the window
+ALTER TABLE notification_preferences ADD COLUMN IF NOT EXISTS last_digest_since TIMESTAMPTZ;
+
+COMMENT ON COLUMN notification_preferences.last_digest_since IS
+'Window start (since) of the last queued notification digest; a retried run skips users at or past this window';
+
+--//@UNDO
+-- Undo SQL: Drop digest window column
+
+ALTER TABLE notification_preferences DROP COLUMN IF EXISTS last_digest_since;
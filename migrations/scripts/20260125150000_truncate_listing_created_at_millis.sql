@@ -0,0 +1,14 @@
+--// Truncate marketplace listing created_at to milliseconds
+--// Migration: 20260125150000
+--// Feature: F12.2 - Marketplace search (keyset cursors across engines)
+-- Dependencies: 20260125100000_add_marketplace_fallback_search_indexes.sql
+
+-- Elasticsearch indexes createdAt in milliseconds; PostgreSQL kept microseconds. A newest-first cursor issued by one
+-- engine could then skip or repeat listings created within the same millisecond on the other. New listings are
+-- truncated on persist (MarketplaceListing.truncateCreatedAt); this aligns existing rows with their indexed value.
+UPDATE marketplace_listings
+SET created_at = date_trunc('milliseconds', created_at)
+WHERE created_at <> date_trunc('milliseconds', created_at);
+
+--//@UNDO
+-- Undo SQL: None (the discarded microseconds cannot be restored and are not needed)
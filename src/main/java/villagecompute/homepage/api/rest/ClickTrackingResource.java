@@ -2,6 +2,7 @@ package villagecompute.homepage.api.rest;
 
 import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import io.vertx.core.json.JsonObject;
 import jakarta.annotation.security.PermitAll;
 import jakarta.inject.Inject;
@@ -14,13 +15,14 @@ import jakarta.ws.rs.core.Response;
 import org.jboss.logging.Logger;
 import villagecompute.homepage.api.types.ClickEventType;
 import villagecompute.homepage.data.models.LinkClick;
+import villagecompute.homepage.services.DatabaseBound;
+import villagecompute.homepage.services.DatabaseConcurrencyLimiter;
 import villagecompute.homepage.services.RateLimitService;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * Click tracking endpoint for analytics (Policy F14.9).
@@ -48,6 +50,7 @@ import java.util.concurrent.CompletableFuture;
  * @see villagecompute.homepage.jobs.ClickRollupJobHandler for aggregation
  */
 @Path("/track")
+@RunOnVirtualThread
 public class ClickTrackingResource {
 
     private static final Logger LOG = Logger.getLogger(ClickTrackingResource.class);
@@ -55,6 +58,9 @@ public class ClickTrackingResource {
     @Inject
     RateLimitService rateLimitService;
 
+    @Inject
+    DatabaseConcurrencyLimiter limiter;
+
     @Context
     SecurityIdentity securityIdentity;
 
@@ -108,6 +114,7 @@ public class ClickTrackingResource {
     @PermitAll
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
+    @DatabaseBound
     @Transactional
     public Response trackClick(@Valid ClickEventType event) {
         try {
@@ -207,8 +214,8 @@ public class ClickTrackingResource {
      * </p>
      *
      * <p>
-     * This endpoint tracks the click asynchronously and immediately redirects to the target URL. It's designed for use
-     * in HTML href attributes where POST is not convenient.
+     * This endpoint records the click and redirects to the target URL; a failure to record the click never blocks the
+     * redirect. It's designed for use in HTML href attributes where POST is not convenient.
      *
      * @param url
      *            target URL to redirect to
@@ -291,44 +298,30 @@ public class ClickTrackingResource {
                 }
             }
 
-            // Capture variables for async lambda (must be final)
-            final UUID finalUserId = userId;
-            final String finalSessionId = sessionId;
-            final UUID finalTargetId = targetId;
-            final UUID finalCategoryId = categoryId;
-            final JsonObject finalMetadata = metadataJson;
-            final String finalIpAddress = ipAddress;
-            final String finalUserAgent = getUserAgent();
-            final String finalReferer = getReferer();
-            final String finalUrl = url;
-            final String finalSource = source;
-
-            // Create LinkClick entity (asynchronously to avoid blocking redirect)
-            CompletableFuture.runAsync(() -> {
-                try {
-                    QuarkusTransaction.requiringNew().run(() -> {
-                        LinkClick click = new LinkClick();
-                        Instant now = Instant.now();
-                        click.clickDate = LocalDate.now();
-                        click.clickTimestamp = now;
-                        // Map source to click_type
-                        click.clickType = mapSourceToClickType(finalSource);
-                        click.targetId = finalTargetId;
-                        click.targetUrl = finalUrl;
-                        click.userId = finalUserId;
-                        click.sessionId = finalSessionId;
-                        click.ipAddress = sanitizeIpAddress(finalIpAddress);
-                        click.userAgent = sanitizeUserAgent(finalUserAgent);
-                        click.referer = finalReferer;
-                        click.categoryId = finalCategoryId;
-                        click.setMetadataFromJson(finalMetadata);
-                        click.createdAt = now;
-                        click.persist();
-                    });
-                } catch (Exception e) {
-                    LOG.errorf(e, "Failed to persist click event asynchronously: url=%s", finalUrl);
-                }
-            });
+            // Persist on this (virtual) thread under a database permit; no permit or a failed insert still redirects
+            LinkClick click = new LinkClick();
+            Instant now = Instant.now();
+            click.clickDate = LocalDate.now();
+            click.clickTimestamp = now;
+            // Map source to click_type
+            click.clickType = mapSourceToClickType(source);
+            click.targetId = targetId;
+            click.targetUrl = url;
+            click.userId = userId;
+            click.sessionId = sessionId;
+            click.ipAddress = sanitizeIpAddress(ipAddress);
+            click.userAgent = sanitizeUserAgent(getUserAgent());
+            click.referer = getReferer();
+            click.categoryId = categoryId;
+            click.setMetadataFromJson(metadataJson);
+            click.createdAt = now;
+            try {
+                limiter.run(() -> QuarkusTransaction.requiringNew().run(click::persist));
+            } catch (ServiceUnavailableException e) {
+                LOG.warnf("No database permit for click event, skipping: url=%s", url);
+            } catch (Exception e) {
+                LOG.errorf(e, "Failed to persist click event: url=%s", url);
+            }
 
             // Redirect immediately
             return Response.temporaryRedirect(java.net.URI.create(url)).build();
@@ -27,10 +27,12 @@ import villagecompute.homepage.data.models.User;
 import villagecompute.homepage.exceptions.ResourceNotFoundException;
 import villagecompute.homepage.exceptions.ValidationException;
 import villagecompute.homepage.services.DirectoryService;
+import villagecompute.homepage.services.EntityLookup;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -67,6 +69,9 @@ public class GoodSitesModerationResource {
     @Inject
     DirectoryService directoryService;
 
+    @Inject
+    EntityLookup entityLookup;
+
     @Context
     SecurityIdentity securityIdentity;
 
@@ -109,12 +114,20 @@ public class GoodSitesModerationResource {
             pendingSubmissions = pendingSubmissions.stream().filter(sc -> sc.categoryId.equals(categoryId)).toList();
         }
 
+        // Load sites, categories and submitters with one query each
+        Map<UUID, DirectorySite> sites = entityLookup.getAll(DirectorySite.class,
+                pendingSubmissions.stream().map(sc -> sc.siteId).toList());
+        Map<UUID, DirectoryCategory> categories = entityLookup
+                .directoryCategories(pendingSubmissions.stream().map(sc -> sc.categoryId).toList());
+        Map<UUID, User> submitters = entityLookup
+                .users(pendingSubmissions.stream().map(sc -> sc.submittedByUserId).toList());
+
         // Build moderation queue items
         List<ModerationQueueItem> queueItems = new ArrayList<>();
         for (DirectorySiteCategory sc : pendingSubmissions) {
-            DirectorySite site = DirectorySite.findById(sc.siteId);
-            DirectoryCategory category = DirectoryCategory.findById(sc.categoryId);
-            User submitter = User.findById(sc.submittedByUserId);
+            DirectorySite site = sites.get(sc.siteId);
+            DirectoryCategory category = categories.get(sc.categoryId);
+            User submitter = submitters.get(sc.submittedByUserId);
 
             if (site != null && category != null && submitter != null) {
                 queueItems.add(new ModerationQueueItem(sc.id, DirectorySiteType.fromEntity(site),
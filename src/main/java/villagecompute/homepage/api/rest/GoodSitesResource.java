@@ -4,6 +4,7 @@ import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import io.quarkus.security.UnauthorizedException;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
@@ -25,7 +26,9 @@ import villagecompute.homepage.api.types.*;
 import villagecompute.homepage.data.models.*;
 import villagecompute.homepage.exceptions.ResourceNotFoundException;
 import villagecompute.homepage.exceptions.ValidationException;
+import villagecompute.homepage.services.DatabaseBound;
 import villagecompute.homepage.services.DirectoryVotingService;
+import villagecompute.homepage.services.EntityLookup;
 import villagecompute.homepage.services.RateLimitService;
 
 import java.util.*;
@@ -61,6 +64,7 @@ import java.util.*;
 @Tag(
         name = "Directory",
         description = "Good Sites web directory browsing and voting")
+@RunOnVirtualThread
 public class GoodSitesResource {
 
     private static final Logger LOG = Logger.getLogger(GoodSitesResource.class);
@@ -74,6 +78,9 @@ public class GoodSitesResource {
     @Inject
     RateLimitService rateLimitService;
 
+    @Inject
+    EntityLookup entityLookup;
+
     @Context
     SecurityIdentity securityIdentity;
 
@@ -110,6 +117,7 @@ public class GoodSitesResource {
     @PermitAll
     @Produces(MediaType.TEXT_HTML)
     @Transactional
+    @DatabaseBound
     @Operation(
             summary = "Directory homepage",
             description = "Displays the Good Sites directory homepage with root categories and top-ranked popular sites")
@@ -165,6 +173,7 @@ public class GoodSitesResource {
     @PermitAll
     @Produces(MediaType.TEXT_HTML)
     @Transactional
+    @DatabaseBound
     @Operation(
             summary = "Category page",
             description = "Displays a category page with sites, subcategories, breadcrumbs, and voting controls. "
@@ -265,6 +274,7 @@ public class GoodSitesResource {
     @PermitAll
     @Produces(MediaType.TEXT_HTML)
     @Transactional
+    @DatabaseBound
     @Operation(
             summary = "Site detail page",
             description = "Displays detailed information about a specific site including title, description, "
@@ -300,10 +310,12 @@ public class GoodSitesResource {
         List<DirectorySiteCategory> siteCategories = DirectorySiteCategory.findBySiteId(id);
 
         // Build category membership list
+        Map<UUID, DirectoryCategory> categoriesById = entityLookup
+                .directoryCategories(siteCategories.stream().map(sc -> sc.categoryId).toList());
         List<SiteDetailType.SiteCategoryMembership> categories = new ArrayList<>();
         for (DirectorySiteCategory sc : siteCategories) {
             if ("approved".equals(sc.status)) {
-                DirectoryCategory category = DirectoryCategory.findById(sc.categoryId);
+                DirectoryCategory category = categoriesById.get(sc.categoryId);
                 if (category != null) {
                     categories.add(new SiteDetailType.SiteCategoryMembership(DirectoryCategoryType.fromEntity(category),
                             sc.id, sc.score, sc.upvotes, sc.downvotes, sc.rankInCategory, sc.status));
@@ -346,6 +358,7 @@ public class GoodSitesResource {
     @PermitAll
     @Produces(MediaType.TEXT_HTML)
     @Transactional
+    @DatabaseBound
     @Operation(
             summary = "Search directory sites",
             description = "Full-text search across site titles and descriptions. Returns top 50 results sorted by title.")
@@ -435,6 +448,7 @@ public class GoodSitesResource {
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
     @Transactional
+    @DatabaseBound
     @Operation(
             summary = "Cast or update vote",
             description = "Casts or updates a vote on a site-category membership. Vote value must be +1 (upvote) or -1 (downvote). "
@@ -536,6 +550,7 @@ public class GoodSitesResource {
     @RolesAllowed({"user", "super_admin", "support", "ops"})
     @Produces(MediaType.APPLICATION_JSON)
     @Transactional
+    @DatabaseBound
     @Operation(
             summary = "Remove vote",
             description = "Removes the user's vote from a site-category membership. Requires authentication.")
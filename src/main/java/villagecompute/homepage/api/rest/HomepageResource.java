@@ -7,6 +7,7 @@ import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.CookieParam;
 import jakarta.ws.rs.GET;
@@ -76,6 +77,7 @@ import java.util.stream.Collectors;
 @Tag(
         name = "Homepage",
         description = "Homepage rendering and customization endpoints")
+@RunOnVirtualThread
 public class HomepageResource {
 
     private static final Logger LOG = Logger.getLogger(HomepageResource.class);
@@ -25,6 +25,7 @@ import villagecompute.homepage.api.types.StorageUploadResultType;
 import villagecompute.homepage.data.models.MarketplaceListing;
 import villagecompute.homepage.data.models.MarketplaceListingImage;
 import villagecompute.homepage.jobs.JobType;
+import villagecompute.homepage.observability.MeterCache;
 import villagecompute.homepage.services.DelayedJobService;
 import villagecompute.homepage.services.StorageGateway;
 
@@ -106,6 +107,9 @@ public class ListingImageResource {
     @Inject
     MeterRegistry meterRegistry;
 
+    @Inject
+    MeterCache meters;
+
     /**
      * Upload new image for a listing.
      *
@@ -262,7 +266,7 @@ public class ListingImageResource {
         LOG.infof("Enqueued image processing job: imageId=%s, listingId=%s", image.id, listingId);
 
         // 7. Export metrics
-        meterRegistry.counter("marketplace.images.uploaded.total", "listing_id", listingId.toString()).increment();
+        meters.counter("marketplace.images.uploaded.total", null, "listing_id", listingId.toString()).increment();
 
         // 8. Return response
         return Response.status(202)
@@ -460,7 +464,7 @@ public class ListingImageResource {
         LOG.infof("Deleted %d image records, freed %d bytes", deletedCount, totalBytesFreed);
 
         // 6. Export metrics
-        meterRegistry.counter("marketplace.images.deleted.total", "listing_id", listingId.toString())
+        meters.counter("marketplace.images.deleted.total", null, "listing_id", listingId.toString())
                 .increment(deletedCount);
 
         meterRegistry.counter("marketplace.storage.bytes.freed", "bucket", "listings").increment(totalBytesFreed);
@@ -17,6 +17,7 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
@@ -25,9 +26,12 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import villagecompute.homepage.api.types.CitySuggestionType;
+import villagecompute.homepage.api.types.FacetedSearchResultsType;
 import villagecompute.homepage.api.types.ListingSearchResultType;
 import villagecompute.homepage.api.types.SearchCriteria;
 import villagecompute.homepage.api.types.SearchResultsType;
+import villagecompute.homepage.services.GeoGazetteer;
 import villagecompute.homepage.services.MarketplaceSearchService;
 
 /**
@@ -38,7 +42,14 @@ import villagecompute.homepage.services.MarketplaceSearchService;
  * is publicly accessible (no authentication required) to enable anonymous users to browse listings.
  *
  * <p>
- * <b>Endpoint:</b> {@code GET /api/marketplace/search}
+ * <b>Endpoints:</b>
+ * <ul>
+ * <li>{@code GET /api/marketplace/search} - results and total count</li>
+ * <li>{@code GET /api/marketplace/search/faceted} - results, total count and category / price range / recency facet
+ * counts in one search round trip (same query parameters)</li>
+ * <li>{@code GET /api/marketplace/search/cities} - city autocomplete for the {@code location} parameter</li>
+ * <li>{@code GET /api/marketplace/search/cities/nearest} - nearest city to a coordinate ("near me")</li>
+ * </ul>
  *
  * <p>
  * <b>Query Parameters:</b>
@@ -55,6 +66,8 @@ import villagecompute.homepage.services.MarketplaceSearchService;
  * <li>{@code sort} - Sorting option: "newest" (default), "price_asc", "price_desc", "distance", optional</li>
  * <li>{@code offset} - Pagination offset (0-based), default: 0</li>
  * <li>{@code limit} - Results per page (1-100), default: 25</li>
+ * <li>{@code cursor} - Keyset cursor from the previous response's {@code nextCursor}; replaces {@code offset} for
+ * deep pages (not supported with {@code sort=distance}), optional</li>
  * </ul>
  *
  * <p>
@@ -99,7 +112,8 @@ import villagecompute.homepage.services.MarketplaceSearchService;
  *   ],
  *   "totalCount": 47,
  *   "offset": 0,
- *   "limit": 25
+ *   "limit": 25,
+ *   "nextCursor": null
  * }
  * </pre>
  *
@@ -120,12 +134,14 @@ import villagecompute.homepage.services.MarketplaceSearchService;
  * @see MarketplaceSearchService
  * @see SearchCriteria
  * @see SearchResultsType
+ * @see FacetedSearchResultsType
  */
 @Path("/api/marketplace/search")
 @Produces(MediaType.APPLICATION_JSON)
 @Tag(
         name = "Marketplace",
         description = "Marketplace listing search and management operations")
+@RunOnVirtualThread
 public class MarketplaceSearchResource {
 
     private static final Logger LOG = Logger.getLogger(MarketplaceSearchResource.class);
@@ -133,6 +149,9 @@ public class MarketplaceSearchResource {
     @Inject
     MarketplaceSearchService searchService;
 
+    @Inject
+    GeoGazetteer gazetteer;
+
     /**
      * Searches marketplace listings with filters and pagination.
      *
@@ -163,6 +182,8 @@ public class MarketplaceSearchResource {
      *            Pagination offset (0-based), default: 0
      * @param limit
      *            Results per page (1-100), default: 25
+     * @param cursor
+     *            Keyset cursor from the previous page (optional)
      * @return Search results with pagination metadata
      */
     @GET
@@ -222,34 +243,31 @@ public class MarketplaceSearchResource {
                     example = "0") @QueryParam("offset") @DefaultValue("0") int offset,
             @Parameter(
                     description = "Results per page (1-100)",
-                    example = "25") @QueryParam("limit") @DefaultValue("25") int limit) {
-
-        // Validate limit (max 100)
-        if (limit > 100) {
-            LOG.warnf("Limit %d exceeds maximum (100), capping to 100", limit);
-            limit = 100;
-        }
+                    example = "25") @QueryParam("limit") @DefaultValue("25") int limit,
+            @Parameter(
+                    description = "Keyset cursor from the previous page's nextCursor (takes precedence over offset)") @QueryParam("cursor") String cursor) {
 
         // Build search criteria
         SearchCriteria criteria;
         try {
-            criteria = new SearchCriteria(query, categoryId, minPrice, maxPrice, geoCityId, radiusMiles, hasImages,
-                    minDate, maxDate, sortBy, offset, limit);
+            criteria = buildCriteria(query, categoryId, minPrice, maxPrice, geoCityId, radiusMiles, hasImages, minDate,
+                    maxDate, sortBy, offset, limit, cursor);
         } catch (IllegalArgumentException e) {
-            LOG.warnf(e, "Invalid search parameters: %s", e.getMessage());
-            return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build();
+            return invalidParameters(e);
         }
 
         // Log search request
         LOG.infof("Search request: query=%s, category=%s, location=%s, radius=%s, offset=%d, limit=%d", query,
-                categoryId, geoCityId, radiusMiles, offset, limit);
+                categoryId, geoCityId, radiusMiles, criteria.offset(), criteria.limit());
 
         // Execute search
         try {
-            List<ListingSearchResultType> results = searchService.searchListings(criteria);
+            MarketplaceSearchService.ListingPage page = searchService.searchPage(criteria);
+            List<ListingSearchResultType> results = page.results();
             long totalCount = searchService.countListings(criteria);
 
-            SearchResultsType response = new SearchResultsType(results, totalCount, offset, limit);
+            SearchResultsType response = new SearchResultsType(results, totalCount, criteria.offset(),
+                    criteria.limit(), page.nextCursor());
 
             LOG.infof("Search returned %d results (total: %d)", results.size(), totalCount);
             return Response.ok(response).build();
@@ -260,6 +278,217 @@ public class MarketplaceSearchResource {
         }
     }
 
+    /**
+     * Searches marketplace listings and returns facet counts alongside the results.
+     *
+     * <p>
+     * Accepts the same parameters as {@link #search}. Hits, total count and facets come from a single search request;
+     * facets for browse searches (no {@code q}) are briefly cached.
+     *
+     * @return 200 OK with FacetedSearchResultsType, 400 Bad Request if invalid params, 500 if search fails
+     */
+    @GET
+    @Path("/faceted")
+    @Operation(
+            summary = "Search marketplace listings with facets",
+            description = "Same filters as /api/marketplace/search, plus category, price range and recency facet counts computed in the same search request.")
+    @APIResponses(
+            value = {@APIResponse(
+                    responseCode = "200",
+                    description = "Search results and facets returned successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(
+                                    implementation = FacetedSearchResultsType.class))),
+                    @APIResponse(
+                            responseCode = "400",
+                            description = "Invalid search parameters",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON)),
+                    @APIResponse(
+                            responseCode = "500",
+                            description = "Search service error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON))})
+    public Response searchFaceted(@Parameter(
+            description = "Full-text search query (searches title and description)",
+            example = "vintage bicycle") @QueryParam("q") String query,
+            @Parameter(
+                    description = "Filter by marketplace category UUID") @QueryParam("category") UUID categoryId,
+            @Parameter(
+                    description = "Minimum price in USD (inclusive)",
+                    example = "50.00") @QueryParam("min_price") BigDecimal minPrice,
+            @Parameter(
+                    description = "Maximum price in USD (inclusive)",
+                    example = "500.00") @QueryParam("max_price") BigDecimal maxPrice,
+            @Parameter(
+                    description = "Center location for radius search (geo_cities.id)") @QueryParam("location") Long geoCityId,
+            @Parameter(
+                    description = "Radius in miles (5, 10, 25, 50, 100, 250)",
+                    example = "25") @QueryParam("radius") Integer radiusMiles,
+            @Parameter(
+                    description = "Filter to listings with at least one image") @QueryParam("has_images") Boolean hasImages,
+            @Parameter(
+                    description = "Filter to listings created on/after this date (ISO-8601 format)") @QueryParam("min_date") Instant minDate,
+            @Parameter(
+                    description = "Filter to listings created on/before this date (ISO-8601 format)") @QueryParam("max_date") Instant maxDate,
+            @Parameter(
+                    description = "Sorting option: newest, price_asc, price_desc, distance",
+                    example = "newest") @QueryParam("sort") @DefaultValue("newest") String sortBy,
+            @Parameter(
+                    description = "Pagination offset (0-based)",
+                    example = "0") @QueryParam("offset") @DefaultValue("0") int offset,
+            @Parameter(
+                    description = "Results per page (1-100)",
+                    example = "25") @QueryParam("limit") @DefaultValue("25") int limit,
+            @Parameter(
+                    description = "Keyset cursor from the previous page's nextCursor (takes precedence over offset)") @QueryParam("cursor") String cursor) {
+
+        SearchCriteria criteria;
+        try {
+            criteria = buildCriteria(query, categoryId, minPrice, maxPrice, geoCityId, radiusMiles, hasImages, minDate,
+                    maxDate, sortBy, offset, limit, cursor);
+        } catch (IllegalArgumentException e) {
+            return invalidParameters(e);
+        }
+
+        try {
+            FacetedSearchResultsType response = searchService.searchWithFacets(criteria);
+
+            LOG.infof("Faceted search returned %d results (total: %d)", response.results().size(),
+                    response.totalCount());
+            return Response.ok(response).build();
+        } catch (Exception e) {
+            LOG.errorf(e, "Search service error: %s", e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("error", "Search service temporarily unavailable")).build();
+        }
+    }
+
+    /**
+     * Suggests cities for the search location field.
+     *
+     * <p>
+     * Served from the in-memory {@link GeoGazetteer} (no database query). Matches city names by prefix, case- and
+     * accent-insensitively; {@code q=Burlington, V} also filters by state code. When {@code lat}/{@code lon} are given,
+     * nearer cities rank first.
+     *
+     * @param query
+     *            City name prefix
+     * @param latitude
+     *            Bias latitude, optional
+     * @param longitude
+     *            Bias longitude, optional
+     * @param limit
+     *            Maximum suggestions (1-50), default: 10
+     * @return 200 OK with ranked suggestions (empty for a blank query)
+     */
+    @GET
+    @Path("/cities")
+    @Operation(
+            summary = "Autocomplete marketplace location cities",
+            description = "Ranked city suggestions by name prefix, optionally biased toward a coordinate.")
+    @APIResponses(
+            value = {@APIResponse(
+                    responseCode = "200",
+                    description = "Suggestions returned successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(
+                                    implementation = CitySuggestionType.class)))})
+    public Response suggestCities(@Parameter(
+            description = "City name prefix",
+            example = "Burl") @QueryParam("q") String query,
+            @Parameter(
+                    description = "Bias latitude (nearer cities rank first)") @QueryParam("lat") Double latitude,
+            @Parameter(
+                    description = "Bias longitude (nearer cities rank first)") @QueryParam("lon") Double longitude,
+            @Parameter(
+                    description = "Maximum suggestions (1-50)",
+                    example = "10") @QueryParam("limit") @DefaultValue("10") int limit) {
+
+        List<CitySuggestionType> suggestions = gazetteer
+                .autocomplete(query, latitude, longitude, Math.min(limit, GeoGazetteer.MAX_SUGGESTIONS)).stream()
+                .map(city -> CitySuggestionType.from(city, null)).toList();
+        return Response.ok(suggestions).build();
+    }
+
+    /**
+     * Resolves a coordinate (e.g., browser geolocation) to the nearest city for "listings near me".
+     *
+     * <p>
+     * Served from the in-memory {@link GeoGazetteer} (no database query).
+     *
+     * @param latitude
+     *            Latitude (WGS84)
+     * @param longitude
+     *            Longitude (WGS84)
+     * @return 200 OK with the nearest city, 400 Bad Request if coordinates are missing or invalid, 404 Not Found if no
+     *         city is within 50 miles
+     */
+    @GET
+    @Path("/cities/nearest")
+    @Operation(
+            summary = "Find the nearest marketplace location city",
+            description = "Nearest city to a coordinate within 50 miles, for use as the search location.")
+    @APIResponses(
+            value = {@APIResponse(
+                    responseCode = "200",
+                    description = "Nearest city returned successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(
+                                    implementation = CitySuggestionType.class))),
+                    @APIResponse(
+                            responseCode = "400",
+                            description = "Missing or invalid coordinates",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON)),
+                    @APIResponse(
+                            responseCode = "404",
+                            description = "No city within range",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON))})
+    public Response nearestCity(@Parameter(
+            description = "Latitude (WGS84)",
+            example = "44.7172") @QueryParam("lat") Double latitude,
+            @Parameter(
+                    description = "Longitude (WGS84)",
+                    example = "-72.2095") @QueryParam("lon") Double longitude) {
+
+        if (latitude == null || longitude == null || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "lat and lon are required and must be valid coordinates")).build();
+        }
+
+        return gazetteer.nearest(latitude, longitude)
+                .map(nearby -> Response.ok(CitySuggestionType.from(nearby.city(), nearby.distanceMiles())).build())
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND)
+                        .entity(Map.of("error", "No city found near the given coordinates")).build());
+    }
+
+    /**
+     * Builds the search criteria shared by {@link #search} and {@link #searchFaceted}, capping {@code limit} at 100.
+     *
+     * @throws IllegalArgumentException
+     *             if the parameters are invalid
+     */
+    private static SearchCriteria buildCriteria(String query, UUID categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+            Long geoCityId, Integer radiusMiles, Boolean hasImages, Instant minDate, Instant maxDate, String sortBy,
+            int offset, int limit, String cursor) {
+        if (limit > 100) {
+            LOG.warnf("Limit %d exceeds maximum (100), capping to 100", limit);
+            limit = 100;
+        }
+        return new SearchCriteria(query, categoryId, minPrice, maxPrice, geoCityId, radiusMiles, hasImages, minDate,
+                maxDate, sortBy, offset, limit, cursor);
+    }
+
+    private static Response invalidParameters(IllegalArgumentException e) {
+        LOG.warnf(e, "Invalid search parameters: %s", e.getMessage());
+        return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build();
+    }
+
     /**
      * Helper to create error response map.
      */
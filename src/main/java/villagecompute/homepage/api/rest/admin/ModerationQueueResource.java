@@ -18,13 +18,12 @@ import org.jboss.logging.Logger;
 import villagecompute.homepage.api.types.FlagType;
 import villagecompute.homepage.api.types.ModerationStatsType;
 import villagecompute.homepage.data.models.ListingFlag;
-import villagecompute.homepage.data.models.MarketplaceListing;
-import villagecompute.homepage.data.models.User;
+import villagecompute.homepage.services.ModerationQueueService;
+import villagecompute.homepage.services.ModerationQueueService.QueuePage;
 import villagecompute.homepage.services.ModerationService;
 
-import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Admin REST resource for moderation queue management.
@@ -32,7 +31,7 @@ import java.util.stream.Collectors;
  * <p>
  * Provides endpoints for:
  * <ul>
- * <li>Viewing moderation queue (pending flags)</li>
+ * <li>Viewing moderation queue (pending flags) and per-status flag counts</li>
  * <li>Reviewing individual flags with full context</li>
  * <li>Approving flags (removes listing + issues refund if eligible)</li>
  * <li>Dismissing flags (marks invalid)</li>
@@ -61,6 +60,7 @@ import java.util.stream.Collectors;
  * </ul>
  *
  * @see ModerationService
+ * @see ModerationQueueService
  * @see ListingFlag
  */
 @Path("/admin/api/moderation")
@@ -79,15 +79,21 @@ public class ModerationQueueResource {
     @Inject
     ModerationService moderationService;
 
+    @Inject
+    ModerationQueueService moderationQueueService;
+
     /**
      * Lists all pending flags in moderation queue with pagination.
      *
      * <p>
      * Returns flags with status=pending, enriched with listing title, status, and user email for context. Ordered by
-     * creation date (newest first).
+     * creation date (newest first). Flags, listings and users are loaded with one joined query per page.
      *
      * <p>
-     * Supports pagination via page/size query parameters. Returns pagination metadata in response headers.
+     * Supports pagination via page/size query parameters. Returns pagination metadata in response headers. When more
+     * flags follow, {@code X-Next-Cursor} holds a keyset cursor; passing it as {@code cursor} continues after the last
+     * flag of this page (and takes precedence over {@code page}), which stays fast on deep pages and does not skip or
+     * repeat flags reviewed in the meantime.
      *
      * <p>
      * <b>Example Response:</b>
@@ -115,6 +121,8 @@ public class ModerationQueueResource {
      *            Page number (0-based), default: 0
      * @param size
      *            Page size (1-100), default: 20
+     * @param cursor
+     *            Keyset cursor from the previous page's X-Next-Cursor header (optional)
      * @return List of pending flags with enriched data and pagination headers
      */
     @GET
@@ -125,14 +133,14 @@ public class ModerationQueueResource {
     @APIResponses(
             value = {@APIResponse(
                     responseCode = "200",
-                    description = "Success with pagination headers (X-Total-Count, X-Page-Count, X-Current-Page)",
+                    description = "Success with pagination headers (X-Total-Count, X-Page-Count, X-Current-Page, X-Next-Cursor)",
                     content = @Content(
                             mediaType = MediaType.APPLICATION_JSON,
                             schema = @Schema(
                                     implementation = FlagType.class))),
                     @APIResponse(
                             responseCode = "400",
-                            description = "Invalid pagination parameters (size > 100)"),
+                            description = "Invalid pagination parameters (size > 100) or malformed cursor"),
                     @APIResponse(
                             responseCode = "401",
                             description = "Unauthorized - missing or invalid authentication"),
@@ -147,7 +155,9 @@ public class ModerationQueueResource {
             example = "0") @QueryParam("page") @DefaultValue("0") int page,
             @Parameter(
                     description = "Page size (1-100)",
-                    example = "20") @QueryParam("size") @DefaultValue("20") int size) {
+                    example = "20") @QueryParam("size") @DefaultValue("20") int size,
+            @Parameter(
+                    description = "Keyset cursor from the previous page's X-Next-Cursor header (takes precedence over page)") @QueryParam("cursor") String cursor) {
 
         // Validate page size
         if (size > 100 || size < 1) {
@@ -160,24 +170,69 @@ public class ModerationQueueResource {
 
         LOG.infof("Listing moderation queue (pending flags) - page %d, size %d", page, size);
 
-        // Get total count for pagination
-        long totalCount = ListingFlag.count("status = ?1", "pending");
-
-        // Apply pagination
-        List<ListingFlag> flags = ListingFlag.find("status = ?1 ORDER BY createdAt DESC", "pending")
-                .page(io.quarkus.panache.common.Page.of(page, size)).list();
+        // Flags with listing and user details in one query
+        QueuePage queuePage;
+        try {
+            queuePage = moderationQueueService.page("pending", cursor, page * size, size);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("{\"error\": \"" + e.getMessage() + "\"}")
+                    .build();
+        }
 
-        // Enrich with listing and user details
-        List<FlagType> enrichedFlags = flags.stream().map(this::enrichFlag).collect(Collectors.toList());
+        // Get total count for pagination
+        long totalCount = moderationQueueService.countsByStatus().getOrDefault("pending", 0L);
 
         // Calculate pagination metadata
         int pageCount = (int) Math.ceil((double) totalCount / size);
 
-        LOG.infof("Returning %d pending flags (page %d of %d, total %d)", enrichedFlags.size(), page + 1, pageCount,
+        LOG.infof("Returning %d pending flags (page %d of %d, total %d)", queuePage.flags().size(), page + 1, pageCount,
                 totalCount);
 
-        return Response.ok(enrichedFlags).header("X-Total-Count", totalCount).header("X-Page-Count", pageCount)
-                .header("X-Current-Page", page).build();
+        Response.ResponseBuilder response = Response.ok(queuePage.flags()).header("X-Total-Count", totalCount)
+                .header("X-Page-Count", pageCount).header("X-Current-Page", page);
+        if (queuePage.nextCursor() != null) {
+            response.header("X-Next-Cursor", queuePage.nextCursor());
+        }
+        return response.build();
+    }
+
+    /**
+     * Returns the number of flags per status.
+     *
+     * <p>
+     * <b>Example Response:</b>
+     *
+     * <pre>
+     * {
+     *   "approved": 120,
+     *   "dismissed": 45,
+     *   "pending": 42
+     * }
+     * </pre>
+     *
+     * @return Flag counts keyed by status (statuses without flags are omitted)
+     */
+    @GET
+    @Path("/queue/counts")
+    @Operation(
+            summary = "Count flags by status",
+            description = "Returns the number of flags per status from a single grouped query. Requires super_admin role.")
+    @APIResponses(
+            value = {@APIResponse(
+                    responseCode = "200",
+                    description = "Success"),
+                    @APIResponse(
+                            responseCode = "401",
+                            description = "Unauthorized - missing or invalid authentication"),
+                    @APIResponse(
+                            responseCode = "403",
+                            description = "Forbidden - insufficient permissions (requires super_admin role)"),
+                    @APIResponse(
+                            responseCode = "500",
+                            description = "Internal server error")})
+    public Response getQueueCounts() {
+        Map<String, Long> counts = moderationQueueService.countsByStatus();
+        return Response.ok(counts).build();
     }
 
     /**
@@ -220,13 +275,9 @@ public class ModerationQueueResource {
             required = true) @PathParam("flagId") UUID flagId) {
         LOG.infof("Fetching flag details: flagId=%s", flagId);
 
-        ListingFlag flag = ListingFlag.findById(flagId);
-        if (flag == null) {
-            return Response.status(Response.Status.NOT_FOUND).entity("{\"error\": \"Flag not found\"}").build();
-        }
-
-        FlagType enrichedFlag = enrichFlag(flag);
-        return Response.ok(enrichedFlag).build();
+        return moderationQueueService.find(flagId).map(flag -> Response.ok(flag).build())
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\": \"Flag not found\"}").build());
     }
 
     /**
@@ -442,33 +493,6 @@ public class ModerationQueueResource {
         return Response.ok(stats).build();
     }
 
-    /**
-     * Enriches a flag with listing and user details for admin display.
-     *
-     * @param flag
-     *            the flag entity
-     * @return enriched flag type
-     */
-    private FlagType enrichFlag(ListingFlag flag) {
-        // Fetch listing details
-        MarketplaceListing listing = MarketplaceListing.findById(flag.listingId);
-        String listingTitle = listing != null ? listing.title : null;
-        String listingStatus = listing != null ? listing.status : null;
-
-        // Fetch flagger details
-        User flagger = User.findById(flag.userId);
-        String flaggerEmail = flagger != null ? flagger.email : null;
-
-        // Fetch reviewer details
-        String reviewerEmail = null;
-        if (flag.reviewedByUserId != null) {
-            User reviewer = User.findById(flag.reviewedByUserId);
-            reviewerEmail = reviewer != null ? reviewer.email : null;
-        }
-
-        return FlagType.from(flag, listingTitle, listingStatus, flaggerEmail, reviewerEmail);
-    }
-
     /**
      * Request type for approve/dismiss actions.
      */
@@ -3,6 +3,7 @@ package villagecompute.homepage.api.rest.profile;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.vertx.core.http.HttpServerRequest;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
@@ -10,6 +11,7 @@ import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
@@ -22,11 +24,14 @@ import villagecompute.homepage.data.models.UserProfile;
 import villagecompute.homepage.exceptions.DuplicateResourceException;
 import villagecompute.homepage.exceptions.ResourceNotFoundException;
 import villagecompute.homepage.exceptions.ValidationException;
+import villagecompute.homepage.services.ProfilePageCache;
+import villagecompute.homepage.services.ProfilePageCache.RenderedPage;
 import villagecompute.homepage.services.ProfileService;
 
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -72,12 +77,21 @@ public class ProfileResource {
     @Inject
     ProfileService profileService;
 
+    @Inject
+    ProfilePageCache pageCache;
+
     @Context
     SecurityIdentity securityIdentity;
 
     @Context
     UriInfo uriInfo;
 
+    @Context
+    HttpHeaders httpHeaders;
+
+    @Context
+    HttpServerRequest httpRequest;
+
     /**
      * Type-safe Qute templates for profile pages.
      */
@@ -97,7 +111,8 @@ public class ProfileResource {
      * Public profile page at /u/{username}.
      *
      * <p>
-     * Returns 404 if profile not found or unpublished. Increments view count on each access.
+     * Returns 404 if profile not found or unpublished. Increments view count on each access. The rendered page is
+     * served from {@link ProfilePageCache}; the profile owner gets their own cached variant (with edit controls).
      * </p>
      *
      * @param username
@@ -108,48 +123,74 @@ public class ProfileResource {
     @Path("/u/{username}")
     @PermitAll
     @Produces(MediaType.TEXT_HTML)
-    public TemplateInstance getPublicProfile(@PathParam("username") String username) {
+    public String getPublicProfile(@PathParam("username") String username) {
         LOG.infof("Accessing public profile: %s", username);
 
         try {
-            UserProfile profile = profileService.getProfileByUsername(username);
-
-            // Return 404 if profile is not published
-            if (!profile.isPublished) {
-                LOG.infof("Profile %s is not published, returning 404", username);
-                throw new ResourceNotFoundException("Profile not found: " + username);
-            }
-
-            // Get curated articles
-            List<ProfileCuratedArticle> articles = profileService.listArticles(profile.id);
+            RenderedPage page = pageCache.get(username, false, () -> renderPublicProfile(username, false));
 
             // Extract session/user info for view tracking
             UUID userId = getCurrentUserId();
-            String sessionId = securityIdentity.isAnonymous() ? "anon-" + System.currentTimeMillis()
+            if (userId != null && userId.equals(page.ownerUserId())) {
+                page = pageCache.get(username, true, () -> renderPublicProfile(username, true));
+            }
+            String ipAddress = resolveClientIp();
+            String userAgent = httpHeaders.getHeaderString(HttpHeaders.USER_AGENT);
+            // Anonymous viewers are identified by client IP + user agent so repeat views within the dedupe window
+            // are not counted
+            String sessionId = securityIdentity.isAnonymous()
+                    ? "anon-" + Integer.toHexString(Objects.hash(ipAddress, userAgent))
                     : securityIdentity.getPrincipal().getName();
-            String ipAddress = uriInfo.getRequestUri().getHost();
-            String userAgent = "unknown"; // TODO: Extract from request headers
 
-            // Increment view count
-            profileService.incrementViewCount(profile.id, userId, sessionId, ipAddress, userAgent);
+            // Count the view (in memory; flushed to view_count and link_clicks in batches)
+            profileService.incrementViewCount(page.profileId(), userId, sessionId, ipAddress,
+                    userAgent != null ? userAgent : "unknown");
 
-            // Build page data
-            ProfilePageData data = new ProfilePageData(toType(profile),
-                    articles.stream().map(this::toArticleType).collect(Collectors.toList()), getCurrentUser());
-
-            // Route to template-specific Qute template
-            return switch (profile.template) {
-                case UserProfile.TEMPLATE_PUBLIC_HOMEPAGE -> Templates.publicHomepage(data);
-                case UserProfile.TEMPLATE_YOUR_TIMES -> Templates.yourTimes(data);
-                case UserProfile.TEMPLATE_YOUR_REPORT -> Templates.yourReport(data);
-                default -> Templates.profile(data); // fallback
-            };
+            return page.html();
 
         } catch (ResourceNotFoundException e) {
             throw new NotFoundException("Profile not found: " + username);
         }
     }
 
+    /**
+     * Renders a published profile page for the cache.
+     *
+     * @param username
+     *            profile username
+     * @param ownerView
+     *            true to render the owner's variant (current user passed to the template)
+     * @return rendered page
+     * @throws ResourceNotFoundException
+     *             if the profile does not exist or is not published
+     */
+    private RenderedPage renderPublicProfile(String username, boolean ownerView) {
+        UserProfile profile = profileService.getProfileByUsername(username);
+
+        // Return 404 if profile is not published
+        if (!profile.isPublished) {
+            LOG.infof("Profile %s is not published, returning 404", username);
+            throw new ResourceNotFoundException("Profile not found: " + username);
+        }
+
+        // Get curated articles
+        List<ProfileCuratedArticle> articles = profileService.listArticles(profile.id);
+
+        // Build page data (templates only use the current user to show owner controls)
+        ProfilePageData data = new ProfilePageData(toType(profile),
+                articles.stream().map(this::toArticleType).collect(Collectors.toList()),
+                ownerView ? getCurrentUser() : null);
+
+        // Route to template-specific Qute template
+        TemplateInstance template = switch (profile.template) {
+            case UserProfile.TEMPLATE_PUBLIC_HOMEPAGE -> Templates.publicHomepage(data);
+            case UserProfile.TEMPLATE_YOUR_TIMES -> Templates.yourTimes(data);
+            case UserProfile.TEMPLATE_YOUR_REPORT -> Templates.yourReport(data);
+            default -> Templates.profile(data); // fallback
+        };
+        return new RenderedPage(profile.id, profile.userId, profile.template, template.render());
+    }
+
     /**
      * Preview profile page (owner only, bypasses publish check).
      *
@@ -735,6 +776,17 @@ public class ProfileResource {
         }
     }
 
+    private String resolveClientIp() {
+        String forwarded = httpHeaders.getHeaderString("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            return forwarded.split(",")[0].trim();
+        }
+        if (httpRequest != null && httpRequest.remoteAddress() != null) {
+            return httpRequest.remoteAddress().host();
+        }
+        return "unknown";
+    }
+
     private User getCurrentUser() {
         UUID userId = getCurrentUserId();
         if (userId == null) {
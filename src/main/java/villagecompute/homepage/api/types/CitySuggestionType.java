@@ -0,0 +1,97 @@
+package villagecompute.homepage.api.types;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import villagecompute.homepage.services.GeoGazetteer;
+
+/**
+ * City suggestion for marketplace location autocomplete and "near me" lookups.
+ *
+ * <p>
+ * The {@code id} is the {@code location} parameter for radius searches ({@code GET /api/marketplace/search}).
+ *
+ * <pre>
+ * GET /api/marketplace/search/cities?q=burl
+ *
+ * [
+ *   {
+ *     "id": 456,
+ *     "name": "Burlington",
+ *     "stateCode": "VT",
+ *     "countryCode": "US",
+ *     "displayName": "Burlington, VT",
+ *     "latitude": 44.4759,
+ *     "longitude": -73.2121,
+ *     "distanceMiles": null
+ *   }
+ * ]
+ * </pre>
+ *
+ * @param id
+ *            geo_cities.id
+ * @param name
+ *            City name
+ * @param stateCode
+ *            State / province code
+ * @param countryCode
+ *            ISO2 country code
+ * @param displayName
+ *            Display name (e.g., "Burlington, VT")
+ * @param latitude
+ *            City latitude
+ * @param longitude
+ *            City longitude
+ * @param distanceMiles
+ *            Distance from the query point in miles (null for autocomplete)
+ */
+@Schema(
+        description = "City suggestion for marketplace location search")
+public record CitySuggestionType(@Schema(
+        description = "City id (use as the search location parameter)",
+        example = "456",
+        required = true) long id,
+
+        @Schema(
+                description = "City name",
+                example = "Burlington",
+                required = true) String name,
+
+        @Schema(
+                description = "State / province code",
+                example = "VT") String stateCode,
+
+        @Schema(
+                description = "ISO2 country code",
+                example = "US") String countryCode,
+
+        @Schema(
+                description = "Display name",
+                example = "Burlington, VT",
+                required = true) String displayName,
+
+        @Schema(
+                description = "City latitude",
+                example = "44.4759") double latitude,
+
+        @Schema(
+                description = "City longitude",
+                example = "-73.2121") double longitude,
+
+        @Schema(
+                description = "Distance from the query point in miles",
+                nullable = true) Double distanceMiles) {
+
+    /**
+     * Creates a suggestion from a gazetteer city.
+     *
+     * @param city
+     *            the city
+     * @param distanceMiles
+     *            distance from the query point, or null
+     * @return suggestion DTO
+     */
+    public static CitySuggestionType from(GeoGazetteer.City city, Double distanceMiles) {
+        return new CitySuggestionType(city.id(), city.name(), city.stateCode(), city.countryCode(), city.displayName(),
+                city.latitude(), city.longitude(), distanceMiles);
+    }
+}
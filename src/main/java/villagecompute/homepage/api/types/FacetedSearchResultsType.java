@@ -0,0 +1,53 @@
+package villagecompute.homepage.api.types;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Marketplace search response with hits, total count and facet counts from a single search request.
+ *
+ * <p>
+ * Replaces the search + count + per-category count round trips made by browse pages. Pagination fields have the same
+ * meaning as in {@link SearchResultsType}.
+ *
+ * @see SearchFacetsType
+ */
+@Schema(
+        description = "Search results with pagination metadata and facet counts")
+public record FacetedSearchResultsType(@Schema(
+        description = "List of search result listings",
+        required = true) List<ListingSearchResultType> results,
+
+        @Schema(
+                description = "Total number of matching listings across all pages",
+                example = "142",
+                required = true) long totalCount,
+
+        @Schema(
+                description = "Current page offset (0-based)",
+                example = "0",
+                required = true) int offset,
+
+        @Schema(
+                description = "Results per page",
+                example = "25",
+                required = true) int limit,
+
+        @Schema(
+                description = "Category, price and recency facet counts",
+                required = true) SearchFacetsType facets,
+
+        @Schema(
+                description = "Keyset cursor for the next page",
+                nullable = true) String nextCursor) {
+
+    /**
+     * Returns true if there are more results beyond the current page.
+     *
+     * @return true if more results exist, false if this is the last page
+     */
+    public boolean hasMore() {
+        return nextCursor != null || (results.size() == limit && (offset + limit) < totalCount);
+    }
+}
@@ -27,6 +27,8 @@ import java.util.UUID;
  * <li>radiusMiles must be one of: 5, 10, 25, 50, 100, 250, or null for "Any"</li>
  * <li>If radiusMiles is specified, geoCityId must also be provided</li>
  * <li>sortBy must be one of: "newest" (default), "price_asc", "price_desc", "distance" (for radius searches)</li>
+ * <li>cursor (if provided) must be a valid {@link SearchCursor} issued for the same sortBy; distance sort does not
+ * support cursors</li>
  * </ul>
  *
  * <p>
@@ -69,6 +71,9 @@ import java.util.UUID;
  *            Pagination offset (0-based), default: 0
  * @param limit
  *            Results per page (1-100), default: 25
+ * @param cursor
+ *            Keyset cursor from a previous page's {@code nextCursor}; takes precedence over offset, null for offset
+ *            pagination
  * @see villagecompute.homepage.services.MarketplaceSearchService
  * @see SearchResultsType
  */
@@ -135,7 +140,11 @@ public record SearchCriteria(@Schema(
         @Schema(
                 description = "Results per page (1-100)",
                 example = "25",
-                required = true) int limit){
+                required = true) int limit,
+
+        @Schema(
+                description = "Keyset cursor from the previous page (takes precedence over offset)",
+                nullable = true) String cursor){
 
     /** Valid radius values in miles. */
     private static final List<Integer> VALID_RADIUS_VALUES = List.of(5, 10, 25, 50, 100, 250);
@@ -154,6 +163,7 @@ public record SearchCriteria(@Schema(
      * <li>radiusMiles (if provided) is a valid value (5, 10, 25, 50, 100, 250)</li>
      * <li>geoCityId is provided when radiusMiles is set</li>
      * <li>sortBy is a valid option</li>
+     * <li>cursor (if provided) decodes and matches sortBy; offset is then reset to 0</li>
      * </ul>
      *
      * @throws IllegalArgumentException
@@ -180,6 +190,37 @@ public record SearchCriteria(@Schema(
         if (sortBy == null) {
             sortBy = "newest";
         }
+        if (cursor != null && !cursor.isBlank()) {
+            if (!SearchCursor.supports(sortBy)) {
+                throw new IllegalArgumentException("cursor pagination is not supported for sortBy=" + sortBy);
+            }
+            if (!SearchCursor.decode(cursor).sortBy().equals(sortBy)) {
+                throw new IllegalArgumentException("cursor was issued for a different sortBy");
+            }
+            // The cursor positions the page; offset no longer applies
+            offset = 0;
+        } else {
+            cursor = null;
+        }
+    }
+
+    /**
+     * Creates criteria using offset pagination (no cursor).
+     */
+    public SearchCriteria(String query, UUID categoryId, BigDecimal minPrice, BigDecimal maxPrice, Long geoCityId,
+            Integer radiusMiles, Boolean hasImages, Instant minDate, Instant maxDate, String sortBy, int offset,
+            int limit) {
+        this(query, categoryId, minPrice, maxPrice, geoCityId, radiusMiles, hasImages, minDate, maxDate, sortBy, offset,
+                limit, null);
+    }
+
+    /**
+     * Returns the decoded keyset cursor, or null when paginating by offset.
+     *
+     * @return decoded cursor or null
+     */
+    public SearchCursor decodedCursor() {
+        return cursor != null ? SearchCursor.decode(cursor) : null;
     }
 
     /**
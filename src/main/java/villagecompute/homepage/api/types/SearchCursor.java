@@ -0,0 +1,143 @@
+package villagecompute.homepage.api.types;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset pagination cursor for marketplace search.
+ *
+ * <p>
+ * Encodes the sort key of the last result on a page so the next page starts strictly after it, instead of skipping
+ * {@code offset} rows. Both search engines (Elasticsearch and the Postgres fallback) order ties by listing id, so a
+ * cursor issued by one engine is valid on the other.
+ *
+ * <p>
+ * <b>Sort Keys:</b>
+ * <ul>
+ * <li>{@code newest} - (created_at DESC, id DESC)</li>
+ * <li>{@code price_asc} - (price ASC NULLS LAST, id ASC)</li>
+ * <li>{@code price_desc} - (price DESC NULLS LAST, id DESC)</li>
+ * </ul>
+ * Distance sort is offset-paginated only.
+ *
+ * <p>
+ * Wire format: URL-safe base64 of {@code sortBy|value|id}, where value is an ISO-8601 instant, a plain decimal price
+ * or empty for a null price.
+ *
+ * <p>
+ * <b>Precision:</b> Elasticsearch stores {@code createdAt} in milliseconds while PostgreSQL keeps microseconds, so
+ * {@code newest} cursors carry the instant truncated to milliseconds (on encode and decode), and listings persist
+ * {@code created_at} at millisecond precision. Both engines then compare the same value.
+ *
+ * @param sortBy
+ *            sort option the cursor was issued for
+ * @param value
+ *            sort value of the last result ({@link Instant} for newest, {@link BigDecimal} or null for price sorts)
+ * @param id
+ *            id of the last result (tie-breaker)
+ */
+public record SearchCursor(String sortBy, Object value, UUID id) {
+
+    private static final List<String> KEYSET_SORTS = List.of("newest", "price_asc", "price_desc");
+
+    /**
+     * Returns whether a sort option supports keyset pagination.
+     *
+     * @param sortBy
+     *            the sort option
+     * @return true for newest, price_asc and price_desc
+     */
+    public static boolean supports(String sortBy) {
+        return KEYSET_SORTS.contains(sortBy);
+    }
+
+    /**
+     * Returns the cursor for the page following {@code results}, or null if there is no next page.
+     *
+     * @param results
+     *            the current page
+     * @param sortBy
+     *            the sort option of the search
+     * @param hasMore
+     *            whether a row exists after the page (searches fetch one row of look-ahead), so an exactly full last
+     *            page issues no cursor
+     * @return encoded cursor or null
+     */
+    public static String next(List<ListingSearchResultType> results, String sortBy, boolean hasMore) {
+        if (!supports(sortBy) || results.isEmpty() || !hasMore) {
+            return null;
+        }
+        ListingSearchResultType last = results.get(results.size() - 1);
+        Object value = "newest".equals(sortBy) ? last.createdAt() : last.price();
+        return new SearchCursor(sortBy, value, last.id()).encode();
+    }
+
+    /**
+     * Decodes a cursor string.
+     *
+     * @param encoded
+     *            value produced by {@link #encode()}
+     * @return the cursor
+     * @throws IllegalArgumentException
+     *             if the cursor is malformed
+     */
+    public static SearchCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !supports(parts[0])) {
+                throw new IllegalArgumentException("cursor is invalid");
+            }
+            Object value;
+            if ("newest".equals(parts[0])) {
+                value = Instant.parse(parts[1]).truncatedTo(ChronoUnit.MILLIS);
+            } else {
+                value = parts[1].isEmpty() ? null : new BigDecimal(parts[1]);
+            }
+            return new SearchCursor(parts[0], value, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            throw new IllegalArgumentException("cursor is invalid", e);
+        }
+    }
+
+    /**
+     * Encodes this cursor for use as an opaque query parameter.
+     *
+     * @return URL-safe base64 string
+     */
+    public String encode() {
+        String valueText;
+        if (value instanceof BigDecimal price) {
+            valueText = price.toPlainString();
+        } else if (value instanceof Instant createdAt) {
+            valueText = createdAt.truncatedTo(ChronoUnit.MILLIS).toString();
+        } else {
+            valueText = value != null ? value.toString() : "";
+        }
+        String raw = sortBy + "|" + valueText + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the created_at value of a {@code newest} cursor.
+     *
+     * @return the instant
+     */
+    public Instant createdAt() {
+        return (Instant) value;
+    }
+
+    /**
+     * Returns the price value of a price cursor (null if the last result had no price).
+     *
+     * @return the price or null
+     */
+    public BigDecimal price() {
+        return (BigDecimal) value;
+    }
+}
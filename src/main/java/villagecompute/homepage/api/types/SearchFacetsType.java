@@ -0,0 +1,51 @@
+package villagecompute.homepage.api.types;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Facet counts for a marketplace search, computed by the search engine in the same round trip as the hits.
+ *
+ * <p>
+ * Counts reflect all filters of the search (category, price, date, radius, text). Map iteration order is meaningful:
+ * categories by count descending, price ranges ascending, recency windows narrowest first. Recency windows overlap
+ * (a listing posted today is counted in all three).
+ *
+ * <p>
+ * <b>Response Structure:</b>
+ *
+ * <pre>
+ * {
+ *   "categories": { "550e8400-...": 42, "770e8400-...": 17 },
+ *   "priceRanges": { "0-25": 8, "25-100": 21, "100-500": 24, "500-1000": 5, "1000+": 1 },
+ *   "postedWithin": { "24h": 3, "7d": 19, "30d": 59 }
+ * }
+ * </pre>
+ *
+ * @see FacetedSearchResultsType
+ */
+@Schema(
+        description = "Category, price and recency facet counts for marketplace search")
+public record SearchFacetsType(@Schema(
+        description = "Matching listing count per category UUID (count descending)",
+        required = true) Map<UUID, Long> categories,
+
+        @Schema(
+                description = "Matching listing count per price range in USD (lower bound inclusive)",
+                required = true) Map<String, Long> priceRanges,
+
+        @Schema(
+                description = "Matching listing count posted within each window (24h, 7d, 30d)",
+                required = true) Map<String, Long> postedWithin) {
+
+    /**
+     * Facets with no buckets, returned when counts are unavailable (e.g. search engine fallback).
+     *
+     * @return empty facets
+     */
+    public static SearchFacetsType empty() {
+        return new SearchFacetsType(Map.of(), Map.of(), Map.of());
+    }
+}
@@ -23,6 +23,7 @@ import java.util.List;
  *   "totalCount": 142,
  *   "offset": 50,
  *   "limit": 25,
+ *   "nextCursor": "bmV3ZXN0fDIwMjYtMDEtMTVUMTA6MDA6MDBafC4uLg",
  *   "hasMore": true
  * }
  * </pre>
@@ -33,6 +34,7 @@ import java.util.List;
  * <li>{@code totalCount} - Total number of matching listings across all pages (used for "Showing 51-75 of 142")</li>
  * <li>{@code offset} - Current page offset (0-based, e.g., 0, 25, 50)</li>
  * <li>{@code limit} - Results per page (1-100, default 25)</li>
+ * <li>{@code nextCursor} - Keyset cursor for the next page (null on the last page and for distance sort)</li>
  * <li>{@code hasMore} - Convenience flag: true if there are more results beyond this page</li>
  * </ul>
  *
@@ -54,6 +56,11 @@ import java.util.List;
  * </pre>
  *
  * <p>
+ * Deep pages should follow {@code nextCursor} ({@code GET /api/marketplace/search?q=bicycle&cursor=...}) instead of
+ * increasing {@code offset}: each page then seeks straight to its first row rather than skipping all previous rows.
+ * With a cursor, {@code offset} stays 0 and {@code hasMore} follows {@code nextCursor}.
+ *
+ * <p>
  * <b>Performance Note:</b> {@code totalCount} is calculated via separate Elasticsearch count query. For very large
  * result sets (10,000+), this may be capped at 10,000 (Elasticsearch index.max_result_window setting).
  *
@@ -65,6 +72,8 @@ import java.util.List;
  *            Current page offset (0-based)
  * @param limit
  *            Results per page
+ * @param nextCursor
+ *            Keyset cursor for the next page, null if there is none
  * @see ListingSearchResultType
  * @see SearchCriteria
  */
@@ -87,18 +96,23 @@ public record SearchResultsType(@Schema(
         @Schema(
                 description = "Results per page",
                 example = "25",
-                required = true) int limit) {
+                required = true) int limit,
+
+        @Schema(
+                description = "Keyset cursor for the next page",
+                nullable = true) String nextCursor) {
 
     /**
      * Returns true if there are more results beyond the current page.
      *
      * <p>
-     * Calculated as: {@code (offset + limit) < totalCount}
+     * Calculated as: {@code (offset + limit) < totalCount} for a full page. A keyset page (offset stays 0) has more
+     * results whenever {@code nextCursor} is set.
      *
      * @return true if more results exist, false if this is the last page
      */
     public boolean hasMore() {
-        return (offset + limit) < totalCount;
+        return nextCursor != null || (results.size() == limit && (offset + limit) < totalCount);
     }
 
     /**
@@ -289,6 +289,31 @@ public class DelayedJob extends PanacheEntityBase {
                 (Object) this.attempts);
     }
 
+    /**
+     * Records a progress checkpoint in a job's payload (merged into the JSONB, other keys untouched).
+     *
+     * <p>
+     * Long-running handlers call this in the same transaction as the work it describes, so a retry (which receives the
+     * stored payload) resumes after the last committed unit of work.
+     *
+     * @param jobId
+     *            the job ID
+     * @param key
+     *            payload key
+     * @param value
+     *            progress value
+     * @return true if the job exists
+     */
+    public static boolean recordProgress(long jobId, String key, long value) {
+        return getEntityManager().createNativeQuery("""
+                UPDATE delayed_jobs
+                SET payload = payload || jsonb_build_object(CAST(:key AS text), CAST(:value AS bigint)),
+                    updated_at = NOW()
+                WHERE id = :id
+                """).setParameter("key", key).setParameter("value", value).setParameter("id", jobId)
+                .executeUpdate() > 0;
+    }
+
     /**
      * Marks this job as completed.
      */
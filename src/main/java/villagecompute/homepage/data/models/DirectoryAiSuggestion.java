@@ -9,8 +9,11 @@ package villagecompute.homepage.data.models;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
@@ -211,6 +214,27 @@ public class DirectoryAiSuggestion extends PanacheEntityBase {
         return find("url = ?1", url).firstResultOptional();
     }
 
+    /**
+     * Returns which of the given normalized URLs are already imported, either as a directory site or as an AI
+     * suggestion (set-based duplicate detection for bulk imports).
+     *
+     * @param urls
+     *            normalized URLs to check
+     * @return the subset of {@code urls} that already exist
+     */
+    public static Set<String> findImportedUrls(Collection<String> urls) {
+        if (urls.isEmpty()) {
+            return Set.of();
+        }
+        @SuppressWarnings("unchecked")
+        List<String> existing = getEntityManager().createNativeQuery("""
+                SELECT url FROM directory_sites WHERE url IN (:urls)
+                UNION
+                SELECT url FROM directory_ai_suggestions WHERE url IN (:urls)
+                """, String.class).setParameter("urls", urls).getResultList();
+        return new HashSet<>(existing);
+    }
+
     /**
      * Creates a new AI suggestion record.
      *
@@ -2,6 +2,7 @@ package villagecompute.homepage.data.models;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -58,6 +59,7 @@ import java.util.UUID;
  * @see DirectoryCategoryModerator for category-specific moderators
  */
 @Entity
+@Cacheable
 @Table(
         name = "directory_categories")
 @NamedQuery(
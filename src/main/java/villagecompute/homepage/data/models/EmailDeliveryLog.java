@@ -35,6 +35,7 @@ import java.util.UUID;
  * <li>sent_at (TIMESTAMPTZ) - Successful delivery timestamp</li>
  * <li>error_message (TEXT) - Error details for failed deliveries</li>
  * <li>retry_count (INT) - Number of retry attempts (max 3)</li>
+ * <li>claimed_at (TIMESTAMPTZ) - When a dispatcher last claimed (SENDING) or requeued (QUEUED) the row</li>
  * <li>created_at (TIMESTAMPTZ, NOT NULL) - Queue timestamp</li>
  * </ul>
  *
@@ -49,10 +50,11 @@ import java.util.UUID;
  * <h3>Delivery Flow:</h3>
  * <ol>
  * <li><b>Queue:</b> NotificationService creates log with status = QUEUED</li>
- * <li><b>Process:</b> EmailDeliveryJob queries QUEUED logs every 1 minute</li>
- * <li><b>Send:</b> Job updates status to SENDING, calls EmailService</li>
- * <li><b>Success:</b> Job updates status to SENT, sets sentAt timestamp</li>
- * <li><b>Failure:</b> Job increments retryCount, sets status to QUEUED (if retries < 3) or FAILED (if retries >=
+ * <li><b>Claim:</b> EmailDispatchService flips a batch of QUEUED rows to SENDING via {@link #claimBatch} (SKIP
+ * LOCKED, so concurrent pods never claim the same row)</li>
+ * <li><b>Send:</b> Claimed emails are sent concurrently over pooled SMTP connections</li>
+ * <li><b>Success:</b> Once the SMTP server accepts the message, status = SENT and sentAt is set</li>
+ * <li><b>Failure:</b> retryCount is incremented, status set to QUEUED (if retries < 3) or FAILED (if retries >=
  * 3)</li>
  * </ol>
  *
@@ -166,6 +168,10 @@ public class EmailDeliveryLog extends PanacheEntityBase {
             nullable = false)
     public Instant createdAt;
 
+    @Column(
+            name = "claimed_at")
+    public Instant claimedAt;
+
     /**
      * Email delivery status enumeration.
      *
@@ -246,4 +252,40 @@ public class EmailDeliveryLog extends PanacheEntityBase {
     public static List<EmailDeliveryLog> findQueued(int limit) {
         return find("#" + QUERY_FIND_QUEUED).page(0, limit).list();
     }
+
+    /**
+     * Claims up to {@code limit} deliverable emails by flipping them to SENDING, oldest first, in a single statement.
+     *
+     * <p>
+     * Deliverable means QUEUED and not requeued after {@code retryBefore} (retry backoff), or stuck in SENDING since
+     * before {@code staleBefore} (the claiming pod died mid-send; the email may be delivered twice). Rows locked by
+     * another dispatcher are skipped ({@code SKIP LOCKED}), so concurrent pods drain disjoint batches. Must run inside
+     * a transaction.
+     *
+     * @param now
+     *            claim timestamp written to claimed_at
+     * @param retryBefore
+     *            requeued rows become claimable once claimed_at is before this instant
+     * @param staleBefore
+     *            SENDING rows claimed before this instant are reclaimed
+     * @param limit
+     *            maximum rows to claim
+     * @return ids of the rows claimed by this call
+     */
+    public static List<UUID> claimBatch(Instant now, Instant retryBefore, Instant staleBefore, int limit) {
+        @SuppressWarnings("unchecked")
+        List<UUID> ids = getEntityManager().createNativeQuery("""
+                UPDATE email_delivery_logs SET status = 'SENDING', claimed_at = :now
+                WHERE id IN (
+                    SELECT id FROM email_delivery_logs
+                    WHERE (status = 'QUEUED' AND (claimed_at IS NULL OR claimed_at < :retryBefore))
+                       OR (status = 'SENDING' AND claimed_at < :staleBefore)
+                    ORDER BY created_at
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING id
+                """, UUID.class).setParameter("now", now).setParameter("retryBefore", retryBefore)
+                .setParameter("staleBefore", staleBefore).setParameter("limit", limit).getResultList();
+        return ids;
+    }
 }
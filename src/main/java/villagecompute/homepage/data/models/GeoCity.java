@@ -199,11 +199,8 @@ public class GeoCity extends PanacheEntityBase {
      * Finds cities by name prefix (autocomplete search).
      *
      * <p>
-     * Case-insensitive LIKE query ordered by name. For high-volume autocomplete, consider adding LIMIT:
-     *
-     * <pre>
-     * GeoCity.find("#" + QUERY_FIND_BY_NAME_PREFIX, params).page(0, 10).list()
-     * </pre>
+     * Case-insensitive LIKE query ordered by name, unbounded. User-facing autocomplete is served from memory by
+     * {@link villagecompute.homepage.services.GeoGazetteer#autocomplete(String, int)} (ranked, bounded, no query).
      *
      * @param namePrefix
      *            the name prefix to search for (case-insensitive)
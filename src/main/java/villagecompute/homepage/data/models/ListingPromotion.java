@@ -223,6 +223,30 @@ public class ListingPromotion extends PanacheEntityBase {
         return find(JPQL_FIND_EXPIRED_FEATURED, io.quarkus.panache.common.Parameters.with("now", now)).list();
     }
 
+    /**
+     * Deletes up to {@code limit} expired featured promotions in a single statement.
+     *
+     * <p>
+     * Used by {@link villagecompute.homepage.services.ListingLifecycleService} instead of loading and deleting each
+     * promotion. Must run inside a transaction.
+     *
+     * @param now
+     *            expiration cutoff
+     * @param limit
+     *            maximum promotions to delete
+     * @return number of promotions deleted
+     */
+    public static int deleteExpiredFeaturedBatch(Instant now, int limit) {
+        return getEntityManager().createNativeQuery("""
+                DELETE FROM listing_promotions
+                WHERE id IN (
+                    SELECT id FROM listing_promotions
+                    WHERE type = 'featured' AND expires_at IS NOT NULL AND expires_at <= :now
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED)
+                """).setParameter("now", now).setParameter("limit", limit).executeUpdate();
+    }
+
     /**
      * Finds a promotion by Stripe Payment Intent ID.
      *
@@ -2,6 +2,7 @@ package villagecompute.homepage.data.models;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -51,6 +52,7 @@ import java.util.UUID;
  * @see FeeScheduleType for fee structure definition
  */
 @Entity
+@Cacheable
 @Table(
         name = "marketplace_categories")
 public class MarketplaceCategory extends PanacheEntityBase {
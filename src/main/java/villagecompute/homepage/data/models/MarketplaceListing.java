@@ -7,10 +7,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.NamedQuery;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.Type;
+import org.hibernate.search.engine.backend.types.Aggregable;
+import org.hibernate.search.engine.backend.types.Projectable;
 import org.hibernate.search.engine.backend.types.Sortable;
+import org.hibernate.search.mapper.pojo.bridge.builtin.annotation.GeoPointBinding;
+import org.hibernate.search.mapper.pojo.bridge.builtin.annotation.Latitude;
+import org.hibernate.search.mapper.pojo.bridge.builtin.annotation.Longitude;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.DocumentId;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
@@ -24,7 +30,10 @@ import villagecompute.homepage.api.types.ListingCategorizationResultType;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -42,6 +51,8 @@ import java.util.UUID;
  * <li>{@code user_id} (UUID, FK) - Owner user reference (CASCADE delete on user deletion per P1)</li>
  * <li>{@code category_id} (UUID, FK) - Marketplace category reference (RESTRICT delete)</li>
  * <li>{@code geo_city_id} (BIGINT, FK) - City location for radius filtering (PostGIS, nullable)</li>
+ * <li>{@code latitude}, {@code longitude} (DOUBLE) - Copy of the city's coordinates, indexed as the {@code location}
+ * geo_point for search-engine radius queries (null when geo_city_id is null)</li>
  * <li>{@code title} (TEXT) - Listing title (10-100 chars, required)</li>
  * <li>{@code description} (TEXT) - Listing description (50-8000 chars, required)</li>
  * <li>{@code price} (DECIMAL) - Price in USD (nullable for free categories, >= 0)</li>
@@ -128,6 +139,10 @@ import java.util.UUID;
 @Table(
         name = "marketplace_listings")
 @Indexed
+@GeoPointBinding(
+        fieldName = MarketplaceListing.LOCATION_FIELD,
+        sortable = Sortable.YES,
+        projectable = Projectable.YES)
 @NamedQuery(
         name = MarketplaceListing.QUERY_FIND_BY_USER_ID,
         query = MarketplaceListing.JPQL_FIND_BY_USER_ID)
@@ -239,12 +254,24 @@ public class MarketplaceListing extends PanacheEntityBase {
             + "AND ST_DWithin(gc.location, ST_MakePoint(:longitude, :latitude)::geography, :radiusMeters) "
             + "ORDER BY ml.created_at DESC";
 
+    /** Search index geo_point field built from {@link #latitude}/{@link #longitude}. */
+    public static final String LOCATION_FIELD = "location";
+
+    /**
+     * Search index field holding the id as a sortable keyword: the search tie-breaker for keyset pagination. UUID
+     * strings sort in the same order as Postgres {@code uuid} values, so cursors are portable between search engines.
+     */
+    public static final String ID_SORT_FIELD = "idSort";
+
     /** Default expiration period: 30 days from activation. */
     public static final Duration DEFAULT_EXPIRATION_PERIOD = Duration.ofDays(30);
 
     @Id
     @GeneratedValue
     @DocumentId
+    @GenericField(
+            name = ID_SORT_FIELD,
+            sortable = Sortable.YES)
     @Column(
             nullable = false)
     public UUID id;
@@ -257,13 +284,29 @@ public class MarketplaceListing extends PanacheEntityBase {
     @Column(
             name = "category_id",
             nullable = false)
-    @GenericField
+    @GenericField(
+            aggregable = Aggregable.YES)
     public UUID categoryId;
 
     @Column(
             name = "geo_city_id")
     public Long geoCityId;
 
+    /**
+     * Latitude of {@link #geoCityId}, denormalized so the search index can hold a geo_point. Maintained by
+     * {@link #create(MarketplaceListing)} and {@link #update(MarketplaceListing)}.
+     */
+    @Column
+    @Latitude
+    public Double latitude;
+
+    /**
+     * Longitude of {@link #geoCityId}. See {@link #latitude}.
+     */
+    @Column
+    @Longitude
+    public Double longitude;
+
     @Column(
             nullable = false)
     @FullTextField(
@@ -282,7 +325,8 @@ public class MarketplaceListing extends PanacheEntityBase {
 
     @Column
     @GenericField(
-            sortable = Sortable.YES)
+            sortable = Sortable.YES,
+            aggregable = Aggregable.YES)
     public BigDecimal price;
 
     @Column(
@@ -294,6 +338,7 @@ public class MarketplaceListing extends PanacheEntityBase {
 
     @Column(
             nullable = false)
+    @KeywordField
     public String status = "draft";
 
     @Column(
@@ -322,7 +367,8 @@ public class MarketplaceListing extends PanacheEntityBase {
             name = "created_at",
             nullable = false)
     @GenericField(
-            sortable = Sortable.YES)
+            sortable = Sortable.YES,
+            aggregable = Aggregable.YES)
     public Instant createdAt = Instant.now();
 
     @Column(
@@ -465,6 +511,38 @@ public class MarketplaceListing extends PanacheEntityBase {
         return find(JPQL_FIND_EXPIRED, Instant.now()).list();
     }
 
+    /**
+     * Expires up to {@code limit} active listings whose expires_at has passed, in a single statement.
+     *
+     * <p>
+     * Used by {@link villagecompute.homepage.services.ListingLifecycleService} instead of loading each listing and
+     * calling {@link #markExpired(UUID)}. Rows locked by a concurrent update are skipped ({@code SKIP LOCKED}) and picked
+     * up by the next sweep. Must run inside a transaction.
+     *
+     * <p>
+     * <b>NOTE:</b> Bulk updates bypass entity listeners and automatic search indexing; callers reindex the returned ids.
+     *
+     * @param now
+     *            expiration cutoff and new updated_at value
+     * @param limit
+     *            maximum listings to expire
+     * @return ids of the listings expired by this call
+     */
+    public static List<UUID> expireBatch(Instant now, int limit) {
+        @SuppressWarnings("unchecked")
+        List<UUID> ids = getEntityManager().createNativeQuery("""
+                UPDATE marketplace_listings SET status = 'expired', updated_at = :now
+                WHERE id IN (
+                    SELECT id FROM marketplace_listings
+                    WHERE status = 'active' AND expires_at <= :now
+                    ORDER BY expires_at
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING id
+                """, UUID.class).setParameter("now", now).setParameter("limit", limit).getResultList();
+        return ids;
+    }
+
     /**
      * Finds active listings expiring within N days that haven't received reminder email yet.
      *
@@ -513,6 +591,7 @@ public class MarketplaceListing extends PanacheEntityBase {
         QuarkusTransaction.requiringNew().run(() -> {
             listing.createdAt = Instant.now();
             listing.updatedAt = Instant.now();
+            listing.syncCoordinates();
 
             // Set expiration timestamp if listing is activated
             if ("active".equals(listing.status) && listing.expiresAt == null) {
@@ -546,7 +625,10 @@ public class MarketplaceListing extends PanacheEntityBase {
 
             // Update fields
             managed.categoryId = listing.categoryId;
-            managed.geoCityId = listing.geoCityId;
+            if (!Objects.equals(managed.geoCityId, listing.geoCityId) || managed.latitude == null) {
+                managed.geoCityId = listing.geoCityId;
+                managed.syncCoordinates();
+            }
             managed.title = listing.title;
             managed.description = listing.description;
             managed.price = listing.price;
@@ -570,6 +652,27 @@ public class MarketplaceListing extends PanacheEntityBase {
         });
     }
 
+    /**
+     * Copies the coordinates of {@link #geoCityId} onto this listing (or clears them) so the search index geo_point
+     * matches the city. Must run inside a transaction.
+     */
+    void syncCoordinates() {
+        GeoCity city = geoCityId != null ? GeoCity.findById(geoCityId) : null;
+        latitude = city != null ? city.latitude.doubleValue() : null;
+        longitude = city != null ? city.longitude.doubleValue() : null;
+    }
+
+    /**
+     * Stores {@link #createdAt} at millisecond precision, the resolution of the search index, so both search engines
+     * order and compare {@code newest} keyset cursors on the same value.
+     */
+    @PrePersist
+    void truncateCreatedAt() {
+        if (createdAt != null) {
+            createdAt = createdAt.truncatedTo(ChronoUnit.MILLIS);
+        }
+    }
+
     /**
      * Soft-deletes a marketplace listing by setting status to 'removed'.
      *
@@ -678,6 +781,25 @@ public class MarketplaceListing extends PanacheEntityBase {
         });
     }
 
+    /**
+     * Marks reminders as sent for several listings in one statement.
+     *
+     * <p>
+     * Batch variant of {@link #markReminderSent(UUID)} used by
+     * {@link villagecompute.homepage.jobs.ListingReminderJobHandler}.
+     *
+     * @param listingIds
+     *            the listing UUIDs
+     * @return number of listings updated
+     */
+    public static int markRemindersSent(Collection<UUID> listingIds) {
+        if (listingIds.isEmpty()) {
+            return 0;
+        }
+        return QuarkusTransaction.requiringNew()
+                .call(() -> update("reminderSent = true, updatedAt = ?1 WHERE id IN ?2", Instant.now(), listingIds));
+    }
+
     /**
      * Finds a listing by its masked email address.
      *
@@ -4,7 +4,10 @@ import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -105,6 +108,29 @@ public class MarketplaceListingImage extends PanacheEntityBase {
         return count("listingId = ?1 AND variant = 'original' AND status != 'failed'", listingId);
     }
 
+    /**
+     * Count original images for several listings in one query (search result pages).
+     *
+     * @param listingIds
+     *            the listing UUIDs
+     * @return map of listing UUID to original image count; listings without images are absent
+     */
+    public static Map<UUID, Long> countOriginalsByListingIds(Collection<UUID> listingIds) {
+        Map<UUID, Long> counts = new HashMap<>();
+        if (listingIds.isEmpty()) {
+            return counts;
+        }
+        List<Object[]> rows = getEntityManager().createQuery("""
+                SELECT i.listingId, COUNT(i) FROM MarketplaceListingImage i
+                WHERE i.listingId IN :listingIds AND i.variant = 'original' AND i.status != 'failed'
+                GROUP BY i.listingId
+                """, Object[].class).setParameter("listingIds", listingIds).getResultList();
+        for (Object[] row : rows) {
+            counts.put((UUID) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
     /**
      * Find specific variant for a listing.
      *
@@ -101,6 +101,10 @@ public class NotificationPreferences extends PanacheEntityBase {
             nullable = false)
     public boolean emailDigest = false; // Default opt-out for digest
 
+    @Column(
+            name = "last_digest_since")
+    public Instant lastDigestSince; // Window start of the last queued digest, null if never sent
+
     @Column(
             name = "created_at",
             nullable = false)
@@ -5,9 +5,9 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
-import org.jboss.logging.Logger;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,8 +16,9 @@ import java.util.UUID;
  * Rate limit violation tracking entity implementing the Panache ActiveRecord pattern.
  *
  * <p>
- * Records rate limit violations for abuse detection and analytics. Violations are upserted when they occur within the
- * same window (incrementing violation_count), or created as new records when outside the window.
+ * Records rate limit violations for abuse detection and analytics. Violations are upserted in batches by
+ * {@link villagecompute.homepage.services.RateLimitViolationRecorder}: within the same window they increment
+ * violation_count, outside it a new record is created.
  *
  * <p>
  * <b>Schema Mapping:</b>
@@ -45,8 +46,6 @@ import java.util.UUID;
         name = "rate_limit_violations")
 public class RateLimitViolation extends PanacheEntityBase {
 
-    private static final Logger LOG = Logger.getLogger(RateLimitViolation.class);
-
     @Id
     @Column(
             nullable = false)
@@ -116,6 +115,36 @@ public class RateLimitViolation extends PanacheEntityBase {
         return Optional.empty();
     }
 
+    /**
+     * Finds the recent (24h) violation records of several users and anonymous IP addresses with one query.
+     *
+     * <p>
+     * Used by {@code RateLimitViolationRecorder} to merge a batch of aggregated denials. IP addresses only match records
+     * without a user.
+     *
+     * @param userIds
+     *            user IDs
+     * @param ipAddresses
+     *            source IP addresses of anonymous subjects
+     * @return matching violations, ordered by last_violation_at DESC
+     */
+    public static List<RateLimitViolation> findRecentForSubjects(Collection<Long> userIds,
+            Collection<String> ipAddresses) {
+        Instant cutoff = Instant.now().minusSeconds(86400); // 24 hours
+
+        if (!userIds.isEmpty() && !ipAddresses.isEmpty()) {
+            return list("lastViolationAt > ?1 AND (userId IN ?2 OR (userId IS NULL AND ipAddress IN ?3)) "
+                    + "ORDER BY lastViolationAt DESC", cutoff, userIds, ipAddresses);
+        } else if (!userIds.isEmpty()) {
+            return list("lastViolationAt > ?1 AND userId IN ?2 ORDER BY lastViolationAt DESC", cutoff, userIds);
+        } else if (!ipAddresses.isEmpty()) {
+            return list("lastViolationAt > ?1 AND userId IS NULL AND ipAddress IN ?2 ORDER BY lastViolationAt DESC",
+                    cutoff, ipAddresses);
+        }
+
+        return List.of();
+    }
+
     /**
      * Retrieves all violations for a specific user (admin audit view).
      *
@@ -193,30 +222,4 @@ public class RateLimitViolation extends PanacheEntityBase {
         this.violationCount++;
         this.lastViolationAt = Instant.now();
     }
-
-    /**
-     * Upserts a violation record (increments if exists within 24h window, creates new otherwise).
-     *
-     * @param userId
-     *            user ID (nullable)
-     * @param ipAddress
-     *            source IP
-     * @param actionType
-     *            action identifier
-     * @param endpoint
-     *            HTTP endpoint path
-     */
-    public static void upsertViolation(Long userId, String ipAddress, String actionType, String endpoint) {
-        Optional<RateLimitViolation> existing = findRecentViolation(userId, ipAddress, actionType);
-
-        if (existing.isPresent()) {
-            RateLimitViolation violation = existing.get();
-            violation.incrementViolation();
-            LOG.debugf("Incremented violation count: userId=%s ip=%s action=%s count=%d", userId, ipAddress, actionType,
-                    violation.violationCount);
-        } else {
-            create(userId, ipAddress, actionType, endpoint);
-            LOG.debugf("Created new violation record: userId=%s ip=%s action=%s", userId, ipAddress, actionType);
-        }
-    }
 }
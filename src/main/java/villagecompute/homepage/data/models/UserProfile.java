@@ -485,8 +485,9 @@ public class UserProfile extends PanacheEntityBase {
      * Increments the view count for this profile.
      *
      * <p>
-     * Called when public profile page is accessed. View count is cached here for fast reads; detailed analytics are
-     * tracked in link_clicks table. The caller must be in a transaction context for the update to be persisted.
+     * Public page views do not use this method: they are counted by
+     * {@link villagecompute.homepage.services.ProfileViewCounter} and flushed to view_count in batches. The caller must
+     * be in a transaction context for the update to be persisted.
      */
     public void incrementViewCount() {
         this.viewCount++;
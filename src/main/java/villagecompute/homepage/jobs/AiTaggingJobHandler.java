@@ -9,8 +9,6 @@ package villagecompute.homepage.jobs;
 import java.util.List;
 import java.util.Map;
 
-import com.google.common.collect.Lists;
-
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -23,10 +21,10 @@ import jakarta.inject.Inject;
 
 import org.jboss.logging.Logger;
 
-import villagecompute.homepage.api.types.AiTagsType;
 import villagecompute.homepage.observability.LoggingConfig;
 import villagecompute.homepage.data.models.FeedItem;
 import villagecompute.homepage.services.AiTaggingBudgetService;
+import villagecompute.homepage.services.AiTaggingExecutor;
 import villagecompute.homepage.services.AiTaggingService;
 import villagecompute.homepage.services.BudgetAction;
 
@@ -35,8 +33,8 @@ import villagecompute.homepage.services.BudgetAction;
  *
  * <p>
  * This handler processes untagged feed items in batches (10-20 items depending on budget state), extracting topics,
- * sentiment, categories, and confidence scores using Claude Sonnet 4 via LangChain4j. Budget enforcement occurs at four
- * threshold levels per P2/P10:
+ * sentiment, categories, and confidence scores via LangChain4j. Batches run concurrently through
+ * {@link AiTaggingExecutor}. Budget enforcement occurs at four threshold levels per P2/P10:
  * <ul>
  * <li><b>NORMAL (&lt;75%):</b> Process 20-item batches at full speed</li>
  * <li><b>REDUCE (75-90%):</b> Process 10-item batches to conserve budget</li>
@@ -50,15 +48,15 @@ import villagecompute.homepage.services.BudgetAction;
  * <li>Check budget status via {@link AiTaggingBudgetService}</li>
  * <li>If QUEUE or HARD_STOP, skip processing and log warning</li>
  * <li>Query untagged items via {@link FeedItem#findUntagged()}</li>
- * <li>Partition into batches based on budget action</li>
- * <li>For each batch, call {@link AiTaggingService#tagArticle} per item</li>
- * <li>Persist tags via {@link FeedItem#updateAiTags}</li>
+ * <li>Hand the items to {@link AiTaggingExecutor}, which runs concurrent batch calls under the provider rate limit and
+ * re-checks the budget after every batch</li>
+ * <li>Persist each batch's tags with batched updates</li>
  * <li>Export telemetry spans and metrics to Prometheus</li>
  * </ol>
  *
  * <p>
- * Individual item failures do NOT fail the entire batch - errors are logged and processing continues with remaining
- * items.
+ * Individual batch failures do NOT fail the job - errors are logged, the batch's items stay untagged for the next run,
+ * and processing continues with remaining batches.
  *
  * <p>
  * <b>Policy References:</b>
@@ -84,7 +82,7 @@ public class AiTaggingJobHandler implements JobHandler {
     MeterRegistry meterRegistry;
 
     @Inject
-    AiTaggingService aiTaggingService;
+    AiTaggingExecutor taggingExecutor;
 
     @Inject
     AiTaggingBudgetService budgetService;
@@ -149,59 +147,15 @@ public class AiTaggingJobHandler implements JobHandler {
 
             LOG.infof("Found %d untagged items, budget action: %s", totalItems, budgetAction);
 
-            // Determine batch size based on budget
-            int batchSize = budgetService.getBatchSize(budgetAction);
-            span.setAttribute("batch.size", batchSize);
-
-            // Partition into batches
-            List<List<FeedItem>> batches = Lists.partition(untaggedItems, batchSize);
-            span.setAttribute("batches.count", batches.size());
-
-            int successCount = 0;
-            int failureCount = 0;
-
-            // Process each batch
-            for (int i = 0; i < batches.size(); i++) {
-                List<FeedItem> batch = batches.get(i);
-
-                LOG.debugf("Processing batch %d/%d: %d items", i + 1, batches.size(), batch.size());
-
-                // Process each item in batch
-                for (FeedItem item : batch) {
-                    try {
-                        // Tag article
-                        AiTagsType tags = aiTaggingService.tagArticle(item.title, item.description, item.content);
-
-                        if (tags != null) {
-                            // Persist tags
-                            FeedItem.updateAiTags(item, tags);
-                            successCount++;
-                            successCounter.increment();
-
-                            LOG.debugf("Tagged item: id=%s, title=\"%s\", topics=%s, sentiment=%s, categories=%s",
-                                    item.id, item.title, tags.topics(), tags.sentiment(), tags.categories());
-                        } else {
-                            failureCount++;
-                            failureCounter.increment();
-                            LOG.warnf("Failed to tag item (null tags): id=%s, title=\"%s\"", item.id, item.title);
-                        }
-
-                    } catch (Exception e) {
-                        failureCount++;
-                        failureCounter.increment();
-                        LOG.errorf(e, "Failed to tag item: id=%s, title=\"%s\"", item.id, item.title);
-                        // Continue with next item despite error
-                    }
-                }
-
-                // Re-check budget between batches
-                BudgetAction updatedAction = budgetService.getCurrentBudgetAction();
-                if (budgetService.shouldStopProcessing(updatedAction)) {
-                    LOG.warnf("Budget exhausted mid-processing: action=%s, tagged=%d/%d items", updatedAction,
-                            successCount, totalItems);
-                    span.addEvent("budget_exhausted_mid_batch");
-                    break;
-                }
+            // Tag concurrently; the executor re-checks the budget after every batch
+            AiTaggingExecutor.TaggingRun run = taggingExecutor.tagAll(untaggedItems);
+            int successCount = run.tagged();
+            int failureCount = run.failed();
+            successCounter.increment(successCount);
+            failureCounter.increment(failureCount);
+            span.setAttribute("batches.count", run.batches());
+            if (run.budgetStopped()) {
+                span.addEvent("budget_exhausted_mid_batch");
             }
 
             // Record final stats
@@ -7,12 +7,18 @@
 package villagecompute.homepage.jobs;
 
 import java.io.File;
-import java.io.FileReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.Lists;
 import com.opencsv.CSVReader;
@@ -23,13 +29,17 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
 import org.jboss.logging.Logger;
 
 import villagecompute.homepage.api.types.AiCategorySuggestionType;
+import villagecompute.homepage.data.models.DelayedJob;
 import villagecompute.homepage.data.models.DirectoryAiSuggestion;
 import villagecompute.homepage.data.models.DirectorySite;
 import villagecompute.homepage.observability.LoggingConfig;
@@ -50,8 +60,9 @@ import villagecompute.homepage.services.BudgetAction;
  * <ol>
  * <li>Check budget status via {@link AiTaggingBudgetService}</li>
  * <li>If QUEUE or HARD_STOP, skip processing and log warning</li>
- * <li>Read CSV file from temp storage</li>
- * <li>For each CSV row: validate, check duplicates, create DirectoryAiSuggestion record</li>
+ * <li>Stream CSV file from temp storage in chunks of {@code villagecompute.directory.import.chunk-size} rows</li>
+ * <li>Per chunk: validate and normalize URLs in parallel, drop duplicates with one set-based query against sites and
+ * suggestions, insert DirectoryAiSuggestion records with JDBC batching and commit with a resume checkpoint</li>
  * <li>Query unprocessed suggestions via {@link DirectoryAiSuggestion#findUnprocessed()}</li>
  * <li>Partition into batches based on budget action</li>
  * <li>For each batch, call {@link AiCategorizationService#suggestCategories} per item</li>
@@ -64,6 +75,11 @@ import villagecompute.homepage.services.BudgetAction;
  * items.
  *
  * <p>
+ * <b>Resumable Import:</b> Each chunk commits on its own, together with the number of CSV data rows processed so far
+ * ({@code rows_committed} in the job payload). A failure rolls back only the chunk in progress; the retry skips the
+ * committed rows. Re-importing a chunk is harmless either way, since rows whose URL already exists are skipped.
+ *
+ * <p>
  * <b>CSV Format:</b>
  * <ul>
  * <li>url (required) - Website URL to import</li>
@@ -89,6 +105,9 @@ public class BulkImportJobHandler implements JobHandler {
 
     private static final Logger LOG = Logger.getLogger(BulkImportJobHandler.class);
 
+    /** Payload key holding the number of CSV data rows committed so far (resume checkpoint). */
+    static final String PAYLOAD_ROWS_COMMITTED = "rows_committed";
+
     @Inject
     Tracer tracer;
 
@@ -101,6 +120,11 @@ public class BulkImportJobHandler implements JobHandler {
     @Inject
     AiTaggingBudgetService budgetService;
 
+    @ConfigProperty(
+            name = "villagecompute.directory.import.chunk-size",
+            defaultValue = "1000")
+    int chunkSize;
+
     // Metrics
     private Counter parsedCounter;
     private Counter duplicateCounter;
@@ -109,6 +133,12 @@ public class BulkImportJobHandler implements JobHandler {
     private Counter budgetThrottleCounter;
     private Gauge budgetPercentGauge;
 
+    /**
+     * Validated, normalized CSV row.
+     */
+    private record ImportRow(String url, String domain, String title, String description) {
+    }
+
     @Override
     public JobType handlesType() {
         return JobType.DIRECTORY_BULK_IMPORT;
@@ -140,8 +170,11 @@ public class BulkImportJobHandler implements JobHandler {
 
             LOG.infof("Processing CSV file: path=%s, uploadedBy=%s", csvPath, uploadedByUserId);
 
-            // Phase 1: Parse CSV and create DirectoryAiSuggestion records
-            int parsedCount = parseCsvAndCreateSuggestions(csvPath, uploadedByUserId, span);
+            // Phase 1: Stream CSV in chunks and create DirectoryAiSuggestion records
+            long rowsCommitted = payload.get(PAYLOAD_ROWS_COMMITTED) instanceof Number committed
+                    ? committed.longValue()
+                    : 0;
+            int parsedCount = parseCsvAndCreateSuggestions(jobId, csvPath, uploadedByUserId, rowsCommitted, span);
             span.setAttribute("rows.parsed", parsedCount);
 
             LOG.infof("CSV parsing complete: jobId=%s, parsedRows=%d", jobId, parsedCount);
@@ -172,93 +205,169 @@ public class BulkImportJobHandler implements JobHandler {
     }
 
     /**
-     * Parses CSV file and creates DirectoryAiSuggestion records.
+     * Streams the CSV file in chunks and creates DirectoryAiSuggestion records.
+     *
+     * <p>
+     * Each chunk of {@code villagecompute.directory.import.chunk-size} rows is normalized in parallel, deduplicated
+     * (within the chunk and against existing sites/suggestions with one query), inserted with JDBC batching and
+     * committed together with the {@value #PAYLOAD_ROWS_COMMITTED} checkpoint in the job payload. A retry skips the
+     * rows already committed; a failure only rolls back the chunk in progress.
      *
+     * @param jobId
+     *            job ID (checkpoint owner)
      * @param csvPath
      *            path to CSV file
      * @param uploadedByUserId
      *            user who uploaded CSV
+     * @param rowsCommitted
+     *            data rows committed by a previous attempt (skipped)
      * @param span
      *            OpenTelemetry span for tracing
-     * @return number of rows parsed
+     * @return number of suggestions created
      */
-    private int parseCsvAndCreateSuggestions(String csvPath, UUID uploadedByUserId, Span span) {
+    private int parseCsvAndCreateSuggestions(Long jobId, String csvPath, UUID uploadedByUserId, long rowsCommitted,
+            Span span) {
         int parsedCount = 0;
+        int chunks = 0;
+        long rowNumber = rowsCommitted;
+
+        try (CSVReader reader = new CSVReader(Files.newBufferedReader(Path.of(csvPath), StandardCharsets.UTF_8))) {
+            reader.readNext(); // Skip header row
+            if (rowsCommitted > 0) {
+                LOG.infof("Resuming CSV import after %d committed rows: path=%s", rowsCommitted, csvPath);
+                span.setAttribute("rows.resumed_from", rowsCommitted);
+                reader.skip((int) rowsCommitted);
+            }
 
-        try (CSVReader reader = new CSVReader(new FileReader(csvPath))) {
-            String[] header = reader.readNext(); // Skip header row
-
+            List<String[]> chunk = new ArrayList<>(chunkSize);
             String[] row;
-            while ((row = reader.readNext()) != null) {
-                try {
-                    // Parse row
-                    String url = row.length > 0 ? row[0] : null;
-                    String title = row.length > 1 && !row[1].isBlank() ? row[1] : null;
-                    String description = row.length > 2 && !row[2].isBlank() ? row[2] : null;
-
-                    // Validate URL
-                    if (url == null || url.isBlank()) {
-                        LOG.warnf("Skipping row with missing URL: row=%d", parsedCount + 1);
-                        continue;
-                    }
+            while (true) {
+                row = reader.readNext();
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize || (row == null && !chunk.isEmpty())) {
+                    long firstRow = rowNumber + 1;
+                    rowNumber += chunk.size();
+                    parsedCount += importChunk(jobId, chunk, firstRow, uploadedByUserId, rowNumber);
+                    chunks++;
+                    chunk.clear();
+                }
+                if (row == null) {
+                    break;
+                }
+            }
 
-                    // Normalize URL
-                    String normalizedUrl = DirectorySite.normalizeUrl(url);
-                    String domain = DirectorySite.extractDomain(normalizedUrl);
-
-                    // Check duplicate (skip if already exists in DirectorySite)
-                    Optional<DirectorySite> existingSite = DirectorySite.findByUrl(normalizedUrl);
-                    if (existingSite.isPresent()) {
-                        LOG.debugf("Skipping duplicate URL: url=%s, existingSiteId=%s", normalizedUrl,
-                                existingSite.get().id);
-                        duplicateCounter.increment();
-                        continue;
-                    }
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to read CSV file: path=%s, committedRows=%d", csvPath, rowNumber);
+            throw new RuntimeException("CSV parsing failed", e);
+        }
 
-                    // Check duplicate in suggestions
-                    Optional<DirectoryAiSuggestion> existingSuggestion = DirectoryAiSuggestion.findByUrl(normalizedUrl);
-                    if (existingSuggestion.isPresent()) {
-                        LOG.debugf("Skipping duplicate suggestion: url=%s, existingSuggestionId=%s", normalizedUrl,
-                                existingSuggestion.get().id);
-                        duplicateCounter.increment();
-                        continue;
-                    }
+        span.setAttribute("rows.read", rowNumber);
+        span.setAttribute("chunks", chunks);
+        return parsedCount;
+    }
 
-                    // Use URL as fallback title
-                    if (title == null || title.isBlank()) {
-                        title = domain;
-                    }
+    /**
+     * Imports one chunk of CSV rows in its own transaction (joining the caller's transaction if one is active).
+     *
+     * @param jobId
+     *            job ID (checkpoint owner)
+     * @param rows
+     *            raw CSV rows
+     * @param firstRow
+     *            1-based data row number of the first row (for logging)
+     * @param uploadedByUserId
+     *            user who uploaded CSV
+     * @param rowsCommitted
+     *            checkpoint to record once the chunk commits
+     * @return number of suggestions created
+     */
+    private int importChunk(Long jobId, List<String[]> rows, long firstRow, UUID uploadedByUserId,
+            long rowsCommitted) {
+        // URL normalization is CPU-only, so the chunk is parsed in parallel (order preserved)
+        List<ImportRow> parsed = IntStream.range(0, rows.size()).parallel()
+                .mapToObj(i -> parseRow(rows.get(i), firstRow + i)).filter(Objects::nonNull).toList();
+
+        // First occurrence wins within the chunk
+        Map<String, ImportRow> byUrl = new LinkedHashMap<>();
+        for (ImportRow importRow : parsed) {
+            if (byUrl.putIfAbsent(importRow.url(), importRow) != null) {
+                LOG.debugf("Skipping duplicate URL within CSV: url=%s", importRow.url());
+                duplicateCounter.increment();
+            }
+        }
 
-                    // Create DirectoryAiSuggestion record
-                    DirectoryAiSuggestion suggestion = new DirectoryAiSuggestion();
-                    suggestion.url = normalizedUrl;
-                    suggestion.domain = domain;
-                    suggestion.title = title;
-                    suggestion.description = description;
-                    suggestion.status = DirectoryAiSuggestion.STATUS_PENDING;
-                    suggestion.uploadedByUserId = uploadedByUserId;
-                    suggestion.createdAt = Instant.now();
-                    suggestion.updatedAt = Instant.now();
-                    suggestion.persist();
+        return QuarkusTransaction.joiningExisting().call(() -> {
+            Set<String> existing = DirectoryAiSuggestion.findImportedUrls(byUrl.keySet());
+            if (!existing.isEmpty()) {
+                LOG.debugf("Skipping %d already imported URLs in rows %d-%d", existing.size(), firstRow,
+                        rowsCommitted);
+                duplicateCounter.increment(existing.size());
+            }
 
-                    parsedCount++;
-                    parsedCounter.increment();
+            DirectoryAiSuggestion.getEntityManager().unwrap(Session.class).setJdbcBatchSize(chunkSize);
+            Instant now = Instant.now();
+            int created = 0;
+            for (ImportRow importRow : byUrl.values()) {
+                if (existing.contains(importRow.url())) {
+                    continue;
+                }
+                DirectoryAiSuggestion suggestion = new DirectoryAiSuggestion();
+                suggestion.url = importRow.url();
+                suggestion.domain = importRow.domain();
+                suggestion.title = importRow.title();
+                suggestion.description = importRow.description();
+                suggestion.status = DirectoryAiSuggestion.STATUS_PENDING;
+                suggestion.uploadedByUserId = uploadedByUserId;
+                suggestion.createdAt = now;
+                suggestion.updatedAt = now;
+                suggestion.persist();
+                created++;
+            }
 
-                    LOG.debugf("Created AI suggestion: id=%s, url=%s, title=%s", suggestion.id, normalizedUrl, title);
+            DirectoryAiSuggestion.flush();
+            DelayedJob.recordProgress(jobId, PAYLOAD_ROWS_COMMITTED, rowsCommitted);
+            parsedCounter.increment(created);
 
-                } catch (Exception e) {
-                    LOG.errorf(e, "Failed to parse CSV row: row=%d", parsedCount + 1);
-                    failureCounter.increment();
-                    // Continue with next row despite error
-                }
+            LOG.debugf("Imported CSV rows %d-%d: created=%d, duplicates=%d", firstRow, rowsCommitted, created,
+                    parsed.size() - created);
+            return created;
+        });
+    }
+
+    /**
+     * Validates and normalizes one CSV row.
+     *
+     * @param row
+     *            raw CSV row (url, title, description)
+     * @param rowNumber
+     *            1-based data row number (for logging)
+     * @return parsed row, or null if the row is invalid
+     */
+    private ImportRow parseRow(String[] row, long rowNumber) {
+        try {
+            String url = row.length > 0 ? row[0] : null;
+            String title = row.length > 1 && !row[1].isBlank() ? row[1] : null;
+            String description = row.length > 2 && !row[2].isBlank() ? row[2] : null;
+
+            // Validate URL
+            if (url == null || url.isBlank()) {
+                LOG.warnf("Skipping row with missing URL: row=%d", rowNumber);
+                return null;
             }
 
+            String normalizedUrl = DirectorySite.normalizeUrl(url);
+            String domain = DirectorySite.extractDomain(normalizedUrl);
+
+            // Use domain as fallback title
+            return new ImportRow(normalizedUrl, domain, title != null ? title : domain, description);
+
         } catch (Exception e) {
-            LOG.errorf(e, "Failed to read CSV file: path=%s", csvPath);
-            throw new RuntimeException("CSV parsing failed", e);
+            LOG.errorf(e, "Failed to parse CSV row: row=%d", rowNumber);
+            failureCounter.increment();
+            return null;
         }
-
-        return parsedCount;
     }
 
     /**
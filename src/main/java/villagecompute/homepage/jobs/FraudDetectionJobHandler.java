@@ -9,6 +9,8 @@ package villagecompute.homepage.jobs;
 import java.util.List;
 import java.util.Map;
 
+import com.google.common.collect.Lists;
+
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.api.trace.Span;
@@ -46,8 +48,11 @@ import villagecompute.homepage.services.FraudDetectionService;
  * <li>Check budget status via {@link AiTaggingBudgetService}</li>
  * <li>If QUEUE or HARD_STOP, skip processing and log warning</li>
  * <li>Query pending listings via {@link MarketplaceListing} query</li>
- * <li>For each listing, call {@link FraudDetectionService#analyzeListing}</li>
+ * <li>Analyze listings in batches of {@link FraudDetectionService#MAX_BATCH_SIZE} via
+ * {@link FraudDetectionService#analyzeListingsBatch} (one prompt per batch; a lone listing uses
+ * {@link FraudDetectionService#analyzeListing})</li>
  * <li>Apply auto-flag/approve logic via {@link FraudDetectionService#autoFlagHighRisk}</li>
+ * <li>Re-check budget after each batch</li>
  * <li>Export telemetry spans and metrics to Prometheus</li>
  * </ol>
  *
@@ -156,52 +161,71 @@ public class FraudDetectionJobHandler implements JobHandler {
             int manualReviewCount = 0;
             int failureCount = 0;
 
-            // Process each listing
-            for (MarketplaceListing listing : pendingListings) {
+            // Several pending listings share batch prompts; a single listing keeps the per-listing path
+            List<List<MarketplaceListing>> batches = Lists.partition(pendingListings,
+                    FraudDetectionService.MAX_BATCH_SIZE);
+            span.setAttribute("batches.count", batches.size());
+
+            for (List<MarketplaceListing> batch : batches) {
+                List<FraudAnalysisResultType> results;
                 try {
-                    // Analyze listing
-                    FraudAnalysisResultType result = fraudDetectionService.analyzeListing(listing.id);
-
-                    if (result != null) {
-                        // Apply auto-action logic
-                        fraudDetectionService.autoFlagHighRisk(listing.id, result);
-
-                        analyzedCount++;
-
-                        // Count outcomes based on confidence
-                        if (result.confidence().compareTo(java.math.BigDecimal.valueOf(0.70)) > 0) {
-                            autoFlaggedCount++;
-                            autoFlagCounter.increment();
-                            LOG.debugf("High-risk listing flagged: id=%s, title=\"%s\", confidence=%.2f, reasons=%s",
-                                    listing.id, listing.title, result.confidence(), result.reasons());
-                        } else if (result.confidence().compareTo(java.math.BigDecimal.valueOf(0.30)) < 0) {
-                            autoApprovedCount++;
-                            autoApproveCounter.increment();
-                            LOG.debugf("Low-risk listing approved: id=%s, title=\"%s\", confidence=%.2f", listing.id,
-                                    listing.title, result.confidence());
+                    results = batch.size() == 1
+                            ? List.of(fraudDetectionService.analyzeListing(batch.get(0).id))
+                            : fraudDetectionService.analyzeListingsBatch(batch);
+                } catch (Exception e) {
+                    failureCount += batch.size();
+                    failureCounter.increment(batch.size());
+                    LOG.errorf(e, "Failed to analyze batch of %d listings", batch.size());
+                    continue;
+                }
+
+                for (int i = 0; i < batch.size(); i++) {
+                    MarketplaceListing listing = batch.get(i);
+                    try {
+                        FraudAnalysisResultType result = results.get(i);
+
+                        if (result != null) {
+                            // Apply auto-action logic
+                            fraudDetectionService.autoFlagHighRisk(listing.id, result);
+
+                            analyzedCount++;
+
+                            // Count outcomes based on confidence
+                            if (result.confidence().compareTo(java.math.BigDecimal.valueOf(0.70)) > 0) {
+                                autoFlaggedCount++;
+                                autoFlagCounter.increment();
+                                LOG.debugf(
+                                        "High-risk listing flagged: id=%s, title=\"%s\", confidence=%.2f, reasons=%s",
+                                        listing.id, listing.title, result.confidence(), result.reasons());
+                            } else if (result.confidence().compareTo(java.math.BigDecimal.valueOf(0.30)) < 0) {
+                                autoApprovedCount++;
+                                autoApproveCounter.increment();
+                                LOG.debugf("Low-risk listing approved: id=%s, title=\"%s\", confidence=%.2f",
+                                        listing.id, listing.title, result.confidence());
+                            } else {
+                                manualReviewCount++;
+                                manualReviewCounter.increment();
+                                LOG.debugf("Medium-risk listing queued for review: id=%s, title=\"%s\", "
+                                        + "confidence=%.2f", listing.id, listing.title, result.confidence());
+                            }
+
+                            successCounter.increment();
                         } else {
-                            manualReviewCount++;
-                            manualReviewCounter.increment();
-                            LOG.debugf("Medium-risk listing queued for review: id=%s, title=\"%s\", confidence=%.2f",
-                                    listing.id, listing.title, result.confidence());
+                            failureCount++;
+                            failureCounter.increment();
+                            LOG.warnf("Failed to analyze listing (null result): id=%s, title=\"%s\"", listing.id,
+                                    listing.title);
                         }
 
-                        successCounter.increment();
-                    } else {
+                    } catch (Exception e) {
                         failureCount++;
                         failureCounter.increment();
-                        LOG.warnf("Failed to analyze listing (null result): id=%s, title=\"%s\"", listing.id,
-                                listing.title);
+                        LOG.errorf(e, "Failed to analyze listing: id=%s, title=\"%s\"", listing.id, listing.title);
+                        // Continue with next listing despite error
                     }
-
-                } catch (Exception e) {
-                    failureCount++;
-                    failureCounter.increment();
-                    LOG.errorf(e, "Failed to analyze listing: id=%s, title=\"%s\"", listing.id, listing.title);
-                    // Continue with next listing despite error
                 }
 
-                // Re-check budget after each listing
+                // Re-check budget after each batch
                 BudgetAction updatedAction = budgetService.getCurrentBudgetAction();
                 if (budgetService.shouldStopProcessing(updatedAction)) {
                     LOG.warnf("Budget exhausted mid-processing: action=%s, analyzed=%d/%d listings", updatedAction,
@@ -68,6 +68,15 @@ public enum JobType {
      */
     PROMOTION_EXPIRATION(JobQueue.DEFAULT, "Promotion expiration (daily)"),
 
+    /**
+     * Queues digest emails summarizing each opted-in user's unread in-app notifications.
+     * <p>
+     * <b>Cadence:</b> Weekly, Mondays at 9am UTC
+     * <p>
+     * <b>Handler:</b> NotificationDigestJobHandler
+     */
+    NOTIFICATION_DIGEST(JobQueue.DEFAULT, "Notification digest (weekly)"),
+
     /**
      * Recalculates Good Sites ranking scores based on votes and category position.
      * <p>
@@ -184,11 +193,11 @@ public enum JobType {
     /**
      * Checks Good Sites links for HTTP errors and updates health status.
      * <p>
-     * <b>Cadence:</b> Weekly
+     * <b>Cadence:</b> Hourly, one hour-of-week slot per run (each site checked weekly)
      * <p>
-     * <b>Handler:</b> LinkHealthCheckHandler (future)
+     * <b>Handler:</b> LinkHealthCheckJobHandler
      */
-    LINK_HEALTH_CHECK(JobQueue.LOW, "Link health check (weekly)"),
+    LINK_HEALTH_CHECK(JobQueue.LOW, "Link health check (hourly slot, weekly per site)"),
 
     /**
      * Generates XML sitemaps for SEO indexing.
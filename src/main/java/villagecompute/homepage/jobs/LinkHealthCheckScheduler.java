@@ -5,27 +5,30 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import villagecompute.homepage.services.DelayedJobService;
+import villagecompute.homepage.services.LinkHealthCheckService;
 
+import java.time.Instant;
 import java.util.Map;
 
 /**
- * Scheduler for weekly link health checks in Good Sites directory.
+ * Scheduler for incremental link health checks in Good Sites directory.
  *
  * <p>
- * Enqueues LINK_HEALTH_CHECK jobs on a weekly cadence to detect dead links. Runs every Sunday at 3am UTC to minimize
- * user impact during low-traffic periods.
+ * Enqueues one LINK_HEALTH_CHECK job per hour for the current hour-of-week slot. Each site id hashes into one of
+ * {@link LinkHealthCheckService#SLOTS_PER_WEEK} slots, so every site is still checked once a week but the load is
+ * spread evenly instead of arriving as one Sunday-morning sweep.
  *
  * <p>
- * <b>Schedule:</b> Weekly on Sunday at 3am UTC (cron: 0 0 3 ? * SUN)
+ * <b>Schedule:</b> Hourly at minute 0 (cron: 0 0 * * * ?)
  *
  * <p>
  * <b>Queue:</b> LOW (non-critical background maintenance)
  *
  * <p>
- * <b>Expected Duration:</b> 10-30 minutes for 10,000 sites (HTTP timeouts dominate runtime)
+ * <b>Expected Duration:</b> Under a minute per slot for 10,000 sites (~60 sites per slot, checked concurrently)
  *
  * <p>
- * <b>Job Payload:</b> Empty map (no parameters required)
+ * <b>Job Payload:</b> {@code slot} (current hour of week, 0 = Monday 00:00 UTC) and {@code slot_count} (168)
  *
  * @see LinkHealthCheckJobHandler
  * @see JobType#LINK_HEALTH_CHECK
@@ -39,16 +42,14 @@ public class LinkHealthCheckScheduler {
     DelayedJobService jobService;
 
     /**
-     * Schedules weekly link health check job.
-     *
-     * <p>
-     * Runs every Sunday at 3am UTC. Enqueues a single job that processes all approved sites in the directory.
+     * Schedules the link health check job for the current hour-of-week slot.
      */
     @Scheduled(
-            cron = "0 0 3 ? * SUN")
+            cron = "0 0 * * * ?")
     void scheduleLinkHealthCheck() {
-        Map<String, Object> payload = Map.of();
+        int slot = LinkHealthCheckService.currentSlot(Instant.now());
+        Map<String, Object> payload = Map.of("slot", slot, "slot_count", LinkHealthCheckService.SLOTS_PER_WEEK);
         jobService.enqueue(JobType.LINK_HEALTH_CHECK, payload);
-        LOG.info("Scheduled weekly link health check job");
+        LOG.infof("Scheduled link health check job for slot %d/%d", slot, LinkHealthCheckService.SLOTS_PER_WEEK);
     }
 }
@@ -13,8 +13,10 @@ import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import villagecompute.homepage.data.models.MarketplaceListing;
 import villagecompute.homepage.observability.LoggingConfig;
+import villagecompute.homepage.services.ListingLifecycleService;
+import villagecompute.homepage.services.ListingLifecycleService.ExpirationSweep;
 
-import java.util.List;
+import java.time.Instant;
 import java.util.Map;
 
 /**
@@ -28,16 +30,10 @@ import java.util.Map;
  * <p>
  * <b>Execution Flow:</b>
  * <ol>
- * <li>Query {@link MarketplaceListing#findExpired()} for active listings with expires_at <= NOW()</li>
- * <li>For each expired listing:
- * <ul>
- * <li>Call {@link MarketplaceListing#markExpired(java.util.UUID)} to update status to 'expired'</li>
- * <li>Update updated_at timestamp</li>
- * <li>Log telemetry event</li>
- * </ul>
- * </li>
+ * <li>Delegate to {@link ListingLifecycleService#expireListings(Instant)}, which expires listings in chunks with one
+ * {@code UPDATE ... RETURNING id} per chunk (no per-listing entity loads)</li>
+ * <li>Each chunk enqueues image cleanup jobs in the same transaction and is reindexed in one search indexing plan</li>
  * <li>Export OpenTelemetry spans and Micrometer metrics for observability</li>
- * <li>Individual listing errors do NOT abort batch processing</li>
  * </ol>
  *
  * <p>
@@ -45,9 +41,9 @@ import java.util.Map;
  * 30 days. This job scans for listings where that timestamp has passed and marks them as expired.
  *
  * <p>
- * <b>Error Handling:</b> Individual listing expiration failures (e.g., concurrent updates, database errors) are logged
- * and recorded as exceptions, but do NOT abort the job. The job continues processing remaining expired listings and
- * reports partial failure if any listing fails.
+ * <b>Error Handling:</b> Listings locked by a concurrent update are skipped and expired by the next run. A database
+ * error aborts the job; chunks committed before it stay expired, so a retry resumes where it stopped. Search reindex
+ * failures are logged and counted but do not fail the job (the database is the source of truth).
  *
  * <p>
  * <b>Telemetry:</b> Exports the following OpenTelemetry span attributes:
@@ -55,9 +51,9 @@ import java.util.Map;
  * <li>{@code job.id} - Job database primary key</li>
  * <li>{@code job.type} - LISTING_EXPIRATION</li>
  * <li>{@code job.queue} - DEFAULT</li>
- * <li>{@code listings_found} - Total expired listings found</li>
- * <li>{@code listings_expired} - Listings successfully marked as expired</li>
- * <li>{@code listings_failed} - Listings that failed to expire</li>
+ * <li>{@code listings_expired} - Listings marked as expired</li>
+ * <li>{@code chunks} - Update statements executed</li>
+ * <li>{@code reindex_failures} - Chunks whose search reindex failed</li>
  * </ul>
  *
  * <p>
@@ -65,7 +61,8 @@ import java.util.Map;
  * <ul>
  * <li>{@code marketplace.listings.expired.total} (Counter) - Total listings successfully expired</li>
  * <li>{@code marketplace.listings.expiration.duration} (Timer) - Job execution duration</li>
- * <li>{@code marketplace.listings.expiration.errors.total} (Counter) - Individual listing expiration errors</li>
+ * <li>{@code marketplace.lifecycle.reindex.errors.total} (Counter) - Chunk reindex errors (see
+ * {@link ListingLifecycleService})</li>
  * </ul>
  *
  * <p>
@@ -99,6 +96,9 @@ public class ListingExpirationJobHandler implements JobHandler {
     @Inject
     MeterRegistry meterRegistry;
 
+    @Inject
+    ListingLifecycleService lifecycleService;
+
     @Override
     public JobType handlesType() {
         return JobType.LISTING_EXPIRATION;
@@ -130,59 +130,28 @@ public class ListingExpirationJobHandler implements JobHandler {
                 span.addEvent("expiration.force_mode");
             }
 
-            // Find expired listings
-            List<MarketplaceListing> expiredListings = MarketplaceListing.findExpired();
+            ExpirationSweep sweep = lifecycleService.expireListings(Instant.now());
 
-            if (expiredListings.isEmpty()) {
+            if (sweep.expired() == 0) {
                 LOG.infof("No expired listings found");
                 span.addEvent("expiration.no_listings");
                 timerSample.stop(Timer.builder("marketplace.listings.expiration.duration").register(meterRegistry));
                 return;
             }
 
-            LOG.infof("Found %d expired listings to mark", expiredListings.size());
-            span.setAttribute("listings_found", expiredListings.size());
-
-            int successCount = 0;
-            int failureCount = 0;
-
-            // Process each expired listing
-            for (MarketplaceListing listing : expiredListings) {
-                try {
-                    MarketplaceListing.markExpired(listing.id);
-                    successCount++;
-
-                    LOG.debugf("Expired listing: id=%s, userId=%s, categoryId=%s, expiresAt=%s", listing.id,
-                            listing.userId, listing.categoryId, listing.expiresAt);
-
-                } catch (Exception e) {
-                    failureCount++;
-                    LOG.errorf(e, "Failed to expire listing %s: %s", listing.id, e.getMessage());
-                    span.recordException(e);
-
-                    Counter.builder("marketplace.listings.expiration.errors.total")
-                            .tag("listing_id", listing.id.toString()).register(meterRegistry).increment();
-
-                    // Continue processing other listings even if one fails
-                }
-            }
-
-            span.setAttribute("listings_expired", successCount);
-            span.setAttribute("listings_failed", failureCount);
-            span.addEvent("expiration.completed", Attributes.of(AttributeKey.longKey("success"), (long) successCount,
-                    AttributeKey.longKey("failure"), (long) failureCount));
+            span.setAttribute("listings_expired", sweep.expired());
+            span.setAttribute("chunks", sweep.chunks());
+            span.setAttribute("reindex_failures", sweep.reindexFailures());
+            span.addEvent("expiration.completed", Attributes.of(AttributeKey.longKey("expired"), (long) sweep.expired(),
+                    AttributeKey.longKey("chunks"), (long) sweep.chunks()));
 
             // Record success metrics
-            Counter.builder("marketplace.listings.expired.total").register(meterRegistry).increment(successCount);
+            Counter.builder("marketplace.listings.expired.total").register(meterRegistry).increment(sweep.expired());
 
             timerSample.stop(Timer.builder("marketplace.listings.expiration.duration").register(meterRegistry));
 
-            LOG.infof("Listing expiration job %d completed: %d expired, %d failed", jobId, successCount, failureCount);
-
-            if (failureCount > 0) {
-                throw new RuntimeException(String.format("Expiration job partially failed: %d/%d listings failed",
-                        failureCount, expiredListings.size()));
-            }
+            LOG.infof("Listing expiration job %d completed: %d expired in %d chunks, %d reindex failures", jobId,
+                    sweep.expired(), sweep.chunks(), sweep.reindexFailures());
 
         } finally {
             LoggingConfig.clearMDC();
@@ -7,6 +7,7 @@ import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.jboss.logging.Logger;
 import villagecompute.homepage.data.models.MarketplaceListingImage;
+import villagecompute.homepage.observability.MeterCache;
 import villagecompute.homepage.services.StorageGateway;
 
 import java.util.List;
@@ -47,6 +48,9 @@ public class ListingImageCleanupJobHandler implements JobHandler {
     @Inject
     MeterRegistry meterRegistry;
 
+    @Inject
+    MeterCache meters;
+
     @Override
     public JobType handlesType() {
         return JobType.LISTING_IMAGE_CLEANUP;
@@ -67,8 +71,8 @@ public class ListingImageCleanupJobHandler implements JobHandler {
 
             if (images.isEmpty()) {
                 LOG.infof("No images to clean up for listingId=%s", listingId);
-                sample.stop(Timer.builder("marketplace.images.cleanup.duration").tag("status", "success")
-                        .tag("image_count", "0").register(meterRegistry));
+                sample.stop(meters.timer("marketplace.images.cleanup.duration", null, "status", "success",
+                        "image_count", "0"));
                 return;
             }
 
@@ -99,25 +103,24 @@ public class ListingImageCleanupJobHandler implements JobHandler {
                     deletedCount, totalBytesFreed, failureCount);
 
             // 4. Export metrics
-            meterRegistry.counter("marketplace.images.cleaned.total", "listing_id", listingId.toString())
+            meters.counter("marketplace.images.cleaned.total", null, "listing_id", listingId.toString())
                     .increment(deletedCount);
 
-            meterRegistry.counter("marketplace.storage.bytes.freed", "bucket", "listings").increment(totalBytesFreed);
+            meters.counter("marketplace.storage.bytes.freed", null, "bucket", "listings").increment(totalBytesFreed);
 
             if (failureCount > 0) {
-                meterRegistry.counter("marketplace.images.cleanup.failures.total", "listing_id", listingId.toString())
+                meters.counter("marketplace.images.cleanup.failures.total", null, "listing_id", listingId.toString())
                         .increment(failureCount);
             }
 
-            sample.stop(Timer.builder("marketplace.images.cleanup.duration")
-                    .tag("status", failureCount > 0 ? "partial" : "success")
-                    .tag("image_count", String.valueOf(deletedCount)).register(meterRegistry));
+            sample.stop(meters.timer("marketplace.images.cleanup.duration", null, "status",
+                    failureCount > 0 ? "partial" : "success", "image_count", String.valueOf(deletedCount)));
 
         } catch (Exception e) {
-            sample.stop(Timer.builder("marketplace.images.cleanup.duration").tag("status", "error")
-                    .tag("image_count", "0").register(meterRegistry));
+            sample.stop(meters.timer("marketplace.images.cleanup.duration", null, "status", "error", "image_count",
+                    "0"));
 
-            meterRegistry.counter("marketplace.images.cleanup.errors.total", "error_type", e.getClass().getSimpleName())
+            meters.counter("marketplace.images.cleanup.errors.total", null, "error_type", e.getClass().getSimpleName())
                     .increment();
 
             LOG.errorf(e, "Failed to clean up images for jobId=%d", jobId);
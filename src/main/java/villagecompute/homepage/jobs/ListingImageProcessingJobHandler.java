@@ -8,9 +8,11 @@ import jakarta.transaction.Transactional;
 import org.jboss.logging.Logger;
 import villagecompute.homepage.api.types.StorageUploadResultType;
 import villagecompute.homepage.data.models.MarketplaceListingImage;
+import villagecompute.homepage.observability.MeterCache;
 import villagecompute.homepage.services.StorageGateway;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -21,16 +23,17 @@ import java.util.UUID;
  * Workflow:
  * <ol>
  * <li>Download original image from R2 storage</li>
- * <li>Generate 3 WebP variants: thumbnail (200x200), list (800x600), full (1600x1200)</li>
- * <li>Upload each variant to R2 via StorageGateway (automatic WebP conversion + resize)</li>
+ * <li>Decode once and generate 3 WebP variants: thumbnail (200x200), list (800x600), full (1600x1200)</li>
+ * <li>Upload all variants to R2 concurrently via StorageGateway.uploadImageVariants()</li>
  * <li>Create database records for each variant</li>
  * <li>Mark original image as 'processed'</li>
  * </ol>
  *
  * <p>
  * <b>WebP Conversion:</b> Images are automatically converted to WebP format with 85% quality and resized to target
- * dimensions while preserving aspect ratio (letterboxing/pillarboxing applied as needed). Conversion happens in
- * StorageGateway.convertToWebP() using javax.imageio with webp-imageio plugin.
+ * dimensions while preserving aspect ratio (letterboxing/pillarboxing applied as needed). The original is decoded
+ * once; smaller variants are downscaled from the larger variant's raster rather than the full-resolution original, and
+ * the three encodes run in parallel. Large phone photos previously paid a full decode per variant.
  *
  * <p>
  * <b>Retry Strategy:</b> Failed jobs retry up to 3 times with exponential backoff. After max retries, image status is
@@ -48,12 +51,20 @@ public class ListingImageProcessingJobHandler implements JobHandler {
 
     private static final Logger LOG = Logger.getLogger(ListingImageProcessingJobHandler.class);
 
+    /**
+     * Variants generated for every listing image, in record creation order.
+     */
+    static final List<String> VARIANTS = List.of("thumbnail", "list", "full");
+
     @Inject
     StorageGateway storageGateway;
 
     @Inject
     MeterRegistry meterRegistry;
 
+    @Inject
+    MeterCache meters;
+
     @Override
     public JobType handlesType() {
         return JobType.LISTING_IMAGE_PROCESSING;
@@ -82,32 +93,19 @@ public class ListingImageProcessingJobHandler implements JobHandler {
 
             LOG.infof("Downloaded original image: %d bytes", originalBytes.length);
 
-            // 2. Generate thumbnail variant (200x200)
-            // StorageGateway.upload() now calls convertToWebP() internally with variant-based sizing
-            StorageUploadResultType thumbnailResult = storageGateway.upload(StorageGateway.BucketType.LISTINGS,
-                    listingId.toString(), "thumbnail", originalBytes, "image/jpeg");
-
-            LOG.debugf("Uploaded thumbnail variant: %s (%d bytes)", thumbnailResult.objectKey(),
-                    thumbnailResult.sizeBytes());
+            // 2. Decode once, render thumbnail (200x200), list (800x600) and full (1600x1200) variants by successive
+            // downscaling, then encode and upload them in parallel
+            Map<String, StorageUploadResultType> results = storageGateway.uploadImageVariants(
+                    StorageGateway.BucketType.LISTINGS, listingId.toString(), VARIANTS, originalBytes, "image/jpeg");
 
-            // 3. Generate list variant (800x600)
-            StorageUploadResultType listResult = storageGateway.upload(StorageGateway.BucketType.LISTINGS,
-                    listingId.toString(), "list", originalBytes, "image/jpeg");
-
-            LOG.debugf("Uploaded list variant: %s (%d bytes)", listResult.objectKey(), listResult.sizeBytes());
-
-            // 4. Generate full variant (1600x1200)
-            StorageUploadResultType fullResult = storageGateway.upload(StorageGateway.BucketType.LISTINGS,
-                    listingId.toString(), "full", originalBytes, "image/jpeg");
-
-            LOG.debugf("Uploaded full variant: %s (%d bytes)", fullResult.objectKey(), fullResult.sizeBytes());
-
-            // 5. Create records for each variant
-            createImageRecord(listingId, thumbnailResult, "thumbnail", displayOrder, originalFilename);
-            createImageRecord(listingId, listResult, "list", displayOrder, originalFilename);
-            createImageRecord(listingId, fullResult, "full", displayOrder, originalFilename);
+            // 3. Create records for each variant
+            for (String variant : VARIANTS) {
+                StorageUploadResultType result = results.get(variant);
+                LOG.debugf("Uploaded %s variant: %s (%d bytes)", variant, result.objectKey(), result.sizeBytes());
+                createImageRecord(listingId, result, variant, displayOrder, originalFilename);
+            }
 
-            // 6. Mark original image as processed
+            // 4. Mark original image as processed
             MarketplaceListingImage originalImage = MarketplaceListingImage.findById(imageId);
             if (originalImage != null) {
                 originalImage.status = "processed";
@@ -115,21 +113,18 @@ public class ListingImageProcessingJobHandler implements JobHandler {
                 LOG.infof("Marked original image as processed: imageId=%s", imageId);
             }
 
-            // 7. Export metrics
-            meterRegistry.counter("marketplace.images.processed.total", "listing_id", listingId.toString()).increment();
+            // 5. Export metrics
+            meters.counter("marketplace.images.processed.total", null, "listing_id", listingId.toString()).increment();
 
-            sample.stop(Timer.builder("marketplace.images.processing.duration").tag("status", "success")
-                    .register(meterRegistry));
+            sample.stop(meters.timer("marketplace.images.processing.duration", null, "status", "success"));
 
             LOG.infof("Successfully processed image variants for imageId=%s (3 variants created)", imageId);
 
         } catch (Exception e) {
-            sample.stop(Timer.builder("marketplace.images.processing.duration").tag("status", "error")
-                    .register(meterRegistry));
+            sample.stop(meters.timer("marketplace.images.processing.duration", null, "status", "error"));
 
-            meterRegistry
-                    .counter("marketplace.images.processing.errors.total", "error_type", e.getClass().getSimpleName())
-                    .increment();
+            meters.counter("marketplace.images.processing.errors.total", null, "error_type",
+                    e.getClass().getSimpleName()).increment();
 
             LOG.errorf(e, "Failed to process image for jobId=%d", jobId);
             throw e;
@@ -13,9 +13,12 @@ import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import villagecompute.homepage.data.models.MarketplaceListing;
 import villagecompute.homepage.observability.LoggingConfig;
+import villagecompute.homepage.observability.MeterCache;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Job handler for marketplace listing expiration reminders (Feature F12.7).
@@ -32,10 +35,11 @@ import java.util.Map;
  * <li>For each listing:
  * <ul>
  * <li>Send reminder email to seller (contact_info.email) with expiration date</li>
- * <li>Call {@link MarketplaceListing#markReminderSent(java.util.UUID)} to set reminder_sent = true</li>
  * <li>Log telemetry event</li>
  * </ul>
  * </li>
+ * <li>Every {@value #MARK_SENT_BATCH_SIZE} sent reminders (and at the end), call
+ * {@link MarketplaceListing#markRemindersSent(java.util.Collection)} to set reminder_sent = true in one statement</li>
  * <li>Export OpenTelemetry spans and Micrometer metrics for observability</li>
  * <li>Individual email failures do NOT abort batch processing</li>
  * </ol>
@@ -115,12 +119,18 @@ public class ListingReminderJobHandler implements JobHandler {
     /** Default threshold: remind sellers 3 days before expiration. */
     private static final int DEFAULT_DAYS_THRESHOLD = 3;
 
+    /** Sent reminders flagged per UPDATE; bounds duplicate reminders if the job dies mid-run. */
+    static final int MARK_SENT_BATCH_SIZE = 100;
+
     @Inject
     Tracer tracer;
 
     @Inject
     MeterRegistry meterRegistry;
 
+    @Inject
+    MeterCache meters;
+
     @Override
     public JobType handlesType() {
         return JobType.LISTING_REMINDER;
@@ -165,6 +175,7 @@ public class ListingReminderJobHandler implements JobHandler {
 
             int successCount = 0;
             int failureCount = 0;
+            List<UUID> sentIds = new ArrayList<>(MARK_SENT_BATCH_SIZE);
 
             // Process each expiring listing
             for (MarketplaceListing listing : expiringListings) {
@@ -172,8 +183,12 @@ public class ListingReminderJobHandler implements JobHandler {
                     // Send reminder email
                     sendReminderEmail(listing);
 
-                    // Mark reminder as sent to prevent duplicates
-                    MarketplaceListing.markReminderSent(listing.id);
+                    // Mark reminders as sent in batches to prevent duplicates
+                    sentIds.add(listing.id);
+                    if (sentIds.size() >= MARK_SENT_BATCH_SIZE) {
+                        MarketplaceListing.markRemindersSent(sentIds);
+                        sentIds.clear();
+                    }
 
                     successCount++;
 
@@ -185,14 +200,16 @@ public class ListingReminderJobHandler implements JobHandler {
                     LOG.errorf(e, "Failed to send reminder for listing %s: %s", listing.id, e.getMessage());
                     span.recordException(e);
 
-                    Counter.builder("marketplace.listings.reminder.errors.total")
-                            .tag("listing_id", listing.id.toString()).register(meterRegistry).increment();
+                    meters.counter("marketplace.listings.reminder.errors.total", null, "listing_id",
+                            listing.id.toString()).increment();
 
                     // Continue processing other listings even if one fails
                     // Do NOT mark reminder_sent for failed emails to allow retry
                 }
             }
 
+            MarketplaceListing.markRemindersSent(sentIds);
+
             span.setAttribute("reminders_sent", successCount);
             span.setAttribute("reminders_failed", failureCount);
             span.addEvent("reminder.completed", Attributes.of(AttributeKey.longKey("success"), (long) successCount,
@@ -0,0 +1,78 @@
+package villagecompute.homepage.jobs;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import villagecompute.homepage.services.NotificationDigestService;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Job handler for queueing notification digest emails.
+ *
+ * <p>
+ * <b>Execution Cadence:</b> Weekly (see {@link NotificationDigestScheduler})
+ *
+ * <p>
+ * <b>Queue:</b> DEFAULT
+ *
+ * <p>
+ * <b>Business Logic:</b>
+ * <ol>
+ * <li>Resolve the digest window start from the {@code since} payload (default: one week ago)</li>
+ * <li>Queue one digest email per opted-in user with unread notifications in the window via
+ * {@link NotificationDigestService#sendDigests(Instant)} (paged, bulk-loaded, batch-inserted)</li>
+ * <li>Log digest and page counts; delivery happens asynchronously via EmailDeliveryJob</li>
+ * </ol>
+ *
+ * <p>
+ * <b>Retries:</b> A failed run is rethrown for retry. Pages committed before the failure record the window on each
+ * recipient's preferences, so the retry (same {@code since} payload) only queues the users not yet sent.
+ *
+ * <p>
+ * <b>Policy References:</b>
+ * <ul>
+ * <li>F14.3: Email Communication</li>
+ * <li>P14: Consent-aware notifications (digest is opt-in)</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class NotificationDigestJobHandler implements JobHandler {
+
+    private static final Logger LOG = Logger.getLogger(NotificationDigestJobHandler.class);
+
+    @Inject
+    NotificationDigestService digestService;
+
+    @Override
+    public JobType handlesType() {
+        return JobType.NOTIFICATION_DIGEST;
+    }
+
+    @Override
+    public void execute(Long jobId, Map<String, Object> payload) throws Exception {
+        Instant since = Instant.now().minus(NotificationDigestScheduler.DIGEST_WINDOW);
+        if (payload.containsKey("since")) {
+            try {
+                since = Instant.parse(payload.get("since").toString());
+            } catch (DateTimeParseException e) {
+                LOG.warnf(e, "Invalid since in payload, using default: %s", since);
+            }
+        }
+
+        LOG.infof("Starting notification digest job: jobId=%d, since=%s", jobId, since);
+
+        try {
+            NotificationDigestService.DigestRun run = digestService.sendDigests(since);
+
+            LOG.infof("Notification digest job completed successfully, jobId=%d, digests=%d, notifications=%d,"
+                    + " pages=%d", jobId, run.digests(), run.notifications(), run.pages());
+
+        } catch (Exception e) {
+            LOG.errorf(e, "Notification digest job failed: jobId=%d", jobId);
+            throw new RuntimeException("Notification digest job failed", e);
+        }
+    }
+}
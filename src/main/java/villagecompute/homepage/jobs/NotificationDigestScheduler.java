@@ -0,0 +1,51 @@
+package villagecompute.homepage.jobs;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import villagecompute.homepage.services.DelayedJobService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Scheduler for the weekly notification digest (Feature F14.3).
+ *
+ * <p>
+ * Enqueues a NOTIFICATION_DIGEST job covering the unread notifications created during the past week.
+ *
+ * <p>
+ * <b>Schedule:</b> Weekly on Mondays at 9am UTC (cron: 0 0 9 ? * MON)
+ *
+ * <p>
+ * <b>Queue:</b> DEFAULT
+ *
+ * <p>
+ * <b>Job Payload:</b> {@code since} - ISO-8601 instant one week before scheduling
+ *
+ * @see NotificationDigestJobHandler
+ * @see JobType#NOTIFICATION_DIGEST
+ */
+@ApplicationScoped
+public class NotificationDigestScheduler {
+
+    private static final Logger LOG = Logger.getLogger(NotificationDigestScheduler.class);
+
+    static final Duration DIGEST_WINDOW = Duration.ofDays(7);
+
+    @Inject
+    DelayedJobService jobService;
+
+    /**
+     * Schedules the weekly notification digest job.
+     */
+    @Scheduled(
+            cron = "0 0 9 ? * MON")
+    void scheduleNotificationDigest() {
+        Instant since = Instant.now().minus(DIGEST_WINDOW);
+        jobService.enqueue(JobType.NOTIFICATION_DIGEST, Map.of("since", since.toString()));
+        LOG.infof("Scheduled notification digest job for notifications since %s", since);
+    }
+}
@@ -26,6 +26,7 @@ import villagecompute.homepage.data.models.ProfileCuratedArticle;
 import villagecompute.homepage.observability.LoggingConfig;
 import villagecompute.homepage.services.MetadataFetchService;
 import villagecompute.homepage.services.MetadataFetchService.SiteMetadata;
+import villagecompute.homepage.services.ProfilePageCache;
 
 /**
  * Job handler for refreshing OpenGraph metadata on manually-curated profile articles.
@@ -73,6 +74,9 @@ public class ProfileMetadataRefreshJobHandler implements JobHandler {
     @Inject
     MetadataFetchService metadataFetchService;
 
+    @Inject
+    ProfilePageCache pageCache;
+
     // Metrics
     private Counter successCounter;
     private Counter failureCounter;
@@ -156,6 +160,7 @@ public class ProfileMetadataRefreshJobHandler implements JobHandler {
                 if (changed) {
                     article.updatedAt = java.time.Instant.now();
                     article.persist();
+                    pageCache.invalidate(article.profileId);
                     LOG.infof("Updated metadata for article: id=%s", articleId);
                     span.addEvent("metadata_updated");
                 } else {
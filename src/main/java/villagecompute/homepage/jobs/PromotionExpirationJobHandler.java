@@ -1,10 +1,11 @@
 package villagecompute.homepage.jobs;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
-import villagecompute.homepage.data.models.ListingPromotion;
+import villagecompute.homepage.services.ListingLifecycleService;
 
-import java.util.List;
+import java.time.Instant;
 import java.util.Map;
 
 /**
@@ -23,8 +24,8 @@ import java.util.Map;
  * <p>
  * <b>Business Logic:</b>
  * <ol>
- * <li>Query listing_promotions WHERE type='featured' AND expires_at <= NOW()</li>
- * <li>Delete expired promotion records (hard delete, not soft-delete)</li>
+ * <li>Delete listing_promotions WHERE type='featured' AND expires_at <= NOW() in chunks, one {@code DELETE} per chunk
+ * (hard delete, not soft-delete) via {@link ListingLifecycleService#expireFeaturedPromotions(Instant)}</li>
  * <li>Log count of expired promotions</li>
  * </ol>
  *
@@ -39,6 +40,9 @@ public class PromotionExpirationJobHandler implements JobHandler {
 
     private static final Logger LOG = Logger.getLogger(PromotionExpirationJobHandler.class);
 
+    @Inject
+    ListingLifecycleService lifecycleService;
+
     @Override
     public JobType handlesType() {
         return JobType.PROMOTION_EXPIRATION;
@@ -49,16 +53,8 @@ public class PromotionExpirationJobHandler implements JobHandler {
         LOG.infof("Starting promotion expiration job: jobId=%d", jobId);
 
         try {
-            // Find expired featured promotions
-            List<ListingPromotion> expiredPromotions = ListingPromotion.findExpiredFeatured();
-            int count = expiredPromotions.size();
-
-            LOG.infof("Found %d expired featured promotions", count);
-
-            // Delete expired promotions
-            for (ListingPromotion promotion : expiredPromotions) {
-                ListingPromotion.deleteExpired(promotion.id);
-            }
+            // Delete expired featured promotions
+            int count = lifecycleService.expireFeaturedPromotions(Instant.now());
 
             LOG.infof("Promotion expiration job completed successfully, jobId=%d, expired=%d", jobId, count);
 
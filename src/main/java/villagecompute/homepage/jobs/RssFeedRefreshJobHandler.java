@@ -5,7 +5,6 @@ import com.rometools.rome.feed.synd.SyndEntry;
 import com.rometools.rome.feed.synd.SyndFeed;
 import com.rometools.rome.io.SyndFeedInput;
 import com.rometools.rome.io.XmlReader;
-import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.api.common.AttributeKey;
@@ -19,6 +18,7 @@ import org.jboss.logging.Logger;
 import villagecompute.homepage.data.models.FeedItem;
 import villagecompute.homepage.data.models.RssSource;
 import villagecompute.homepage.observability.LoggingConfig;
+import villagecompute.homepage.observability.MeterCache;
 
 import java.io.InputStream;
 import java.net.URI;
@@ -90,6 +90,9 @@ import java.util.UUID;
  * </ul>
  *
  * <p>
+ * Meters are obtained through {@link MeterCache}, which bounds the number of {@code source_id} values per metric.
+ *
+ * <p>
  * <b>Payload Structure:</b>
  *
  * <pre>
@@ -122,6 +125,9 @@ public class RssFeedRefreshJobHandler implements JobHandler {
     @Inject
     MeterRegistry meterRegistry;
 
+    @Inject
+    MeterCache meters;
+
     private final HttpClient httpClient;
 
     public RssFeedRefreshJobHandler() {
@@ -247,11 +253,11 @@ public class RssFeedRefreshJobHandler implements JobHandler {
                 String errorMessage = String.format("HTTP %d: %s", response.statusCode(), source.url);
                 recordError(source, errorMessage);
 
-                Counter.builder("rss.fetch.errors.total").tag("source_id", source.id.toString())
-                        .tag("error_type", "http_" + response.statusCode()).register(meterRegistry).increment();
+                meters.counter("rss.fetch.errors.total", null, "source_id", source.id.toString(), "error_type",
+                        "http_" + response.statusCode()).increment();
 
-                timerSample.stop(Timer.builder("rss.fetch.duration").tag("source_id", source.id.toString())
-                        .tag("result", "failure").register(meterRegistry));
+                timerSample.stop(meters.timer("rss.fetch.duration", null, "source_id", source.id.toString(), "result",
+                        "failure"));
 
                 throw new RuntimeException(errorMessage);
             }
@@ -327,14 +333,14 @@ public class RssFeedRefreshJobHandler implements JobHandler {
                     AttributeKey.longKey("duplicate"), (long) duplicateCount));
 
             // Record success metrics
-            Counter.builder("rss.fetch.items.total").tag("source_id", source.id.toString()).tag("status", "new")
-                    .register(meterRegistry).increment(newItemCount);
+            meters.counter("rss.fetch.items.total", null, "source_id", source.id.toString(), "status", "new")
+                    .increment(newItemCount);
 
-            Counter.builder("rss.fetch.items.total").tag("source_id", source.id.toString()).tag("status", "duplicate")
-                    .register(meterRegistry).increment(duplicateCount);
+            meters.counter("rss.fetch.items.total", null, "source_id", source.id.toString(), "status", "duplicate")
+                    .increment(duplicateCount);
 
-            timerSample.stop(Timer.builder("rss.fetch.duration").tag("source_id", source.id.toString())
-                    .tag("result", "success").register(meterRegistry));
+            timerSample.stop(meters.timer("rss.fetch.duration", null, "source_id", source.id.toString(), "result",
+                    "success"));
 
             // Update source with successful fetch timestamp
             RssSource.recordSuccess(source);
@@ -346,11 +352,11 @@ public class RssFeedRefreshJobHandler implements JobHandler {
             span.recordException(e);
             recordError(source, e.getMessage());
 
-            Counter.builder("rss.fetch.errors.total").tag("source_id", source.id.toString())
-                    .tag("error_type", e.getClass().getSimpleName()).register(meterRegistry).increment();
+            meters.counter("rss.fetch.errors.total", null, "source_id", source.id.toString(), "error_type",
+                    e.getClass().getSimpleName()).increment();
 
-            timerSample.stop(Timer.builder("rss.fetch.duration").tag("source_id", source.id.toString())
-                    .tag("result", "failure").register(meterRegistry));
+            timerSample.stop(meters.timer("rss.fetch.duration", null, "source_id", source.id.toString(), "result",
+                    "failure"));
 
             throw e;
 
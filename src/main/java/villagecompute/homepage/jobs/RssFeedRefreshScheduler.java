@@ -1,6 +1,7 @@
 package villagecompute.homepage.jobs;
 
 import io.quarkus.scheduler.Scheduled;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
@@ -50,10 +51,14 @@ public class RssFeedRefreshScheduler {
      * <p>
      * The handler internally queries {@code RssSource.findDueForRefresh()} to determine which sources are ready based
      * on {@code last_fetched_at} and {@code refresh_interval_minutes}.
+     *
+     * <p>
+     * Runs on a virtual thread so the feed HTTP fetches do not occupy a scheduler thread.
      */
     @Scheduled(
             every = "5m",
             identity = "rss-feed-refresh")
+    @RunOnVirtualThread
     void refreshFeeds() {
         LOG.debugf("RSS feed refresh scheduler triggered");
 
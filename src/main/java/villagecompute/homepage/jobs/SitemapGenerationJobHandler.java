@@ -16,14 +16,16 @@ import java.util.Map;
  * Job handler for SEO sitemap generation (daily at 4am UTC).
  * <p>
  * Generates XML sitemaps for all public content (directory categories, sites, active marketplace listings) and uploads
- * to Cloudflare R2 for CDN delivery. Automatically splits into multiple files if URL count exceeds 50,000 (per
- * sitemaps.org protocol).
+ * to Cloudflare R2 for CDN delivery as gzip shards (each well under the 50,000 URL sitemaps.org limit) behind a
+ * sitemap index.
  * <p>
  * <b>Execution Flow:</b>
  * <ol>
- * <li>Query all public URLs via {@link SitemapGenerationService#getSitemapUrls()}</li>
- * <li>Generate sitemap XML(s) - single file if <50K URLs, multiple files with index if >50K</li>
- * <li>Upload to R2 storage at /sitemaps/sitemap.xml (or sitemap-1.xml, sitemap-2.xml, etc.)</li>
+ * <li>Page through {@code (id, updatedAt)} projections per section via
+ * {@link SitemapGenerationService#generateAndUploadSitemaps()}</li>
+ * <li>Write each shard (sitemap-pages, sitemap-sites-N, sitemap-listings-N .xml.gz) and upload it if its content
+ * hash changed</li>
+ * <li>Upload the index to R2 storage at /sitemaps/sitemap.xml if any shard changed</li>
  * <li>Record metrics for URL count, file count, upload duration</li>
  * </ol>
  * <p>
@@ -31,7 +33,8 @@ import java.util.Map;
  * <ul>
  * <li>{@code job.sitemap_generation} (Span) - Full job execution span</li>
  * <li>{@code sitemap.generation.duration} (Timer) - Total job duration</li>
- * <li>{@code sitemap.files.generated} (Counter) - Number of sitemap files created</li>
+ * <li>{@code sitemap.files.generated} (Counter) - Number of sitemap shards uploaded</li>
+ * <li>{@code sitemap.files.unchanged} (Counter) - Number of sitemap shards skipped as unchanged</li>
  * <li>{@code sitemap.urls.total} (Counter) - Total URLs included (recorded in service)</li>
  * </ul>
  * <p>
@@ -40,7 +43,7 @@ import java.util.Map;
  * <li>{@code job.id} - DelayedJob ID</li>
  * <li>{@code job.type} - SITEMAP_GENERATION</li>
  * <li>{@code job.queue} - LOW</li>
- * <li>{@code sitemaps_generated} - Number of sitemap files uploaded</li>
+ * <li>{@code sitemaps_generated} - Number of sitemap files uploaded (0 when nothing changed)</li>
  * </ul>
  * <p>
  * <b>Payload:</b> Empty map (no parameters)
@@ -89,7 +92,7 @@ public class SitemapGenerationJobHandler implements JobHandler {
             span.setAttribute("sitemaps_generated", uploadedUrls.size());
 
             if (uploadedUrls.isEmpty()) {
-                LOG.warnf("Sitemap generation complete but no URLs were uploaded (jobId=%d)", jobId);
+                LOG.infof("Sitemap generation complete, all sitemaps unchanged (jobId=%d)", jobId);
             } else {
                 LOG.infof("Sitemap generation complete: %d files uploaded (jobId=%d)", uploadedUrls.size(), jobId);
             }
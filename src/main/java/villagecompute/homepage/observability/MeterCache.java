@@ -0,0 +1,145 @@
+package villagecompute.homepage.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached, cardinality-bounded access to tagged counters and timers.
+ *
+ * <p>
+ * Building a meter ({@code Counter.builder(...).register(registry)}) on every call costs a registry lookup and tag
+ * sorting, and tagging by entity ids (listing, feed source) adds a time series per id that lives for the life of the
+ * pod. This facade:
+ * <ul>
+ * <li>caches meter handles by name and tags, so a hot path pays one map lookup</li>
+ * <li>admits at most {@code villagecompute.metrics.max-tag-values} distinct values per metric and tag key (override
+ * one metric with {@code villagecompute.metrics.max-tag-values."<metric name>"}); later values are recorded under
+ * {@value #OVERFLOW_TAG_VALUE}</li>
+ * <li>counts collapsed values in {@code homepage_metrics_tag_overflow_total{metric,tag}}</li>
+ * </ul>
+ *
+ * <p>
+ * Tag values are admitted first come, first served and never evicted. Use low-cardinality tags (status, type, reason)
+ * wherever the per-id breakdown is not needed.
+ */
+@ApplicationScoped
+public class MeterCache {
+
+    private static final Logger LOG = Logger.getLogger(MeterCache.class);
+
+    /** Tag value recorded once a metric's tag exceeds its cardinality limit. */
+    public static final String OVERFLOW_TAG_VALUE = "other";
+
+    private static final String MAX_TAG_VALUES_PROPERTY = "villagecompute.metrics.max-tag-values";
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(
+            name = MAX_TAG_VALUES_PROPERTY,
+            defaultValue = "100")
+    int defaultMaxTagValues;
+
+    private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+
+    /** Admitted values per metric and tag key ({@code metric|tag}). */
+    private final Map<String, Set<String>> tagValues = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> tagLimits = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> overflowCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Cache key: meter name and tag key/value pairs after overflow collapsing.
+     */
+    private record MeterKey(String name, List<String> keyValues) {
+    }
+
+    /**
+     * Returns the counter for a name and tags, registering it on first use.
+     *
+     * @param name
+     *            metric name
+     * @param description
+     *            metric description (used on registration only; may be null)
+     * @param keyValues
+     *            tag key/value pairs
+     * @return cached counter
+     */
+    public Counter counter(String name, String description, String... keyValues) {
+        List<String> tags = boundedTags(name, keyValues);
+        return counters.computeIfAbsent(new MeterKey(name, tags), key -> Counter.builder(name)
+                .description(description).tags(tags.toArray(String[]::new)).register(registry));
+    }
+
+    /**
+     * Returns the timer for a name and tags, registering it on first use.
+     *
+     * @param name
+     *            metric name
+     * @param description
+     *            metric description (used on registration only; may be null)
+     * @param keyValues
+     *            tag key/value pairs
+     * @return cached timer
+     */
+    public Timer timer(String name, String description, String... keyValues) {
+        List<String> tags = boundedTags(name, keyValues);
+        return timers.computeIfAbsent(new MeterKey(name, tags), key -> Timer.builder(name).description(description)
+                .tags(tags.toArray(String[]::new)).register(registry));
+    }
+
+    private List<String> boundedTags(String name, String... keyValues) {
+        if (keyValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be key/value pairs: " + Arrays.toString(keyValues));
+        }
+        String[] bounded = keyValues.clone();
+        for (int i = 1; i < bounded.length; i += 2) {
+            bounded[i] = admit(name, bounded[i - 1], bounded[i]);
+        }
+        return List.of(bounded);
+    }
+
+    private String admit(String name, String tagKey, String value) {
+        Set<String> admitted = tagValues.computeIfAbsent(name + "|" + tagKey, k -> ConcurrentHashMap.newKeySet());
+        if (admitted.contains(value)) {
+            return value;
+        }
+        int limit = tagLimits.computeIfAbsent(name, this::resolveTagLimit);
+        synchronized (admitted) {
+            if (admitted.size() < limit) {
+                admitted.add(value);
+                return value;
+            }
+        }
+
+        overflowCounters.computeIfAbsent(name + "|" + tagKey, k -> {
+            LOG.warnf("Tag %s of metric %s exceeded %d values, recording new values as '%s'", tagKey, name, limit,
+                    OVERFLOW_TAG_VALUE);
+            return Counter.builder("homepage_metrics_tag_overflow_total")
+                    .description("Tag values collapsed into '" + OVERFLOW_TAG_VALUE + "' by the cardinality limit")
+                    .tags("metric", name, "tag", tagKey).register(registry);
+        }).increment();
+        return OVERFLOW_TAG_VALUE;
+    }
+
+    private int resolveTagLimit(String name) {
+        return ConfigProvider.getConfig()
+                .getOptionalValue(MAX_TAG_VALUES_PROPERTY + ".\"" + name + "\"", Integer.class)
+                .orElse(defaultMaxTagValues);
+    }
+}
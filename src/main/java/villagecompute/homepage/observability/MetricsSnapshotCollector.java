@@ -0,0 +1,186 @@
+package villagecompute.homepage.observability;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.jboss.logging.Logger;
+import villagecompute.homepage.jobs.JobQueue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects all database-derived gauge values in one scheduled pass and serves them from an immutable snapshot.
+ *
+ * <p>
+ * Prometheus scrapes every pod, often from several scrapers, and a gauge that queries the database on each read
+ * multiplies that load. {@link ObservabilityMetrics} gauges therefore read the latest {@link MetricsSnapshot} instead;
+ * this collector refreshes it every {@code villagecompute.observability.snapshot-interval} with two statements:
+ * <ul>
+ * <li>one row of scalar subqueries (weather cache age, Good Sites directory counts)</li>
+ * <li>one {@code GROUP BY queue} over pending {@code delayed_jobs} (depth and oldest ready job per queue)</li>
+ * </ul>
+ *
+ * <p>
+ * Ages are stored as timestamps and computed when the gauge is read, so they keep advancing between refreshes. A
+ * failed refresh is logged and the previous snapshot stays in place; {@code homepage_metrics_snapshot_age_seconds}
+ * exposes how old the served values are.
+ *
+ * @see ObservabilityMetrics
+ */
+@ApplicationScoped
+public class MetricsSnapshotCollector {
+
+    private static final Logger LOG = Logger.getLogger(MetricsSnapshotCollector.class);
+
+    @Inject
+    EntityManager entityManager;
+
+    private volatile MetricsSnapshot snapshot = MetricsSnapshot.EMPTY;
+
+    /**
+     * Pending job statistics for one queue.
+     *
+     * @param depth
+     *            pending jobs (including retries scheduled in the future)
+     * @param oldestReadyAt
+     *            scheduled time of the oldest pending job that is due, or null if none is due
+     */
+    public record QueueStats(long depth, Instant oldestReadyAt) {
+
+        static final QueueStats EMPTY = new QueueStats(0, null);
+
+        /**
+         * Returns how long the oldest due job has been waiting.
+         *
+         * @param now
+         *            current time
+         * @return wait time in seconds (0 if no job is due)
+         */
+        public double oldestPendingSeconds(Instant now) {
+            return oldestReadyAt != null ? Math.max(0, Duration.between(oldestReadyAt, now).toMillis() / 1000.0) : 0.0;
+        }
+    }
+
+    /**
+     * Database-derived gauge values captured at one point in time.
+     *
+     * @param queues
+     *            pending job statistics per queue (queues without pending jobs are absent)
+     * @param oldestWeatherFetchAt
+     *            oldest weather cache {@code fetched_at}, or null if the cache is empty
+     * @param directoryPendingSubmissions
+     *            Good Sites submissions awaiting moderation
+     * @param directoryDeadSites
+     *            Good Sites with dead links
+     * @param directoryBubbledSites
+     *            Good Sites eligible for bubbling (score >= 10, rank <= 3)
+     * @param directoryVotes24h
+     *            votes cast in the 24 hours before collection
+     * @param collectedAt
+     *            collection time, or null before the first successful refresh
+     */
+    public record MetricsSnapshot(Map<JobQueue, QueueStats> queues, Instant oldestWeatherFetchAt,
+            long directoryPendingSubmissions, long directoryDeadSites, long directoryBubbledSites,
+            long directoryVotes24h, Instant collectedAt) {
+
+        static final MetricsSnapshot EMPTY = new MetricsSnapshot(Map.of(), null, 0, 0, 0, 0, null);
+
+        /**
+         * Returns the pending job statistics of a queue.
+         *
+         * @param queue
+         *            queue family
+         * @return statistics (zero if the queue has no pending jobs)
+         */
+        public QueueStats queue(JobQueue queue) {
+            return queues.getOrDefault(queue, QueueStats.EMPTY);
+        }
+
+        /**
+         * Returns the age of the oldest weather cache entry.
+         *
+         * @param now
+         *            current time
+         * @return age in whole minutes (0 if the cache is empty)
+         */
+        public double weatherCacheStalenessMinutes(Instant now) {
+            return oldestWeatherFetchAt != null ? Duration.between(oldestWeatherFetchAt, now).toMinutes() : 0.0;
+        }
+    }
+
+    /**
+     * Returns the latest snapshot (never null; all zeros before the first refresh).
+     *
+     * @return current snapshot
+     */
+    public MetricsSnapshot snapshot() {
+        return snapshot;
+    }
+
+    @Scheduled(
+            every = "${villagecompute.observability.snapshot-interval:30s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Recomputes the snapshot from the database.
+     *
+     * @return the new snapshot, or the previous one if the refresh failed
+     */
+    public MetricsSnapshot refresh() {
+        try {
+            snapshot = QuarkusTransaction.requiringNew().call(this::collect);
+            LOG.debugf("Refreshed metrics snapshot: %s", snapshot);
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to refresh metrics snapshot, keeping values collected at %s", snapshot.collectedAt());
+        }
+        return snapshot;
+    }
+
+    private MetricsSnapshot collect() {
+        Object[] totals = (Object[]) entityManager.createNativeQuery("""
+                SELECT
+                    (SELECT EXTRACT(EPOCH FROM MIN(fetched_at)) FROM weather_cache),
+                    (SELECT COUNT(*) FROM directory_sites WHERE status = 'pending'),
+                    (SELECT COUNT(*) FROM directory_sites WHERE is_dead = TRUE),
+                    (SELECT COUNT(*) FROM directory_site_categories
+                        WHERE score >= 10 AND rank_in_category <= 3 AND status = 'approved'),
+                    (SELECT COUNT(*) FROM directory_votes WHERE created_at >= NOW() - INTERVAL '24 hours')
+                """).getSingleResult();
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> queueRows = entityManager.createNativeQuery("""
+                SELECT queue, COUNT(*), EXTRACT(EPOCH FROM MIN(scheduled_at) FILTER (WHERE scheduled_at <= NOW()))
+                FROM delayed_jobs
+                WHERE status = 'PENDING'
+                GROUP BY queue
+                """).getResultList();
+
+        Map<JobQueue, QueueStats> queues = new EnumMap<>(JobQueue.class);
+        for (Object[] row : queueRows) {
+            try {
+                queues.put(JobQueue.valueOf((String) row[0]),
+                        new QueueStats(((Number) row[1]).longValue(), toInstant(row[2])));
+            } catch (IllegalArgumentException e) {
+                LOG.warnf("Ignoring pending jobs in unknown queue %s", row[0]);
+            }
+        }
+
+        return new MetricsSnapshot(Map.copyOf(queues), toInstant(totals[0]), ((Number) totals[1]).longValue(),
+                ((Number) totals[2]).longValue(), ((Number) totals[3]).longValue(), ((Number) totals[4]).longValue(),
+                Instant.now());
+    }
+
+    private static Instant toInstant(Object epochSeconds) {
+        return epochSeconds != null ? Instant.ofEpochMilli(Math.round(((Number) epochSeconds).doubleValue() * 1000))
+                : null;
+    }
+}
@@ -1,6 +1,5 @@
 package villagecompute.homepage.observability;
 
-import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
@@ -8,16 +7,12 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
-import villagecompute.homepage.data.models.WeatherCache;
 import villagecompute.homepage.jobs.JobQueue;
+import villagecompute.homepage.observability.MetricsSnapshotCollector.MetricsSnapshot;
 import villagecompute.homepage.services.DelayedJobService;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -32,15 +27,22 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <b>Metrics Catalog (per Section 3.1):</b>
  * <ul>
  * <li><b>Gauges:</b> {@code homepage_jobs_depth{queue}} - Delayed job backlog per queue family</li>
+ * <li><b>Gauges:</b> {@code homepage_jobs_oldest_pending_seconds{queue}} - Wait time of the oldest due job per queue
+ * family</li>
  * <li><b>Gauges:</b> {@code homepage_screenshot_slots_available} - Available screenshot worker permits (P12)</li>
  * <li><b>Gauges:</b> {@code homepage_ai_budget_consumed_percent} - AI tagging budget utilization (0-100)</li>
  * <li><b>Gauges:</b> {@code homepage_weather_cache_staleness_minutes} - Age of oldest weather cache entry in
  * minutes</li>
+ * <li><b>Gauges:</b> {@code homepage_directory_*} - Good Sites pending submissions, dead sites, bubbled sites and
+ * 24h votes</li>
+ * <li><b>Gauges:</b> {@code homepage_metrics_snapshot_age_seconds} - Age of the snapshot serving the gauges above</li>
  * <li><b>Timers:</b> Feed ingestion latency (future - requires feed service integration)</li>
  * <li><b>Counters:</b> AI tag batches processed (future - requires AI service integration)</li>
  * <li><b>Histograms:</b> Screenshot capture duration (future - requires screenshot service integration)</li>
  * <li><b>Counters:</b> {@code homepage_rate_limit_checks_total{action,tier,result}} - Rate limit check outcomes</li>
  * <li><b>Counters:</b> {@code homepage_rate_limit_violations_total{action,tier}} - Rate limit violations</li>
+ * <li><b>Counters:</b> {@code homepage_metrics_tag_overflow_total{metric,tag}} - Tag values collapsed by the
+ * {@link MeterCache} cardinality limit</li>
  * <li><b>Counters:</b> {@code marketplace.search.requests.total{has_radius,has_category,has_filters}} - Marketplace
  * search requests</li>
  * <li><b>Counters:</b> {@code marketplace.search.elasticsearch.errors.total} - Elasticsearch search failures</li>
@@ -49,6 +51,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  * </ul>
  *
  * <p>
+ * <b>Database-derived gauges</b> (job depth, weather cache, directory) never query on scrape: they read the snapshot
+ * refreshed by {@link MetricsSnapshotCollector} every {@code villagecompute.observability.snapshot-interval}, so values
+ * lag by at most one interval.
+ *
+ * <p>
  * <b>HTTP Metrics:</b> Quarkus automatically exposes HTTP request metrics (response times, status codes, throughput)
  * via the {@code http_server_*} prefix. No custom registration required.
  *
@@ -77,6 +84,12 @@ public class ObservabilityMetrics {
     @Inject
     DelayedJobService delayedJobService;
 
+    @Inject
+    MetricsSnapshotCollector snapshotCollector;
+
+    @Inject
+    MeterCache meters;
+
     @ConfigProperty(
             name = "villagecompute.ai.monthly-budget-dollars",
             defaultValue = "500")
@@ -88,22 +101,6 @@ public class ObservabilityMetrics {
      */
     private final AtomicInteger aiTaggingBudgetConsumedCents = new AtomicInteger(0);
 
-    /**
-     * Rate limit check counters indexed by action:tier:result.
-     *
-     * <p>
-     * Tracks outcomes of all rate limit checks for monitoring and alerting. Result values: "allowed", "denied".
-     */
-    private final Map<String, Counter> rateLimitCheckCounters = new ConcurrentHashMap<>();
-
-    /**
-     * Rate limit violation counters indexed by action:tier.
-     *
-     * <p>
-     * Tracks violation events for abuse detection and capacity planning.
-     */
-    private final Map<String, Counter> rateLimitViolationCounters = new ConcurrentHashMap<>();
-
     /**
      * Registers all custom metrics at application startup.
      *
@@ -112,22 +109,27 @@ public class ObservabilityMetrics {
      * initialization phase. Metrics are registered once and remain active for the application lifetime.
      *
      * <p>
-     * <b>Implementation Note:</b> Job depth gauges currently return 0 because the DelayedJob entity and repository
-     * don't exist yet. Future work will wire these gauges to actual database queries via Panache static methods.
+     * Database-derived gauges read {@link MetricsSnapshotCollector#snapshot()} (no query per scrape).
      */
     public void registerMetrics(
             @jakarta.enterprise.event.Observes @jakarta.enterprise.context.Initialized(ApplicationScoped.class) Object init) {
         LOG.info("Registering observability metrics");
 
-        // Register job depth gauges for each queue family
+        // Register job depth and oldest pending job gauges for each queue family
         for (JobQueue queue : JobQueue.values()) {
+            List<Tag> queueTags = List.of(Tag.of("queue", queue.name()),
+                    Tag.of("priority", String.valueOf(queue.getPriority())));
+
             Gauge.builder("homepage_jobs_depth", this, m -> getJobDepth(queue))
-                    .description("Number of pending jobs in the " + queue.name() + " queue").tags(List
-                            .of(Tag.of("queue", queue.name()), Tag.of("priority", String.valueOf(queue.getPriority()))))
+                    .description("Number of pending jobs in the " + queue.name() + " queue").tags(queueTags)
                     .register(registry);
 
-            LOG.debugf("Registered gauge: homepage_jobs_depth{queue=%s,priority=%d}", queue.name(),
-                    queue.getPriority());
+            Gauge.builder("homepage_jobs_oldest_pending_seconds", this, m -> getOldestPendingJobSeconds(queue))
+                    .description("Seconds the oldest due job in the " + queue.name() + " queue has been waiting")
+                    .tags(queueTags).register(registry);
+
+            LOG.debugf("Registered gauges: homepage_jobs_depth, homepage_jobs_oldest_pending_seconds"
+                    + "{queue=%s,priority=%d}", queue.name(), queue.getPriority());
         }
 
         // Register screenshot worker slot availability (P12 enforcement metric)
@@ -166,27 +168,47 @@ public class ObservabilityMetrics {
                 .description("Total votes cast in last 24 hours").register(registry);
         LOG.debug("Registered gauge: homepage_directory_votes_24h");
 
+        Gauge.builder("homepage_metrics_snapshot_age_seconds", this, m -> getSnapshotAgeSeconds())
+                .description("Age of the snapshot serving database-derived gauges (-1 before the first refresh)")
+                .register(registry);
+        LOG.debug("Registered gauge: homepage_metrics_snapshot_age_seconds");
+
         LOG.infof("Observability metrics registration complete. Access metrics at /q/metrics");
     }
 
     /**
      * Returns the current depth (pending job count) for the specified queue.
      *
-     * <p>
-     * <b>Future Implementation:</b> This method will query the DelayedJob entity using:
+     * @param queue
+     *            the queue family to measure
+     * @return pending job count from the latest snapshot
+     */
+    private long getJobDepth(JobQueue queue) {
+        return snapshot().queue(queue).depth();
+    }
+
+    /**
+     * Returns how long the oldest due job in the specified queue has been waiting.
      *
-     * <pre>
-     * return DelayedJob.count("queue = ?1 AND locked_at IS NULL AND failed_at IS NULL", queue.name());
-     * </pre>
+     * <p>
+     * Jobs scheduled in the future (retry backoff) count towards depth but not towards this age.
      *
      * @param queue
      *            the queue family to measure
-     * @return pending job count (currently always 0)
+     * @return wait time in seconds (0 if no job is due)
      */
-    private long getJobDepth(JobQueue queue) {
-        // TODO: Replace with actual database query when DelayedJob entity exists
-        // return DelayedJob.count("queue = ?1 AND locked_at IS NULL AND failed_at IS NULL", queue.name());
-        return 0L;
+    private double getOldestPendingJobSeconds(JobQueue queue) {
+        return snapshot().queue(queue).oldestPendingSeconds(Instant.now());
+    }
+
+    /**
+     * Returns the age of the snapshot serving the database-derived gauges.
+     *
+     * @return age in seconds, or -1 before the first successful refresh
+     */
+    private double getSnapshotAgeSeconds() {
+        Instant collectedAt = snapshot().collectedAt();
+        return collectedAt != null ? (Instant.now().toEpochMilli() - collectedAt.toEpochMilli()) / 1000.0 : -1.0;
     }
 
     /**
@@ -223,8 +245,8 @@ public class ObservabilityMetrics {
      * criteria, alerts should fire when staleness exceeds 90 minutes.
      *
      * <p>
-     * <b>Implementation:</b> Queries WeatherCache to find the minimum fetchedAt timestamp and calculates the age in
-     * minutes from the current time.
+     * <b>Implementation:</b> The oldest {@code fetchedAt} comes from the metrics snapshot; the age is computed against
+     * the current time on each read.
      *
      * <p>
      * <b>Alerting:</b> Ops teams should configure alerts to trigger when this metric exceeds 90 minutes.
@@ -232,22 +254,7 @@ public class ObservabilityMetrics {
      * @return staleness in minutes (0.0 if no cache entries exist)
      */
     private double getWeatherCacheStalenessMinutes() {
-        try {
-            // Find oldest cache entry by fetchedAt timestamp
-            Optional<WeatherCache> oldestEntry = WeatherCache.find("ORDER BY fetchedAt ASC").firstResultOptional();
-
-            if (oldestEntry.isEmpty()) {
-                return 0.0; // No cache entries exist
-            }
-
-            // Calculate age in minutes
-            Duration age = Duration.between(oldestEntry.get().fetchedAt, Instant.now());
-            return age.toMinutes();
-        } catch (Exception e) {
-            // Return 0 on query errors to avoid breaking metrics collection
-            LOG.warnf(e, "Failed to calculate weather cache staleness, returning 0");
-            return 0.0;
-        }
+        return snapshot().weatherCacheStalenessMinutes(Instant.now());
     }
 
     /**
@@ -278,16 +285,8 @@ public class ObservabilityMetrics {
      *            true if request was allowed, false if denied
      */
     public void incrementRateLimitCheck(String actionType, String tier, boolean allowed) {
-        String result = allowed ? "allowed" : "denied";
-        String key = actionType + ":" + tier + ":" + result;
-
-        Counter counter = rateLimitCheckCounters.computeIfAbsent(key, k -> {
-            return Counter.builder("homepage_rate_limit_checks_total").description("Total rate limit checks performed")
-                    .tags(List.of(Tag.of("action", actionType), Tag.of("tier", tier), Tag.of("result", result)))
-                    .register(registry);
-        });
-
-        counter.increment();
+        meters.counter("homepage_rate_limit_checks_total", "Total rate limit checks performed", "action", actionType,
+                "tier", tier, "result", allowed ? "allowed" : "denied").increment();
     }
 
     /**
@@ -302,15 +301,8 @@ public class ObservabilityMetrics {
      *            user tier
      */
     public void incrementRateLimitViolation(String actionType, String tier) {
-        String key = actionType + ":" + tier;
-
-        Counter counter = rateLimitViolationCounters.computeIfAbsent(key, k -> {
-            return Counter.builder("homepage_rate_limit_violations_total")
-                    .description("Total rate limit violations recorded")
-                    .tags(List.of(Tag.of("action", actionType), Tag.of("tier", tier))).register(registry);
-        });
-
-        counter.increment();
+        meters.counter("homepage_rate_limit_violations_total", "Total rate limit violations recorded", "action",
+                actionType, "tier", tier).increment();
     }
 
     /**
@@ -323,9 +315,8 @@ public class ObservabilityMetrics {
      *            payment type: "posting_fee" or "promotion_featured" or "promotion_bump"
      */
     public void incrementPaymentIntentCreated(String paymentType) {
-        Counter.builder("homepage_payments_intents_created_total")
-                .description("Total Payment Intents created via Stripe").tag("type", paymentType).register(registry)
-                .increment();
+        meters.counter("homepage_payments_intents_created_total", "Total Payment Intents created via Stripe", "type",
+                paymentType).increment();
     }
 
     /**
@@ -338,8 +329,8 @@ public class ObservabilityMetrics {
      *            payment type
      */
     public void incrementPaymentSucceeded(String paymentType) {
-        Counter.builder("homepage_payments_succeeded_total").description("Total successful payments")
-                .tag("type", paymentType).register(registry).increment();
+        meters.counter("homepage_payments_succeeded_total", "Total successful payments", "type", paymentType)
+                .increment();
     }
 
     /**
@@ -352,8 +343,7 @@ public class ObservabilityMetrics {
      *            payment type
      */
     public void incrementPaymentFailed(String paymentType) {
-        Counter.builder("homepage_payments_failed_total").description("Total failed payments").tag("type", paymentType)
-                .register(registry).increment();
+        meters.counter("homepage_payments_failed_total", "Total failed payments", "type", paymentType).increment();
     }
 
     /**
@@ -363,8 +353,7 @@ public class ObservabilityMetrics {
      * Called by PaymentService when a refund is successfully processed via Stripe.
      */
     public void incrementRefundProcessed() {
-        Counter.builder("homepage_refunds_processed_total").description("Total refunds processed via Stripe")
-                .register(registry).increment();
+        meters.counter("homepage_refunds_processed_total", "Total refunds processed via Stripe").increment();
     }
 
     /**
@@ -377,8 +366,8 @@ public class ObservabilityMetrics {
      *            Stripe event type (e.g., "payment_intent.succeeded")
      */
     public void incrementWebhookReceived(String eventType) {
-        Counter.builder("homepage_webhooks_received_total").description("Total Stripe webhook events received")
-                .tag("event_type", eventType).register(registry).increment();
+        meters.counter("homepage_webhooks_received_total", "Total Stripe webhook events received", "event_type",
+                eventType).increment();
     }
 
     /**
@@ -387,12 +376,7 @@ public class ObservabilityMetrics {
      * @return pending submission count
      */
     private long getDirectoryPendingSubmissions() {
-        try {
-            return villagecompute.homepage.data.models.DirectorySite.count("status = 'pending'");
-        } catch (Exception e) {
-            LOG.warnf(e, "Failed to count pending directory submissions, returning 0");
-            return 0L;
-        }
+        return snapshot().directoryPendingSubmissions();
     }
 
     /**
@@ -401,12 +385,7 @@ public class ObservabilityMetrics {
      * @return dead site count
      */
     private long getDirectoryDeadSites() {
-        try {
-            return villagecompute.homepage.data.models.DirectorySite.count("isDead = true");
-        } catch (Exception e) {
-            LOG.warnf(e, "Failed to count dead directory sites, returning 0");
-            return 0L;
-        }
+        return snapshot().directoryDeadSites();
     }
 
     /**
@@ -415,13 +394,7 @@ public class ObservabilityMetrics {
      * @return bubbled site count
      */
     private long getDirectoryBubbledSites() {
-        try {
-            return villagecompute.homepage.data.models.DirectorySiteCategory
-                    .count("score >= 10 AND rankInCategory <= 3 AND status = 'approved'");
-        } catch (Exception e) {
-            LOG.warnf(e, "Failed to count bubbled directory sites, returning 0");
-            return 0L;
-        }
+        return snapshot().directoryBubbledSites();
     }
 
     /**
@@ -430,12 +403,10 @@ public class ObservabilityMetrics {
      * @return vote count (last 24h)
      */
     private long getDirectoryVotes24h() {
-        try {
-            Instant cutoff = Instant.now().minusSeconds(24 * 60 * 60);
-            return villagecompute.homepage.data.models.DirectoryVote.count("createdAt >= ?1", cutoff);
-        } catch (Exception e) {
-            LOG.warnf(e, "Failed to count directory votes (24h), returning 0");
-            return 0L;
-        }
+        return snapshot().directoryVotes24h();
+    }
+
+    private MetricsSnapshot snapshot() {
+        return snapshotCollector.snapshot();
     }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2025 VillageCompute Inc.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package villagecompute.homepage.services;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import villagecompute.homepage.data.models.AiUsageTracking;
+
+/**
+ * In-memory AI budget ledger answering budget checks without a database round trip per call (P2/P10).
+ *
+ * <p>
+ * Keeps one account per provider and month holding the last committed cost read from {@code ai_usage_tracking} plus
+ * this pod's usage not yet flushed. Budget checks ({@link #costCents}, {@link #percentUsed}) read the account; the
+ * committed snapshot is re-read only when older than {@code villagecompute.ai.budget.ledger.refresh-interval}, which
+ * bounds how long another pod's spend can go unseen.
+ *
+ * <p>
+ * <b>Flushing:</b> {@link #record} only adds to atomic counters. Every {@code flush-interval} the pending deltas of
+ * each account are applied with a single {@code UPDATE ... SET x = x + :delta RETURNING} (inserting the month's row if
+ * missing). The returned totals include every pod's flushed usage and become the new committed snapshot, so each flush
+ * also reconciles the pod with the cluster. Pending deltas are subtracted only after the write commits, so a failed
+ * flush is retried on the next run and usage is never dropped.
+ *
+ * <p>
+ * <b>Precision:</b> Cross-pod spend is seen within one refresh or flush interval, which at tagging throughput is a few
+ * cents against a $500 ceiling. Usage written directly through {@link AiUsageTracking#recordUsage} is picked up by the
+ * next refresh.
+ *
+ * @see AiTaggingBudgetService
+ * @see AiUsageTracking
+ */
+@ApplicationScoped
+public class AiBudgetLedger {
+
+    private static final Logger LOG = Logger.getLogger(AiBudgetLedger.class);
+
+    @Inject
+    EntityManager entityManager;
+
+    @ConfigProperty(
+            name = "villagecompute.ai.budget.ledger.refresh-interval",
+            defaultValue = "30s")
+    Duration refreshInterval;
+
+    private final Map<AccountKey, Account> accounts = new ConcurrentHashMap<>();
+
+    private record AccountKey(String provider, YearMonth month) {
+    }
+
+    /**
+     * Budget account for one provider and month.
+     */
+    private static final class Account {
+
+        private final LongAdder pendingRequests = new LongAdder();
+        private final LongAdder pendingInputTokens = new LongAdder();
+        private final LongAdder pendingOutputTokens = new LongAdder();
+        private final LongAdder pendingCostCents = new LongAdder();
+
+        private volatile long committedCostCents;
+        private volatile int budgetLimitCents = AiUsageTracking.DEFAULT_BUDGET_LIMIT_CENTS;
+        private volatile long refreshedAtNanos;
+        private volatile boolean loaded;
+
+        long costCents() {
+            return committedCostCents + pendingCostCents.sum();
+        }
+
+        void reconcile(long committedCost, int limit) {
+            committedCostCents = committedCost;
+            budgetLimitCents = limit;
+            refreshedAtNanos = System.nanoTime();
+            loaded = true;
+        }
+    }
+
+    /**
+     * Records AI usage for the current month in memory; it reaches the database on the next flush.
+     *
+     * @param provider
+     *            the AI provider name
+     * @param requests
+     *            number of API requests to add
+     * @param inputTokens
+     *            input tokens consumed
+     * @param outputTokens
+     *            output tokens consumed
+     * @param costCents
+     *            estimated cost in cents
+     */
+    public void record(String provider, int requests, long inputTokens, long outputTokens, int costCents) {
+        Account account = account(provider, YearMonth.now());
+        account.pendingRequests.add(requests);
+        account.pendingInputTokens.add(inputTokens);
+        account.pendingOutputTokens.add(outputTokens);
+        account.pendingCostCents.add(costCents);
+    }
+
+    /**
+     * Returns the current month's estimated cost, including this pod's unflushed usage.
+     *
+     * @param provider
+     *            the AI provider name
+     * @return estimated cost in cents
+     */
+    public long costCents(String provider) {
+        return current(provider).costCents();
+    }
+
+    /**
+     * Returns the current month's budget limit.
+     *
+     * @param provider
+     *            the AI provider name
+     * @return budget limit in cents
+     */
+    public int budgetLimitCents(String provider) {
+        return current(provider).budgetLimitCents;
+    }
+
+    /**
+     * Returns the current month's budget usage percentage.
+     *
+     * @param provider
+     *            the AI provider name
+     * @return percentage of budget used (0.0-100.0+), 0.0 when the limit is 0
+     */
+    public double percentUsed(String provider) {
+        Account account = current(provider);
+        int limit = account.budgetLimitCents;
+        if (limit == 0) {
+            return 0.0;
+        }
+        return (double) account.costCents() / limit * 100.0;
+    }
+
+    /**
+     * Applies pending usage deltas to {@code ai_usage_tracking} and reconciles committed totals.
+     *
+     * @return number of accounts flushed
+     */
+    public int flush() {
+        int flushed = 0;
+        YearMonth currentMonth = YearMonth.now();
+
+        for (Map.Entry<AccountKey, Account> entry : accounts.entrySet()) {
+            AccountKey key = entry.getKey();
+            Account account = entry.getValue();
+            long requests = account.pendingRequests.sum();
+            long inputTokens = account.pendingInputTokens.sum();
+            long outputTokens = account.pendingOutputTokens.sum();
+            long costCents = account.pendingCostCents.sum();
+
+            if (requests == 0 && inputTokens == 0 && outputTokens == 0 && costCents == 0) {
+                if (key.month().isBefore(currentMonth)) {
+                    accounts.remove(key, account); // Previous month fully flushed
+                }
+                continue;
+            }
+
+            try {
+                Object[] totals = QuarkusTransaction.requiringNew()
+                        .call(() -> applyDelta(key, requests, inputTokens, outputTokens, costCents));
+                account.reconcile(((Number) totals[0]).longValue(), ((Number) totals[1]).intValue());
+                account.pendingRequests.add(-requests);
+                account.pendingInputTokens.add(-inputTokens);
+                account.pendingOutputTokens.add(-outputTokens);
+                account.pendingCostCents.add(-costCents);
+                flushed++;
+            } catch (RuntimeException e) {
+                LOG.warnf(e, "Failed to flush AI usage for provider=%s, month=%s (retrying next flush)",
+                        key.provider(), key.month());
+            }
+        }
+
+        return flushed;
+    }
+
+    @Scheduled(
+            every = "${villagecompute.ai.budget.ledger.flush-interval:10s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledFlush() {
+        flush();
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        flush();
+    }
+
+    private Account account(String provider, YearMonth month) {
+        return accounts.computeIfAbsent(new AccountKey(provider, month), key -> new Account());
+    }
+
+    private Account current(String provider) {
+        YearMonth month = YearMonth.now();
+        Account account = account(provider, month);
+        if (!account.loaded || System.nanoTime() - account.refreshedAtNanos >= refreshInterval.toNanos()) {
+            // Read in the caller's context; a missing row means nothing has been flushed this month yet
+            AiUsageTracking.findByMonthAndProvider(month.atDay(1), provider).ifPresentOrElse(
+                    tracking -> account.reconcile(tracking.estimatedCostCents, tracking.budgetLimitCents),
+                    () -> account.reconcile(0, AiUsageTracking.DEFAULT_BUDGET_LIMIT_CENTS));
+        }
+        return account;
+    }
+
+    private Object[] applyDelta(AccountKey key, long requests, long inputTokens, long outputTokens, long costCents) {
+        LocalDate month = key.month().atDay(1);
+        List<?> updated = entityManager.createNativeQuery("""
+                UPDATE ai_usage_tracking
+                SET total_requests = total_requests + :requests,
+                    total_tokens_input = total_tokens_input + :inputTokens,
+                    total_tokens_output = total_tokens_output + :outputTokens,
+                    estimated_cost_cents = estimated_cost_cents + :costCents,
+                    updated_at = NOW()
+                WHERE month = :month AND provider = :provider
+                RETURNING estimated_cost_cents, budget_limit_cents
+                """).setParameter("requests", requests).setParameter("inputTokens", inputTokens)
+                .setParameter("outputTokens", outputTokens).setParameter("costCents", costCents)
+                .setParameter("month", month).setParameter("provider", key.provider()).getResultList();
+        if (!updated.isEmpty()) {
+            return (Object[]) updated.get(0);
+        }
+
+        // First flush of the month; a concurrent insert from another pod fails this transaction and is retried
+        AiUsageTracking tracking = new AiUsageTracking();
+        tracking.month = month;
+        tracking.provider = key.provider();
+        tracking.totalRequests = (int) requests;
+        tracking.totalTokensInput = inputTokens;
+        tracking.totalTokensOutput = outputTokens;
+        tracking.estimatedCostCents = (int) costCents;
+        tracking.persist();
+        LOG.infof("Created new AI usage tracking record: month=%s, provider=%s", month, key.provider());
+        return new Object[] {tracking.estimatedCostCents, tracking.budgetLimitCents};
+    }
+}
@@ -6,7 +6,6 @@
 
 package villagecompute.homepage.services;
 
-import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -105,6 +104,9 @@ public class AiCategorizationService {
     @Inject
     AiUsageTrackingService usageTrackingService;
 
+    @Inject
+    AiBudgetLedger budgetLedger;
+
     /**
      * Suggests categories for a website based on URL, title, and description.
      *
@@ -142,8 +144,7 @@ public class AiCategorizationService {
             int costCents = AiUsageTracking.calculateCostCents(estimatedInputTokens, estimatedOutputTokens);
 
             // Record usage
-            AiUsageTracking.recordUsage(YearMonth.now(), PROVIDER, 1, estimatedInputTokens, estimatedOutputTokens,
-                    costCents);
+            budgetLedger.record(PROVIDER, 1, estimatedInputTokens, estimatedOutputTokens, costCents);
 
             LOG.debugf(
                     "Categorized site: url=\"%s\", categories=%d, confidence=%.2f, inputTokens=%d, outputTokens=%d, costCents=%d",
@@ -413,8 +414,7 @@ public class AiCategorizationService {
                 long estimatedOutputTokens = response.length() / 4;
                 int costCents = AiUsageTracking.calculateCostCents(estimatedInputTokens, estimatedOutputTokens);
 
-                AiUsageTracking.recordUsage(YearMonth.now(), PROVIDER, batch.size(), estimatedInputTokens,
-                        estimatedOutputTokens, costCents);
+                budgetLedger.record(PROVIDER, batch.size(), estimatedInputTokens, estimatedOutputTokens, costCents);
 
                 LOG.debugf("Categorized %d listings, cost=%d cents, inputTokens=%d, outputTokens=%d",
                         batchResults.size(), costCents, estimatedInputTokens, estimatedOutputTokens);
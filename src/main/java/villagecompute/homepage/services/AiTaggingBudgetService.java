@@ -26,6 +26,10 @@ import villagecompute.homepage.data.models.AiUsageTracking;
  * </ul>
  *
  * <p>
+ * Budget checks are answered by {@link AiBudgetLedger} from memory, so calling them per item or per batch costs no
+ * database round trip. {@link #getCurrentMonthUsage()} still reads the persisted record for admin reporting.
+ *
+ * <p>
  * Email alerts are sent to operations team when budget crosses 75%, 90%, and 100% thresholds to enable proactive
  * intervention.
  *
@@ -36,6 +40,7 @@ import villagecompute.homepage.data.models.AiUsageTracking;
  * </ul>
  *
  * @see BudgetAction
+ * @see AiBudgetLedger
  * @see AiUsageTracking
  */
 @ApplicationScoped
@@ -55,6 +60,9 @@ public class AiTaggingBudgetService {
     @Inject
     EmailNotificationService emailNotificationService;
 
+    @Inject
+    AiBudgetLedger budgetLedger;
+
     /**
      * Determines current budget action based on usage percentage.
      *
@@ -72,8 +80,9 @@ public class AiTaggingBudgetService {
      * @return the appropriate budget action for current usage level
      */
     public BudgetAction getCurrentBudgetAction(String provider) {
-        AiUsageTracking tracking = AiUsageTracking.findOrCreateCurrentMonth(provider);
-        double percentUsed = tracking.getPercentUsed();
+        double percentUsed = budgetLedger.percentUsed(provider);
+        long costCents = budgetLedger.costCents(provider);
+        int budgetLimitCents = budgetLedger.budgetLimitCents(provider);
 
         BudgetAction action;
         if (percentUsed >= HARD_STOP_THRESHOLD) {
@@ -87,10 +96,10 @@ public class AiTaggingBudgetService {
         }
 
         LOG.debugf("Budget action for provider=%s: action=%s, percentUsed=%.2f%%, cost=%d/%d cents", provider, action,
-                percentUsed, tracking.estimatedCostCents, tracking.budgetLimitCents);
+                percentUsed, costCents, budgetLimitCents);
 
         // Send alert if crossing threshold
-        checkAndSendAlert(percentUsed, tracking);
+        checkAndSendAlert(percentUsed, costCents, budgetLimitCents);
 
         return action;
     }
@@ -112,8 +121,7 @@ public class AiTaggingBudgetService {
      * @return remaining budget (may be negative if over budget)
      */
     public int getRemainingBudgetCents(String provider) {
-        AiUsageTracking tracking = AiUsageTracking.findOrCreateCurrentMonth(provider);
-        return tracking.getRemainingBudgetCents();
+        return (int) (budgetLedger.budgetLimitCents(provider) - budgetLedger.costCents(provider));
     }
 
     /**
@@ -133,8 +141,7 @@ public class AiTaggingBudgetService {
      * @return percentage of budget used (0.0-100.0+)
      */
     public double getBudgetPercentUsed(String provider) {
-        AiUsageTracking tracking = AiUsageTracking.findOrCreateCurrentMonth(provider);
-        return tracking.getPercentUsed();
+        return budgetLedger.percentUsed(provider);
     }
 
     /**
@@ -192,10 +199,12 @@ public class AiTaggingBudgetService {
      *
      * @param percentUsed
      *            current budget usage percentage
-     * @param tracking
-     *            the usage tracking record
+     * @param costCents
+     *            current month's estimated cost
+     * @param budgetLimitCents
+     *            current month's budget limit
      */
-    private void checkAndSendAlert(double percentUsed, AiUsageTracking tracking) {
+    private void checkAndSendAlert(double percentUsed, long costCents, int budgetLimitCents) {
         // Determine if we crossed a new threshold
         Double alertThreshold = null;
 
@@ -211,7 +220,7 @@ public class AiTaggingBudgetService {
         }
 
         if (alertThreshold != null) {
-            sendBudgetAlert(percentUsed, tracking, alertThreshold);
+            sendBudgetAlert(percentUsed, costCents, budgetLimitCents, alertThreshold);
             lastAlertPercentage = alertThreshold;
         }
     }
@@ -225,12 +234,14 @@ public class AiTaggingBudgetService {
      *
      * @param percentUsed
      *            current budget usage percentage
-     * @param tracking
-     *            the usage tracking record
+     * @param costCents
+     *            current month's estimated cost
+     * @param budgetLimitCents
+     *            current month's budget limit
      * @param threshold
      *            the threshold that was crossed
      */
-    private void sendBudgetAlert(double percentUsed, AiUsageTracking tracking, double threshold) {
+    private void sendBudgetAlert(double percentUsed, long costCents, int budgetLimitCents, double threshold) {
         // Determine alert level based on threshold
         String level;
         String action;
@@ -246,8 +257,7 @@ public class AiTaggingBudgetService {
         }
 
         // Delegate to EmailNotificationService for HTML template rendering and sending
-        emailNotificationService.sendAiBudgetAlert(level, percentUsed, tracking.estimatedCostCents,
-                tracking.budgetLimitCents, action);
+        emailNotificationService.sendAiBudgetAlert(level, percentUsed, (int) costCents, budgetLimitCents, action);
 
         LOG.infof("Sent AI budget alert: level=%s, threshold=%.0f%%, percentUsed=%.1f%%", level, threshold,
                 percentUsed);
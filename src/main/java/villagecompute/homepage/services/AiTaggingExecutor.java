@@ -0,0 +1,258 @@
+/*
+ * Copyright 2025 VillageCompute Inc.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package villagecompute.homepage.services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+import villagecompute.homepage.api.types.AiTagsType;
+import villagecompute.homepage.data.models.FeedItem;
+
+/**
+ * Concurrent executor for tagging feed item backlogs with batch AI calls.
+ *
+ * <p>
+ * Splits the backlog into batches sized by the current {@link BudgetAction} and runs up to
+ * {@code villagecompute.ai.tagging.concurrency} batch calls at once on virtual threads, each through
+ * {@link AiTaggingService#tagArticlesBatch}. Every call first takes a permit from a token bucket refilled at
+ * {@code villagecompute.ai.rate-limit.requests-per-minute}, so concurrency never pushes the job past the provider's
+ * request rate.
+ *
+ * <p>
+ * <b>Budget Enforcement (P2/P10):</b> The budget action is re-read from {@link AiTaggingBudgetService} after every
+ * completed batch and governs what is submitted next:
+ * <ul>
+ * <li><b>NORMAL:</b> 20-item batches at full concurrency</li>
+ * <li><b>REDUCE:</b> 10-item batches at half concurrency</li>
+ * <li><b>QUEUE / HARD_STOP:</b> No further batches; in-flight batches finish and are stored</li>
+ * </ul>
+ *
+ * <p>
+ * <b>Write-back:</b> Each batch's tags are stored in one short transaction with JDBC-batched updates. Items left with a
+ * null result (failed call or unparseable entry) stay untagged and are picked up by the next run.
+ *
+ * @see villagecompute.homepage.jobs.AiTaggingJobHandler
+ * @see AiTaggingBudgetService
+ */
+@ApplicationScoped
+public class AiTaggingExecutor {
+
+    private static final Logger LOG = Logger.getLogger(AiTaggingExecutor.class);
+
+    @Inject
+    AiTaggingService aiTaggingService;
+
+    @Inject
+    AiTaggingBudgetService budgetService;
+
+    @Inject
+    EntityManager entityManager;
+
+    @ConfigProperty(
+            name = "villagecompute.ai.tagging.concurrency",
+            defaultValue = "4")
+    int concurrency;
+
+    @ConfigProperty(
+            name = "villagecompute.ai.rate-limit.requests-per-minute",
+            defaultValue = "60")
+    int requestsPerMinute;
+
+    private TokenBucket requestBucket;
+
+    /**
+     * Outcome of a tagging run.
+     *
+     * @param tagged
+     *            items tagged and stored
+     * @param failed
+     *            items left untagged (failed call or missing result)
+     * @param batches
+     *            batch calls made
+     * @param budgetStopped
+     *            true if the budget stopped the run before the backlog was exhausted
+     */
+    public record TaggingRun(int tagged, int failed, int batches, boolean budgetStopped) {
+    }
+
+    private record BatchResult(int tagged, int failed) {
+    }
+
+    @PostConstruct
+    void init() {
+        requestBucket = new TokenBucket(requestsPerMinute, requestsPerMinute / 60.0);
+    }
+
+    /**
+     * Tags the given items with concurrent batch calls until the backlog is exhausted or the budget stops processing.
+     *
+     * @param items
+     *            untagged feed items
+     * @return run outcome
+     * @throws InterruptedException
+     *             if interrupted while waiting for a rate-limit permit or a batch result
+     */
+    public TaggingRun tagAll(List<FeedItem> items) throws InterruptedException {
+        BudgetAction action = budgetService.getCurrentBudgetAction();
+        int next = 0;
+        int inFlight = 0;
+        int tagged = 0;
+        int failed = 0;
+        int batches = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<BatchResult> completion = new ExecutorCompletionService<>(executor);
+
+            while (true) {
+                while (next < items.size() && !budgetService.shouldStopProcessing(action)
+                        && inFlight < concurrencyFor(action)) {
+                    List<FeedItem> batch = items.subList(next,
+                            Math.min(next + budgetService.getBatchSize(action), items.size()));
+                    next += batch.size();
+                    requestBucket.acquire();
+                    completion.submit(() -> tagBatch(batch));
+                    inFlight++;
+                    batches++;
+                }
+                if (inFlight == 0) {
+                    break;
+                }
+
+                BatchResult result = awaitNext(completion);
+                inFlight--;
+                tagged += result.tagged();
+                failed += result.failed();
+                action = budgetService.getCurrentBudgetAction();
+            }
+        }
+
+        boolean budgetStopped = next < items.size();
+        if (budgetStopped) {
+            LOG.warnf("Budget stopped AI tagging: action=%s, tagged=%d/%d items", action, tagged, items.size());
+        }
+        return new TaggingRun(tagged, failed, batches, budgetStopped);
+    }
+
+    private int concurrencyFor(BudgetAction action) {
+        return action == BudgetAction.REDUCE ? Math.max(1, concurrency / 2) : concurrency;
+    }
+
+    private static BatchResult awaitNext(CompletionService<BatchResult> completion) throws InterruptedException {
+        try {
+            return completion.take().get();
+        } catch (ExecutionException e) {
+            // tagBatch handles its own failures; anything else leaves the batch untagged for the next run
+            LOG.errorf(e.getCause(), "AI tagging batch failed unexpectedly");
+            return new BatchResult(0, 0);
+        }
+    }
+
+    /**
+     * Tags one batch with a single AI call and stores its results. Runs on a virtual thread.
+     */
+    private BatchResult tagBatch(List<FeedItem> batch) {
+        try {
+            List<AiTagsType> results = aiTaggingService.tagArticlesBatch(batch);
+            int stored = storeResults(batch, results);
+            return new BatchResult(stored, batch.size() - stored);
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to tag batch of %d items", batch.size());
+            return new BatchResult(0, batch.size());
+        }
+    }
+
+    /**
+     * Writes a batch's tags in one transaction; updates are flushed as a single JDBC batch at commit.
+     *
+     * @return number of items stored
+     */
+    private int storeResults(List<FeedItem> batch, List<AiTagsType> results) {
+        Map<UUID, AiTagsType> tagsById = new HashMap<>();
+        for (int i = 0; i < batch.size() && i < results.size(); i++) {
+            if (results.get(i) != null) {
+                tagsById.put(batch.get(i).id, results.get(i));
+            }
+        }
+        if (tagsById.isEmpty()) {
+            return 0;
+        }
+
+        return QuarkusTransaction.requiringNew().call(() -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tagsById.size());
+            Map<UUID, FeedItem> items = FeedItem.<FeedItem>list("id IN ?1", tagsById.keySet()).stream()
+                    .collect(Collectors.toMap(item -> item.id, Function.identity()));
+            for (FeedItem item : items.values()) {
+                item.aiTags = tagsById.get(item.id);
+                item.aiTagged = true;
+            }
+            return items.size();
+        });
+    }
+
+    /**
+     * Token bucket holding up to {@code capacity} permits, refilled continuously at {@code permitsPerSecond}.
+     */
+    static final class TokenBucket {
+
+        private final double capacity;
+        private final double permitsPerSecond;
+        private double permits;
+        private long refilledAtNanos;
+
+        TokenBucket(double capacity, double permitsPerSecond) {
+            this.capacity = Math.max(1, capacity);
+            this.permitsPerSecond = Math.max(permitsPerSecond, 1.0 / 60);
+            this.permits = this.capacity;
+            this.refilledAtNanos = System.nanoTime();
+        }
+
+        /**
+         * Takes one permit, sleeping until one is available.
+         */
+        void acquire() throws InterruptedException {
+            long waitNanos;
+            while ((waitNanos = tryAcquire()) > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+
+        /**
+         * @return 0 if a permit was taken, otherwise nanoseconds until the next permit is available
+         */
+        synchronized long tryAcquire() {
+            long now = System.nanoTime();
+            permits = Math.min(capacity, permits + (now - refilledAtNanos) / 1e9 * permitsPerSecond);
+            refilledAtNanos = now;
+            if (permits >= 1) {
+                permits--;
+                return 0;
+            }
+            return (long) Math.ceil((1 - permits) / permitsPerSecond * 1e9);
+        }
+    }
+}
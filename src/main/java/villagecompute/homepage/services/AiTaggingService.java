@@ -6,8 +6,8 @@
 
 package villagecompute.homepage.services;
 
-import java.time.YearMonth;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -68,6 +68,11 @@ public class AiTaggingService {
     // Content truncation to avoid exceeding token limits
     private static final int MAX_CONTENT_LENGTH = 3000;
 
+    // Categories stored in FeedItem.aiTags; shared by the single-article and batch article prompts
+    private static final List<String> ARTICLE_CATEGORIES = List.of("Technology", "Business", "Science", "Health",
+            "Politics", "Entertainment", "Sports", "World", "Lifestyle", "Opinion", "Environment", "Education",
+            "Finance", "Arts", "Travel", "Food");
+
     @Inject
     @Named("haiku")
     ChatModel chatModel; // Use Haiku model for bulk tagging (10x cheaper)
@@ -81,6 +86,9 @@ public class AiTaggingService {
     @Inject
     AiUsageTrackingService usageTrackingService;
 
+    @Inject
+    AiBudgetLedger budgetLedger;
+
     /**
      * Tags a feed item with AI-generated metadata.
      *
@@ -115,8 +123,7 @@ public class AiTaggingService {
             int costCents = AiUsageTracking.calculateCostCents(estimatedInputTokens, estimatedOutputTokens);
 
             // Record usage
-            AiUsageTracking.recordUsage(YearMonth.now(), PROVIDER, 1, estimatedInputTokens, estimatedOutputTokens,
-                    costCents);
+            budgetLedger.record(PROVIDER, 1, estimatedInputTokens, estimatedOutputTokens, costCents);
 
             LOG.debugf(
                     "Tagged article: title=\"%s\", topics=%s, sentiment=%s, categories=%s, confidence=%.2f, "
@@ -161,22 +168,7 @@ public class AiTaggingService {
                 1. Extract 3-5 main topics/keywords from the content
                 2. Determine overall sentiment (positive, negative, neutral, or mixed)
                 3. Assign 1-3 categories from this list ONLY:
-                   - Technology
-                   - Business
-                   - Science
-                   - Health
-                   - Politics
-                   - Entertainment
-                   - Sports
-                   - World
-                   - Lifestyle
-                   - Opinion
-                   - Environment
-                   - Education
-                   - Finance
-                   - Arts
-                   - Travel
-                   - Food
+                %s
                 4. Assign confidence score (0.0-1.0) for tagging quality
 
                 ARTICLE:
@@ -191,7 +183,7 @@ public class AiTaggingService {
                   "categories": ["Technology", "Business"],
                   "confidence": 0.85
                 }
-                """, title != null ? title : "", description != null ? description : "",
+                """, articleCategoryList(), title != null ? title : "", description != null ? description : "",
                 contentSnippet != null ? contentSnippet : "");
     }
 
@@ -221,27 +213,7 @@ public class AiTaggingService {
             json = json.trim();
 
             // Parse JSON to AiTagsType
-            AiTagsType tags = objectMapper.readValue(json, AiTagsType.class);
-
-            // Validate and apply defaults
-            if (tags.topics() == null || tags.topics().isEmpty()) {
-                tags = new AiTagsType(List.of("Uncategorized"), tags.sentiment() != null ? tags.sentiment() : "neutral",
-                        tags.categories() != null && !tags.categories().isEmpty() ? tags.categories()
-                                : List.of("Uncategorized"),
-                        tags.confidence() != null ? tags.confidence() : 0.5);
-            }
-
-            if (tags.sentiment() == null || tags.sentiment().isBlank()) {
-                tags = new AiTagsType(tags.topics(), "neutral", tags.categories(), tags.confidence());
-            }
-
-            if (tags.categories() == null || tags.categories().isEmpty()) {
-                tags = new AiTagsType(tags.topics(), tags.sentiment(), List.of("Uncategorized"), tags.confidence());
-            }
-
-            if (tags.confidence() == null || tags.confidence() < 0.0 || tags.confidence() > 1.0) {
-                tags = new AiTagsType(tags.topics(), tags.sentiment(), tags.categories(), 0.5);
-            }
+            AiTagsType tags = applyTagDefaults(objectMapper.readValue(json, AiTagsType.class));
 
             // Log warning for low confidence
             if (tags.confidence() < 0.5) {
@@ -257,6 +229,48 @@ public class AiTaggingService {
         }
     }
 
+    /**
+     * Validates parsed article tags and applies defaults for missing/invalid fields.
+     *
+     * @param tags
+     *            tags parsed from a model response
+     * @return validated tags with defaults applied
+     */
+    private AiTagsType applyTagDefaults(AiTagsType tags) {
+        if (tags == null) {
+            return new AiTagsType(List.of("Uncategorized"), "neutral", List.of("Uncategorized"), 0.3);
+        }
+
+        if (tags.topics() == null || tags.topics().isEmpty()) {
+            tags = new AiTagsType(List.of("Uncategorized"), tags.sentiment() != null ? tags.sentiment() : "neutral",
+                    tags.categories() != null && !tags.categories().isEmpty() ? tags.categories()
+                            : List.of("Uncategorized"),
+                    tags.confidence() != null ? tags.confidence() : 0.5);
+        }
+
+        if (tags.sentiment() == null || tags.sentiment().isBlank()) {
+            tags = new AiTagsType(tags.topics(), "neutral", tags.categories(), tags.confidence());
+        }
+
+        if (tags.categories() == null || tags.categories().isEmpty()) {
+            tags = new AiTagsType(tags.topics(), tags.sentiment(), List.of("Uncategorized"), tags.confidence());
+        }
+
+        if (tags.confidence() == null || tags.confidence() < 0.0 || tags.confidence() > 1.0) {
+            tags = new AiTagsType(tags.topics(), tags.sentiment(), tags.categories(), 0.5);
+        }
+
+        return tags;
+    }
+
+    /**
+     * Formats {@link #ARTICLE_CATEGORIES} as the indented bullet list used in article prompts.
+     */
+    private static String articleCategoryList() {
+        return ARTICLE_CATEGORIES.stream().map(category -> "   - " + category)
+                .collect(Collectors.joining("\n"));
+    }
+
     /**
      * Tags a single feed item and returns structured tagging result.
      *
@@ -417,8 +431,7 @@ public class AiTaggingService {
             int costCents = AiUsageTracking.calculateCostCents(estimatedInputTokens, estimatedOutputTokens);
 
             // Record usage (1 request for entire batch)
-            AiUsageTracking.recordUsage(YearMonth.now(), PROVIDER, 1, estimatedInputTokens, estimatedOutputTokens,
-                    costCents);
+            budgetLedger.record(PROVIDER, 1, estimatedInputTokens, estimatedOutputTokens, costCents);
 
             LOG.debugf("Tagged batch: items=%d, successfulTags=%d, inputTokens=%d, outputTokens=%d, costCents=%d",
                     items.size(), results.stream().filter(r -> r != null).count(), estimatedInputTokens,
@@ -433,6 +446,54 @@ public class AiTaggingService {
         }
     }
 
+    /**
+     * Tags up to 20 articles in a single API call, producing the same {@link AiTagsType} schema as {@link #tagArticle}.
+     *
+     * <p>
+     * Unlike {@link #tagFeedItemsBatch}, the prompt asks for a per-article sentiment and uses the
+     * {@link #tagArticle} category list, so batch-tagged items are indistinguishable from individually tagged ones in
+     * {@code FeedItem.aiTags}. Backlogs should go through {@link AiTaggingExecutor}, which runs these calls
+     * concurrently under the provider rate limit.
+     *
+     * @param items
+     *            feed items to tag (at most 20)
+     * @return tags per item in input order (null entries for items without a usable result)
+     * @throws IllegalArgumentException
+     *             if more than 20 items are passed
+     */
+    public List<AiTagsType> tagArticlesBatch(List<FeedItem> items) {
+        if (items == null || items.isEmpty()) {
+            return List.of();
+        }
+        if (items.size() > 20) {
+            throw new IllegalArgumentException("At most 20 articles per batch call, got " + items.size());
+        }
+
+        try {
+            String prompt = buildArticleBatchPrompt(items);
+
+            LOG.debugf("Sending article batch tagging request to Claude: %d items", items.size());
+
+            String response = chatModel.chat(prompt);
+            List<AiTagsType> results = parseArticleBatchResponse(response, items.size());
+
+            long estimatedInputTokens = prompt.length() / 4;
+            long estimatedOutputTokens = response.length() / 4;
+            int costCents = AiUsageTracking.calculateCostCents(estimatedInputTokens, estimatedOutputTokens);
+            budgetLedger.record(PROVIDER, 1, estimatedInputTokens, estimatedOutputTokens, costCents);
+
+            LOG.debugf("Tagged article batch: items=%d, successfulTags=%d, inputTokens=%d, outputTokens=%d, "
+                    + "costCents=%d", items.size(), results.stream().filter(r -> r != null).count(),
+                    estimatedInputTokens, estimatedOutputTokens, costCents);
+
+            return results;
+
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to tag article batch of %d items, returning null results", items.size());
+            return java.util.Collections.nCopies(items.size(), null);
+        }
+    }
+
     /**
      * Persists tagging result to database by mapping to {@link AiTagsType}.
      *
@@ -570,6 +631,80 @@ public class AiTaggingService {
         return prompt.toString();
     }
 
+    /**
+     * Builds the batch prompt for {@link #tagArticlesBatch}: the {@link #buildPrompt} instructions and categories,
+     * applied to several indexed articles.
+     *
+     * @param items
+     *            list of feed items (up to 20)
+     * @return formatted batch prompt string
+     */
+    private String buildArticleBatchPrompt(List<FeedItem> items) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("Analyze these news articles and extract structured metadata for each.\n\n");
+        prompt.append("INSTRUCTIONS:\n");
+        prompt.append("1. Extract 3-5 main topics/keywords from the content\n");
+        prompt.append("2. Determine overall sentiment (positive, negative, neutral, or mixed)\n");
+        prompt.append("3. Assign 1-3 categories from this list ONLY:\n");
+        prompt.append(articleCategoryList()).append('\n');
+        prompt.append("4. Assign confidence score (0.0-1.0) for tagging quality\n\n");
+        prompt.append("ARTICLES:\n");
+
+        for (int i = 0; i < items.size(); i++) {
+            FeedItem item = items.get(i);
+            String contentSnippet = item.content;
+            if (contentSnippet != null && contentSnippet.length() > MAX_CONTENT_LENGTH) {
+                contentSnippet = contentSnippet.substring(0, MAX_CONTENT_LENGTH) + "...";
+            }
+
+            prompt.append(String.format("[%d] Title: %s\n", i, item.title != null ? item.title : ""));
+            prompt.append(String.format("    Description: %s\n", item.description != null ? item.description : ""));
+            prompt.append(String.format("    Content: %s\n\n", contentSnippet != null ? contentSnippet : ""));
+        }
+
+        prompt.append("Respond with ONLY a JSON array (one object per article, indexed 0-" + (items.size() - 1)
+                + ", no markdown, no explanation):\n");
+        prompt.append("[\n");
+        prompt.append("  {\"index\": 0, \"topics\": [...], \"sentiment\": \"positive\", \"categories\": [...], "
+                + "\"confidence\": 0.85},\n");
+        prompt.append("  {\"index\": 1, \"topics\": [...], \"sentiment\": \"neutral\", \"categories\": [...], "
+                + "\"confidence\": 0.80}\n");
+        prompt.append("]");
+
+        return prompt.toString();
+    }
+
+    /**
+     * Parses an article batch response (JSON array) into tags, applying the same defaults as {@link #parseResponse}.
+     *
+     * @param response
+     *            raw Claude response string
+     * @param expectedSize
+     *            expected number of results
+     * @return tags per item (null entries for missing results, all null if the response is not a JSON array)
+     */
+    private List<AiTagsType> parseArticleBatchResponse(String response, int expectedSize) {
+        try {
+            AiTagsType[] tagsArray = objectMapper.readValue(stripMarkdown(response), AiTagsType[].class);
+
+            List<AiTagsType> results = new java.util.ArrayList<>();
+            for (int i = 0; i < expectedSize; i++) {
+                if (i < tagsArray.length) {
+                    results.add(applyTagDefaults(tagsArray[i]));
+                } else {
+                    LOG.warnf("Missing result for item index %d in article batch response", i);
+                    results.add(null);
+                }
+            }
+            return results;
+
+        } catch (JsonProcessingException e) {
+            LOG.errorf(e, "Failed to parse article batch response as JSON array, returning null results: response=%s",
+                    response);
+            return java.util.Collections.nCopies(expectedSize, null);
+        }
+    }
+
     /**
      * Parses single-item tagging response into {@link FeedItemTaggingResultType}.
      *
@@ -71,6 +71,9 @@ public class AiUsageTrackingService {
     @Inject
     AiCacheConfig cacheConfig;
 
+    @Inject
+    AiBudgetLedger budgetLedger;
+
     // Micrometer metrics
     private Counter taggingRequests;
     private Counter embeddingRequests;
@@ -105,10 +108,8 @@ public class AiUsageTrackingService {
                 .register(meterRegistry);
 
         // Budget usage gauge
-        Gauge.builder("ai.budget.percent_used", this, service -> {
-            AiUsageTracking tracking = AiUsageTracking.findOrCreateCurrentMonth(PROVIDER);
-            return tracking.getPercentUsed();
-        }).description("AI budget usage percentage for current month").register(meterRegistry);
+        Gauge.builder("ai.budget.percent_used", budgetLedger, ledger -> ledger.percentUsed(PROVIDER))
+                .description("AI budget usage percentage for current month").register(meterRegistry);
 
         LOG.info("AI usage tracking metrics initialized");
     }
@@ -0,0 +1,315 @@
+package villagecompute.homepage.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.ruiyun.jvppeteer.api.core.Browser;
+import com.ruiyun.jvppeteer.api.core.BrowserContext;
+import com.ruiyun.jvppeteer.api.core.Page;
+import com.ruiyun.jvppeteer.cdp.core.Puppeteer;
+import com.ruiyun.jvppeteer.cdp.entities.LaunchOptions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Pool of long-lived headless Chromium browsers for screenshot capture (Policy P12, Feature F13.3).
+ *
+ * <p>
+ * Launching Chromium costs ~2-3 seconds and ~200-300 MB per capture, which dominated SCREENSHOT queue time when every
+ * capture launched and closed its own browser. The pool keeps up to {@code villagecompute.screenshot.pool.size}
+ * browsers alive and hands each capture an isolated browser context (incognito: no shared cookies, cache or storage)
+ * with a fresh page. The context is closed after the capture; the browser is returned to the pool.
+ * </p>
+ *
+ * <p>
+ * <b>Concurrency:</b> A single semaphore sized to the pool is the only P12 gate for screenshot work. It replaces the
+ * per-capture semaphore in {@link ScreenshotService} and the SCREENSHOT queue semaphore in {@link DelayedJobService}.
+ * </p>
+ *
+ * <p>
+ * <b>Recycling:</b> A browser is closed and replaced (lazily, on next demand) when:
+ * <ul>
+ * <li>it has served {@code villagecompute.screenshot.pool.max-captures-per-browser} captures (bounds Chromium memory
+ * growth)</li>
+ * <li>it is no longer connected (crash, OOM kill)</li>
+ * <li>a capture failed in a way that left the browser unusable (context could not be created or closed)</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * <b>Metrics Emitted:</b>
+ * <ul>
+ * <li>{@code homepage_screenshot_slots_available} - free capture permits (registered by ObservabilityMetrics)</li>
+ * <li>{@code screenshot.browser_pool.browsers{state=idle|busy}} - pooled browser counts</li>
+ * <li>{@code screenshot.browser_pool.launches.total} - browser launches</li>
+ * <li>{@code screenshot.browser_pool.recycles.total{reason=max_captures|disconnected|error}} - browsers retired</li>
+ * <li>{@code screenshot.browser_pool.captures.total} - contexts handed out</li>
+ * </ul>
+ * </p>
+ */
+@ApplicationScoped
+public class BrowserPool {
+
+    private static final Logger LOG = Logger.getLogger(BrowserPool.class);
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(
+            name = "villagecompute.screenshot.pool.size",
+            defaultValue = "3")
+    int poolSize;
+
+    @ConfigProperty(
+            name = "villagecompute.screenshot.pool.max-captures-per-browser",
+            defaultValue = "50")
+    int maxCapturesPerBrowser;
+
+    /**
+     * Launches a new browser. Package-private so tests can substitute a stub launcher.
+     */
+    Supplier<Browser> browserLauncher = BrowserPool::launchChromium;
+
+    private Semaphore permits;
+    private final Deque<PooledBrowser> idle = new ArrayDeque<>();
+    private final AtomicInteger busy = new AtomicInteger();
+    private boolean closed; // guarded by idle
+
+    private Counter launches;
+    private Counter captures;
+
+    /**
+     * Work performed against a pooled page.
+     *
+     * @param <T>
+     *            result type
+     */
+    @FunctionalInterface
+    public interface PageCallback<T> {
+        T apply(Page page) throws Exception;
+    }
+
+    /**
+     * Point-in-time pool statistics.
+     *
+     * @param poolSize
+     *            configured maximum browsers
+     * @param availablePermits
+     *            captures that can start without waiting
+     * @param idleBrowsers
+     *            launched browsers waiting for work
+     * @param busyBrowsers
+     *            browsers currently serving a capture
+     */
+    public record PoolStats(int poolSize, int availablePermits, int idleBrowsers, int busyBrowsers) {
+    }
+
+    private static final class PooledBrowser {
+        final Browser browser;
+        int captures;
+
+        PooledBrowser(Browser browser) {
+            this.browser = browser;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(poolSize, true);
+
+        launches = Counter.builder("screenshot.browser_pool.launches.total")
+                .description("Headless browser launches by the screenshot pool").register(meterRegistry);
+        captures = Counter.builder("screenshot.browser_pool.captures.total")
+                .description("Browser contexts handed out for screenshot captures").register(meterRegistry);
+
+        Gauge.builder("screenshot.browser_pool.browsers", this, p -> p.getStats().idleBrowsers()).tag("state", "idle")
+                .description("Launched browsers waiting for work").register(meterRegistry);
+        Gauge.builder("screenshot.browser_pool.browsers", this, p -> p.getStats().busyBrowsers()).tag("state", "busy")
+                .description("Browsers currently serving a capture").register(meterRegistry);
+
+        LOG.infof("Browser pool initialized (size=%d, maxCapturesPerBrowser=%d)", poolSize, maxCapturesPerBrowser);
+    }
+
+    /**
+     * Runs {@code callback} against a fresh page in an isolated browser context.
+     *
+     * <p>
+     * Blocks until a pool permit is available. The context (and its page) is always closed afterwards; the browser is
+     * returned to the pool or retired per the recycling rules.
+     *
+     * @param callback
+     *            work to perform with the page
+     * @return callback result
+     * @throws InterruptedException
+     *             if interrupted while waiting for a permit
+     * @throws Exception
+     *             any exception thrown by browser launch or the callback
+     */
+    public <T> T withPage(PageCallback<T> callback) throws Exception {
+        if (!permits.tryAcquire()) {
+            LOG.debugf("Browser pool exhausted, waiting for permit (size=%d)", poolSize);
+            permits.acquire();
+        }
+
+        PooledBrowser pooled = null;
+        boolean reusable = false;
+        try {
+            pooled = borrow();
+            busy.incrementAndGet();
+
+            BrowserContext context = pooled.browser.createBrowserContext();
+            pooled.captures++;
+            captures.increment();
+            try {
+                Page page = context.newPage();
+                return callback.apply(page);
+            } finally {
+                try {
+                    context.close();
+                    reusable = true;
+                } catch (Exception e) {
+                    LOG.warnf(e, "Failed to close browser context, retiring browser");
+                }
+            }
+        } finally {
+            if (pooled != null) {
+                busy.decrementAndGet();
+                release(pooled, reusable);
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Returns the number of captures that can start without waiting.
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Returns a snapshot of pool statistics for monitoring.
+     */
+    public PoolStats getStats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        return new PoolStats(poolSize, permits.availablePermits(), idleCount, busy.get());
+    }
+
+    /**
+     * Closes all idle browsers. Browsers busy at shutdown are closed when their capture finishes, and no new captures
+     * are accepted.
+     */
+    @PreDestroy
+    void shutdown() {
+        List<PooledBrowser> toClose;
+        synchronized (idle) {
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (PooledBrowser pooled : toClose) {
+            closeQuietly(pooled.browser);
+        }
+        LOG.infof("Browser pool shut down (closed %d idle browsers)", toClose.size());
+    }
+
+    private PooledBrowser borrow() {
+        while (true) {
+            PooledBrowser candidate;
+            synchronized (idle) {
+                if (closed) {
+                    throw new IllegalStateException("Browser pool is shut down");
+                }
+                candidate = idle.pollFirst();
+            }
+            if (candidate == null) {
+                Browser browser = browserLauncher.get();
+                launches.increment();
+                LOG.debugf("Launched pooled browser (idle=%d, busy=%d)", getStats().idleBrowsers(), busy.get());
+                return new PooledBrowser(browser);
+            }
+            if (isConnected(candidate.browser)) {
+                return candidate;
+            }
+            retire(candidate, "disconnected");
+        }
+    }
+
+    private void release(PooledBrowser pooled, boolean reusable) {
+        if (!reusable) {
+            retire(pooled, "error");
+        } else if (!isConnected(pooled.browser)) {
+            retire(pooled, "disconnected");
+        } else if (pooled.captures >= maxCapturesPerBrowser) {
+            retire(pooled, "max_captures");
+        } else {
+            synchronized (idle) {
+                if (!closed) {
+                    idle.addFirst(pooled);
+                    return;
+                }
+            }
+            closeQuietly(pooled.browser); // Finished after shutdown; nothing will borrow it again
+        }
+    }
+
+    private void retire(PooledBrowser pooled, String reason) {
+        meterRegistry.counter("screenshot.browser_pool.recycles.total", "reason", reason).increment();
+        LOG.infof("Retiring pooled browser after %d captures (reason=%s)", pooled.captures, reason);
+        closeQuietly(pooled.browser);
+    }
+
+    private static boolean isConnected(Browser browser) {
+        try {
+            return browser.connected();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Browser browser) {
+        try {
+            browser.close();
+        } catch (Exception e) {
+            LOG.debugf(e, "Failed to close browser");
+        }
+    }
+
+    /**
+     * Launches headless Chromium with memory-optimized flags.
+     */
+    private static Browser launchChromium() {
+        try {
+            LaunchOptions launchOptions = LaunchOptions.builder().headless(true).timeout(30000)
+                    .args(List.of("--no-sandbox", // Required for containerized environments
+                            "--disable-setuid-sandbox", // Required for non-root users
+                            "--disable-dev-shm-usage", // Reduce memory usage in Docker
+                            "--disable-gpu", // Not needed for headless
+                            "--no-first-run", // Skip first-run wizard
+                            "--no-default-browser-check" // Skip default browser check
+                    )).build();
+            return Puppeteer.launch(launchOptions);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to launch headless browser", e);
+        }
+    }
+}
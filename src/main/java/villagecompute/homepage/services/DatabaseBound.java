@@ -0,0 +1,25 @@
+package villagecompute.homepage.services;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks beans or methods whose invocations must hold a {@link DatabaseConcurrencyLimiter} permit.
+ *
+ * <p>
+ * Put it on {@code @Transactional} methods reached from virtual threads ({@code @RunOnVirtualThread} endpoints),
+ * so that unbounded virtual-thread concurrency is capped at what the connection pool can serve. The permit is taken
+ * before {@code @Transactional} begins and released after it completes. Avoid it on methods that also wait on
+ * non-database I/O, since the permit is held for the whole invocation.
+ */
+@InterceptorBinding
+@Inherited
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DatabaseBound {
+}
@@ -0,0 +1,28 @@
+package villagecompute.homepage.services;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Holds a {@link DatabaseConcurrencyLimiter} permit around {@link DatabaseBound} invocations.
+ *
+ * <p>
+ * Ordered before the transaction interceptor ({@code PLATFORM_BEFORE + 200}), so callers wait for a permit before a
+ * transaction, and with it a connection, is opened.
+ */
+@DatabaseBound
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class DatabaseBoundInterceptor {
+
+    @Inject
+    DatabaseConcurrencyLimiter limiter;
+
+    @AroundInvoke
+    Object limit(InvocationContext context) throws Exception {
+        return limiter.call(context::proceed);
+    }
+}
@@ -0,0 +1,189 @@
+package villagecompute.homepage.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many virtual-thread units of work may use the database at once, sized from the JDBC connection pool.
+ *
+ * <p>
+ * On the worker pool, the 100 worker threads implicitly limited how many requests could wait for one of the 50 pooled
+ * connections. Virtual threads remove that limit: thousands of requests can be in flight, and without a gate they all
+ * queue inside Agroal until {@code acquisition-timeout} fails them, while holding request memory and locks. This
+ * limiter admits at most {@code quarkus.datasource.jdbc.max-size - villagecompute.virtual-threads.db-permit-reserve}
+ * units at once; the reserve keeps connections free for scheduled work, health checks and platform-thread callers.
+ * Waiting for a permit parks the virtual thread (no carrier is blocked).
+ *
+ * <p>
+ * Callers that cannot get a permit within {@code villagecompute.virtual-threads.db-acquire-timeout} fail with
+ * {@link ServiceUnavailableException} (HTTP 503 for REST endpoints). Nested calls on a thread that already holds a
+ * permit pass through, so a limited resource can call limited services without deadlocking on its own permit.
+ *
+ * <p>
+ * Permits should cover database work only. Gate transactional methods (with {@link DatabaseBound}) or the database
+ * branch of a method (with {@link #supply}), never a whole request that also waits on Elasticsearch, HTTP calls or
+ * template rendering; otherwise the permit count becomes a cap on concurrent requests.
+ *
+ * <p>
+ * <b>Metrics Emitted:</b>
+ * <ul>
+ * <li>{@code homepage_db_concurrency_available} - free permits</li>
+ * <li>{@code homepage_db_concurrency_waiting} - callers waiting for a permit</li>
+ * <li>{@code homepage_db_concurrency_rejected_total} - callers that timed out waiting</li>
+ * </ul>
+ *
+ * @see DatabaseBound for declarative use on endpoints and scheduled jobs
+ */
+@ApplicationScoped
+public class DatabaseConcurrencyLimiter {
+
+    private static final Logger LOG = Logger.getLogger(DatabaseConcurrencyLimiter.class);
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(
+            name = "quarkus.datasource.jdbc.max-size",
+            defaultValue = "20")
+    int connectionPoolSize;
+
+    @ConfigProperty(
+            name = "villagecompute.virtual-threads.db-permit-reserve",
+            defaultValue = "10")
+    int permitReserve;
+
+    @ConfigProperty(
+            name = "villagecompute.virtual-threads.db-acquire-timeout",
+            defaultValue = "10s")
+    Duration acquireTimeout;
+
+    private final ThreadLocal<Boolean> holdingPermit = new ThreadLocal<>();
+
+    private Semaphore permits;
+
+    private int maxPermits;
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        maxPermits = Math.max(1, connectionPoolSize - permitReserve);
+        permits = new Semaphore(maxPermits, true);
+        Gauge.builder("homepage_db_concurrency_available", permits, Semaphore::availablePermits)
+                .description("Free database permits for virtual-thread work").register(registry);
+        Gauge.builder("homepage_db_concurrency_waiting", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a database permit").register(registry);
+        rejectedCounter = Counter.builder("homepage_db_concurrency_rejected_total")
+                .description("Callers rejected after waiting for a database permit").register(registry);
+        LOG.infof("Database concurrency limited to %d permits (pool %d, reserve %d)", maxPermits, connectionPoolSize,
+                permitReserve);
+    }
+
+    /**
+     * Runs work while holding a database permit.
+     *
+     * @param work
+     *            the work to run
+     * @return the work's result
+     * @throws ServiceUnavailableException
+     *             if no permit became free within the acquire timeout
+     * @throws Exception
+     *             if the work throws
+     */
+    public <T> T call(Callable<T> work) throws Exception {
+        if (Boolean.TRUE.equals(holdingPermit.get())) {
+            return work.call();
+        }
+
+        acquire();
+        holdingPermit.set(Boolean.TRUE);
+        try {
+            return work.call();
+        } finally {
+            holdingPermit.remove();
+            permits.release();
+        }
+    }
+
+    /**
+     * Runs work while holding a database permit.
+     *
+     * @param work
+     *            the work to run
+     * @throws ServiceUnavailableException
+     *             if no permit became free within the acquire timeout
+     */
+    public void run(Runnable work) {
+        supply(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs work that cannot throw checked exceptions while holding a database permit.
+     *
+     * @param work
+     *            the work to run
+     * @return the work's result
+     * @throws ServiceUnavailableException
+     *             if no permit became free within the acquire timeout
+     */
+    public <T> T supply(Supplier<T> work) {
+        try {
+            return call(work::get);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // Unreachable: a Supplier cannot throw checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the number of permits (concurrent database units) this pod admits.
+     *
+     * @return permit count
+     */
+    public int maxPermits() {
+        return maxPermits;
+    }
+
+    /**
+     * Returns the number of currently free permits.
+     *
+     * @return free permit count
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() {
+        try {
+            if (permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for a database permit");
+        }
+        rejectedCounter.increment();
+        LOG.warnf("No database permit free after %s (%d permits, %d waiting)", acquireTimeout, maxPermits,
+                permits.getQueueLength());
+        throw new ServiceUnavailableException("Database capacity exhausted, retry shortly",
+                Math.max(1L, acquireTimeout.toSeconds()));
+    }
+}
@@ -3,6 +3,7 @@ package villagecompute.homepage.services;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
+import io.quarkus.virtual.threads.VirtualThreads;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
@@ -16,7 +17,8 @@ import villagecompute.homepage.observability.LoggingConfig;
 
 import java.util.EnumMap;
 import java.util.Map;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Central orchestrator for database-backed async job processing.
@@ -39,9 +41,14 @@ import java.util.concurrent.Semaphore;
  * docs/ops/async-workloads.md).
  *
  * <p>
- * <b>Concurrency Limits (Policy P12):</b> The SCREENSHOT queue enforces a semaphore-based concurrency limit (3 workers
- * per pod) to prevent Chromium memory exhaustion. Future work may extend this pattern to other resource-constrained job
- * types.
+ * <b>Concurrency Limits (Policy P12):</b> SCREENSHOT concurrency (3 captures per pod) is enforced by
+ * {@link BrowserPool}, which owns the Chromium instances and is the single gate for screenshot work. Future work may
+ * extend this pattern to other resource-constrained job types.
+ *
+ * <p>
+ * <b>Execution Model:</b> {@link #executeJobAsync} runs handlers on virtual threads, so a handler blocked on HTTP,
+ * JDBC or a browser parks instead of holding a platform thread. No database permit is held for a whole job; handlers
+ * bound their own database work with {@link DatabaseConcurrencyLimiter}, like the virtual-thread REST endpoints.
  *
  * <p>
  * <b>Policy References:</b>
@@ -55,7 +62,8 @@ import java.util.concurrent.Semaphore;
  * <b>Future Work:</b>
  * <ul>
  * <li>Integrate with {@code data.models.DelayedJob} Panache entity for database persistence</li>
- * <li>Implement Quarkus {@code @Scheduled} polling methods for each queue family</li>
+ * <li>Implement Quarkus {@code @Scheduled} polling methods for each queue family, dispatching through
+ * {@link #executeJobAsync}</li>
  * <li>Add dead letter queue for jobs exceeding max retries</li>
  * <li>Expose metrics endpoint for job backlog/latency monitoring</li>
  * </ul>
@@ -81,16 +89,6 @@ public class DelayedJobService {
      */
     private static final int DEFAULT_MAX_ATTEMPTS = 5;
 
-    /**
-     * Semaphore enforcing P12 concurrency limit for SCREENSHOT queue. Permits = 3 (prevents Chromium/jvppeteer memory
-     * exhaustion).
-     *
-     * <p>
-     * Future handlers can check {@code screenshotConcurrency.availablePermits()} before attempting to acquire. If
-     * unavailable, job remains in ready state for next poll cycle.
-     */
-    private final Semaphore screenshotConcurrency = new Semaphore(3);
-
     /**
      * Registry mapping JobType → JobHandler for CDI-based handler discovery. Populated at application startup via
      * {@link #buildHandlerRegistry}.
@@ -100,6 +98,17 @@ public class DelayedJobService {
     @Inject
     Tracer tracer;
 
+    /**
+     * P12 gate for SCREENSHOT work. Permits are held per capture by the pool rather than per job here, so a job never
+     * holds a slot while it is not driving a browser.
+     */
+    @Inject
+    BrowserPool browserPool;
+
+    @Inject
+    @VirtualThreads
+    ExecutorService jobExecutor;
+
     @Inject
     public DelayedJobService(Instance<JobHandler> handlers) {
         this.handlerRegistry = buildHandlerRegistry(handlers);
@@ -162,6 +171,28 @@ public class DelayedJobService {
         }
     }
 
+    /**
+     * Executes a job on a new virtual thread.
+     *
+     * <p>
+     * Handler failures are handled by {@link #executeJob} (retry scheduling), so the returned future completes normally
+     * for them; it only completes exceptionally if no handler is registered for {@code jobType}.
+     *
+     * @param jobType
+     *            the type of job to execute
+     * @param jobId
+     *            database primary key
+     * @param payload
+     *            deserialized job parameters from JSONB column
+     * @param attempt
+     *            current attempt number (1-indexed)
+     * @return future completing when the job has finished
+     */
+    public CompletableFuture<Void> executeJobAsync(JobType jobType, Long jobId, Map<String, Object> payload,
+            int attempt) {
+        return CompletableFuture.runAsync(() -> executeJob(jobType, jobId, payload, attempt), jobExecutor);
+    }
+
     /**
      * Executes a single job by dispatching to its registered handler.
      *
@@ -169,7 +200,6 @@ public class DelayedJobService {
      * This method wraps handler execution with:
      * <ul>
      * <li>OpenTelemetry span for distributed tracing</li>
-     * <li>P12 semaphore acquisition for SCREENSHOT jobs</li>
      * <li>Exception handling for retry scheduling</li>
      * <li>Telemetry attributes (job.id, job.type, job.queue, job.attempt)</li>
      * </ul>
@@ -205,13 +235,6 @@ public class DelayedJobService {
             LoggingConfig.setJobId(jobId);
             LoggingConfig.setRequestOrigin("JobType." + jobType.name());
 
-            // P12: Enforce concurrency limit for SCREENSHOT queue
-            if (jobType.getQueue() == JobQueue.SCREENSHOT) {
-                LOG.debugf("Acquiring SCREENSHOT semaphore for job %d (available: %d)", (Object) jobId,
-                        (Object) screenshotConcurrency.availablePermits());
-                screenshotConcurrency.acquire();
-            }
-
             handler.execute(jobId, payload);
             span.addEvent("job.completed");
             LOG.infof("Job %d (type: %s) completed successfully on attempt %d", jobId, jobType, attempt);
@@ -230,12 +253,6 @@ public class DelayedJobService {
             handleJobFailure(jobId, attempt, e.getMessage());
 
         } finally {
-            // P12: Release semaphore for SCREENSHOT queue
-            if (jobType.getQueue() == JobQueue.SCREENSHOT) {
-                screenshotConcurrency.release();
-                LOG.debugf("Released SCREENSHOT semaphore for job %d (available: %d)", (Object) jobId,
-                        (Object) screenshotConcurrency.availablePermits());
-            }
             LoggingConfig.clearMDC();
             span.end();
         }
@@ -312,12 +329,12 @@ public class DelayedJobService {
     }
 
     /**
-     * Returns the current available permits for the SCREENSHOT queue semaphore. Exposed for monitoring and testing
-     * purposes (Policy P12 compliance).
+     * Returns the current available permits for SCREENSHOT work, as tracked by {@link BrowserPool}. Exposed for
+     * monitoring and testing purposes (Policy P12 compliance).
      *
      * @return number of available screenshot worker slots
      */
     public int getAvailableScreenshotSlots() {
-        return screenshotConcurrency.availablePermits();
+        return browserPool.getAvailablePermits();
     }
 }
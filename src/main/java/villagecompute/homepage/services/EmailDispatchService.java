@@ -0,0 +1,238 @@
+package villagecompute.homepage.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import villagecompute.homepage.data.models.EmailDeliveryLog;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Concurrent dispatcher for the email delivery queue (Features F14.3, I5.T3).
+ *
+ * <p>
+ * Drains {@link EmailDeliveryLog} rows in batches. Each batch is claimed in a short transaction, sent concurrently over
+ * the mailer's pooled SMTP connections with no transaction held open, and its results are written back in a second
+ * short transaction. A row is only marked SENT once the SMTP server has accepted the message.
+ *
+ * <p>
+ * <b>Batch Flow:</b>
+ * <ol>
+ * <li>{@link EmailDeliveryLog#claimBatch} flips up to {@code batch-size} rows to SENDING with
+ * {@code FOR UPDATE SKIP LOCKED}, so every pod drains a disjoint batch</li>
+ * <li>Sends run through {@link EmailService#deliver} with at most {@code concurrency} in flight (keep this at or below
+ * {@code quarkus.mailer.max-pool-size} so every send gets a pooled connection)</li>
+ * <li>Success: status = SENT, sentAt = now. Failure: retryCount++, then QUEUED (claimable again after
+ * {@link #RETRY_DELAY}) or FAILED once {@link #MAX_RETRIES} is reached; invalid addresses fail immediately</li>
+ * </ol>
+ * A run keeps claiming while batches come back full, up to {@code max-batches-per-run}, so notification bursts drain in
+ * one run instead of one batch per minute. Rows left in SENDING by a pod that died mid-batch are reclaimed after
+ * {@code stale-claim-timeout} (delivery is at-least-once).
+ *
+ * <p>
+ * <b>Transactions:</b> Claims and result writes join the caller's transaction when one is active, otherwise each runs
+ * in its own. The scheduled job calls in without a transaction.
+ *
+ * <p>
+ * <b>Metrics Emitted:</b>
+ * <ul>
+ * <li>{@code email.dispatch.outcomes.total{outcome=sent|requeued|failed}} - per-email delivery outcomes</li>
+ * <li>{@code email.dispatch.batches.total} - batches claimed</li>
+ * </ul>
+ *
+ * @see villagecompute.homepage.jobs.EmailDeliveryJob
+ */
+@ApplicationScoped
+public class EmailDispatchService {
+
+    private static final Logger LOG = Logger.getLogger(EmailDispatchService.class);
+
+    /**
+     * Maximum send attempts before an email is marked FAILED.
+     */
+    static final int MAX_RETRIES = 3;
+
+    /**
+     * Minimum delay before a requeued email is claimed again.
+     */
+    static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    /**
+     * Upper bound on a single SMTP send; a timed-out send counts as a failed attempt.
+     */
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(60);
+
+    @Inject
+    EmailService emailService;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(
+            name = "villagecompute.email.dispatch.batch-size",
+            defaultValue = "50")
+    int batchSize;
+
+    @ConfigProperty(
+            name = "villagecompute.email.dispatch.concurrency",
+            defaultValue = "10")
+    int concurrency;
+
+    @ConfigProperty(
+            name = "villagecompute.email.dispatch.max-batches-per-run",
+            defaultValue = "20")
+    int maxBatchesPerRun;
+
+    @ConfigProperty(
+            name = "villagecompute.email.dispatch.stale-claim-timeout",
+            defaultValue = "10m")
+    Duration staleClaimTimeout;
+
+    /**
+     * Outcome of a dispatch run.
+     *
+     * @param sent
+     *            emails accepted by the SMTP server
+     * @param requeued
+     *            failed emails returned to the queue for another attempt
+     * @param failed
+     *            emails marked FAILED (retries exhausted or invalid address)
+     * @param batches
+     *            batches claimed
+     */
+    public record DispatchRun(int sent, int requeued, int failed, int batches) {
+
+        DispatchRun plus(DispatchRun other) {
+            return new DispatchRun(sent + other.sent, requeued + other.requeued, failed + other.failed,
+                    batches + other.batches);
+        }
+    }
+
+    /**
+     * Claimed email, copied out of the claiming transaction so sends never touch the persistence context.
+     */
+    private record ClaimedEmail(UUID id, String to, String subject, String htmlBody, String textBody) {
+    }
+
+    /**
+     * Send result for one claimed email ({@code error} is null on success).
+     */
+    private record SendResult(UUID id, Throwable error) {
+    }
+
+    /**
+     * Claims, sends and records queued emails until the queue is drained or {@code max-batches-per-run} is reached.
+     *
+     * @return run outcome
+     */
+    public DispatchRun dispatch() {
+        DispatchRun run = new DispatchRun(0, 0, 0, 0);
+
+        while (run.batches() < maxBatchesPerRun) {
+            List<ClaimedEmail> claimed = claim();
+            if (claimed.isEmpty()) {
+                break;
+            }
+            meterRegistry.counter("email.dispatch.batches.total").increment();
+
+            List<SendResult> results = send(claimed);
+            run = run.plus(record(results));
+            LOG.debugf("Dispatched email batch %d (%d emails)", run.batches(), claimed.size());
+
+            // A short batch means the queue is drained (or the rest is claimed by another pod)
+            if (claimed.size() < batchSize) {
+                break;
+            }
+        }
+
+        return run;
+    }
+
+    private List<ClaimedEmail> claim() {
+        return QuarkusTransaction.joiningExisting().call(() -> {
+            Instant now = Instant.now();
+            List<UUID> ids = EmailDeliveryLog.claimBatch(now, now.minus(RETRY_DELAY), now.minus(staleClaimTimeout),
+                    batchSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            return EmailDeliveryLog.<EmailDeliveryLog>list("id IN ?1 ORDER BY createdAt", ids).stream()
+                    .map(log -> new ClaimedEmail(log.id, log.emailAddress, log.subject, log.htmlBody, log.textBody))
+                    .toList();
+        });
+    }
+
+    /**
+     * Sends the batch with at most {@code concurrency} emails in flight and waits for every send to settle.
+     */
+    private List<SendResult> send(List<ClaimedEmail> claimed) {
+        return Multi.createFrom().iterable(claimed).onItem()
+                .transformToUni(email -> Uni.createFrom()
+                        .deferred(() -> emailService.deliver(email.to(), email.subject(), email.htmlBody(),
+                                email.textBody()))
+                        .ifNoItem().after(SEND_TIMEOUT).fail().replaceWith(new SendResult(email.id(), null))
+                        .onFailure().recoverWithItem(e -> new SendResult(email.id(), e)))
+                .merge(concurrency).collect().asList().await().indefinitely();
+    }
+
+    private DispatchRun record(List<SendResult> results) {
+        return QuarkusTransaction.joiningExisting().call(() -> {
+            Map<UUID, EmailDeliveryLog> logs = EmailDeliveryLog
+                    .<EmailDeliveryLog>list("id IN ?1", results.stream().map(SendResult::id).toList()).stream()
+                    .collect(Collectors.toMap(log -> log.id, Function.identity()));
+            Instant now = Instant.now();
+            int sent = 0;
+            int requeued = 0;
+            int failed = 0;
+
+            for (SendResult result : results) {
+                EmailDeliveryLog log = logs.get(result.id());
+                if (log == null) {
+                    continue; // Deleted with its user mid-send
+                }
+
+                if (result.error() == null) {
+                    log.status = EmailDeliveryLog.DeliveryStatus.SENT;
+                    log.sentAt = now;
+                    log.claimedAt = null;
+                    log.errorMessage = null;
+                    sent++;
+                    continue;
+                }
+
+                log.retryCount++;
+                log.errorMessage = result.error().getMessage();
+                if (result.error() instanceof IllegalArgumentException || log.retryCount >= MAX_RETRIES) {
+                    log.status = EmailDeliveryLog.DeliveryStatus.FAILED;
+                    log.claimedAt = null;
+                    failed++;
+                    LOG.errorf(result.error(), "Email delivery failed permanently: id=%s, to=%s, subject=%s", log.id,
+                            log.emailAddress, log.subject);
+                } else {
+                    // claimed_at doubles as the retry backoff clock for requeued rows
+                    log.status = EmailDeliveryLog.DeliveryStatus.QUEUED;
+                    log.claimedAt = now;
+                    requeued++;
+                    LOG.warnf("Email send failed (retry %d/%d): id=%s, to=%s, error=%s", log.retryCount, MAX_RETRIES,
+                            log.id, log.emailAddress, result.error().getMessage());
+                }
+            }
+
+            meterRegistry.counter("email.dispatch.outcomes.total", "outcome", "sent").increment(sent);
+            meterRegistry.counter("email.dispatch.outcomes.total", "outcome", "requeued").increment(requeued);
+            meterRegistry.counter("email.dispatch.outcomes.total", "outcome", "failed").increment(failed);
+            return new DispatchRun(sent, requeued, failed, 1);
+        });
+    }
+}
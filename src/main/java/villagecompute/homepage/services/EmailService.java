@@ -162,6 +162,34 @@ public class EmailService {
                         MAX_RETRY_ATTEMPTS, to, subject));
     }
 
+    /**
+     * Sends an email once and reports the SMTP outcome to the caller.
+     *
+     * <p>
+     * Unlike {@link #sendEmail(String, String, String, String)}, this method neither retries nor swallows failures: the
+     * returned Uni completes when the SMTP server has accepted the message and fails otherwise. Used by
+     * {@link EmailDispatchService}, which owns retry accounting on the delivery log and must only record SENT after
+     * delivery. Invalid recipient addresses fail with {@link IllegalArgumentException} (permanent, not retried).
+     *
+     * @param to
+     *            recipient email address (validated before sending)
+     * @param subject
+     *            email subject line
+     * @param htmlBody
+     *            HTML email body
+     * @param textBody
+     *            plain text email body
+     * @return Uni that completes on SMTP acceptance or fails with the send error
+     */
+    public Uni<Void> deliver(String to, String subject, String htmlBody, String textBody) {
+        try {
+            emailConfig.validateEmailOrThrow(to);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+        return reactiveMailer.send(buildMail(to, subject, htmlBody, textBody));
+    }
+
     /**
      * Sends an email using a Qute template asynchronously.
      *
@@ -270,16 +298,20 @@ public class EmailService {
      * @return Uni that completes when email is sent or all retries exhausted
      */
     private Uni<Void> sendEmailWithRetry(String to, String subject, String htmlBody, String textBody) {
-        // Build email with HTML and text bodies
-        Mail mail = Mail.withHtml(to, subject, htmlBody).setText(textBody).setFrom(emailConfig.getFromEmail())
-                .addHeader("X-Platform", emailConfig.getPlatformName()).addHeader("X-Mailer", "Village Homepage v1.0");
-
         // Send with retry and exponential backoff
-        return reactiveMailer.send(mail).onFailure().retry().withBackOff(INITIAL_BACKOFF, MAX_BACKOFF)
-                .atMost(MAX_RETRY_ATTEMPTS).onFailure()
+        return reactiveMailer.send(buildMail(to, subject, htmlBody, textBody)).onFailure().retry()
+                .withBackOff(INITIAL_BACKOFF, MAX_BACKOFF).atMost(MAX_RETRY_ATTEMPTS).onFailure()
                 .invoke(throwable -> LOG.errorf(throwable,
                         "Email send failed after %d retries: to=%s, subject=%s, error=%s", MAX_RETRY_ATTEMPTS, to,
                         subject, throwable.getMessage()))
                 .replaceWithVoid(); // Convert Uni<Void> to ensure correct return type
     }
+
+    /**
+     * Builds an email with HTML and text bodies, the platform sender and standard headers.
+     */
+    private Mail buildMail(String to, String subject, String htmlBody, String textBody) {
+        return Mail.withHtml(to, subject, htmlBody).setText(textBody).setFrom(emailConfig.getFromEmail())
+                .addHeader("X-Platform", emailConfig.getPlatformName()).addHeader("X-Mailer", "Village Homepage v1.0");
+    }
 }
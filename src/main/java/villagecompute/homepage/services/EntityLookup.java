@@ -0,0 +1,195 @@
+package villagecompute.homepage.services;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import villagecompute.homepage.data.models.DirectoryCategory;
+import villagecompute.homepage.data.models.DirectorySiteCategory;
+import villagecompute.homepage.data.models.MarketplaceCategory;
+import villagecompute.homepage.data.models.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through lookups of hot reference entities (users, directory and marketplace categories, site-category
+ * memberships) for one request.
+ *
+ * <p>
+ * Resources that render lists tend to load the same few rows once per item ({@code User.findById} per flag,
+ * {@code DirectoryCategory.findById} per submission). The batch methods collect the ids first and load them with
+ * {@link Session#findMultiple(Class, List, jakarta.persistence.FindOption...)}: ids already in the persistence context
+ * or the second-level cache are served from there and the rest are fetched with a single {@code IN} query.
+ *
+ * <p>
+ * <b>Caching:</b> Loaded entities are not copied; they are the managed instances of the current persistence context,
+ * so writes through them behave exactly as after {@code findById}. What this bean adds per request is the email to user
+ * id index (so {@link #userByEmail(String)} queries at most once per address). Categories are {@code @Cacheable} and
+ * served from the Hibernate second-level cache across requests (TTL per entity in {@code hibernate-orm.cache}).
+ */
+@RequestScoped
+@DatabaseBound
+public class EntityLookup {
+
+    @Inject
+    EntityManager entityManager;
+
+    private final Map<String, Optional<UUID>> userIdsByEmail = new HashMap<>();
+
+    /**
+     * Loads a user by id.
+     *
+     * @param id
+     *            user UUID (may be null)
+     * @return the user, or empty if the id is null or unknown
+     */
+    public Optional<User> user(UUID id) {
+        return Optional.ofNullable(get(User.class, id));
+    }
+
+    /**
+     * Loads users by id with at most one query.
+     *
+     * @param ids
+     *            user UUIDs (nulls and duplicates are ignored)
+     * @return users keyed by id, in first-seen id order; unknown ids are absent
+     */
+    public Map<UUID, User> users(Collection<UUID> ids) {
+        return getAll(User.class, ids);
+    }
+
+    /**
+     * Loads a user by email, querying at most once per address and request.
+     *
+     * @param email
+     *            email address (exact match, as {@link User#findByEmail(String)}; may be null)
+     * @return the user, or empty if no active user has this address
+     */
+    public Optional<User> userByEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<UUID> userId = userIdsByEmail.get(email);
+        if (userId != null) {
+            return userId.flatMap(this::user);
+        }
+        Optional<User> user = User.findByEmail(email);
+        userIdsByEmail.put(email, user.map(u -> u.id));
+        return user;
+    }
+
+    /**
+     * Loads a Good Sites directory category by id.
+     *
+     * @param id
+     *            category UUID (may be null)
+     * @return the category, or empty if the id is null or unknown
+     */
+    public Optional<DirectoryCategory> directoryCategory(UUID id) {
+        return Optional.ofNullable(get(DirectoryCategory.class, id));
+    }
+
+    /**
+     * Loads Good Sites directory categories by id with at most one query.
+     *
+     * @param ids
+     *            category UUIDs (nulls and duplicates are ignored)
+     * @return categories keyed by id, in first-seen id order; unknown ids are absent
+     */
+    public Map<UUID, DirectoryCategory> directoryCategories(Collection<UUID> ids) {
+        return getAll(DirectoryCategory.class, ids);
+    }
+
+    /**
+     * Loads a marketplace category by id.
+     *
+     * @param id
+     *            category UUID (may be null)
+     * @return the category, or empty if the id is null or unknown
+     */
+    public Optional<MarketplaceCategory> marketplaceCategory(UUID id) {
+        return Optional.ofNullable(get(MarketplaceCategory.class, id));
+    }
+
+    /**
+     * Loads marketplace categories by id with at most one query.
+     *
+     * @param ids
+     *            category UUIDs (nulls and duplicates are ignored)
+     * @return categories keyed by id, in first-seen id order; unknown ids are absent
+     */
+    public Map<UUID, MarketplaceCategory> marketplaceCategories(Collection<UUID> ids) {
+        return getAll(MarketplaceCategory.class, ids);
+    }
+
+    /**
+     * Loads a site-category membership by id.
+     *
+     * @param id
+     *            membership UUID (may be null)
+     * @return the membership, or empty if the id is null or unknown
+     */
+    public Optional<DirectorySiteCategory> siteCategory(UUID id) {
+        return Optional.ofNullable(get(DirectorySiteCategory.class, id));
+    }
+
+    /**
+     * Loads site-category memberships by id with at most one query.
+     *
+     * @param ids
+     *            membership UUIDs (nulls and duplicates are ignored)
+     * @return memberships keyed by id, in first-seen id order; unknown ids are absent
+     */
+    public Map<UUID, DirectorySiteCategory> siteCategories(Collection<UUID> ids) {
+        return getAll(DirectorySiteCategory.class, ids);
+    }
+
+    /**
+     * Loads any UUID-keyed entity by id.
+     *
+     * @param type
+     *            entity class
+     * @param id
+     *            entity UUID (may be null)
+     * @return the entity, or null if the id is null or unknown
+     */
+    public <T> T get(Class<T> type, UUID id) {
+        return id != null ? entityManager.find(type, id) : null;
+    }
+
+    /**
+     * Loads UUID-keyed entities by id: persistence context and second-level cache first, then one {@code IN} query for
+     * the remaining ids.
+     *
+     * @param type
+     *            entity class
+     * @param ids
+     *            entity UUIDs (nulls and duplicates are ignored)
+     * @return entities keyed by id, in first-seen id order; unknown ids are absent
+     */
+    public <T> Map<UUID, T> getAll(Class<T> type, Collection<UUID> ids) {
+        List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.removeIf(Objects::isNull);
+        Map<UUID, T> result = new LinkedHashMap<>();
+        if (distinctIds.isEmpty()) {
+            return result;
+        }
+
+        List<T> entities = entityManager.unwrap(Session.class).findMultiple(type, distinctIds);
+        for (int i = 0; i < distinctIds.size(); i++) {
+            if (entities.get(i) != null) {
+                result.put(distinctIds.get(i), entities.get(i));
+            }
+        }
+        return result;
+    }
+}
@@ -76,6 +76,7 @@ public class FeatureFlagService {
      * @return evaluation result with flag state and reason
      */
     @Transactional
+    @DatabaseBound
     public EvaluationResult evaluateFlag(String flagKey, Long userId, String sessionHash, boolean consentGranted) {
         Objects.requireNonNull(flagKey, "flagKey is required");
 
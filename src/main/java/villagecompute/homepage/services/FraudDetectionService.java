@@ -1,6 +1,8 @@
 package villagecompute.homepage.services;
 
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -12,10 +14,14 @@ import villagecompute.homepage.data.models.ListingFlag;
 import villagecompute.homepage.data.models.MarketplaceListing;
 import villagecompute.homepage.data.models.MarketplaceCategory;
 import java.math.BigDecimal;
-import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service for AI-powered fraud detection in marketplace listings.
@@ -55,6 +61,35 @@ public class FraudDetectionService {
     private static final int MAX_TITLE_LENGTH = 200;
     private static final int MAX_DESCRIPTION_LENGTH = 2000;
 
+    /**
+     * Maximum listings packed into one batch analysis prompt.
+     */
+    public static final int MAX_BATCH_SIZE = 10;
+
+    private static final String FRAUD_CHECKS = """
+            CHECK FOR:
+            1. Scam indicators:
+               - Too-good-to-be-true prices
+               - Urgency tactics ("act now", "limited time")
+               - Requests for wire transfer, Western Union, gift cards
+               - Broken English or suspicious grammar
+               - Vague or generic descriptions
+            2. Prohibited items:
+               - Weapons, drugs, prescription medications
+               - Adult content or escort services
+               - Counterfeit goods
+               - Hazardous materials
+            3. Duplicate/spam content:
+               - Excessive capitalization or punctuation
+               - Repeated text patterns
+               - Generic template language
+            4. Misleading or false claims:
+               - "Work from home" schemes
+               - Pyramid schemes or MLM
+               - Unrealistic income promises
+               - Fake certifications or credentials
+            """;
+
     @Inject
     AiTaggingBudgetService budgetService;
 
@@ -68,6 +103,9 @@ public class FraudDetectionService {
     @Inject
     AiUsageTrackingService usageTrackingService;
 
+    @Inject
+    AiBudgetLedger budgetLedger;
+
     /**
      * Analyzes a marketplace listing for fraud indicators.
      *
@@ -132,6 +170,89 @@ public class FraudDetectionService {
         }
     }
 
+    /**
+     * Analyzes several marketplace listings with batched AI prompts.
+     *
+     * <p>
+     * Packs up to {@link #MAX_BATCH_SIZE} listings into one indexed prompt and parses a JSON array response, so a batch
+     * costs one API call and one shared instruction block instead of one per listing. Category names for all listings
+     * are loaded with a single query. Larger lists are split into consecutive prompts.
+     *
+     * <p>
+     * <b>Fallbacks:</b> Listings missing from the response or with an unparseable entry fall back individually to
+     * rule-based analysis; a failed call or unparseable response falls back for its whole batch. When the budget is
+     * exhausted (QUEUE/HARD_STOP) every listing uses rule-based analysis.
+     *
+     * @param listings
+     *            listings to analyze
+     * @return results in the same order as {@code listings}
+     */
+    public List<FraudAnalysisResultType> analyzeListingsBatch(List<MarketplaceListing> listings) {
+        if (listings == null || listings.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, String> categoryNames = getCategoryNames(listings);
+        BudgetAction budgetAction = budgetService.getCurrentBudgetAction();
+        boolean useRules = budgetService.shouldStopProcessing(budgetAction);
+        if (useRules) {
+            LOG.warnf("AI budget exhausted (action=%s), using rule-based fraud detection for %d listings",
+                    budgetAction, listings.size());
+        }
+
+        List<FraudAnalysisResultType> results = new ArrayList<>(listings.size());
+        for (int start = 0; start < listings.size(); start += MAX_BATCH_SIZE) {
+            List<MarketplaceListing> batch = listings.subList(start,
+                    Math.min(start + MAX_BATCH_SIZE, listings.size()));
+            List<FraudAnalysisResultType> batchResults = useRules
+                    ? Collections.nCopies(batch.size(), null)
+                    : performAiBatchAnalysis(batch, categoryNames);
+
+            for (int i = 0; i < batch.size(); i++) {
+                FraudAnalysisResultType result = batchResults.get(i);
+                if (result == null) {
+                    MarketplaceListing listing = batch.get(i);
+                    result = performRuleBasedAnalysis(listing.title, listing.description, listing.price,
+                            categoryNames.getOrDefault(listing.categoryId, "Uncategorized"));
+                }
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs one batch prompt.
+     *
+     * @return one entry per listing, null where the response had no usable result
+     */
+    private List<FraudAnalysisResultType> performAiBatchAnalysis(List<MarketplaceListing> batch,
+            Map<UUID, String> categoryNames) {
+        try {
+            String prompt = buildBatchFraudPrompt(batch, categoryNames);
+
+            LOG.debugf("Sending batch fraud detection request to Claude: %d listings", batch.size());
+
+            String response = chatModel.chat(prompt);
+            List<FraudAnalysisResultType> results = parseBatchAiResponse(response, batch.size());
+
+            // Estimate token usage (1 request for entire batch)
+            long estimatedInputTokens = prompt.length() / 4;
+            long estimatedOutputTokens = response.length() / 4;
+            int costCents = AiUsageTracking.calculateCostCents(estimatedInputTokens, estimatedOutputTokens);
+            budgetLedger.record(PROVIDER, 1, estimatedInputTokens, estimatedOutputTokens, costCents);
+
+            LOG.debugf("AI batch fraud analysis complete: listings=%d, parsed=%d, inputTokens=%d, outputTokens=%d, "
+                    + "costCents=%d", batch.size(), results.stream().filter(Objects::nonNull).count(),
+                    estimatedInputTokens, estimatedOutputTokens, costCents);
+            return results;
+
+        } catch (Exception e) {
+            LOG.errorf(e, "AI batch fraud analysis failed, falling back to rules for %d listings", batch.size());
+            return Collections.nCopies(batch.size(), null);
+        }
+    }
+
     /**
      * Performs AI-based fraud analysis using Claude.
      *
@@ -164,8 +285,7 @@ public class FraudDetectionService {
         int costCents = AiUsageTracking.calculateCostCents(estimatedInputTokens, estimatedOutputTokens);
 
         // Record usage
-        AiUsageTracking.recordUsage(YearMonth.now(), PROVIDER, 1, estimatedInputTokens, estimatedOutputTokens,
-                costCents);
+        budgetLedger.record(PROVIDER, 1, estimatedInputTokens, estimatedOutputTokens, costCents);
 
         LOG.debugf(
                 "AI fraud analysis complete: title=\"%s\", suspicious=%s, confidence=%.2f, "
@@ -209,28 +329,7 @@ public class FraudDetectionService {
                 Price: %s
                 Category: %s
 
-                CHECK FOR:
-                1. Scam indicators:
-                   - Too-good-to-be-true prices
-                   - Urgency tactics ("act now", "limited time")
-                   - Requests for wire transfer, Western Union, gift cards
-                   - Broken English or suspicious grammar
-                   - Vague or generic descriptions
-                2. Prohibited items:
-                   - Weapons, drugs, prescription medications
-                   - Adult content or escort services
-                   - Counterfeit goods
-                   - Hazardous materials
-                3. Duplicate/spam content:
-                   - Excessive capitalization or punctuation
-                   - Repeated text patterns
-                   - Generic template language
-                4. Misleading or false claims:
-                   - "Work from home" schemes
-                   - Pyramid schemes or MLM
-                   - Unrealistic income promises
-                   - Fake certifications or credentials
-
+                %s
                 Respond with ONLY valid JSON in this exact format (no markdown, no explanation):
                 {
                   "is_suspicious": true,
@@ -245,7 +344,45 @@ public class FraudDetectionService {
                   "reasons": []
                 }
                 """, titleSnippet != null ? titleSnippet : "", descSnippet != null ? descSnippet : "", priceStr,
-                categoryName != null ? categoryName : "Uncategorized");
+                categoryName != null ? categoryName : "Uncategorized", FRAUD_CHECKS);
+    }
+
+    /**
+     * Builds the indexed batch prompt; each listing is numbered and must be echoed back as {@code index}.
+     *
+     * @param batch
+     *            listings to analyze
+     * @param categoryNames
+     *            category names by category ID
+     * @return formatted prompt string
+     */
+    private String buildBatchFraudPrompt(List<MarketplaceListing> batch, Map<UUID, String> categoryNames) {
+        StringBuilder listings = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            MarketplaceListing listing = batch.get(i);
+            listings.append(String.format("""
+                    [%d] Title: %s
+                        Description: %s
+                        Price: %s
+                        Category: %s
+
+                    """, i, snippet(listing.title, MAX_TITLE_LENGTH),
+                    snippet(listing.description, MAX_DESCRIPTION_LENGTH),
+                    listing.price != null ? "$" + listing.price : "Contact for price",
+                    categoryNames.getOrDefault(listing.categoryId, "Uncategorized")));
+        }
+
+        return String.format("""
+                Analyze each of these marketplace listings for potential fraud or policy violations.
+
+                LISTINGS:
+                %s%s
+                Respond with ONLY a JSON array (no markdown, no explanation), one object per listing, indexed 0-%d:
+                [
+                  {"index": 0, "is_suspicious": true, "confidence": 0.85, "reasons": ["Urgency tactics detected"]},
+                  {"index": 1, "is_suspicious": false, "confidence": 0.95, "reasons": []}
+                ]
+                """, listings, FRAUD_CHECKS, batch.size() - 1);
     }
 
     /**
@@ -257,31 +394,9 @@ public class FraudDetectionService {
      */
     private FraudAnalysisResultType parseAiResponse(String response) {
         try {
-            // Strip markdown code blocks if present
-            String json = response.trim();
-            if (json.startsWith("```json")) {
-                json = json.substring(7);
-            } else if (json.startsWith("```")) {
-                json = json.substring(3);
-            }
-            if (json.endsWith("```")) {
-                json = json.substring(0, json.length() - 3);
-            }
-            json = json.trim();
-
             // Parse JSON to intermediate record for validation
-            AiResponseType aiResponse = objectMapper.readValue(json, AiResponseType.class);
-
-            // Validate and build result
-            boolean suspicious = aiResponse.is_suspicious != null && aiResponse.is_suspicious;
-            BigDecimal confidence = aiResponse.confidence != null ? aiResponse.confidence : BigDecimal.valueOf(0.5);
-            List<String> reasons = aiResponse.reasons != null ? aiResponse.reasons : List.of();
-
-            if (suspicious) {
-                return FraudAnalysisResultType.suspicious(confidence, reasons, PROMPT_VERSION);
-            } else {
-                return FraudAnalysisResultType.clean(PROMPT_VERSION);
-            }
+            AiResponseType aiResponse = objectMapper.readValue(stripMarkdown(response), AiResponseType.class);
+            return toResult(aiResponse.is_suspicious, aiResponse.confidence, aiResponse.reasons);
 
         } catch (JsonProcessingException e) {
             LOG.errorf(e, "Failed to parse AI fraud response as JSON: %s", response);
@@ -291,6 +406,83 @@ public class FraudDetectionService {
         }
     }
 
+    /**
+     * Parses a batch response (JSON array) into per-listing results.
+     *
+     * <p>
+     * Entries are matched by their {@code index} field, falling back to array position when it is missing. Gaps,
+     * out-of-range indexes and malformed entries are left null for rule-based fallback.
+     *
+     * @param response
+     *            raw Claude response string
+     * @param expectedSize
+     *            number of listings in the prompt
+     * @return one entry per listing (null entries for gaps)
+     * @throws JsonProcessingException
+     *             if the response is not a JSON array
+     */
+    private List<FraudAnalysisResultType> parseBatchAiResponse(String response, int expectedSize)
+            throws JsonProcessingException {
+        JsonNode array = objectMapper.readTree(stripMarkdown(response));
+        if (!array.isArray()) {
+            throw new JsonParseException(null, "Expected JSON array in batch fraud response");
+        }
+
+        List<FraudAnalysisResultType> results = new ArrayList<>(Collections.nCopies(expectedSize, null));
+        for (int position = 0; position < array.size(); position++) {
+            JsonNode entry = array.get(position);
+            int index = entry.path("index").asInt(position);
+            if (index < 0 || index >= expectedSize || results.get(index) != null) {
+                LOG.warnf("Ignoring batch fraud result with invalid or duplicate index %d", index);
+                continue;
+            }
+            try {
+                AiResponseType aiResponse = objectMapper.treeToValue(entry, AiResponseType.class);
+                results.set(index, toResult(aiResponse.is_suspicious, aiResponse.confidence, aiResponse.reasons));
+            } catch (JsonProcessingException e) {
+                LOG.warnf("Malformed batch fraud result at index %d: %s", index, entry);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Validates parsed AI fields and builds the analysis result.
+     */
+    private static FraudAnalysisResultType toResult(Boolean isSuspicious, BigDecimal confidence, List<String> reasons) {
+        if (isSuspicious != null && isSuspicious) {
+            return FraudAnalysisResultType.suspicious(confidence != null ? confidence : BigDecimal.valueOf(0.5),
+                    reasons != null ? reasons : List.of(), PROMPT_VERSION);
+        }
+        return FraudAnalysisResultType.clean(PROMPT_VERSION);
+    }
+
+    /**
+     * Strips markdown code fences from a Claude response.
+     */
+    private static String stripMarkdown(String response) {
+        String json = response.trim();
+        if (json.startsWith("```json")) {
+            json = json.substring(7);
+        } else if (json.startsWith("```")) {
+            json = json.substring(3);
+        }
+        if (json.endsWith("```")) {
+            json = json.substring(0, json.length() - 3);
+        }
+        return json.trim();
+    }
+
+    /**
+     * Truncates prompt input to {@code maxLength} characters.
+     */
+    private static String snippet(String value, int maxLength) {
+        if (value == null) {
+            return "";
+        }
+        return value.length() > maxLength ? value.substring(0, maxLength) + "..." : value;
+    }
+
     /**
      * Performs rule-based fraud analysis using keyword matching.
      *
@@ -398,6 +590,23 @@ public class FraudDetectionService {
         return category != null ? category.name : "Uncategorized";
     }
 
+    /**
+     * Fetches category names for a set of listings with one query.
+     *
+     * @param listings
+     *            listings whose categories to resolve
+     * @return category names by category ID (missing categories are absent)
+     */
+    private Map<UUID, String> getCategoryNames(List<MarketplaceListing> listings) {
+        Set<UUID> categoryIds = listings.stream().map(listing -> listing.categoryId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (categoryIds.isEmpty()) {
+            return Map.of();
+        }
+        return MarketplaceCategory.<MarketplaceCategory>list("id IN ?1", categoryIds).stream()
+                .collect(Collectors.toMap(category -> category.id, category -> category.name));
+    }
+
     /**
      * Analyzes a directory site submission for fraud indicators.
      *
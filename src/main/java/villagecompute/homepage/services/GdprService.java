@@ -1,5 +1,6 @@
 package villagecompute.homepage.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
@@ -18,12 +19,19 @@ import villagecompute.homepage.data.models.AccountMergeAudit;
 import villagecompute.homepage.data.models.User;
 import villagecompute.homepage.exceptions.ResourceNotFoundException;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -63,6 +71,18 @@ public class GdprService {
 
     private static final Logger LOG = Logger.getLogger(GdprService.class);
 
+    private static final String EXPORT_FILENAME = "user_data.json";
+
+    /**
+     * Rows loaded per query while streaming an export section.
+     */
+    private static final int EXPORT_PAGE_SIZE = 500;
+
+    /**
+     * Pipe buffer between the ZIP writer and the storage upload.
+     */
+    private static final int EXPORT_PIPE_BUFFER_BYTES = 256 * 1024;
+
     @Inject
     StorageGateway storageGateway;
 
@@ -72,6 +92,9 @@ public class GdprService {
     @Inject
     EntityManager entityManager;
 
+    @Inject
+    ObjectMapper objectMapper;
+
     @ConfigProperty(
             name = "villagecompute.gdpr.export-ttl-days",
             defaultValue = "7")
@@ -81,6 +104,11 @@ public class GdprService {
      * Exports all user data to JSON, packages as ZIP, uploads to R2, and returns signed URL.
      *
      * <p>
+     * The export is streamed: each section is written with Jackson's streaming generator into a ZIP entry that is piped
+     * directly into a multipart R2 upload, and large tables (e.g. {@code link_clicks}) are read in pages. Heap use
+     * stays bounded by one page of rows plus one upload part, regardless of how much data the user has.
+     *
+     * <p>
      * <b>Export Format:</b> ZIP file containing user_data.json with nested structure:
      *
      * <pre>
@@ -120,96 +148,17 @@ public class GdprService {
                 throw new ResourceNotFoundException("User not found: " + userId);
             }
 
-            // 1. Aggregate all user data
-            Map<String, Object> exportData = new HashMap<>();
-            exportData.put("export_timestamp", Instant.now().toString());
-            exportData.put("export_policy_version", "1.0");
-            exportData.put("user", serializeUser(user));
+            // 1. Stream every section as JSON into a ZIP piped straight to R2 (nothing is aggregated on heap)
+            String objectKey = String.format("exports/gdpr-export-%s-%d.zip", userId, System.currentTimeMillis());
+            long[] rowCount = new long[1];
+            StorageUploadResultType result = uploadZipStream(objectKey, EXPORT_FILENAME,
+                    out -> rowCount[0] = writeExport(out, user));
 
-            // Profile data
-            exportData.put("profile",
-                    queryOptional("SELECT p FROM UserProfile p WHERE p.userId = :userId", Map.of("userId", userId)));
-            exportData.put("curated_articles",
-                    queryList(
-                            "SELECT ca FROM ProfileCuratedArticle ca WHERE ca.profileId IN "
-                                    + "(SELECT p.id FROM UserProfile p WHERE p.userId = :userId)",
-                            Map.of("userId", userId)));
+            span.addEvent("r2.uploaded", Attributes.of(AttributeKey.stringKey("object_key"), result.objectKey(),
+                    AttributeKey.longKey("row_count"), rowCount[0], AttributeKey.longKey("zip_bytes"),
+                    result.sizeBytes()));
 
-            // Social data
-            exportData.put("social_tokens",
-                    queryList("SELECT st FROM SocialToken st WHERE st.userId = :userId", Map.of("userId", userId)));
-            exportData.put("social_posts",
-                    queryList("SELECT sp FROM SocialPost sp WHERE sp.userId = :userId", Map.of("userId", userId)));
-
-            // Marketplace data
-            exportData.put("marketplace_listings", queryList(
-                    "SELECT ml FROM MarketplaceListing ml WHERE ml.sellerId = :userId", Map.of("userId", userId)));
-            exportData.put("marketplace_messages",
-                    queryList(
-                            "SELECT mm FROM MarketplaceMessage mm WHERE mm.sellerId = :userId OR mm.buyerId = :userId",
-                            Map.of("userId", userId)));
-            exportData.put("listing_promotions",
-                    queryList(
-                            "SELECT lp FROM ListingPromotion lp WHERE lp.listingId IN "
-                                    + "(SELECT ml.id FROM MarketplaceListing ml WHERE ml.sellerId = :userId)",
-                            Map.of("userId", userId)));
-            exportData.put("listing_flags",
-                    queryList("SELECT lf FROM ListingFlag lf WHERE lf.flaggedBy = :userId", Map.of("userId", userId)));
-            exportData.put("payment_refunds",
-                    queryList("SELECT pr FROM PaymentRefund pr WHERE pr.userId = :userId", Map.of("userId", userId)));
-
-            // Good Sites data
-            exportData.put("directory_sites", queryList(
-                    "SELECT ds FROM DirectorySite ds WHERE ds.submittedBy = :userId", Map.of("userId", userId)));
-            exportData.put("directory_votes",
-                    queryList("SELECT dv FROM DirectoryVote dv WHERE dv.userId = :userId", Map.of("userId", userId)));
-            exportData.put("karma_audit",
-                    queryList("SELECT ka FROM KarmaAudit ka WHERE ka.userId = :userId", Map.of("userId", userId)));
-
-            // Audit trails
-            exportData.put("account_merge_audit", AccountMergeAudit.findByAuthenticatedUser(userId).stream()
-                    .map(AccountMergeAudit::toSnapshot).toList());
-            exportData.put("rate_limit_violations", queryList(
-                    "SELECT rv FROM RateLimitViolation rv WHERE rv.userId = :userId", Map.of("userId", userId)));
-            exportData.put("impersonation_audit", queryList(
-                    "SELECT ia FROM ImpersonationAudit ia WHERE ia.adminId = :userId OR ia.targetUserId = :userId",
-                    Map.of("userId", userId)));
-
-            // Analytics data (only if consent given, per Policy P14)
-            if (user.analyticsConsent) {
-                Map<String, Object> analytics = new HashMap<>();
-                analytics.put("link_clicks",
-                        queryList("SELECT lc FROM LinkClick lc WHERE lc.userId = :userId", Map.of("userId", userId)));
-                analytics.put("feature_flag_evaluations",
-                        queryList("SELECT ffe FROM FeatureFlagEvaluation ffe WHERE ffe.userId = :userId",
-                                Map.of("userId", userId)));
-                exportData.put("analytics", analytics);
-            } else {
-                exportData.put("analytics", Map.of("note", "Analytics data excluded (consent not given)"));
-            }
-
-            span.addEvent("data.aggregated",
-                    Attributes.of(AttributeKey.longKey("entity_count"), (long) exportData.size()));
-
-            // 2. Serialize to JSON
-            ObjectMapper mapper = new ObjectMapper();
-            String json = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(exportData);
-
-            span.addEvent("json.serialized", Attributes.of(AttributeKey.longKey("json_bytes"), (long) json.length()));
-
-            // 3. Create ZIP file
-            byte[] zipBytes = createZip("user_data.json", json.getBytes());
-
-            span.addEvent("zip.created", Attributes.of(AttributeKey.longKey("zip_bytes"), (long) zipBytes.length));
-
-            // 4. Upload to R2
-            String filename = String.format("gdpr-export-%s-%d.zip", userId, System.currentTimeMillis());
-            StorageUploadResultType result = storageGateway.upload(StorageGateway.BucketType.GDPR_EXPORTS, "exports/",
-                    filename, zipBytes, "application/zip");
-
-            span.addEvent("r2.uploaded", Attributes.of(AttributeKey.stringKey("object_key"), result.objectKey()));
-
-            // 5. Generate signed URL (7 days)
+            // 2. Generate signed URL (7 days)
             int ttlMinutes = exportTtlDays * 24 * 60;
             SignedUrlType signedUrl = storageGateway.generateSignedUrl(StorageGateway.BucketType.GDPR_EXPORTS,
                     result.objectKey(), ttlMinutes);
@@ -385,17 +334,212 @@ public class GdprService {
     }
 
     /**
-     * Creates a ZIP file containing a single file.
+     * Writes the export document section by section.
+     *
+     * <p>
+     * Entity sections are read in keyset pages of {@link #EXPORT_PAGE_SIZE} rows; each page is serialized and detached
+     * before the next is loaded, so heap use is bounded by one page regardless of how many rows a user has.
+     *
+     * @return number of rows written
+     */
+    private long writeExport(OutputStream out, User user) throws IOException {
+        Map<String, Object> byUser = Map.of("userId", user.id);
+        long rows = 0;
+
+        // Closing the generator flushes it but leaves the ZIP entry open
+        try (JsonGenerator json = objectMapper.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeStringField("export_timestamp", Instant.now().toString());
+            json.writeStringField("export_policy_version", "1.0");
+            json.writePOJOField("user", serializeUser(user));
+
+            // Profile data
+            json.writePOJOField("profile",
+                    queryOptional("SELECT p FROM UserProfile p WHERE p.userId = :userId", byUser));
+            rows += writeSection(json, "curated_articles", "ProfileCuratedArticle",
+                    "e.profileId IN (SELECT p.id FROM UserProfile p WHERE p.userId = :userId)", byUser);
+
+            // Social data
+            rows += writeSection(json, "social_tokens", "SocialToken", "e.userId = :userId", byUser);
+            rows += writeSection(json, "social_posts", "SocialPost",
+                    "e.socialTokenId IN (SELECT st.id FROM SocialToken st WHERE st.userId = :userId)", byUser);
+
+            // Marketplace data
+            rows += writeSection(json, "marketplace_listings", "MarketplaceListing", "e.userId = :userId", byUser);
+            rows += writeSection(json, "marketplace_messages", "MarketplaceMessage",
+                    "e.listingId IN (SELECT ml.id FROM MarketplaceListing ml WHERE ml.userId = :userId) "
+                            + "OR e.fromEmail = :email",
+                    Map.of("userId", user.id, "email", user.email != null ? user.email : ""));
+            rows += writeSection(json, "listing_promotions", "ListingPromotion",
+                    "e.listingId IN (SELECT ml.id FROM MarketplaceListing ml WHERE ml.userId = :userId)", byUser);
+            rows += writeSection(json, "listing_flags", "ListingFlag", "e.userId = :userId", byUser);
+            rows += writeSection(json, "payment_refunds", "PaymentRefund", "e.userId = :userId", byUser);
+
+            // Good Sites data
+            rows += writeSection(json, "directory_sites", "DirectorySite", "e.submittedByUserId = :userId", byUser);
+            rows += writeSection(json, "directory_votes", "DirectoryVote", "e.userId = :userId", byUser);
+            rows += writeSection(json, "karma_audit", "KarmaAudit", "e.userId = :userId", byUser);
+
+            // Audit trails
+            json.writePOJOField("account_merge_audit", AccountMergeAudit.findByAuthenticatedUser(user.id).stream()
+                    .map(AccountMergeAudit::toSnapshot).toList());
+            // Rate limiting keys users by the UUID's high bits (see EmailNotificationService)
+            rows += writeSection(json, "rate_limit_violations", "RateLimitViolation", "e.userId = :userId",
+                    Map.of("userId", user.id.getMostSignificantBits()));
+            rows += writeSection(json, "impersonation_audit", "ImpersonationAudit",
+                    "e.impersonatorId = :userId OR e.targetUserId = :userId", byUser);
+
+            // Analytics data (only if consent given, per Policy P14)
+            json.writeObjectFieldStart("analytics");
+            if (user.analyticsConsent) {
+                rows += writeSection(json, "link_clicks", "LinkClick", "e.userId = :userId", byUser);
+                rows += writeFeatureFlagEvaluations(json, user.id);
+            } else {
+                json.writeStringField("note", "Analytics data excluded (consent not given)");
+            }
+            json.writeEndObject();
+
+            json.writeEndObject();
+        }
+        return rows;
+    }
+
+    /**
+     * Streams one entity section as a JSON array, paging by ID.
+     *
+     * @param where
+     *            JPQL condition on alias {@code e}
+     * @return number of rows written
      */
-    private byte[] createZip(String filename, byte[] content) throws Exception {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
-            ZipEntry entry = new ZipEntry(filename);
-            zos.putNextEntry(entry);
-            zos.write(content);
-            zos.closeEntry();
+    private long writeSection(JsonGenerator json, String name, String entity, String where,
+            Map<String, Object> params) throws IOException {
+        json.writeArrayFieldStart(name);
+        long rows = 0;
+        Object after = null;
+
+        while (true) {
+            var query = entityManager.createQuery("SELECT e FROM " + entity + " e WHERE (" + where + ")"
+                    + (after != null ? " AND e.id > :after" : "") + " ORDER BY e.id");
+            params.forEach(query::setParameter);
+            if (after != null) {
+                query.setParameter("after", after);
+            }
+            List<?> page = query.setMaxResults(EXPORT_PAGE_SIZE).getResultList();
+
+            for (Object row : page) {
+                json.writeObject(row);
+                entityManager.detach(row);
+            }
+            rows += page.size();
+            if (page.size() < EXPORT_PAGE_SIZE) {
+                break;
+            }
+            after = entityManager.getEntityManagerFactory().getPersistenceUnitUtil()
+                    .getIdentifier(page.get(page.size() - 1));
+        }
+
+        json.writeEndArray();
+        return rows;
+    }
+
+    /**
+     * Streams the user's feature flag evaluations (partitioned log table without an entity), paging by timestamp.
+     *
+     * @return number of rows written
+     */
+    private long writeFeatureFlagEvaluations(JsonGenerator json, UUID userId) throws IOException {
+        json.writeArrayFieldStart("feature_flag_evaluations");
+        long rows = 0;
+        int offset = 0;
+
+        while (true) {
+            @SuppressWarnings("unchecked")
+            List<Object[]> page = entityManager.createNativeQuery("""
+                    SELECT flag_key, result, consent_granted, evaluation_reason, timestamp
+                    FROM feature_flag_evaluations
+                    WHERE subject_type = 'user' AND subject_id = :subjectId
+                    ORDER BY timestamp, flag_key
+                    OFFSET :offset LIMIT :limit
+                    """).setParameter("subjectId", userId.toString()).setParameter("offset", offset)
+                    .setParameter("limit", EXPORT_PAGE_SIZE).getResultList();
+
+            for (Object[] row : page) {
+                json.writeStartObject();
+                json.writeObjectField("flag_key", row[0]);
+                json.writeObjectField("result", row[1]);
+                json.writeObjectField("consent_granted", row[2]);
+                json.writeObjectField("evaluation_reason", row[3]);
+                json.writeObjectField("timestamp", row[4]);
+                json.writeEndObject();
+            }
+            rows += page.size();
+            if (page.size() < EXPORT_PAGE_SIZE) {
+                break;
+            }
+            offset += page.size();
+        }
+
+        json.writeEndArray();
+        return rows;
+    }
+
+    /**
+     * Writer for a single-entry ZIP; the stream is the entry's content.
+     */
+    @FunctionalInterface
+    private interface ZipEntryWriter {
+
+        void write(OutputStream entry) throws IOException;
+    }
+
+    /**
+     * Writes a single-entry ZIP into a pipe read by a concurrent {@link StorageGateway#uploadStream}, so the archive is
+     * never held in memory or on disk. Peak heap is the pipe buffer plus one upload part.
+     *
+     * <p>
+     * If writing fails, the upload is cancelled and the read side of the pipe closed <i>before</i> the writer side, so
+     * the upload fails (aborting any multipart upload) instead of seeing end-of-stream and storing a truncated archive.
+     */
+    private StorageUploadResultType uploadZipStream(String objectKey, String entryName, ZipEntryWriter writer)
+            throws Exception {
+        PipedInputStream zipIn = new PipedInputStream(EXPORT_PIPE_BUFFER_BYTES);
+        PipedOutputStream zipOut = new PipedOutputStream(zipIn);
+
+        try (ExecutorService uploader = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<StorageUploadResultType> upload = uploader.submit(() -> {
+                try (zipIn) {
+                    return storageGateway.uploadStream(StorageGateway.BucketType.GDPR_EXPORTS, objectKey, zipIn, -1,
+                            "application/zip");
+                }
+            });
+
+            ZipOutputStream zip = new ZipOutputStream(zipOut);
+            try {
+                zip.putNextEntry(new ZipEntry(entryName));
+                writer.write(zip);
+                zip.closeEntry();
+                zip.finish();
+            } catch (Exception e) {
+                if (!upload.cancel(true)) {
+                    // The upload ended first (usually a storage failure that broke the pipe); keep its cause
+                    try {
+                        upload.get();
+                    } catch (ExecutionException uploadFailure) {
+                        e.addSuppressed(uploadFailure.getCause());
+                    }
+                }
+                zipIn.close();
+                throw e;
+            }
+            zipOut.close(); // End of stream: the upload completes
+
+            try {
+                return upload.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
         }
-        return baos.toByteArray();
     }
 
     /**
@@ -434,13 +578,4 @@ public class GdprService {
             return null;
         }
     }
-
-    /**
-     * Executes a JPA query and returns all results as a list.
-     */
-    private List<?> queryList(String jpql, Map<String, Object> params) {
-        var query = entityManager.createQuery(jpql);
-        params.forEach(query::setParameter);
-        return query.getResultList();
-    }
 }
@@ -0,0 +1,573 @@
+/*
+ * Copyright (c) 2025 VillageCompute Inc. All rights reserved.
+ */
+package villagecompute.homepage.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.hibernate.query.NativeQuery;
+import org.jboss.logging.Logger;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Memory-resident gazetteer of {@code geo_countries} / {@code geo_states} / {@code geo_cities} for city autocomplete,
+ * id lookups and nearest-city queries without a database round trip.
+ *
+ * <p>
+ * <b>Layout:</b> The whole dataset is held in parallel primitive arrays indexed by city position (ids ascending), not
+ * entities: coordinates as {@code double[]}, state / country as {@code int} indexes into small per-state arrays, and
+ * names in a single {@code char[]} pool addressed by offsets. At ~153K cities this is a few MB of heap and no per-city
+ * objects.
+ *
+ * <p>
+ * <b>Prefix index:</b> Case- and accent-folded city names are stored sorted in a second {@code char[]} pool. This is a
+ * flattened prefix trie: every prefix maps to one contiguous range of the sorted keys, found by two binary searches.
+ * Matches are ranked by exact match, then distance from an optional bias point ("near me"), then name length and name
+ * order. A query of the form {@code "Burlington, V"} also filters by state code prefix.
+ *
+ * <p>
+ * <b>Spatial grid:</b> Cities are bucketed into {@value #CELL_DEGREES}° lat/lon cells stored CSR-style (cell start
+ * offsets plus one city index array). Nearest-city lookups scan rings of cells outward from the point and confirm with
+ * the haversine distance.
+ *
+ * <p>
+ * <b>Lifecycle:</b> Loaded at startup and reloaded every {@code villagecompute.marketplace.gazetteer.reload-interval}
+ * so re-imports are picked up. Each load builds a new immutable snapshot and swaps it in, so readers never lock. If the
+ * geo tables cannot be read the previous snapshot (or an empty one) stays in place; callers fall back to
+ * {@link villagecompute.homepage.data.models.GeoCity} for ids the gazetteer does not know.
+ *
+ * @see MarketplaceSearchService
+ */
+@ApplicationScoped
+public class GeoGazetteer {
+
+    private static final Logger LOG = Logger.getLogger(GeoGazetteer.class);
+
+    /** Grid cell size in degrees (~35 miles of latitude). */
+    static final double CELL_DEGREES = 0.5;
+
+    private static final int GRID_ROWS = (int) (180 / CELL_DEGREES);
+    private static final int GRID_COLS = (int) (360 / CELL_DEGREES);
+
+    /** Earth radius in miles (haversine). */
+    private static final double EARTH_RADIUS_MILES = 3958.8;
+
+    /** Lower bound of miles per degree of latitude, so bounding boxes never clip the circle. */
+    private static final double MILES_PER_DEGREE = 68.7;
+
+    /** Maximum autocomplete suggestions returned. */
+    public static final int MAX_SUGGESTIONS = 50;
+
+    /** Default search distance for {@link #nearest(double, double)}. */
+    public static final double DEFAULT_NEAREST_MILES = 50.0;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    @Inject
+    EntityManager entityManager;
+
+    private volatile Index index = Index.EMPTY;
+
+    /**
+     * A city resolved from the gazetteer.
+     *
+     * @param id
+     *            geo_cities.id
+     * @param name
+     *            city name
+     * @param stateCode
+     *            state / province code (e.g. "VT")
+     * @param countryCode
+     *            ISO2 country code (e.g. "US")
+     * @param latitude
+     *            latitude (WGS84)
+     * @param longitude
+     *            longitude (WGS84)
+     */
+    public record City(long id, String name, String stateCode, String countryCode, double latitude,
+            double longitude) {
+
+        /**
+         * @return display name, e.g. "Seattle, WA"
+         */
+        public String displayName() {
+            return stateCode != null ? name + ", " + stateCode : name;
+        }
+    }
+
+    /**
+     * A city and its distance from a query point.
+     *
+     * @param city
+     *            the city
+     * @param distanceMiles
+     *            great-circle distance in miles
+     */
+    public record NearbyCity(City city, double distanceMiles) {
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        reload();
+    }
+
+    @Scheduled(
+            every = "${villagecompute.marketplace.gazetteer.reload-interval:6h}",
+            delayed = "${villagecompute.marketplace.gazetteer.reload-interval:6h}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledReload() {
+        reload();
+    }
+
+    /**
+     * Reloads the gazetteer from the geo tables and swaps the new snapshot in.
+     *
+     * @return number of cities loaded, or -1 if loading failed (the previous snapshot is kept)
+     */
+    public int reload() {
+        long started = System.nanoTime();
+        try {
+            Index loaded = QuarkusTransaction.requiringNew().call(this::load);
+            index = loaded;
+            LOG.infof("Loaded geo gazetteer: %d cities, %d states in %d ms", loaded.size(), loaded.stateCodes.length,
+                    (System.nanoTime() - started) / 1_000_000);
+            return loaded.size();
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to load geo gazetteer (keeping %d cities from previous load)", index.size());
+            return -1;
+        }
+    }
+
+    /**
+     * @return number of cities in the current snapshot
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Looks up a city by id.
+     *
+     * @param cityId
+     *            geo_cities.id
+     * @return the city, or empty if unknown to the current snapshot
+     */
+    public Optional<City> findById(long cityId) {
+        Index idx = index;
+        int i = Arrays.binarySearch(idx.ids, cityId);
+        return i >= 0 ? Optional.of(idx.city(i)) : Optional.empty();
+    }
+
+    /**
+     * Returns ranked cities whose name starts with the query (case- and accent-insensitive).
+     *
+     * @param query
+     *            name prefix, optionally followed by {@code ", <state code prefix>"}
+     * @param limit
+     *            maximum results (capped at {@link #MAX_SUGGESTIONS})
+     * @return ranked matches; exact name matches first, then shorter names
+     */
+    public List<City> autocomplete(String query, int limit) {
+        return autocomplete(query, null, null, limit);
+    }
+
+    /**
+     * Returns ranked cities whose name starts with the query, preferring cities near a bias point.
+     *
+     * @param query
+     *            name prefix, optionally followed by {@code ", <state code prefix>"}
+     * @param nearLatitude
+     *            bias latitude, or null
+     * @param nearLongitude
+     *            bias longitude, or null
+     * @param limit
+     *            maximum results (capped at {@link #MAX_SUGGESTIONS})
+     * @return ranked matches; exact name matches first, then nearest (if biased), then shorter names
+     */
+    public List<City> autocomplete(String query, Double nearLatitude, Double nearLongitude, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        Index idx = index;
+        int comma = query.indexOf(',');
+        String prefix = fold(comma >= 0 ? query.substring(0, comma) : query);
+        String statePrefix = comma >= 0 ? query.substring(comma + 1).strip().toUpperCase(Locale.ROOT) : "";
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        int from = idx.lowerBound(prefix);
+        int to = idx.upperBound(prefix, from);
+        boolean biased = nearLatitude != null && nearLongitude != null;
+        int max = Math.min(limit, MAX_SUGGESTIONS);
+
+        // Bounded max-heap of the best matches so far (worst on top)
+        Comparator<Integer> rank = Comparator
+                .<Integer> comparingInt(pos -> idx.keyLength(pos) == prefix.length() ? 0 : 1)
+                .thenComparingDouble(pos -> biased
+                        ? distanceMiles(nearLatitude, nearLongitude, idx.latitudes[idx.sorted[pos]],
+                                idx.longitudes[idx.sorted[pos]])
+                        : 0.0)
+                .thenComparingInt(idx::keyLength).thenComparingInt(pos -> pos);
+        PriorityQueue<Integer> best = new PriorityQueue<>(max + 1, rank.reversed());
+        for (int pos = from; pos < to; pos++) {
+            if (!statePrefix.isEmpty() && !idx.stateCodeOf(idx.sorted[pos]).startsWith(statePrefix)) {
+                continue;
+            }
+            best.add(pos);
+            if (best.size() > max) {
+                best.poll();
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(best);
+        ranked.sort(rank);
+        return ranked.stream().map(pos -> idx.city(idx.sorted[pos])).toList();
+    }
+
+    /**
+     * Returns the city nearest to a point within {@link #DEFAULT_NEAREST_MILES}.
+     *
+     * @param latitude
+     *            latitude (WGS84)
+     * @param longitude
+     *            longitude (WGS84)
+     * @return the nearest city with its distance, or empty if none is in range
+     */
+    public Optional<NearbyCity> nearest(double latitude, double longitude) {
+        return nearest(latitude, longitude, DEFAULT_NEAREST_MILES);
+    }
+
+    /**
+     * Returns the city nearest to a point.
+     *
+     * @param latitude
+     *            latitude (WGS84)
+     * @param longitude
+     *            longitude (WGS84)
+     * @param maxMiles
+     *            maximum distance to search
+     * @return the nearest city with its distance, or empty if none is within {@code maxMiles}
+     */
+    public Optional<NearbyCity> nearest(double latitude, double longitude, double maxMiles) {
+        Index idx = index;
+        int row = row(latitude);
+        int col = col(longitude);
+        // Rings are square in cells, so size them by the wider longitude span (cells narrow by cos(lat) poleward)
+        double latDelta = maxMiles / MILES_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + latDelta)));
+        int maxRings = (int) Math.ceil(latDelta / Math.max(cosLat, 1e-6) / CELL_DEGREES) + 1;
+        int bestCity = -1;
+        double bestMiles = maxMiles;
+
+        for (int ring = 0; ring <= maxRings && ring <= GRID_COLS / 2; ring++) {
+            for (int r = row - ring; r <= row + ring; r++) {
+                if (r < 0 || r >= GRID_ROWS) {
+                    continue;
+                }
+                boolean edgeRow = r == row - ring || r == row + ring;
+                for (int c = col - ring; c <= col + ring; c += edgeRow || ring == 0 ? 1 : 2 * ring) {
+                    int cell = r * GRID_COLS + Math.floorMod(c, GRID_COLS);
+                    for (int k = idx.cellStart[cell]; k < idx.cellStart[cell + 1]; k++) {
+                        int city = idx.cellCities[k];
+                        double miles = distanceMiles(latitude, longitude, idx.latitudes[city], idx.longitudes[city]);
+                        if (miles <= bestMiles) {
+                            bestMiles = miles;
+                            bestCity = city;
+                        }
+                    }
+                }
+            }
+            // Cells in the next ring are at least this far away (narrowest longitude spacing in range)
+            double nextRingMiles = ring * CELL_DEGREES * MILES_PER_DEGREE
+                    * Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + (ring + 1) * CELL_DEGREES)));
+            if (bestCity >= 0 && bestMiles <= nextRingMiles) {
+                break;
+            }
+        }
+
+        return bestCity >= 0 ? Optional.of(new NearbyCity(idx.city(bestCity), bestMiles)) : Optional.empty();
+    }
+
+    /**
+     * Great-circle distance between two points (haversine).
+     *
+     * @return distance in miles
+     */
+    static double distanceMiles(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return EARTH_RADIUS_MILES * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /**
+     * Folds a name for prefix matching: lower case, accents removed, surrounding whitespace trimmed.
+     */
+    static String fold(String name) {
+        String decomposed = Normalizer.normalize(name.strip(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static int row(double latitude) {
+        return Math.min(GRID_ROWS - 1, Math.max(0, (int) Math.floor((latitude + 90) / CELL_DEGREES)));
+    }
+
+    private static int col(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), GRID_COLS);
+    }
+
+    /**
+     * Reads the geo tables into a new snapshot. Runs in its own transaction.
+     */
+    @SuppressWarnings("unchecked")
+    private Index load() {
+        List<Object[]> states = entityManager.createNativeQuery("""
+                SELECT s.id, s.state_code, co.iso2
+                FROM geo_states s
+                JOIN geo_countries co ON co.id = s.country_id
+                ORDER BY s.id
+                """).getResultList();
+        long[] stateIds = new long[states.size()];
+        String[] stateCodes = new String[states.size()];
+        String[] countryCodes = new String[states.size()];
+        for (int i = 0; i < states.size(); i++) {
+            Object[] row = states.get(i);
+            stateIds[i] = ((Number) row[0]).longValue();
+            stateCodes[i] = ((String) row[1]).intern();
+            countryCodes[i] = ((String) row[2]).intern();
+        }
+
+        int expected = ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM geo_cities").getSingleResult())
+                .intValue();
+        Index.Builder builder = new Index.Builder(expected, stateIds, stateCodes, countryCodes);
+        NativeQuery<Object[]> cities = entityManager.createNativeQuery("""
+                SELECT c.id, c.name, c.latitude, c.longitude, c.state_id
+                FROM geo_cities c
+                ORDER BY c.id
+                """).unwrap(NativeQuery.class);
+        try (Stream<Object[]> rows = cities.setFetchSize(5000).getResultStream()) {
+            rows.forEach(row -> builder.add(((Number) row[0]).longValue(), (String) row[1],
+                    ((Number) row[2]).doubleValue(), ((Number) row[3]).doubleValue(), ((Number) row[4]).longValue()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Immutable gazetteer snapshot. All per-city arrays are indexed by city position (ids ascending).
+     */
+    private static final class Index {
+
+        static final Index EMPTY = new Builder(0, new long[0], new String[0], new String[0]).build();
+
+        final long[] ids;
+        final double[] latitudes;
+        final double[] longitudes;
+        final int[] cityStates;
+        final char[] names;
+        final int[] nameOffsets;
+
+        final long[] stateIds;
+        final String[] stateCodes;
+        final String[] countryCodes;
+
+        /** City positions ordered by folded name. */
+        final int[] sorted;
+        /** Folded names in {@link #sorted} order, addressed by {@link #keyOffsets}. */
+        final char[] keys;
+        final int[] keyOffsets;
+
+        /** CSR grid: cities of cell {@code i} are {@code cellCities[cellStart[i] .. cellStart[i + 1])}. */
+        final int[] cellStart;
+        final int[] cellCities;
+
+        private Index(Builder b) {
+            int n = b.size;
+            ids = Arrays.copyOf(b.ids, n);
+            latitudes = Arrays.copyOf(b.latitudes, n);
+            longitudes = Arrays.copyOf(b.longitudes, n);
+            cityStates = Arrays.copyOf(b.cityStates, n);
+            nameOffsets = Arrays.copyOf(b.nameOffsets, n + 1);
+            names = Arrays.copyOf(b.names, nameOffsets[n]);
+            stateIds = b.stateIds;
+            stateCodes = b.stateCodes;
+            countryCodes = b.countryCodes;
+
+            // Prefix index: sort positions by folded name, then pack the folded keys in that order
+            String[] folded = new String[n];
+            for (int i = 0; i < n; i++) {
+                folded[i] = fold(new String(names, nameOffsets[i], nameOffsets[i + 1] - nameOffsets[i]));
+            }
+            sorted = IntStream.range(0, n).boxed()
+                    .sorted(Comparator.<Integer, String> comparing(i -> folded[i]).thenComparingInt(i -> i))
+                    .mapToInt(Integer::intValue).toArray();
+            keyOffsets = new int[n + 1];
+            for (int pos = 0; pos < n; pos++) {
+                keyOffsets[pos + 1] = keyOffsets[pos] + folded[sorted[pos]].length();
+            }
+            keys = new char[keyOffsets[n]];
+            for (int pos = 0; pos < n; pos++) {
+                folded[sorted[pos]].getChars(0, folded[sorted[pos]].length(), keys, keyOffsets[pos]);
+            }
+
+            // Spatial grid: count per cell, prefix-sum into offsets, then place
+            cellStart = new int[GRID_ROWS * GRID_COLS + 1];
+            int[] cityCells = new int[n];
+            for (int i = 0; i < n; i++) {
+                cityCells[i] = row(latitudes[i]) * GRID_COLS + col(longitudes[i]);
+                cellStart[cityCells[i] + 1]++;
+            }
+            for (int cell = 0; cell < GRID_ROWS * GRID_COLS; cell++) {
+                cellStart[cell + 1] += cellStart[cell];
+            }
+            cellCities = new int[n];
+            int[] fill = Arrays.copyOf(cellStart, cellStart.length - 1);
+            for (int i = 0; i < n; i++) {
+                cellCities[fill[cityCells[i]]++] = i;
+            }
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        City city(int i) {
+            int state = cityStates[i];
+            return new City(ids[i], new String(names, nameOffsets[i], nameOffsets[i + 1] - nameOffsets[i]),
+                    state >= 0 ? stateCodes[state] : null, state >= 0 ? countryCodes[state] : null, latitudes[i],
+                    longitudes[i]);
+        }
+
+        String stateCodeOf(int i) {
+            return cityStates[i] >= 0 ? stateCodes[cityStates[i]] : "";
+        }
+
+        int keyLength(int pos) {
+            return keyOffsets[pos + 1] - keyOffsets[pos];
+        }
+
+        /**
+         * Compares the sorted key at {@code pos} with {@code prefix}, treating a key that starts with the prefix as
+         * equal.
+         */
+        private int comparePrefix(int pos, String prefix) {
+            int start = keyOffsets[pos];
+            int length = keyLength(pos);
+            for (int k = 0; k < prefix.length(); k++) {
+                if (k == length) {
+                    return -1;
+                }
+                int diff = keys[start + k] - prefix.charAt(k);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return 0;
+        }
+
+        /** First sorted position whose key is not below {@code prefix}. */
+        int lowerBound(String prefix) {
+            int lo = 0;
+            int hi = size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (comparePrefix(mid, prefix) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /** First sorted position at or after {@code from} whose key does not start with {@code prefix}. */
+        int upperBound(String prefix, int from) {
+            int lo = from;
+            int hi = size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (comparePrefix(mid, prefix) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * Accumulates rows into growable primitive arrays.
+         */
+        static final class Builder {
+
+            private final long[] stateIds;
+            private final String[] stateCodes;
+            private final String[] countryCodes;
+
+            private long[] ids;
+            private double[] latitudes;
+            private double[] longitudes;
+            private int[] cityStates;
+            private char[] names;
+            private int[] nameOffsets;
+            private int size;
+
+            Builder(int expected, long[] stateIds, String[] stateCodes, String[] countryCodes) {
+                this.stateIds = stateIds;
+                this.stateCodes = stateCodes;
+                this.countryCodes = countryCodes;
+                int capacity = Math.max(16, expected);
+                ids = new long[capacity];
+                latitudes = new double[capacity];
+                longitudes = new double[capacity];
+                cityStates = new int[capacity];
+                names = new char[capacity * 12];
+                nameOffsets = new int[capacity + 1];
+            }
+
+            void add(long id, String name, double latitude, double longitude, long stateId) {
+                if (size == ids.length) {
+                    int capacity = size * 2;
+                    ids = Arrays.copyOf(ids, capacity);
+                    latitudes = Arrays.copyOf(latitudes, capacity);
+                    longitudes = Arrays.copyOf(longitudes, capacity);
+                    cityStates = Arrays.copyOf(cityStates, capacity);
+                    nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+                }
+                int nameStart = nameOffsets[size];
+                if (nameStart + name.length() > names.length) {
+                    names = Arrays.copyOf(names, Math.max(names.length * 2, nameStart + name.length()));
+                }
+                name.getChars(0, name.length(), names, nameStart);
+
+                ids[size] = id;
+                latitudes[size] = latitude;
+                longitudes[size] = longitude;
+                cityStates[size] = Arrays.binarySearch(stateIds, stateId); // Negative if the state is missing
+                nameOffsets[size + 1] = nameStart + name.length();
+                size++;
+            }
+
+            Index build() {
+                return new Index(this);
+            }
+        }
+    }
+}
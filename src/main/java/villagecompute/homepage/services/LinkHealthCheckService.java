@@ -0,0 +1,461 @@
+package villagecompute.homepage.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.jboss.logging.Logger;
+import villagecompute.homepage.data.models.DirectorySite;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Concurrent link health check engine for the Good Sites directory (Feature F13.5).
+ *
+ * <p>
+ * Replaces the original single-transaction, one-URL-at-a-time sweep with a streaming pipeline:
+ * <ol>
+ * <li><b>Stream:</b> sites are read in keyset-paginated pages of {@value #PAGE_SIZE} lightweight projections (id, url,
+ * domain) inside short read transactions, so no entity graph or long-lived transaction is held during HTTP I/O</li>
+ * <li><b>Slot:</b> each site id hashes into one of {@link #SLOTS_PER_WEEK} hourly slots; a slot run only reads sites
+ * whose hash matches (the slot predicate is part of the page query), spreading the weekly workload evenly across the
+ * week</li>
+ * <li><b>Probe:</b> URLs are checked concurrently on virtual threads, bounded globally by {@value #MAX_IN_FLIGHT}
+ * in-flight requests and per host by {@value #MAX_REQUESTS_PER_HOST} so a single domain is never hammered</li>
+ * <li><b>Commit:</b> results are written back in batches of {@value #COMMIT_BATCH_SIZE} sites, each in its own
+ * transaction, so a failure late in the run never rolls back earlier progress</li>
+ * </ol>
+ *
+ * <p>
+ * <b>HTTP Check Logic:</b> HEAD request with GET fallback on 405, 10 second timeout, 2xx/3xx considered healthy.
+ *
+ * <p>
+ * <b>Metrics Emitted:</b>
+ * <ul>
+ * <li>link_health.checks.total{result=success|failed|recovered|error}</li>
+ * </ul>
+ *
+ * @see villagecompute.homepage.jobs.LinkHealthCheckJobHandler
+ * @see villagecompute.homepage.jobs.LinkHealthCheckScheduler
+ */
+@ApplicationScoped
+public class LinkHealthCheckService {
+
+    private static final Logger LOG = Logger.getLogger(LinkHealthCheckService.class);
+
+    /**
+     * Number of hourly slots in a week. Each site is checked once per week in the slot its id hashes into.
+     */
+    public static final int SLOTS_PER_WEEK = 7 * 24;
+
+    /**
+     * Consecutive failures before a site is marked dead.
+     */
+    public static final int FAILURE_THRESHOLD = 3;
+
+    static final int PAGE_SIZE = 500;
+    static final int COMMIT_BATCH_SIZE = 50;
+    static final int MAX_IN_FLIGHT = 64;
+    static final int MAX_REQUESTS_PER_HOST = 2;
+
+    private static final int TIMEOUT_SECONDS = 10;
+    private static final String USER_AGENT = "VillageCompute-LinkHealthChecker/1.0";
+
+    /**
+     * SQL form of {@link #slotFor(UUID, int)}: the last 8 hex digits of the id (its low 32 bits) as an unsigned number.
+     */
+    private static final String SQL_SLOT_HASH = "('x' || right(s.id::text, 8))::bit(32)::bigint";
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    EntityManager entityManager;
+
+    HttpClient httpClient = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(TIMEOUT_SECONDS)).build();
+
+    /**
+     * A URL to probe, keyed by the owning site.
+     *
+     * @param siteId
+     *            directory site id
+     * @param url
+     *            URL to check
+     * @param host
+     *            host used for per-host politeness limits
+     */
+    public record LinkTarget(UUID siteId, String url, String host) {
+    }
+
+    /**
+     * Outcome of probing a single {@link LinkTarget}.
+     *
+     * @param siteId
+     *            directory site id
+     * @param url
+     *            URL that was checked
+     * @param accessible
+     *            true when the URL answered with a 2xx/3xx status
+     */
+    public record LinkCheckResult(UUID siteId, String url, boolean accessible) {
+    }
+
+    /**
+     * Aggregate counters for one health check run.
+     */
+    public static final class CheckSummary {
+        public int scanned;
+        public int checked;
+        public int success;
+        public int failed;
+        public int recovered;
+        public int markedDead;
+        public int errors;
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "scanned=%d, checked=%d, success=%d, failed=%d, recovered=%d, marked_dead=%d, errors=%d", scanned,
+                    checked, success, failed, recovered, markedDead, errors);
+        }
+    }
+
+    /**
+     * Returns the slot a site belongs to. Stable across runs and pods since it depends only on the site id.
+     *
+     * <p>
+     * Uses the low 32 bits of the id, which are random for generated (version 4) UUIDs, so PostgreSQL can evaluate the
+     * same hash in the page query.
+     *
+     * @param siteId
+     *            directory site id
+     * @param slotCount
+     *            total number of slots
+     * @return slot index in {@code [0, slotCount)}
+     */
+    public static int slotFor(UUID siteId, int slotCount) {
+        if (slotCount <= 1) {
+            return 0;
+        }
+        return (int) ((siteId.getLeastSignificantBits() & 0xFFFFFFFFL) % slotCount);
+    }
+
+    /**
+     * Returns the hour-of-week slot (Monday 00:00 UTC = 0) for the given instant.
+     *
+     * @param now
+     *            current time
+     * @return slot index in {@code [0, SLOTS_PER_WEEK)}
+     */
+    public static int currentSlot(Instant now) {
+        ZonedDateTime utc = now.atZone(ZoneOffset.UTC);
+        int dayIndex = utc.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue();
+        return dayIndex * 24 + utc.getHour();
+    }
+
+    /**
+     * Checks every approved or dead site whose id hashes into {@code slot}.
+     *
+     * <p>
+     * Pass {@code slotCount <= 1} to check every site in a single run (manual full sweep).
+     *
+     * @param slot
+     *            slot index to check
+     * @param slotCount
+     *            total number of slots
+     * @return aggregate counters for the run
+     */
+    public CheckSummary checkSlot(int slot, int slotCount) {
+        CheckSummary summary = new CheckSummary();
+        UUID afterId = null;
+
+        while (true) {
+            List<Object[]> page = fetchPage(slot, slotCount, afterId);
+            if (page.isEmpty()) {
+                break;
+            }
+            afterId = (UUID) page.get(page.size() - 1)[0];
+            summary.scanned += page.size();
+
+            List<LinkTarget> targets = new ArrayList<>(page.size());
+            for (Object[] row : page) {
+                targets.add(new LinkTarget((UUID) row[0], (String) row[1], (String) row[2]));
+            }
+
+            List<LinkCheckResult> results = probeAll(targets);
+            for (int i = 0; i < results.size(); i += COMMIT_BATCH_SIZE) {
+                applyResults(results.subList(i, Math.min(i + COMMIT_BATCH_SIZE, results.size())), summary);
+            }
+            LOG.debugf("Link health page complete (slot %d/%d): %s", slot, slotCount, summary);
+
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+
+        return summary;
+    }
+
+    /**
+     * Probes all targets concurrently on virtual threads with global and per-host concurrency caps.
+     *
+     * <p>
+     * Results are returned in the same order as {@code targets}. Probe errors are reported as inaccessible rather than
+     * thrown.
+     *
+     * @param targets
+     *            URLs to check
+     * @return one result per target
+     */
+    public List<LinkCheckResult> probeAll(List<LinkTarget> targets) {
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+        List<Future<LinkCheckResult>> futures = new ArrayList<>(targets.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (LinkTarget target : targets) {
+                futures.add(executor.submit(() -> {
+                    Semaphore hostPermit = hostPermits.computeIfAbsent(hostKey(target),
+                            h -> new Semaphore(MAX_REQUESTS_PER_HOST));
+                    hostPermit.acquire();
+                    try {
+                        inFlight.acquire();
+                        try {
+                            return new LinkCheckResult(target.siteId(), target.url(), isLinkAccessible(target.url()));
+                        } finally {
+                            inFlight.release();
+                        }
+                    } finally {
+                        hostPermit.release();
+                    }
+                }));
+            }
+
+            List<LinkCheckResult> results = new ArrayList<>(targets.size());
+            for (int i = 0; i < futures.size(); i++) {
+                LinkTarget target = targets.get(i);
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    LOG.debugf(e.getCause(), "Link probe failed: %s (site_id=%s)", target.url(), target.siteId());
+                    results.add(new LinkCheckResult(target.siteId(), target.url(), false));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for link probes", e);
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Loads the next page of the slot's site projections after {@code afterId} in its own short read transaction.
+     */
+    List<Object[]> fetchPage(int slot, int slotCount, UUID afterId) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT s.id, s.url, s.domain FROM directory_sites s WHERE s.status IN ('approved', 'dead')");
+        if (slotCount > 1) {
+            sql.append(" AND ").append(SQL_SLOT_HASH).append(" % :slotCount = :slot");
+        }
+        if (afterId != null) {
+            sql.append(" AND s.id > :afterId");
+        }
+        sql.append(" ORDER BY s.id LIMIT :limit");
+
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Query query = entityManager.createNativeQuery(sql.toString(), Object[].class).setParameter("limit",
+                    PAGE_SIZE);
+            if (slotCount > 1) {
+                query.setParameter("slotCount", slotCount).setParameter("slot", slot);
+            }
+            if (afterId != null) {
+                query.setParameter("afterId", afterId);
+            }
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = query.getResultList();
+            return rows;
+        });
+    }
+
+    /**
+     * Writes one batch of probe results back to {@code directory_sites} in a single transaction.
+     *
+     * <p>
+     * Sites are loaded with one {@code IN} query. A site deleted between probe and commit is skipped.
+     */
+    void applyResults(List<LinkCheckResult> batch, CheckSummary summary) {
+        List<UUID> ids = batch.stream().map(LinkCheckResult::siteId).toList();
+
+        CheckSummary delta = new CheckSummary();
+
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                Map<UUID, DirectorySite> sites = new HashMap<>();
+                for (DirectorySite site : DirectorySite.<DirectorySite>list("id in ?1", ids)) {
+                    sites.put(site.id, site);
+                }
+
+                for (LinkCheckResult result : batch) {
+                    DirectorySite site = sites.get(result.siteId());
+                    if (site == null) {
+                        continue;
+                    }
+                    delta.checked++;
+                    if (!result.accessible()) {
+                        delta.failed++;
+                    } else if (site.isDead) {
+                        delta.recovered++;
+                    } else {
+                        delta.success++;
+                    }
+                    if (updateSiteHealth(site, result.accessible())) {
+                        delta.markedDead++;
+                    }
+                }
+            });
+        } catch (Exception e) {
+            summary.errors += batch.size();
+            meterRegistry.counter("link_health.checks.total", "result", "error").increment(batch.size());
+            LOG.errorf(e, "Failed to commit link health batch of %d sites", batch.size());
+            return;
+        }
+
+        summary.checked += delta.checked;
+        summary.success += delta.success;
+        summary.failed += delta.failed;
+        summary.recovered += delta.recovered;
+        summary.markedDead += delta.markedDead;
+        meterRegistry.counter("link_health.checks.total", "result", "success").increment(delta.success);
+        meterRegistry.counter("link_health.checks.total", "result", "failed").increment(delta.failed);
+        meterRegistry.counter("link_health.checks.total", "result", "recovered").increment(delta.recovered);
+    }
+
+    /**
+     * Updates site health status based on check result.
+     *
+     * <p>
+     * Tracks consecutive failures and marks site dead after threshold. Resets counter on success.
+     *
+     * @param site
+     *            Site to update (managed entity)
+     * @param accessible
+     *            Whether site is currently accessible
+     * @return true if the site transitioned to dead on this check
+     */
+    boolean updateSiteHealth(DirectorySite site, boolean accessible) {
+        Instant now = Instant.now();
+        site.lastCheckedAt = now;
+        site.updatedAt = now;
+
+        if (accessible) {
+            if (site.healthCheckFailures > 0) {
+                LOG.infof("Site recovered: %s (site_id=%s, previous_failures=%d)", site.url, site.id,
+                        site.healthCheckFailures);
+                site.healthCheckFailures = 0;
+            }
+            return false;
+        }
+
+        site.healthCheckFailures++;
+        if (site.healthCheckFailures >= FAILURE_THRESHOLD && !site.isDead) {
+            site.markDead();
+            LOG.warnf("Site marked dead after %d consecutive failures: %s (site_id=%s)", site.healthCheckFailures,
+                    site.url, site.id);
+            notifyModerators(site);
+            return true;
+        }
+
+        LOG.warnf("Site health check failed (%d/%d): %s (site_id=%s)", site.healthCheckFailures, FAILURE_THRESHOLD,
+                site.url, site.id);
+        return false;
+    }
+
+    /**
+     * Checks if a link is accessible via HTTP HEAD request, falling back to GET on 405.
+     *
+     * @param url
+     *            URL to check
+     * @return true if accessible (2xx or 3xx status), false otherwise
+     */
+    boolean isLinkAccessible(String url) {
+        try {
+            HttpRequest headRequest = HttpRequest.newBuilder().uri(URI.create(url))
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody()).header("User-Agent", USER_AGENT)
+                    .timeout(Duration.ofSeconds(TIMEOUT_SECONDS)).build();
+
+            int status = httpClient.send(headRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+
+            if (status == 405) {
+                LOG.debugf("HEAD not allowed for %s, falling back to GET", url);
+                HttpRequest getRequest = HttpRequest.newBuilder().uri(URI.create(url)).GET()
+                        .header("User-Agent", USER_AGENT).timeout(Duration.ofSeconds(TIMEOUT_SECONDS)).build();
+                status = httpClient.send(getRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+            }
+
+            boolean accessible = status >= 200 && status < 400;
+            if (!accessible) {
+                LOG.debugf("Site returned non-successful status: %d for %s", status, url);
+            }
+            return accessible;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            LOG.debugf(e, "Failed to check link accessibility: %s", url);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the key used for per-host politeness. Falls back to the URL host when the stored domain is missing.
+     */
+    private static String hostKey(LinkTarget target) {
+        if (target.host() != null && !target.host().isBlank()) {
+            return target.host().toLowerCase(Locale.ROOT);
+        }
+        try {
+            String host = URI.create(target.url()).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : target.url();
+        } catch (IllegalArgumentException e) {
+            return target.url();
+        }
+    }
+
+    /**
+     * Sends notification to moderators about dead link detection.
+     *
+     * <p>
+     * TODO: Implement email notification using EmailService.
+     *
+     * @param site
+     *            Site that was marked dead
+     */
+    private void notifyModerators(DirectorySite site) {
+        LOG.infof("TODO: Notify moderators about dead link: %s (site_id=%s, title=%s, failures=%d)", site.url, site.id,
+                site.title, site.healthCheckFailures);
+    }
+}
@@ -0,0 +1,168 @@
+package villagecompute.homepage.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
+import org.jboss.logging.Logger;
+import villagecompute.homepage.data.models.ListingPromotion;
+import villagecompute.homepage.data.models.MarketplaceListing;
+import villagecompute.homepage.jobs.JobType;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Set-based lifecycle sweeps for marketplace listings and promotions (Features F12.7, F12.8).
+ *
+ * <p>
+ * Replaces the load-then-update-each-row loops in the expiration jobs. Each sweep runs as a sequence of chunks of
+ * {@code villagecompute.marketplace.lifecycle.batch-size} rows; every chunk is one statement in its own transaction, so
+ * a large backlog (e.g. the day a posting wave expires) never holds one long transaction or loads entities it only
+ * needs to flip a status on.
+ *
+ * <p>
+ * <b>Listing Expiration Chunk:</b>
+ * <ol>
+ * <li>{@link MarketplaceListing#expireBatch(Instant, int)} - {@code UPDATE ... RETURNING id} with
+ * {@code FOR UPDATE SKIP LOCKED}</li>
+ * <li>In the same transaction, enqueue one LISTING_IMAGE_CLEANUP job per returned id (P4), so a committed expiration
+ * always has its cleanup queued</li>
+ * <li>After commit, reindex the chunk in one search indexing plan (bulk updates bypass automatic indexing)</li>
+ * </ol>
+ *
+ * <p>
+ * <b>Metrics Emitted:</b>
+ * <ul>
+ * <li>{@code marketplace.lifecycle.sweep.chunks.total{sweep=listings|promotions}} - chunks executed</li>
+ * <li>{@code marketplace.lifecycle.reindex.errors.total} - chunks whose search reindex failed</li>
+ * </ul>
+ *
+ * @see villagecompute.homepage.jobs.ListingExpirationJobHandler
+ * @see villagecompute.homepage.jobs.PromotionExpirationJobHandler
+ */
+@ApplicationScoped
+public class ListingLifecycleService {
+
+    private static final Logger LOG = Logger.getLogger(ListingLifecycleService.class);
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    DelayedJobService delayedJobService;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(
+            name = "villagecompute.marketplace.lifecycle.batch-size",
+            defaultValue = "500")
+    int batchSize;
+
+    /**
+     * Outcome of a listing expiration sweep.
+     *
+     * @param expired
+     *            listings transitioned to 'expired'
+     * @param chunks
+     *            statements executed
+     * @param reindexFailures
+     *            chunks whose search reindex failed (listings are expired in the database regardless)
+     */
+    public record ExpirationSweep(int expired, int chunks, int reindexFailures) {
+    }
+
+    /**
+     * Expires all active listings whose expires_at is at or before {@code now}.
+     *
+     * @param now
+     *            expiration cutoff
+     * @return sweep outcome
+     */
+    public ExpirationSweep expireListings(Instant now) {
+        int expired = 0;
+        int chunks = 0;
+        int reindexFailures = 0;
+
+        while (true) {
+            List<UUID> ids = QuarkusTransaction.requiringNew().call(() -> {
+                List<UUID> expiredIds = MarketplaceListing.expireBatch(now, batchSize);
+                for (UUID id : expiredIds) {
+                    delayedJobService.enqueue(JobType.LISTING_IMAGE_CLEANUP, Map.of("listingId", id.toString()));
+                }
+                return expiredIds;
+            });
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            chunks++;
+            expired += ids.size();
+            meterRegistry.counter("marketplace.lifecycle.sweep.chunks.total", "sweep", "listings").increment();
+            LOG.debugf("Expired listing chunk %d (%d listings)", chunks, ids.size());
+
+            if (!reindex(ids)) {
+                reindexFailures++;
+            }
+
+            // A short chunk means the backlog is drained (or the rest is locked and left for the next sweep)
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+
+        return new ExpirationSweep(expired, chunks, reindexFailures);
+    }
+
+    /**
+     * Deletes all featured promotions whose expires_at is at or before {@code now}.
+     *
+     * @param now
+     *            expiration cutoff
+     * @return number of promotions deleted
+     */
+    public int expireFeaturedPromotions(Instant now) {
+        int deleted = 0;
+        while (true) {
+            int count = QuarkusTransaction.requiringNew()
+                    .call(() -> ListingPromotion.deleteExpiredFeaturedBatch(now, batchSize));
+            if (count == 0) {
+                break;
+            }
+            deleted += count;
+            meterRegistry.counter("marketplace.lifecycle.sweep.chunks.total", "sweep", "promotions").increment();
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Pushes the current state of the given listings to the search index in one indexing plan.
+     *
+     * @return false if reindexing failed (search unavailable); the next mass reindex or entity update corrects it
+     */
+    private boolean reindex(List<UUID> ids) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                SearchIndexingPlan plan = Search.session(entityManager).indexingPlan();
+                for (MarketplaceListing listing : MarketplaceListing.<MarketplaceListing>list("id IN ?1", ids)) {
+                    plan.addOrUpdate(listing);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to reindex %d expired listings (search may still show them as active)", ids.size());
+            meterRegistry.counter("marketplace.lifecycle.reindex.errors.total").increment();
+            return false;
+        }
+    }
+}
@@ -3,90 +3,127 @@
  */
 package villagecompute.homepage.services;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import org.hibernate.search.engine.search.aggregation.AggregationKey;
+import org.hibernate.search.engine.search.predicate.dsl.PredicateFinalStep;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+import org.hibernate.search.engine.search.projection.dsl.ProjectionFinalStep;
 import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.engine.search.query.dsl.SearchQueryOptionsStep;
+import org.hibernate.search.engine.search.sort.dsl.SearchSortFactory;
+import org.hibernate.search.engine.search.sort.dsl.SortFinalStep;
+import org.hibernate.search.engine.spatial.DistanceUnit;
+import org.hibernate.search.engine.spatial.GeoPoint;
 import org.hibernate.search.mapper.orm.Search;
 import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.hibernate.search.util.common.data.Range;
 import org.jboss.logging.Logger;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
-import io.quarkus.panache.common.Parameters;
-import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import jakarta.persistence.Tuple;
 import jakarta.transaction.Transactional;
+import villagecompute.homepage.api.types.FacetedSearchResultsType;
 import villagecompute.homepage.api.types.ListingSearchResultType;
 import villagecompute.homepage.api.types.SearchCriteria;
+import villagecompute.homepage.api.types.SearchCursor;
+import villagecompute.homepage.api.types.SearchFacetsType;
+import villagecompute.homepage.data.models.GeoCity;
 import villagecompute.homepage.data.models.MarketplaceListing;
+import villagecompute.homepage.data.models.MarketplaceListingImage;
 
 /**
- * Service for marketplace listing search combining Elasticsearch full-text indexing and PostGIS radius queries.
+ * Service for marketplace listing search backed by Elasticsearch, with a PostGIS/Postgres fallback.
  *
  * <p>
- * This service implements a two-phase search strategy to meet Policy P11 performance targets (<200ms p99 for 250-mile
- * radius queries):
- * <ol>
- * <li><b>Phase 1 (Elasticsearch):</b> Full-text search on title/description with category, price, and date filters</li>
- * <li><b>Phase 2 (PostGIS):</b> Geographic radius filtering using ST_DWithin() on GIST spatial index</li>
- * </ol>
+ * All filtering, sorting and pagination - including geographic radius filtering and distance sorting - runs in a single
+ * Elasticsearch query to meet Policy P11 performance targets (<200ms p99 for 250-mile radius queries).
  *
  * <h2>Search Architecture</h2>
  *
  * <p>
- * <b>Elasticsearch Phase:</b>
+ * <b>Elasticsearch:</b>
  * <ul>
  * <li>Searches {@code title} and {@code description} fields with fuzzy matching (2-char typo tolerance)</li>
- * <li>Filters by: {@code categoryId}, {@code price} range, {@code createdAt} date range</li>
- * <li>Sorting: newest (created_at DESC), price_asc, price_desc</li>
- * <li>Returns max 500 results before PostGIS filtering to prevent excessive result sets</li>
+ * <li>Filters by: {@code status}, {@code categoryId}, {@code price} range, {@code createdAt} date range</li>
+ * <li>Radius filter: {@code spatial().within().circle()} on the {@code location} geo_point (listing coordinates copied
+ * from {@code geo_cities})</li>
+ * <li>Sorting: newest (created_at DESC), price_asc, price_desc, distance (geo distance ASC), each with an id
+ * tie-breaker</li>
+ * <li>Radius searches project the distance in miles alongside each hit; deep pages are exact (no over-fetch cap)</li>
  * </ul>
  *
  * <p>
- * <b>PostGIS Phase (if radius specified):</b>
+ * <b>Postgres (fallback engine):</b> one native query with the same semantics as the Elasticsearch query
  * <ul>
- * <li>Fetches center location from {@code geo_cities} by {@code geoCityId}</li>
- * <li>Joins {@code marketplace_listings} with {@code geo_cities} on {@code geo_city_id}</li>
- * <li>Filters using {@code ST_DWithin(listing_location, center_location, radius_meters)}</li>
- * <li>Calculates distance for sorting: {@code ST_Distance() / 1609.34 AS distance_miles}</li>
- * <li>Returns listings ordered by distance if {@code sortBy=distance}</li>
+ * <li>Text search: {@code to_tsvector('english', title || ' ' || description) @@ websearch_to_tsquery(...)} (GIN
+ * expression index) OR trigram word similarity on {@code title} ({@code pg_trgm}) for typo tolerance</li>
+ * <li>Same status, category, price and date filters</li>
+ * <li>Radius filter: bounding box on the listing coordinates, then
+ * {@code ST_DWithin(listing_point, center_point, radius_meters)}; distance selected as
+ * {@code ST_Distance() / 1609.34}</li>
+ * <li>Same sort order and id tie-breakers; pagination in SQL</li>
  * </ul>
  *
+ * <h2>Keyset Pagination</h2>
+ *
+ * <p>
+ * For newest / price sorts a {@link SearchCursor} ({@link SearchCriteria#cursor()}) replaces the offset: both engines
+ * add a "strictly after (sort value, id)" condition, so deep pages cost the same as the first page and a cursor issued
+ * before a failover keeps working on the other engine.
+ *
+ * <h2>Faceted Search</h2>
+ *
+ * <p>
+ * {@link #searchWithFacets(SearchCriteria)} returns hits, total count and category / price range / recency aggregations
+ * from one Elasticsearch request, replacing separate search, count and per-category count round trips. Facet counts for
+ * searches without a text query (browse pages) are cached for {@link #FACET_CACHE_TTL} keyed by the filter set; on a
+ * cache hit the aggregations are dropped from the request.
+ *
  * <h2>Resilience & Fallback</h2>
  *
  * <p>
- * If Elasticsearch is unavailable, the service degrades gracefully to Postgres-only queries:
- * <ul>
- * <li>Text search uses {@code ILIKE '%query%'} on title/description (slower, but functional)</li>
- * <li>Filters applied via Panache queries with {@code Parameters}</li>
- * <li>PostGIS radius filtering still used for geographic searches</li>
- * <li>Metrics track {@code marketplace.search.elasticsearch.errors.total} counter</li>
- * </ul>
+ * If Elasticsearch is unavailable, the service degrades to the Postgres engine above. Results keep the same filters,
+ * order and cursors; only relevance ranking and facets are lost. Metrics track
+ * {@code marketplace.search.elasticsearch.errors.total}.
  *
  * <h2>Performance Optimizations</h2>
  *
  * <p>
  * To meet Policy P11 targets (<200ms p99):
  * <ul>
- * <li>Elasticsearch limits results to 500 before PostGIS filtering (configurable)</li>
- * <li>PostGIS uses GIST spatial index on {@code geo_cities.location} (created in I4.T1 migration)</li>
- * <li>Composite index on {@code (status, category_id, created_at)} for ES-skipped queries</li>
- * <li>City name resolution via single JOIN (no N+1 problem)</li>
- * <li>Image count pre-aggregated (future I4.T6 - defaults to 0)</li>
+ * <li>Radius filter, distance sort and pagination execute in Elasticsearch, which returns ids only; the page's entities
+ * are then loaded in one query</li>
+ * <li>All Postgres work (page loads and the fallback queries) runs under a {@link DatabaseConcurrencyLimiter} permit,
+ * so virtual-thread requests cannot exhaust the connection pool; Elasticsearch requests take no permit</li>
+ * <li>Center city coordinates and result city names come from the in-memory {@link GeoGazetteer}; the geo tables are
+ * only queried for cities imported since its last reload</li>
+ * <li>Postgres fallback uses full-text / trigram GIN indexes, keyset sort indexes and a coordinate index for the
+ * radius bounding box</li>
+ * <li>Image counts loaded for the whole page in one grouped query</li>
  * </ul>
  *
  * <h2>Usage Example</h2>
@@ -124,12 +161,78 @@ public class MarketplaceSearchService {
 
     private static final Logger LOG = Logger.getLogger(MarketplaceSearchService.class);
 
-    /** Maximum Elasticsearch results before PostGIS filtering (prevents excessive result sets). */
-    private static final int MAX_ES_RESULTS_BEFORE_RADIUS_FILTER = 500;
-
     /** Conversion factor: miles to meters. */
     private static final double MILES_TO_METERS = 1609.34;
 
+    /** Lower bound of miles per degree of latitude, so radius bounding boxes never clip the circle. */
+    private static final double MILES_PER_DEGREE = 68.7;
+
+    /** Listing coordinates as a geography point (Postgres fallback). */
+    private static final String LISTING_POINT_SQL = "ST_SetSRID(ST_MakePoint(ml.longitude, ml.latitude), 4326)"
+            + "::geography";
+
+    /** Search center as a geography point, bound from {@code :centerLon}/{@code :centerLat} (Postgres fallback). */
+    private static final String CENTER_POINT_SQL = "ST_SetSRID(ST_MakePoint(:centerLon, :centerLat), 4326)::geography";
+
+    /** How long facet counts for browse (non-text) searches are reused. */
+    static final Duration FACET_CACHE_TTL = Duration.ofSeconds(60);
+
+    /** Maximum category buckets returned in facets. */
+    private static final int MAX_CATEGORY_FACETS = 50;
+
+    private static final AggregationKey<Map<UUID, Long>> CATEGORY_FACET = AggregationKey.of("categories");
+    private static final AggregationKey<Map<Range<BigDecimal>, Long>> PRICE_FACET = AggregationKey.of("priceRanges");
+    private static final AggregationKey<Map<Range<Instant>, Long>> RECENCY_FACET = AggregationKey.of("postedWithin");
+
+    /** Price facet buckets in USD, lower bound inclusive. */
+    private static final Map<String, Range<BigDecimal>> PRICE_BUCKETS = priceBuckets();
+
+    /** Recency facet windows (overlapping, narrowest first). */
+    private static final Map<String, Duration> RECENCY_WINDOWS = recencyWindows();
+
+    /**
+     * Facet counts for browse searches, keyed by filter set. Short TTL keeps counts close to live while absorbing
+     * repeated loads of popular browse pages.
+     */
+    private final Cache<FacetCacheKey, SearchFacetsType> facetCache = Caffeine.newBuilder()
+            .expireAfterWrite(FACET_CACHE_TTL.toSeconds(), TimeUnit.SECONDS).maximumSize(1000).build();
+
+    /**
+     * Filters that determine facet counts (text query, sort and pagination excluded).
+     */
+    private record FacetCacheKey(UUID categoryId, BigDecimal minPrice, BigDecimal maxPrice, Long geoCityId,
+            Integer radiusMiles, Instant minDate, Instant maxDate) {
+
+        static FacetCacheKey of(SearchCriteria criteria) {
+            return new FacetCacheKey(criteria.categoryId(), criteria.minPrice(), criteria.maxPrice(),
+                    criteria.geoCityId(), criteria.radiusMiles(), criteria.minDate(), criteria.maxDate());
+        }
+    }
+
+    /**
+     * One page of search results.
+     *
+     * @param results
+     *            listings for the requested page, in sort order
+     * @param nextCursor
+     *            encoded cursor for the following page, or null on the last page and for distance sort
+     */
+    public record ListingPage(List<ListingSearchResultType> results, String nextCursor) {
+    }
+
+    /**
+     * One page of Elasticsearch results.
+     *
+     * @param page
+     *            converted hits for the requested page and the next cursor
+     * @param totalCount
+     *            total matching listings (not meaningful on cursor pages searched without {@code withTotal})
+     * @param facets
+     *            aggregations, or null if not requested
+     */
+    private record SearchPage(ListingPage page, long totalCount, SearchFacetsType facets) {
+    }
+
     @Inject
     EntityManager entityManager;
 
@@ -139,15 +242,18 @@ public class MarketplaceSearchService {
     @Inject
     MeterRegistry meterRegistry;
 
+    @Inject
+    GeoGazetteer gazetteer;
+
     /**
-     * Searches marketplace listings using combined Elasticsearch + PostGIS queries.
-     *
-     * <p>
-     * Two-phase approach:
-     * <ol>
-     * <li>Elasticsearch: text search + filters (category, price, date)</li>
-     * <li>PostGIS: radius filtering if geoCityId + radiusMiles specified</li>
-     * </ol>
+     * Gates the Postgres fallback queries only; the Elasticsearch path does not hold a database permit while it waits
+     * on the search cluster.
+     */
+    @Inject
+    DatabaseConcurrencyLimiter dbLimiter;
+
+    /**
+     * Searches marketplace listings using Elasticsearch (text search, filters, radius and distance sort).
      *
      * <p>
      * Falls back to Postgres-only queries if Elasticsearch is unavailable.
@@ -158,6 +264,22 @@ public class MarketplaceSearchService {
      */
     @Transactional
     public List<ListingSearchResultType> searchListings(SearchCriteria criteria) {
+        return searchPage(criteria).results();
+    }
+
+    /**
+     * Searches marketplace listings like {@link #searchListings(SearchCriteria)} and also returns the keyset cursor for
+     * the next page.
+     *
+     * <p>
+     * Both engines fetch one row beyond the page, so the cursor is only issued when a next page exists.
+     *
+     * @param criteria
+     *            Search parameters (query, filters, pagination)
+     * @return Page of search results with resolved city names and distances, and the next cursor
+     */
+    @Transactional
+    public ListingPage searchPage(SearchCriteria criteria) {
         Span span = tracer.spanBuilder("marketplace.search").startSpan();
         Timer.Sample timer = Timer.start(meterRegistry);
 
@@ -169,24 +291,24 @@ public class MarketplaceSearchService {
             // Increment request counter
             getRequestCounter(criteria).increment();
 
-            List<ListingSearchResultType> results;
+            ListingPage page;
 
             try {
                 // Phase 1: Elasticsearch query
-                results = searchWithElasticsearch(criteria);
+                page = searchWithElasticsearch(criteria, false, false).page();
             } catch (Exception e) {
                 LOG.warnf(e, "Elasticsearch search failed, falling back to Postgres");
                 getElasticsearchErrorCounter().increment();
                 span.setAttribute("fallback", "postgres");
 
                 // Fallback: Postgres-only query
-                results = searchWithPostgres(criteria);
+                page = dbLimiter.supply(() -> searchWithPostgres(criteria));
             }
 
             // Record result count
-            meterRegistry.summary("marketplace.search.results.count").record(results.size());
+            meterRegistry.summary("marketplace.search.results.count").record(page.results().size());
 
-            return results;
+            return page;
         } finally {
             timer.stop(meterRegistry.timer("marketplace.search.duration"));
             span.end();
@@ -209,7 +331,63 @@ public class MarketplaceSearchService {
             return countWithElasticsearch(criteria);
         } catch (Exception e) {
             LOG.warnf(e, "Elasticsearch count failed, falling back to Postgres");
-            return countWithPostgres(criteria);
+            return dbLimiter.supply(() -> countWithPostgres(criteria));
+        }
+    }
+
+    /**
+     * Searches marketplace listings and returns hits, total count and facet counts in one search round trip.
+     *
+     * <p>
+     * Facets for searches without a text query are served from a short-TTL cache when available. If Elasticsearch is
+     * unavailable, falls back to Postgres for hits and count and returns empty facets.
+     *
+     * @param criteria
+     *            Search parameters (query, filters, pagination)
+     * @return Page of results with total count and facets
+     */
+    @Transactional
+    public FacetedSearchResultsType searchWithFacets(SearchCriteria criteria) {
+        Span span = tracer.spanBuilder("marketplace.search.faceted").startSpan();
+        Timer.Sample timer = Timer.start(meterRegistry);
+
+        try (Scope scope = span.makeCurrent()) {
+            span.setAttribute("query", criteria.query() != null ? criteria.query() : "");
+            span.setAttribute("has_radius", criteria.isGeographicSearch());
+
+            getRequestCounter(criteria).increment();
+
+            FacetCacheKey cacheKey = criteria.isTextSearch() ? null : FacetCacheKey.of(criteria);
+            SearchFacetsType cachedFacets = cacheKey != null ? facetCache.getIfPresent(cacheKey) : null;
+            if (cacheKey != null) {
+                meterRegistry.counter("marketplace.search.facet_cache", "result", cachedFacets != null ? "hit" : "miss")
+                        .increment();
+            }
+            span.setAttribute("facets_cached", cachedFacets != null);
+
+            try {
+                SearchPage page = searchWithElasticsearch(criteria, true, cachedFacets == null);
+                SearchFacetsType facets = cachedFacets != null ? cachedFacets : page.facets();
+                if (cacheKey != null && cachedFacets == null) {
+                    facetCache.put(cacheKey, facets);
+                }
+
+                meterRegistry.summary("marketplace.search.results.count").record(page.page().results().size());
+                return new FacetedSearchResultsType(page.page().results(), page.totalCount(), criteria.offset(),
+                        criteria.limit(), facets, page.page().nextCursor());
+            } catch (Exception e) {
+                LOG.warnf(e, "Elasticsearch faceted search failed, falling back to Postgres");
+                getElasticsearchErrorCounter().increment();
+                span.setAttribute("fallback", "postgres");
+
+                ListingPage page = dbLimiter.supply(() -> searchWithPostgres(criteria));
+                long totalCount = dbLimiter.supply(() -> countWithPostgres(criteria));
+                return new FacetedSearchResultsType(page.results(), totalCount, criteria.offset(), criteria.limit(),
+                        cachedFacets != null ? cachedFacets : SearchFacetsType.empty(), page.nextCursor());
+            }
+        } finally {
+            timer.stop(meterRegistry.timer("marketplace.search.duration"));
+            span.end();
         }
     }
 
@@ -217,183 +395,291 @@ public class MarketplaceSearchService {
      * Searches listings using Elasticsearch full-text index.
      *
      * <p>
-     * Applies text search, category filter, price range, date range. If geographic search, limits results to
-     * MAX_ES_RESULTS_BEFORE_RADIUS_FILTER before applying PostGIS radius filter.
+     * Applies text search, category filter, price range, date range and, for geographic searches, a geo_point radius
+     * filter. Pagination happens in the engine; radius searches also project each hit's distance from the center. Hits,
+     * total count and (optionally) facet aggregations come back in a single request.
+     *
+     * <p>
+     * A keyset cursor narrows the hits only: on cursor pages the total count and facets come from a second, hit-less
+     * request without the cursor, so they always describe the whole result set (and are safe to cache).
      *
      * @param criteria
      *            Search parameters
-     * @return List of search results
+     * @param withTotal
+     *            whether the caller needs the total count (always computed on non-cursor pages)
+     * @param withFacets
+     *            whether to compute category / price / recency aggregations
+     * @return Page of results
      */
-    private List<ListingSearchResultType> searchWithElasticsearch(SearchCriteria criteria) {
+    private SearchPage searchWithElasticsearch(SearchCriteria criteria, boolean withTotal, boolean withFacets) {
         SearchSession searchSession = Search.session(entityManager);
 
-        // Determine fetch size
-        int fetchLimit = criteria.limit();
-        int fetchOffset = criteria.offset();
-
-        // If geographic search, fetch more results before PostGIS filtering
+        GeoPoint center = null;
         if (criteria.isGeographicSearch()) {
-            fetchLimit = Math.min(MAX_ES_RESULTS_BEFORE_RADIUS_FILTER, criteria.limit() * 10);
-            fetchOffset = 0; // Reset offset - will re-apply after PostGIS filtering
+            center = resolveCenter(criteria.geoCityId());
+            if (center == null) {
+                SearchFacetsType noFacets = withFacets ? SearchFacetsType.empty() : null;
+                return new SearchPage(new ListingPage(List.of(), null), 0, noFacets);
+            }
+        }
+        GeoPoint radiusCenter = center;
+        SearchCursor after = criteria.decodedCursor();
+
+        SearchQueryOptionsStep<?, ?, DistanceHit, ?, ?, ?> query = searchSession.search(MarketplaceListing.class)
+                .select(f -> {
+                    ProjectionFinalStep<Double> distance = radiusCenter != null
+                            ? f.distance(MarketplaceListing.LOCATION_FIELD, radiusCenter).unit(DistanceUnit.MILES)
+                            : f.constant(null);
+                    return f.composite().from(f.id(UUID.class), distance).as(DistanceHit::new);
+                }).where(f -> buildElasticsearchPredicate(f, criteria, radiusCenter, after))
+                .sort(f -> buildElasticsearchSort(f, criteria, radiusCenter));
+
+        Map<String, Range<Instant>> recencyRanges = recencyRanges(Instant.now());
+        if (withFacets && after == null) {
+            query = withFacetAggregations(query, recencyRanges);
         }
 
-        SearchResult<MarketplaceListing> esResults = searchSession.search(MarketplaceListing.class).where(f -> {
-            var bool = f.bool();
+        // One row of look-ahead tells whether a next page exists
+        SearchResult<DistanceHit> result = query.fetch(criteria.offset(), criteria.limit() + 1);
+        boolean hasMore = result.hits().size() > criteria.limit();
+
+        // The cursor filters hits only; count and aggregate the whole result set without it
+        SearchResult<?> totals = result;
+        if (after != null && (withTotal || withFacets)) {
+            SearchQueryOptionsStep<?, ?, MarketplaceListing, ?, ?, ?> totalsQuery = searchSession
+                    .search(MarketplaceListing.class)
+                    .where(f -> buildElasticsearchPredicate(f, criteria, radiusCenter, null));
+            totals = (withFacets ? withFacetAggregations(totalsQuery, recencyRanges) : totalsQuery).fetch(0);
+        }
 
-            // Always filter to active listings only
-            bool.must(f.match().field("status").matching("active"));
+        List<UUID> ids = new ArrayList<>(result.hits().size());
+        Map<UUID, Double> distanceMap = new HashMap<>();
+        for (DistanceHit hit : result.hits().subList(0, Math.min(result.hits().size(), criteria.limit()))) {
+            ids.add(hit.id());
+            distanceMap.put(hit.id(), hit.distanceMiles());
+        }
 
-            // Text search on title + description (if query provided)
-            if (criteria.isTextSearch()) {
-                bool.must(f.match().fields("title", "description").matching(criteria.query()).fuzzy(2));
-            }
+        SearchFacetsType facets = null;
+        if (withFacets) {
+            facets = new SearchFacetsType(totals.aggregation(CATEGORY_FACET),
+                    bucketCounts(PRICE_BUCKETS, totals.aggregation(PRICE_FACET)),
+                    bucketCounts(recencyRanges, totals.aggregation(RECENCY_FACET)));
+        }
 
-            // Category filter
-            if (criteria.categoryId() != null) {
-                bool.must(f.match().field("categoryId").matching(criteria.categoryId()));
-            }
+        // Load the page's listings and convert to DTOs; the Postgres work holds a limiter permit, the search did not
+        List<ListingSearchResultType> results = dbLimiter
+                .supply(() -> convertToSearchResults(loadListings(ids), distanceMap));
+        return new SearchPage(new ListingPage(results, SearchCursor.next(results, criteria.sortBy(), hasMore)),
+                totals.total().hitCount(), facets);
+    }
 
-            // Price range filter
-            if (criteria.minPrice() != null || criteria.maxPrice() != null) {
-                bool.must(f.range().field("price").between(criteria.minPrice(), criteria.maxPrice()));
-            }
+    /**
+     * Adds the category, price and recency facet aggregations to a query.
+     */
+    private static <H> SearchQueryOptionsStep<?, ?, H, ?, ?, ?> withFacetAggregations(
+            SearchQueryOptionsStep<?, ?, H, ?, ?, ?> query, Map<String, Range<Instant>> recencyRanges) {
+        return query
+                .aggregation(CATEGORY_FACET,
+                        f -> f.terms().field("categoryId", UUID.class).maxTermCount(MAX_CATEGORY_FACETS))
+                .aggregation(PRICE_FACET, f -> f.range().field("price", BigDecimal.class)
+                        .ranges(PRICE_BUCKETS.values()))
+                .aggregation(RECENCY_FACET, f -> f.range().field("createdAt", Instant.class)
+                        .ranges(recencyRanges.values()));
+    }
 
-            // Date range filter
-            if (criteria.minDate() != null || criteria.maxDate() != null) {
-                bool.must(f.range().field("createdAt").between(criteria.minDate(), criteria.maxDate()));
-            }
+    /**
+     * Relabels range aggregation counts with bucket names, preserving bucket order.
+     */
+    private static <F> Map<String, Long> bucketCounts(Map<String, Range<F>> buckets, Map<Range<F>, Long> counts) {
+        Map<String, Long> labeled = new LinkedHashMap<>();
+        buckets.forEach((label, range) -> labeled.put(label, counts.getOrDefault(range, 0L)));
+        return labeled;
+    }
 
-            return bool;
-        }).sort(f -> buildElasticsearchSort(f, criteria)).fetch(fetchOffset, fetchLimit);
+    private static Map<String, Range<BigDecimal>> priceBuckets() {
+        Map<String, Range<BigDecimal>> buckets = new LinkedHashMap<>();
+        buckets.put("0-25", Range.canonical(BigDecimal.ZERO, new BigDecimal("25")));
+        buckets.put("25-100", Range.canonical(new BigDecimal("25"), new BigDecimal("100")));
+        buckets.put("100-500", Range.canonical(new BigDecimal("100"), new BigDecimal("500")));
+        buckets.put("500-1000", Range.canonical(new BigDecimal("500"), new BigDecimal("1000")));
+        buckets.put("1000+", Range.atLeast(new BigDecimal("1000")));
+        return buckets;
+    }
 
-        List<MarketplaceListing> listings = esResults.hits();
+    private static Map<String, Duration> recencyWindows() {
+        Map<String, Duration> windows = new LinkedHashMap<>();
+        windows.put("24h", Duration.ofHours(24));
+        windows.put("7d", Duration.ofDays(7));
+        windows.put("30d", Duration.ofDays(30));
+        return windows;
+    }
 
-        // Phase 2: PostGIS radius filtering (if geographic search)
-        if (criteria.isGeographicSearch()) {
-            listings = filterByRadius(listings, criteria.geoCityId(), criteria.radiusMiles());
+    private static Map<String, Range<Instant>> recencyRanges(Instant now) {
+        Map<String, Range<Instant>> ranges = new LinkedHashMap<>();
+        RECENCY_WINDOWS.forEach((label, window) -> ranges.put(label, Range.atLeast(now.minus(window))));
+        return ranges;
+    }
 
-            // Re-apply pagination after PostGIS filtering
-            int startIndex = criteria.offset();
-            int endIndex = Math.min(startIndex + criteria.limit(), listings.size());
+    /**
+     * Elasticsearch hit: the listing id plus its distance from the search center (null unless a radius search).
+     */
+    private record DistanceHit(UUID id, Double distanceMiles) {
+    }
 
-            if (startIndex >= listings.size()) {
-                listings = List.of();
-            } else {
-                listings = listings.subList(startIndex, endIndex);
-            }
+    /**
+     * Resolves the search center to a geo point, or null if the city does not exist.
+     */
+    private GeoPoint resolveCenter(Long geoCityId) {
+        Optional<GeoGazetteer.City> cached = gazetteer.findById(geoCityId);
+        if (cached.isPresent()) {
+            return GeoPoint.of(cached.get().latitude(), cached.get().longitude());
         }
 
-        // Convert to search result DTOs with city names and distances
-        return convertToSearchResults(listings, criteria);
+        // Not in the gazetteer snapshot (imported since the last reload, or not loaded)
+        GeoCity city = GeoCity.findById(geoCityId);
+        if (city == null) {
+            LOG.debugf("Radius search center city not found: %d", geoCityId);
+            return null;
+        }
+        return GeoPoint.of(city.latitude.doubleValue(), city.longitude.doubleValue());
     }
 
     /**
-     * Builds Elasticsearch sort order.
+     * Builds the Elasticsearch filter shared by search and count.
+     *
+     * @param center
+     *            radius search center, or null for non-geographic searches
+     * @param after
+     *            keyset cursor to start after, or null (always null for counts)
      */
-    private org.hibernate.search.engine.search.sort.dsl.SortFinalStep buildElasticsearchSort(
-            org.hibernate.search.engine.search.sort.dsl.SearchSortFactory f, SearchCriteria criteria) {
-        String sortBy = criteria.sortBy();
+    private PredicateFinalStep buildElasticsearchPredicate(SearchPredicateFactory f, SearchCriteria criteria,
+            GeoPoint center, SearchCursor after) {
+        var bool = f.bool();
 
-        // Distance sorting handled by PostGIS, use createdAt for ES phase
-        if ("distance".equals(sortBy)) {
-            sortBy = "newest";
+        // Always filter to active listings only
+        bool.must(f.match().field("status").matching("active"));
+
+        // Text search on title + description (if query provided)
+        if (criteria.isTextSearch()) {
+            bool.must(f.match().fields("title", "description").matching(criteria.query()).fuzzy(2));
         }
 
-        return switch (sortBy) {
-            case "price_asc" -> f.field("price").asc();
-            case "price_desc" -> f.field("price").desc();
-            default -> f.field("createdAt").desc(); // newest (default)
-        };
+        // Category filter
+        if (criteria.categoryId() != null) {
+            bool.must(f.match().field("categoryId").matching(criteria.categoryId()));
+        }
+
+        // Price range filter
+        if (criteria.minPrice() != null || criteria.maxPrice() != null) {
+            bool.must(f.range().field("price").between(criteria.minPrice(), criteria.maxPrice()));
+        }
+
+        // Date range filter
+        if (criteria.minDate() != null || criteria.maxDate() != null) {
+            bool.must(f.range().field("createdAt").between(criteria.minDate(), criteria.maxDate()));
+        }
+
+        // Radius filter on listing geo_point
+        if (center != null) {
+            bool.filter(f.spatial().within().field(MarketplaceListing.LOCATION_FIELD).circle(center,
+                    criteria.radiusMiles(), DistanceUnit.MILES));
+        }
+
+        // Keyset pagination: strictly after the cursor in sort order
+        if (after != null) {
+            bool.filter(buildElasticsearchKeyset(f, after));
+        }
+
+        return bool;
     }
 
     /**
-     * Filters listings by geographic radius using PostGIS ST_DWithin().
-     *
-     * <p>
-     * Strategy:
-     * <ol>
-     * <li>Fetch center location from geo_cities by geoCityId</li>
-     * <li>Join marketplace_listings with geo_cities on geo_city_id</li>
-     * <li>Filter using ST_DWithin(listing_location, center_location, radius_meters)</li>
-     * <li>Calculate distance for sorting</li>
-     * <li>Return filtered listings ordered by distance</li>
-     * </ol>
-     *
-     * @param listings
-     *            Listings from Elasticsearch phase
-     * @param centerCityId
-     *            Center location (geo_cities.id)
-     * @param radiusMiles
-     *            Radius in miles (5, 10, 25, 50, 100, 250)
-     * @return Filtered listings within radius, ordered by distance
+     * Builds the Elasticsearch equivalent of {@link #appendPostgresKeyset(StringBuilder, Map, SearchCursor)}.
      */
-    private List<MarketplaceListing> filterByRadius(List<MarketplaceListing> listings, Long centerCityId,
-            Integer radiusMiles) {
-        if (listings.isEmpty()) {
-            return List.of();
+    private static PredicateFinalStep buildElasticsearchKeyset(SearchPredicateFactory f, SearchCursor after) {
+        String idField = MarketplaceListing.ID_SORT_FIELD;
+        if ("newest".equals(after.sortBy())) {
+            return f.or(f.range().field("createdAt").lessThan(after.createdAt()),
+                    f.and(f.match().field("createdAt").matching(after.createdAt()),
+                            f.range().field(idField).lessThan(after.id())));
         }
 
-        // Extract listing IDs for PostGIS query
-        List<UUID> listingIds = listings.stream().map(l -> l.id).collect(Collectors.toList());
+        boolean ascending = "price_asc".equals(after.sortBy());
+        PredicateFinalStep idAfter = ascending
+                ? f.range().field(idField).greaterThan(after.id())
+                : f.range().field(idField).lessThan(after.id());
+        PredicateFinalStep unpriced = f.not(f.exists().field("price"));
+        if (after.price() == null) {
+            return f.and(unpriced, idAfter);
+        }
+        PredicateFinalStep priceAfter = ascending
+                ? f.range().field("price").greaterThan(after.price())
+                : f.range().field("price").lessThan(after.price());
+        return f.or(priceAfter, f.and(f.match().field("price").matching(after.price()), idAfter), unpriced);
+    }
 
-        double radiusMeters = radiusMiles * MILES_TO_METERS;
+    /**
+     * Builds Elasticsearch sort order.
+     *
+     * @param center
+     *            radius search center, or null for non-geographic searches
+     */
+    private SortFinalStep buildElasticsearchSort(SearchSortFactory f, SearchCriteria criteria, GeoPoint center) {
+        String sortBy = criteria.sortBy();
 
-        // PostGIS query: filter by radius and calculate distances
-        String sql = """
-                SELECT l.id,
-                       ST_Distance(gc_listing.location, gc_center.location) / 1609.34 as distance_miles
-                FROM marketplace_listings l
-                JOIN geo_cities gc_listing ON gc_listing.id = l.geo_city_id
-                CROSS JOIN geo_cities gc_center
-                WHERE gc_center.id = :centerCityId
-                  AND l.id IN (:listingIds)
-                  AND ST_DWithin(gc_listing.location, gc_center.location, :radiusMeters)
-                ORDER BY distance_miles ASC
-                """;
+        String idField = MarketplaceListing.ID_SORT_FIELD;
 
-        Query query = entityManager.createNativeQuery(sql, Tuple.class);
-        query.setParameter("centerCityId", centerCityId);
-        query.setParameter("listingIds", listingIds);
-        query.setParameter("radiusMeters", radiusMeters);
+        if ("distance".equals(sortBy)) {
+            if (center != null) {
+                return f.distance(MarketplaceListing.LOCATION_FIELD, center).asc().then().field("createdAt").desc()
+                        .then().field(idField).desc();
+            }
+            sortBy = "newest";
+        }
 
-        @SuppressWarnings("unchecked")
-        List<Tuple> results = query.getResultList();
+        // Id tie-breaker gives a total order, required for keyset cursors
+        return switch (sortBy) {
+            case "price_asc" -> f.field("price").asc().missing().last().then().field(idField).asc();
+            case "price_desc" -> f.field("price").desc().missing().last().then().field(idField).desc();
+            default -> f.field("createdAt").desc().then().field(idField).desc(); // newest (default)
+        };
+    }
 
-        // Build map of listing ID -> distance
-        Map<UUID, Double> distanceMap = new HashMap<>();
-        for (Tuple tuple : results) {
-            UUID id = (UUID) tuple.get(0);
-            Double distance = ((Number) tuple.get(1)).doubleValue();
-            distanceMap.put(id, distance);
+    /**
+     * Loads listings by id in one query, keeping the given order and skipping ids that no longer exist.
+     */
+    private static List<MarketplaceListing> loadListings(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-
-        // Filter listings to those within radius and sort by distance
-        return listings.stream().filter(l -> distanceMap.containsKey(l.id))
-                .sorted((a, b) -> Double.compare(distanceMap.get(a.id), distanceMap.get(b.id)))
-                .collect(Collectors.toList());
+        Map<UUID, MarketplaceListing> byId = MarketplaceListing.<MarketplaceListing>list("id in ?1", ids).stream()
+                .collect(Collectors.toMap(l -> l.id, l -> l));
+        return ids.stream().map(byId::get).filter(l -> l != null).collect(Collectors.toList());
     }
 
     /**
-     * Converts MarketplaceListing entities to search result DTOs with resolved city names and distances.
+     * Converts MarketplaceListing entities to search result DTOs with resolved city names, distances and image counts.
      *
      * @param listings
-     *            Listings to convert
-     * @param criteria
-     *            Search criteria (for distance calculation)
+     *            Listings to convert, in result order
+     * @param distances
+     *            Distances from the search center (empty for non-geographic searches)
      * @return List of search result DTOs
      */
     private List<ListingSearchResultType> convertToSearchResults(List<MarketplaceListing> listings,
-            SearchCriteria criteria) {
+            Map<UUID, Double> distances) {
         if (listings.isEmpty()) {
             return List.of();
         }
 
-        // Fetch city names for all listings (single query, no N+1)
-        List<Long> cityIds = listings.stream().map(l -> l.geoCityId).filter(id -> id != null).distinct()
-                .collect(Collectors.toList());
-
+        // City names from the gazetteer; only cities missing from its snapshot are queried (single query, no N+1)
         Map<Long, String> cityNames = new HashMap<>();
-        if (!cityIds.isEmpty()) {
+        List<Long> missingCityIds = new ArrayList<>();
+        listings.stream().map(l -> l.geoCityId).filter(id -> id != null).distinct()
+                .forEach(id -> gazetteer.findById(id).ifPresentOrElse(
+                        city -> cityNames.put(id, city.displayName()), () -> missingCityIds.add(id)));
+
+        if (!missingCityIds.isEmpty()) {
             String sql = """
                     SELECT gc.id,
                            CONCAT(gc.name, ', ', gs.state_code) as city_display
@@ -403,7 +689,7 @@ public class MarketplaceSearchService {
                     """;
 
             Query query = entityManager.createNativeQuery(sql, Tuple.class);
-            query.setParameter("cityIds", cityIds);
+            query.setParameter("cityIds", missingCityIds);
 
             @SuppressWarnings("unchecked")
             List<Tuple> results = query.getResultList();
@@ -415,18 +701,16 @@ public class MarketplaceSearchService {
             }
         }
 
-        // Calculate distances if geographic search
-        Map<UUID, Double> distanceMap = new HashMap<>();
-        if (criteria.isGeographicSearch()) {
-            distanceMap = calculateDistances(listings, criteria.geoCityId());
-        }
+        // Image counts for the whole page (single grouped query, no N+1)
+        Map<UUID, Long> imageCounts = MarketplaceListingImage
+                .countOriginalsByListingIds(listings.stream().map(l -> l.id).collect(Collectors.toList()));
 
         // Convert to DTOs
         List<ListingSearchResultType> results = new ArrayList<>();
         for (MarketplaceListing listing : listings) {
             String cityName = listing.geoCityId != null ? cityNames.get(listing.geoCityId) : null;
-            Double distance = distanceMap.get(listing.id);
-            int imageCount = 0; // TODO: implement in I4.T6 after marketplace_listing_images table created
+            Double distance = distances.get(listing.id);
+            int imageCount = imageCounts.getOrDefault(listing.id, 0L).intValue();
 
             results.add(ListingSearchResultType.fromListing(listing, cityName, distance, imageCount));
         }
@@ -435,142 +719,168 @@ public class MarketplaceSearchService {
     }
 
     /**
-     * Calculates distances from center location for all listings.
+     * Fallback: Searches listings with a single Postgres query (when Elasticsearch is unavailable).
      *
-     * @param listings
-     *            Listings to calculate distances for
-     * @param centerCityId
-     *            Center location (geo_cities.id)
-     * @return Map of listing ID -> distance in miles
+     * <p>
+     * Mirrors the Elasticsearch query: full-text match ({@code websearch_to_tsquery} against the GIN-indexed
+     * {@code to_tsvector} expression) OR trigram word similarity on the title for typo tolerance, the same filters, the
+     * PostGIS radius filter on the listing coordinates, and the same sort order with an id tie-breaker so keyset
+     * cursors behave identically on both engines. Only the requested page of ids is selected; entities are then loaded
+     * by primary key.
+     *
+     * @param criteria
+     *            Search parameters
+     * @return Page of search results
      */
-    private Map<UUID, Double> calculateDistances(List<MarketplaceListing> listings, Long centerCityId) {
-        if (listings.isEmpty()) {
-            return Map.of();
+    private ListingPage searchWithPostgres(SearchCriteria criteria) {
+        GeoPoint center = null;
+        if (criteria.isGeographicSearch()) {
+            center = resolveCenter(criteria.geoCityId());
+            if (center == null) {
+                return new ListingPage(List.of(), null);
+            }
         }
+        SearchCursor after = criteria.decodedCursor();
 
-        List<UUID> listingIds = listings.stream().map(l -> l.id).collect(Collectors.toList());
-
-        String sql = """
-                SELECT l.id,
-                       ST_Distance(gc_listing.location, gc_center.location) / 1609.34 as distance_miles
-                FROM marketplace_listings l
-                JOIN geo_cities gc_listing ON gc_listing.id = l.geo_city_id
-                CROSS JOIN geo_cities gc_center
-                WHERE gc_center.id = :centerCityId
-                  AND l.id IN (:listingIds)
-                """;
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT ml.id");
+        if (center != null) {
+            sql.append(", ST_Distance(").append(LISTING_POINT_SQL).append(", ").append(CENTER_POINT_SQL)
+                    .append(") / ").append(MILES_TO_METERS).append(" AS distance_miles");
+        }
+        sql.append(" FROM marketplace_listings ml");
+        appendPostgresFilters(sql, params, criteria, center);
+        if (after != null) {
+            appendPostgresKeyset(sql, params, after);
+        }
+        sql.append(" ORDER BY ").append(postgresOrderBy(criteria.sortBy(), center));
+        sql.append(" LIMIT :limit OFFSET :offset");
+        params.put("limit", criteria.limit() + 1); // one row of look-ahead for the next cursor
+        params.put("offset", criteria.offset());
 
-        Query query = entityManager.createNativeQuery(sql, Tuple.class);
-        query.setParameter("centerCityId", centerCityId);
-        query.setParameter("listingIds", listingIds);
+        Query query = entityManager.createNativeQuery(sql.toString(), Tuple.class);
+        params.forEach(query::setParameter);
 
         @SuppressWarnings("unchecked")
-        List<Tuple> results = query.getResultList();
+        List<Tuple> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return new ListingPage(List.of(), null);
+        }
+        boolean hasMore = rows.size() > criteria.limit();
+        if (hasMore) {
+            rows = rows.subList(0, criteria.limit());
+        }
 
+        List<UUID> ids = new ArrayList<>(rows.size());
         Map<UUID, Double> distanceMap = new HashMap<>();
-        for (Tuple tuple : results) {
-            UUID id = (UUID) tuple.get(0);
-            Double distance = ((Number) tuple.get(1)).doubleValue();
-            distanceMap.put(id, distance);
+        for (Tuple row : rows) {
+            UUID id = (UUID) row.get(0);
+            ids.add(id);
+            if (center != null) {
+                distanceMap.put(id, ((Number) row.get(1)).doubleValue());
+            }
         }
 
-        return distanceMap;
+        List<ListingSearchResultType> results = convertToSearchResults(loadListings(ids), distanceMap);
+        return new ListingPage(results, SearchCursor.next(results, criteria.sortBy(), hasMore));
     }
 
     /**
-     * Fallback: Searches listings using Postgres ILIKE queries (when Elasticsearch is unavailable).
+     * Appends the WHERE clause shared by Postgres search and count.
      *
-     * @param criteria
-     *            Search parameters
-     * @return List of search results
+     * @param center
+     *            radius search center, or null for non-geographic searches
      */
-    private List<ListingSearchResultType> searchWithPostgres(SearchCriteria criteria) {
-        // Build Panache query
-        StringBuilder hql = new StringBuilder("status = 'active'");
-        Parameters params = Parameters.with("status", "active");
+    private static void appendPostgresFilters(StringBuilder sql, Map<String, Object> params, SearchCriteria criteria,
+            GeoPoint center) {
+        sql.append(" WHERE ml.status = 'active'");
 
-        // Text search with ILIKE (slow but functional)
+        // Full-text search, with trigram word similarity on the title as typo tolerance
         if (criteria.isTextSearch()) {
-            String searchPattern = "%" + criteria.query().toLowerCase() + "%";
-            hql.append(" AND (LOWER(title) LIKE :query OR LOWER(description) LIKE :query)");
-            params.and("query", searchPattern);
+            sql.append(" AND (to_tsvector('english', ml.title || ' ' || ml.description)")
+                    .append(" @@ websearch_to_tsquery('english', :query) OR :query <% ml.title)");
+            params.put("query", criteria.query());
         }
 
-        // Category filter
         if (criteria.categoryId() != null) {
-            hql.append(" AND categoryId = :categoryId");
-            params.and("categoryId", criteria.categoryId());
+            sql.append(" AND ml.category_id = :categoryId");
+            params.put("categoryId", criteria.categoryId());
         }
-
-        // Price range filter
         if (criteria.minPrice() != null) {
-            hql.append(" AND price >= :minPrice");
-            params.and("minPrice", criteria.minPrice());
+            sql.append(" AND ml.price >= :minPrice");
+            params.put("minPrice", criteria.minPrice());
         }
         if (criteria.maxPrice() != null) {
-            hql.append(" AND price <= :maxPrice");
-            params.and("maxPrice", criteria.maxPrice());
+            sql.append(" AND ml.price <= :maxPrice");
+            params.put("maxPrice", criteria.maxPrice());
         }
-
-        // Date range filter
         if (criteria.minDate() != null) {
-            hql.append(" AND createdAt >= :minDate");
-            params.and("minDate", criteria.minDate());
+            sql.append(" AND ml.created_at >= :minDate");
+            params.put("minDate", criteria.minDate());
         }
         if (criteria.maxDate() != null) {
-            hql.append(" AND createdAt <= :maxDate");
-            params.and("maxDate", criteria.maxDate());
+            sql.append(" AND ml.created_at <= :maxDate");
+            params.put("maxDate", criteria.maxDate());
         }
 
-        // Build sort
-        Sort sort = buildPostgresSort(criteria);
-
-        // Execute query
-        PanacheQuery<MarketplaceListing> query = MarketplaceListing.find(hql.toString(), sort, params);
+        if (center != null) {
+            // Bounding box first so the (latitude, longitude) index narrows candidates before ST_DWithin
+            double latDelta = criteria.radiusMiles() / MILES_PER_DEGREE;
+            sql.append(" AND ml.latitude BETWEEN :minLat AND :maxLat");
+            params.put("minLat", center.latitude() - latDelta);
+            params.put("maxLat", center.latitude() + latDelta);
+
+            double cosLat = Math.cos(Math.toRadians(center.latitude()));
+            double lonDelta = cosLat > 0 ? latDelta / cosLat : 180;
+            if (center.longitude() - lonDelta > -180 && center.longitude() + lonDelta < 180) {
+                sql.append(" AND ml.longitude BETWEEN :minLon AND :maxLon");
+                params.put("minLon", center.longitude() - lonDelta);
+                params.put("maxLon", center.longitude() + lonDelta);
+            }
 
-        // If geographic search, fetch more results before PostGIS filtering
-        int fetchLimit = criteria.limit();
-        int fetchOffset = criteria.offset();
-        if (criteria.isGeographicSearch()) {
-            fetchLimit = MAX_ES_RESULTS_BEFORE_RADIUS_FILTER;
-            fetchOffset = 0;
+            sql.append(" AND ST_DWithin(").append(LISTING_POINT_SQL).append(", ").append(CENTER_POINT_SQL)
+                    .append(", :radiusMeters)");
+            params.put("centerLat", center.latitude());
+            params.put("centerLon", center.longitude());
+            params.put("radiusMeters", criteria.radiusMiles() * MILES_TO_METERS);
         }
+    }
 
-        List<MarketplaceListing> listings = query.page(fetchOffset / fetchLimit, fetchLimit).list();
-
-        // Phase 2: PostGIS radius filtering (if geographic search)
-        if (criteria.isGeographicSearch()) {
-            listings = filterByRadius(listings, criteria.geoCityId(), criteria.radiusMiles());
-
-            // Re-apply pagination
-            int startIndex = criteria.offset();
-            int endIndex = Math.min(startIndex + criteria.limit(), listings.size());
-
-            if (startIndex >= listings.size()) {
-                listings = List.of();
-            } else {
-                listings = listings.subList(startIndex, endIndex);
-            }
+    /**
+     * Appends the keyset condition: rows strictly after the cursor in the sort order of
+     * {@link #postgresOrderBy(String, GeoPoint)}.
+     */
+    private static void appendPostgresKeyset(StringBuilder sql, Map<String, Object> params, SearchCursor after) {
+        params.put("cursorId", after.id());
+        if ("newest".equals(after.sortBy())) {
+            sql.append(" AND (ml.created_at, ml.id) < (:cursorCreatedAt, :cursorId)");
+            params.put("cursorCreatedAt", after.createdAt());
+            return;
         }
 
-        return convertToSearchResults(listings, criteria);
+        String cmp = "price_asc".equals(after.sortBy()) ? ">" : "<";
+        if (after.price() == null) {
+            // Past the last priced listing: page through the unpriced tail by id
+            sql.append(" AND ml.price IS NULL AND ml.id ").append(cmp).append(" :cursorId");
+        } else {
+            sql.append(" AND (ml.price ").append(cmp).append(" :cursorPrice")
+                    .append(" OR (ml.price = :cursorPrice AND ml.id ").append(cmp).append(" :cursorId)")
+                    .append(" OR ml.price IS NULL)");
+            params.put("cursorPrice", after.price());
+        }
     }
 
     /**
-     * Builds Panache Sort for Postgres fallback queries.
+     * Builds the Postgres ORDER BY matching the Elasticsearch sort (same tie-breakers).
      */
-    private Sort buildPostgresSort(SearchCriteria criteria) {
-        String sortBy = criteria.sortBy();
-
-        // Distance sorting handled by PostGIS, use createdAt for Postgres phase
-        if ("distance".equals(sortBy)) {
-            sortBy = "newest";
+    private static String postgresOrderBy(String sortBy, GeoPoint center) {
+        if ("distance".equals(sortBy) && center != null) {
+            return "distance_miles ASC, ml.created_at DESC, ml.id DESC";
         }
-
         return switch (sortBy) {
-            case "price_asc" -> Sort.by("price").ascending();
-            case "price_desc" -> Sort.by("price").descending();
-            default -> Sort.by("createdAt").descending(); // newest (default)
+            case "price_asc" -> "ml.price ASC NULLS LAST, ml.id ASC";
+            case "price_desc" -> "ml.price DESC NULLS LAST, ml.id DESC";
+            default -> "ml.created_at DESC, ml.id DESC"; // newest (default)
         };
     }
 
@@ -584,77 +894,42 @@ public class MarketplaceSearchService {
     private long countWithElasticsearch(SearchCriteria criteria) {
         SearchSession searchSession = Search.session(entityManager);
 
-        return searchSession.search(MarketplaceListing.class).where(f -> {
-            var bool = f.bool();
-
-            // Always filter to active listings only
-            bool.must(f.match().field("status").matching("active"));
-
-            // Text search on title + description (if query provided)
-            if (criteria.isTextSearch()) {
-                bool.must(f.match().fields("title", "description").matching(criteria.query()).fuzzy(2));
-            }
-
-            // Category filter
-            if (criteria.categoryId() != null) {
-                bool.must(f.match().field("categoryId").matching(criteria.categoryId()));
-            }
-
-            // Price range filter
-            if (criteria.minPrice() != null || criteria.maxPrice() != null) {
-                bool.must(f.range().field("price").between(criteria.minPrice(), criteria.maxPrice()));
-            }
-
-            // Date range filter
-            if (criteria.minDate() != null || criteria.maxDate() != null) {
-                bool.must(f.range().field("createdAt").between(criteria.minDate(), criteria.maxDate()));
+        GeoPoint center = null;
+        if (criteria.isGeographicSearch()) {
+            center = resolveCenter(criteria.geoCityId());
+            if (center == null) {
+                return 0;
             }
+        }
 
-            return bool;
-        }).fetchTotalHitCount();
+        GeoPoint radiusCenter = center;
+        return searchSession.search(MarketplaceListing.class)
+                .where(f -> buildElasticsearchPredicate(f, criteria, radiusCenter, null)).fetchTotalHitCount();
     }
 
     /**
-     * Counts listings using Postgres (fallback).
+     * Counts listings using Postgres (fallback), with the same filters as {@link #searchWithPostgres(SearchCriteria)}.
      *
      * @param criteria
      *            Search parameters
      * @return Total count
      */
     private long countWithPostgres(SearchCriteria criteria) {
-        StringBuilder hql = new StringBuilder("status = 'active'");
-        Parameters params = Parameters.with("status", "active");
-
-        // Text search
-        if (criteria.isTextSearch()) {
-            String searchPattern = "%" + criteria.query().toLowerCase() + "%";
-            hql.append(" AND (LOWER(title) LIKE :query OR LOWER(description) LIKE :query)");
-            params.and("query", searchPattern);
+        GeoPoint center = null;
+        if (criteria.isGeographicSearch()) {
+            center = resolveCenter(criteria.geoCityId());
+            if (center == null) {
+                return 0;
+            }
         }
 
-        // Filters (same as searchWithPostgres)
-        if (criteria.categoryId() != null) {
-            hql.append(" AND categoryId = :categoryId");
-            params.and("categoryId", criteria.categoryId());
-        }
-        if (criteria.minPrice() != null) {
-            hql.append(" AND price >= :minPrice");
-            params.and("minPrice", criteria.minPrice());
-        }
-        if (criteria.maxPrice() != null) {
-            hql.append(" AND price <= :maxPrice");
-            params.and("maxPrice", criteria.maxPrice());
-        }
-        if (criteria.minDate() != null) {
-            hql.append(" AND createdAt >= :minDate");
-            params.and("minDate", criteria.minDate());
-        }
-        if (criteria.maxDate() != null) {
-            hql.append(" AND createdAt <= :maxDate");
-            params.and("maxDate", criteria.maxDate());
-        }
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM marketplace_listings ml");
+        appendPostgresFilters(sql, params, criteria, center);
 
-        return MarketplaceListing.count(hql.toString(), params);
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
     }
 
     /**
@@ -0,0 +1,191 @@
+package villagecompute.homepage.services;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.jboss.logging.Logger;
+import villagecompute.homepage.api.types.FlagType;
+import villagecompute.homepage.data.models.ListingFlag;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read model for the marketplace moderation queue (Feature F12.9).
+ *
+ * <p>
+ * A queue page used to cost {@code 2 + 3 * page size} statements: a count, the flag page, then the listing, flagger and
+ * reviewer of every flag. During a spam wave that made the admin queue unusable exactly when it was needed. This read
+ * model serves the same {@link FlagType} rows with a constant number of statements:
+ * <ul>
+ * <li>one query per page: flags of a status left-joined to their listing, flagger and reviewer</li>
+ * <li>one {@code GROUP BY status} query for the per-status counts</li>
+ * </ul>
+ *
+ * <p>
+ * <b>Pagination:</b> Pages are ordered newest first with the flag id as tie-breaker. A {@link QueueCursor} (returned as
+ * {@link QueuePage#nextCursor()}) continues strictly after the last flag of the previous page, so deep pages cost the
+ * same as the first one and flags reviewed between requests do not shift later pages. Offset pages are still accepted
+ * for the first page and for existing clients. The {@code idx_listing_flags_status_created_id} index covers the order.
+ *
+ * @see ModerationService for review actions
+ */
+@ApplicationScoped
+public class ModerationQueueService {
+
+    private static final Logger LOG = Logger.getLogger(ModerationQueueService.class);
+
+    private static final String JPQL_SELECT_FLAGS = """
+            SELECT f, l.title, l.status, u.email, r.email
+            FROM ListingFlag f
+            LEFT JOIN MarketplaceListing l ON l.id = f.listingId
+            LEFT JOIN User u ON u.id = f.userId
+            LEFT JOIN User r ON r.id = f.reviewedByUserId
+            """;
+
+    private static final String JPQL_ORDER = " ORDER BY f.createdAt DESC, f.id DESC";
+
+    @Inject
+    EntityManager entityManager;
+
+    /**
+     * One page of the moderation queue.
+     *
+     * @param flags
+     *            flags with listing and user details, newest first
+     * @param nextCursor
+     *            encoded cursor for the following page, or null if this is the last page
+     */
+    public record QueuePage(List<FlagType> flags, String nextCursor) {
+    }
+
+    /**
+     * Keyset position in the queue: the creation time and id of the last flag on a page.
+     *
+     * <p>
+     * Wire format: URL-safe base64 of {@code createdAt|id}, with created_at as an ISO-8601 instant.
+     *
+     * @param createdAt
+     *            creation time of the last flag
+     * @param id
+     *            id of the last flag (tie-breaker)
+     */
+    public record QueueCursor(Instant createdAt, UUID id) {
+
+        /**
+         * Decodes a cursor string.
+         *
+         * @param encoded
+         *            value produced by {@link #encode()}
+         * @return the cursor
+         * @throws IllegalArgumentException
+         *             if the cursor is malformed
+         */
+        public static QueueCursor decode(String encoded) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", -1);
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("cursor is invalid");
+                }
+                return new QueueCursor(Instant.parse(parts[0]), UUID.fromString(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("cursor is invalid", e);
+            }
+        }
+
+        /**
+         * Encodes this cursor for use as an opaque query parameter.
+         *
+         * @return URL-safe base64 string
+         */
+        public String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Returns one page of flags with a status, newest first.
+     *
+     * @param status
+     *            flag status (pending, approved, dismissed)
+     * @param cursor
+     *            encoded cursor from the previous page, or null to start at {@code offset}
+     * @param offset
+     *            rows to skip when no cursor is given
+     * @param limit
+     *            page size
+     * @return the page and the cursor for the next one
+     * @throws IllegalArgumentException
+     *             if the cursor is malformed
+     */
+    public QueuePage page(String status, String cursor, int offset, int limit) {
+        QueueCursor after = cursor != null && !cursor.isBlank() ? QueueCursor.decode(cursor) : null;
+
+        String jpql = JPQL_SELECT_FLAGS + " WHERE f.status = :status";
+        if (after != null) {
+            jpql += " AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id))";
+        }
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql + JPQL_ORDER, Object[].class)
+                .setParameter("status", status).setMaxResults(limit + 1);
+        if (after != null) {
+            query.setParameter("createdAt", after.createdAt()).setParameter("id", after.id());
+        } else {
+            query.setFirstResult(offset);
+        }
+
+        List<Object[]> rows = query.getResultList();
+        boolean hasMore = rows.size() > limit;
+        List<FlagType> flags = new ArrayList<>(Math.min(rows.size(), limit));
+        for (Object[] row : rows.subList(0, Math.min(rows.size(), limit))) {
+            flags.add(toFlagType(row));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            FlagType last = flags.get(flags.size() - 1);
+            nextCursor = new QueueCursor(last.createdAt(), last.id()).encode();
+        }
+        LOG.debugf("Loaded %d %s flags", flags.size(), status);
+        return new QueuePage(flags, nextCursor);
+    }
+
+    /**
+     * Returns a single flag with listing and user details.
+     *
+     * @param flagId
+     *            flag UUID
+     * @return the flag, or empty if not found
+     */
+    public Optional<FlagType> find(UUID flagId) {
+        return entityManager.createQuery(JPQL_SELECT_FLAGS + " WHERE f.id = :id", Object[].class)
+                .setParameter("id", flagId).getResultStream().findFirst().map(ModerationQueueService::toFlagType);
+    }
+
+    /**
+     * Counts flags per status with a single grouped query.
+     *
+     * @return flag count keyed by status (statuses without flags are absent)
+     */
+    public Map<String, Long> countsByStatus() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        entityManager.createQuery("SELECT f.status, COUNT(f) FROM ListingFlag f GROUP BY f.status ORDER BY f.status",
+                Object[].class).getResultList().forEach(row -> counts.put((String) row[0], (Long) row[1]));
+        return counts;
+    }
+
+    private static FlagType toFlagType(Object[] row) {
+        return FlagType.from((ListingFlag) row[0], (String) row[1], (String) row[2], (String) row[3],
+                (String) row[4]);
+    }
+}
@@ -0,0 +1,370 @@
+package villagecompute.homepage.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.qute.Escaper;
+import io.quarkus.qute.Location;
+import io.quarkus.qute.Template;
+import io.quarkus.qute.TemplateData;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+import villagecompute.homepage.data.models.EmailDeliveryLog;
+import villagecompute.homepage.data.models.User;
+import villagecompute.homepage.data.models.UserNotification;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batched digest pipeline for unread in-app notifications (Feature F14.3, I5.T3).
+ *
+ * <p>
+ * Replaces per-user {@link NotificationService#sendNotificationDigest(User, List)} calls for scheduled digests. Users
+ * are processed in keyset pages of {@code villagecompute.email.digest.page-size}; each page costs a fixed number of
+ * queries regardless of how many users or notifications it holds:
+ * <ol>
+ * <li>One native query selects the page's recipients: digest opt-in, email enabled, not bounced, not deleted, and at
+ * least one unread notification since the cutoff (preferences are filtered in SQL, never loaded per user)</li>
+ * <li>One query loads the page's users, one loads all their unread notifications</li>
+ * <li>Digests are rendered and their {@link EmailDeliveryLog} rows inserted with JDBC batching at commit</li>
+ * </ol>
+ * Each page commits in its own transaction together with its recipients' {@code last_digest_since} window marker, so a
+ * failure part-way through a run leaves earlier pages queued and a retry for the same window skips those recipients
+ * instead of sending them a second digest.
+ *
+ * <p>
+ * <b>Rendering:</b> The digest templates have a single (US English) variant. They are rendered once per run into a
+ * {@link DigestFrame} (once for a single unread notification and once for several, since the wording differs), with
+ * placeholders for the recipient's name, unread count, notification lines and unsubscribe link. Each digest then only
+ * substitutes those values, escaped for HTML where needed; the notification lines come from the templates'
+ * {@code item} fragment, also rendered once. Each digest lists at most {@link #MAX_ITEMS_PER_DIGEST} notifications,
+ * newest first, alongside the full unread count.
+ *
+ * <p>
+ * <b>Rate Limiting:</b> No per-user rate-limit check; the scheduler bounds digests to one per user per run.
+ * Notifications are not marked read by the digest.
+ *
+ * <p>
+ * <b>Metrics Emitted:</b>
+ * <ul>
+ * <li>{@code notifications.digest.queued.total} - digest emails queued</li>
+ * <li>{@code notifications.digest.pages.total} - recipient pages processed</li>
+ * </ul>
+ *
+ * @see villagecompute.homepage.jobs.NotificationDigestJobHandler
+ * @see villagecompute.homepage.jobs.EmailDeliveryJob for delivery of the queued digests
+ */
+@ApplicationScoped
+public class NotificationDigestService {
+
+    private static final Logger LOG = Logger.getLogger(NotificationDigestService.class);
+
+    /**
+     * Maximum notifications listed in one digest email.
+     */
+    static final int MAX_ITEMS_PER_DIGEST = 20;
+
+    private static final String TEMPLATE_NAME = "notification-digest";
+
+    private static final DateTimeFormatter DIGEST_DATE = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.US)
+            .withZone(ZoneOffset.UTC);
+
+    /**
+     * Keyset start; sorts before every UUID in PostgreSQL's byte-wise uuid ordering.
+     */
+    private static final UUID FIRST_USER_ID = new UUID(0L, 0L);
+
+    // Frame placeholders. NUL cannot occur in PostgreSQL text, so no stored value can collide with them, and the HTML
+    // escaper leaves them unchanged. The count is numeric because the templates compare it; no template text contains
+    // its digits.
+    private static final String USER_NAME_SLOT = "\0userName\0";
+    private static final long UNREAD_COUNT_SLOT = Long.MIN_VALUE;
+    private static final String UNSUBSCRIBE_URL_SLOT = "\0unsubscribeUrl\0";
+    private static final DigestItem ITEM_SLOT = new DigestItem("\0title\0", "\0message\0", "\0timeAgo\0");
+
+    /**
+     * Same replacements as Qute's HTML escaper, for values substituted into the pre-rendered HTML frame.
+     */
+    private static final Escaper HTML_ESCAPER = Escaper.builder().add('"', "&quot;").add('\'', "&#39;")
+            .add('&', "&amp;").add('<', "&lt;").add('>', "&gt;").build();
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    NotificationPreferencesService notificationPreferencesService;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    @Location("email/notification-digest.html")
+    Template notificationDigestHtml;
+
+    @Inject
+    @Location("email/notification-digest.txt")
+    Template notificationDigestTxt;
+
+    @ConfigProperty(
+            name = "email.notifications.base-url")
+    String baseUrl;
+
+    @ConfigProperty(
+            name = "villagecompute.email.digest.page-size",
+            defaultValue = "500")
+    int pageSize;
+
+    /**
+     * Outcome of a digest run.
+     *
+     * @param digests
+     *            digest emails queued
+     * @param notifications
+     *            unread notifications covered by the queued digests
+     * @param pages
+     *            recipient pages processed
+     */
+    public record DigestRun(int digests, int notifications, int pages) {
+    }
+
+    /**
+     * Notification line rendered by the digest templates.
+     *
+     * @param title
+     *            notification title
+     * @param message
+     *            notification message
+     * @param timeAgo
+     *            age relative to the digest run, e.g. "3 hours ago"
+     */
+    @TemplateData
+    public record DigestItem(String title, String message, String timeAgo) {
+    }
+
+    /**
+     * Digest body rendered once per run with placeholders in place of the per-recipient values.
+     *
+     * @param body
+     *            the whole email, with a single placeholder notification line
+     * @param item
+     *            the placeholder notification line as it appears in {@code body}
+     * @param escaper
+     *            escaping for substituted values, or null for plain text
+     */
+    private record DigestFrame(String body, String item, Escaper escaper) {
+
+        String fill(String userName, int unreadCount, List<DigestItem> items, String unsubscribeUrl) {
+            StringBuilder lines = new StringBuilder();
+            for (DigestItem line : items) {
+                lines.append(item.replace(ITEM_SLOT.title(), escape(line.title()))
+                        .replace(ITEM_SLOT.message(), escape(line.message()))
+                        .replace(ITEM_SLOT.timeAgo(), escape(line.timeAgo())));
+            }
+            return body.replace(item, lines).replace(USER_NAME_SLOT, escape(userName))
+                    .replace(Long.toString(UNREAD_COUNT_SLOT), Integer.toString(unreadCount))
+                    .replace(UNSUBSCRIBE_URL_SLOT, escape(unsubscribeUrl));
+        }
+
+        private String escape(String value) {
+            return escaper != null ? escaper.escape(value) : value;
+        }
+    }
+
+    /**
+     * Run-wide values and digest frames, computed once per run. Frames come in pairs: one unread notification, several.
+     */
+    private record RunContext(Instant now, Instant since, DigestFrame htmlOne, DigestFrame htmlMany,
+            DigestFrame textOne, DigestFrame textMany) {
+
+        DigestFrame html(int unreadCount) {
+            return unreadCount == 1 ? htmlOne : htmlMany;
+        }
+
+        DigestFrame text(int unreadCount) {
+            return unreadCount == 1 ? textOne : textMany;
+        }
+    }
+
+    private record Page(List<UUID> userIds, int digests, int notifications) {
+    }
+
+    /**
+     * Queues one digest email per opted-in user with unread notifications created at or after {@code since}.
+     * Users already sent a digest for this window (or a later one) are skipped, so re-running a failed run with the
+     * same {@code since} only queues the remaining users.
+     *
+     * @param since
+     *            oldest notification to include (e.g. one week ago for weekly digests)
+     * @return run outcome
+     */
+    public DigestRun sendDigests(Instant since) {
+        Instant now = Instant.now();
+        String date = DIGEST_DATE.format(now);
+        RunContext context = new RunContext(now, since, renderFrame(notificationDigestHtml, date, 1, HTML_ESCAPER),
+                renderFrame(notificationDigestHtml, date, UNREAD_COUNT_SLOT, HTML_ESCAPER),
+                renderFrame(notificationDigestTxt, date, 1, null),
+                renderFrame(notificationDigestTxt, date, UNREAD_COUNT_SLOT, null));
+        UUID after = FIRST_USER_ID;
+        int digests = 0;
+        int notifications = 0;
+        int pages = 0;
+
+        while (true) {
+            UUID cursor = after;
+            Page page = QuarkusTransaction.requiringNew().call(() -> digestPage(context, cursor));
+            if (page.userIds().isEmpty()) {
+                break;
+            }
+
+            pages++;
+            digests += page.digests();
+            notifications += page.notifications();
+            meterRegistry.counter("notifications.digest.pages.total").increment();
+            meterRegistry.counter("notifications.digest.queued.total").increment(page.digests());
+            LOG.debugf("Queued digest page %d (%d digests)", pages, page.digests());
+
+            if (page.userIds().size() < pageSize) {
+                break;
+            }
+            after = page.userIds().get(page.userIds().size() - 1);
+        }
+
+        return new DigestRun(digests, notifications, pages);
+    }
+
+    private Page digestPage(RunContext context, UUID after) {
+        List<UUID> userIds = findRecipientPage(context.since(), after);
+        if (userIds.isEmpty()) {
+            return new Page(userIds, 0, 0);
+        }
+
+        Map<UUID, User> users = User.<User>list("id IN ?1", userIds).stream()
+                .collect(Collectors.toMap(user -> user.id, Function.identity()));
+        Map<UUID, List<UserNotification>> unreadByUser = UserNotification
+                .<UserNotification>list("userId IN ?1 AND readAt IS NULL AND createdAt >= ?2 ORDER BY createdAt DESC",
+                        userIds, context.since())
+                .stream().collect(Collectors.groupingBy(notification -> notification.userId));
+
+        // Digest rows are flushed as JDBC batches at commit instead of one round trip per insert
+        entityManager.unwrap(Session.class).setJdbcBatchSize(pageSize);
+
+        List<UUID> sent = new ArrayList<>();
+        int notifications = 0;
+        for (UUID userId : userIds) {
+            User user = users.get(userId);
+            List<UserNotification> unread = unreadByUser.getOrDefault(userId, List.of());
+            if (user == null || unread.isEmpty()) {
+                continue; // Deleted, or notifications read between the two queries
+            }
+            try {
+                queueDigest(context, user, unread).persist();
+                sent.add(userId);
+                notifications += unread.size();
+            } catch (Exception e) {
+                LOG.errorf(e, "Failed to render notification digest for user %s", userId);
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            entityManager.createNativeQuery(
+                    "UPDATE notification_preferences SET last_digest_since = :since WHERE user_id IN (:userIds)")
+                    .setParameter("since", context.since()).setParameter("userIds", sent).executeUpdate();
+        }
+
+        return new Page(userIds, sent.size(), notifications);
+    }
+
+    private List<UUID> findRecipientPage(Instant since, UUID after) {
+        @SuppressWarnings("unchecked")
+        List<UUID> ids = entityManager.createNativeQuery("""
+                SELECT u.id FROM users u
+                JOIN notification_preferences p ON p.user_id = u.id
+                WHERE p.email_enabled AND p.email_digest
+                  AND NOT u.email_disabled AND NOT u.is_anonymous AND u.deleted_at IS NULL AND u.email IS NOT NULL
+                  AND (p.last_digest_since IS NULL OR p.last_digest_since < :since)
+                  AND u.id > :after
+                  AND EXISTS (
+                      SELECT 1 FROM user_notifications n
+                      WHERE n.user_id = u.id AND n.read_at IS NULL AND n.created_at >= :since)
+                ORDER BY u.id
+                LIMIT :limit
+                """, UUID.class).setParameter("after", after).setParameter("since", since)
+                .setParameter("limit", pageSize).getResultList();
+        return ids;
+    }
+
+    /**
+     * Renders a digest template once with placeholders for the per-recipient values.
+     *
+     * @param unreadCount
+     *            1 for the singular wording, or {@link #UNREAD_COUNT_SLOT} for the plural wording
+     */
+    private DigestFrame renderFrame(Template template, String date, Object unreadCount, Escaper escaper) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("userName", USER_NAME_SLOT);
+        data.put("unreadCount", unreadCount);
+        data.put("notifications", List.of(ITEM_SLOT));
+        data.put("date", date);
+        data.put("baseUrl", baseUrl);
+        data.put("notificationsUrl", baseUrl + "/notifications");
+        data.put("unsubscribeUrl", UNSUBSCRIBE_URL_SLOT);
+
+        String body = template.data(data).render();
+        String item = template.getFragment("item").data("notification", ITEM_SLOT).render();
+        if (!body.contains(item)) {
+            throw new IllegalStateException("Digest template item fragment not found in " + template.getId());
+        }
+        return new DigestFrame(body, item, escaper);
+    }
+
+    private EmailDeliveryLog queueDigest(RunContext context, User user, List<UserNotification> unread) {
+        String unsubscribeToken = notificationPreferencesService.generateUnsubscribeToken(user, "email_digest");
+        String unsubscribeUrl = baseUrl + "/api/notifications/unsubscribe?token=" + unsubscribeToken;
+        String userName = user.displayName != null ? user.displayName : "there";
+        List<DigestItem> items = unread.stream().limit(MAX_ITEMS_PER_DIGEST)
+                .map(n -> new DigestItem(n.title, n.message, timeAgo(n.createdAt, context.now()))).toList();
+
+        EmailDeliveryLog log = new EmailDeliveryLog();
+        log.userId = user.id;
+        log.emailAddress = user.email;
+        log.templateName = TEMPLATE_NAME;
+        log.subject = "You have " + unread.size() + " unread notification" + (unread.size() == 1 ? "" : "s");
+        log.htmlBody = context.html(unread.size()).fill(userName, unread.size(), items, unsubscribeUrl);
+        log.textBody = context.text(unread.size()).fill(userName, unread.size(), items, unsubscribeUrl);
+        log.status = EmailDeliveryLog.DeliveryStatus.QUEUED;
+        log.createdAt = context.now();
+        return log;
+    }
+
+    static String timeAgo(Instant createdAt, Instant now) {
+        Duration age = Duration.between(createdAt, now);
+        if (age.toDays() > 0) {
+            return plural(age.toDays(), "day");
+        }
+        if (age.toHours() > 0) {
+            return plural(age.toHours(), "hour");
+        }
+        if (age.toMinutes() > 0) {
+            return plural(age.toMinutes(), "minute");
+        }
+        return "just now";
+    }
+
+    private static String plural(long amount, String unit) {
+        return amount + " " + unit + (amount == 1 ? "" : "s") + " ago";
+    }
+}
@@ -1,5 +1,6 @@
 package villagecompute.homepage.services;
 
+import io.quarkus.arc.Arc;
 import io.quarkus.qute.Template;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -96,6 +97,9 @@ public class NotificationService {
     @Inject
     NotificationPreferencesService notificationPreferencesService;
 
+    @Inject
+    EntityLookup entityLookup;
+
     @ConfigProperty(
             name = "email.notifications.from")
     String fromEmail;
@@ -194,6 +198,24 @@ public class NotificationService {
     @io.quarkus.qute.Location("email/admin-flag-review.txt")
     Template adminFlagReviewTxt;
 
+    /**
+     * Loads the recipient of a listing or site notification.
+     *
+     * <p>
+     * Within a request this goes through {@link EntityLookup}, so a resource that notifies several owners loads each
+     * user once. Jobs run without a request context and load the user directly.
+     *
+     * @param userId
+     *            user UUID (may be null)
+     * @return the user, or null if the id is null or unknown
+     */
+    private User findRecipient(UUID userId) {
+        if (Arc.container().requestContext().isActive()) {
+            return entityLookup.user(userId).orElse(null);
+        }
+        return userId == null ? null : User.findById(userId);
+    }
+
     /**
      * Checks if email delivery is enabled for a user.
      *
@@ -293,7 +315,7 @@ public class NotificationService {
      */
     public void sendListingNewMessageEmail(MarketplaceListing listing, MarketplaceMessage message) {
         try {
-            User listingOwner = User.findById(listing.userId);
+            User listingOwner = findRecipient(listing.userId);
             if (listingOwner == null) {
                 LOG.errorf("User not found for listing %s", listing.id);
                 return;
@@ -367,7 +389,7 @@ public class NotificationService {
      */
     public void sendListingFlaggedEmail(MarketplaceListing listing, ListingFlag flag) {
         try {
-            User listingOwner = User.findById(listing.userId);
+            User listingOwner = findRecipient(listing.userId);
             if (listingOwner == null) {
                 LOG.errorf("User not found for listing %s", listing.id);
                 return;
@@ -430,7 +452,7 @@ public class NotificationService {
      */
     public void sendListingExpiredEmail(MarketplaceListing listing) {
         try {
-            User listingOwner = User.findById(listing.userId);
+            User listingOwner = findRecipient(listing.userId);
             if (listingOwner == null) {
                 LOG.errorf("User not found for listing %s", listing.id);
                 return;
@@ -493,7 +515,7 @@ public class NotificationService {
      */
     public void sendSiteApprovedEmail(DirectorySite site) {
         try {
-            User submitter = User.findById(site.submittedByUserId);
+            User submitter = findRecipient(site.submittedByUserId);
             if (submitter == null) {
                 LOG.errorf("User not found for site %s", site.id);
                 return;
@@ -572,7 +594,7 @@ public class NotificationService {
      */
     public void sendSiteRejectedEmail(DirectorySite site, String reason) {
         try {
-            User submitter = User.findById(site.submittedByUserId);
+            User submitter = findRecipient(site.submittedByUserId);
             if (submitter == null) {
                 LOG.errorf("User not found for site %s", site.id);
                 return;
@@ -738,7 +760,8 @@ public class NotificationService {
      * Sends daily digest of unread notifications to user.
      *
      * <p>
-     * Sends summary of all unread in-app notifications from the past 24 hours.
+     * Sends summary of all unread in-app notifications from the past 24 hours. Scheduled digests for the whole user
+     * base go through {@link NotificationDigestService}, which bulk-loads recipients per page instead.
      *
      * @param user
      *            the user to send digest to
@@ -0,0 +1,143 @@
+package villagecompute.homepage.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cache of rendered public profile pages ({@code /u/{username}}) (Feature F11).
+ *
+ * <p>
+ * Public profiles are read far more often than they are edited, so the rendered HTML is cached per profile and viewer
+ * variant, together with the profile id, owner and template the page was rendered with. A cache hit serves the page
+ * without loading the profile or its curated articles and without rendering a template.
+ *
+ * <p>
+ * <b>Viewer variants:</b> The profile templates only differ for the profile owner (edit controls); every other viewer,
+ * anonymous or signed in, gets the same page. Each profile therefore has at most two entries: the public page and the
+ * owner's page.
+ *
+ * <p>
+ * <b>Invalidation:</b> {@link ProfileService} calls {@link #invalidate(UUID)} from every mutator that changes what the
+ * page shows (profile fields, social links, template, publish state, curated articles). Entries are evicted immediately
+ * and again after the surrounding transaction commits, which drops pages re-cached by requests that ran during the
+ * transaction. A request that read the old profile before the commit but stores its page after the second eviction
+ * can still cache stale HTML; such an entry lives at most {@code villagecompute.profiles.page-cache.ttl}. The cache is
+ * per pod, so other pods pick up edits within the same TTL, which also bounds how stale the displayed view count can
+ * get.
+ *
+ * @see ProfileService
+ */
+@ApplicationScoped
+public class ProfilePageCache {
+
+    private static final Logger LOG = Logger.getLogger(ProfilePageCache.class);
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(
+            name = "villagecompute.profiles.page-cache.ttl",
+            defaultValue = "5m")
+    Duration ttl;
+
+    @ConfigProperty(
+            name = "villagecompute.profiles.page-cache.max-size",
+            defaultValue = "10000")
+    long maxSize;
+
+    private Cache<PageKey, RenderedPage> pages;
+
+    /**
+     * Cache key: normalized username and whether the page was rendered for the profile owner.
+     */
+    private record PageKey(String username, boolean ownerView) {
+    }
+
+    /**
+     * A rendered profile page.
+     *
+     * @param profileId
+     *            profile the page was rendered from
+     * @param ownerUserId
+     *            profile owner (decides which viewers get the owner variant)
+     * @param template
+     *            template the page was rendered with
+     * @param html
+     *            rendered HTML
+     */
+    public record RenderedPage(UUID profileId, UUID ownerUserId, String template, String html) {
+    }
+
+    @PostConstruct
+    void init() {
+        pages = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build();
+    }
+
+    /**
+     * Returns the cached page for a username and viewer variant, rendering and caching it on a miss.
+     *
+     * <p>
+     * Exceptions thrown by the renderer (e.g. profile not found or unpublished) propagate and nothing is cached.
+     *
+     * @param username
+     *            profile username (case-insensitive)
+     * @param ownerView
+     *            true for the page shown to the profile owner
+     * @param renderer
+     *            renders the page on a miss
+     * @return the rendered page
+     */
+    public RenderedPage get(String username, boolean ownerView, Supplier<RenderedPage> renderer) {
+        return pages.get(new PageKey(username.toLowerCase(Locale.ROOT), ownerView), key -> renderer.get());
+    }
+
+    /**
+     * Evicts all cached pages of a profile, now and again after the current transaction (if any) commits.
+     *
+     * @param profileId
+     *            profile UUID
+     */
+    public void invalidate(UUID profileId) {
+        evict(profileId);
+        if (transactionRegistry.getTransactionKey() != null) {
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        evict(profileId);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts every cached page.
+     */
+    public void invalidateAll() {
+        pages.invalidateAll();
+    }
+
+    private void evict(UUID profileId) {
+        if (pages.asMap().values().removeIf(page -> page.profileId().equals(profileId))) {
+            LOG.debugf("Evicted cached pages for profile %s", profileId);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.jboss.logging.Logger;
-import villagecompute.homepage.data.models.LinkClick;
 import villagecompute.homepage.data.models.ProfileCuratedArticle;
 import villagecompute.homepage.data.models.User;
 import villagecompute.homepage.data.models.UserProfile;
@@ -56,6 +55,12 @@ public class ProfileService {
     @Inject
     EmailNotificationService emailNotificationService;
 
+    @Inject
+    ProfileViewCounter viewCounter;
+
+    @Inject
+    ProfilePageCache pageCache;
+
     /**
      * Creates a new profile for a user.
      *
@@ -191,6 +196,7 @@ public class ProfileService {
 
         UserProfile profile = getProfile(profileId);
         profile.updateProfile(displayName, bio, locationText, websiteUrl, avatarUrl);
+        pageCache.invalidate(profileId);
 
         LOG.infof("Updated profile %s", profileId);
         return profile;
@@ -211,6 +217,7 @@ public class ProfileService {
     public UserProfile updateSocialLinks(UUID profileId, Map<String, Object> socialLinks) {
         UserProfile profile = getProfile(profileId);
         profile.updateSocialLinks(socialLinks);
+        pageCache.invalidate(profileId);
 
         LOG.infof("Updated social links for profile %s", profileId);
         return profile;
@@ -235,6 +242,7 @@ public class ProfileService {
     public UserProfile updateTemplate(UUID profileId, String template, Map<String, Object> templateConfig) {
         UserProfile profile = getProfile(profileId);
         profile.updateTemplate(template, templateConfig);
+        pageCache.invalidate(profileId);
 
         LOG.infof("Updated template for profile %s to: %s", profileId, template);
         return profile;
@@ -257,6 +265,7 @@ public class ProfileService {
     public UserProfile publishProfile(UUID profileId) {
         UserProfile profile = getProfile(profileId);
         profile.publish();
+        pageCache.invalidate(profileId);
 
         LOG.infof("Published profile %s (username: %s)", profileId, profile.username);
 
@@ -292,6 +301,7 @@ public class ProfileService {
     public UserProfile unpublishProfile(UUID profileId) {
         UserProfile profile = getProfile(profileId);
         profile.unpublish();
+        pageCache.invalidate(profileId);
 
         LOG.infof("Unpublished profile %s (username: %s)", profileId, profile.username);
 
@@ -311,11 +321,13 @@ public class ProfileService {
     }
 
     /**
-     * Increments view count for a profile and logs to link_clicks for analytics.
+     * Records a view of a profile for view count and link_clicks analytics.
      *
      * <p>
-     * Called when public profile page is accessed. View count is cached on user_profiles.view_count for fast reads;
-     * link_clicks table has full audit trail for analytics.
+     * Called when public profile page is accessed. The view is counted in memory by {@link ProfileViewCounter} and
+     * reaches user_profiles.view_count and link_clicks on its next flush (every few seconds), so a popular profile is
+     * not a hot row updated by every request. Repeat views by the same user or session within the dedupe window are
+     * not counted.
      *
      * @param profileId
      *            profile UUID
@@ -327,31 +339,13 @@ public class ProfileService {
      *            client IP address
      * @param userAgent
      *            client user agent
-     * @throws ResourceNotFoundException
-     *             if profile not found
+     * @return true if the view was counted, false if it was a repeat view
      */
-    @Transactional
-    public void incrementViewCount(UUID profileId, UUID userId, String sessionId, String ipAddress, String userAgent) {
-
-        UserProfile profile = getProfile(profileId);
-
-        // Increment cached view count
-        profile.incrementViewCount();
-
-        // Log to link_clicks for analytics (full audit trail)
-        LinkClick click = new LinkClick();
-        click.clickDate = java.time.LocalDate.now();
-        click.clickTimestamp = java.time.Instant.now();
-        click.clickType = "profile_view";
-        click.targetId = profileId;
-        click.userId = userId;
-        click.sessionId = sessionId;
-        click.ipAddress = ipAddress;
-        click.userAgent = userAgent;
-        click.createdAt = java.time.Instant.now();
-        click.persist();
-
-        LOG.debugf("Incremented view count for profile %s to %d", profileId, profile.viewCount);
+    public boolean incrementViewCount(UUID profileId, UUID userId, String sessionId, String ipAddress,
+            String userAgent) {
+        boolean counted = viewCounter.recordView(profileId, userId, sessionId, ipAddress, userAgent);
+        LOG.debugf("Recorded view for profile %s (counted: %s)", profileId, counted);
+        return counted;
     }
 
     /**
@@ -369,6 +363,7 @@ public class ProfileService {
     public void deleteProfile(UUID profileId) {
         UserProfile profile = getProfile(profileId);
         profile.softDelete();
+        pageCache.invalidate(profileId);
 
         LOG.infof("Soft-deleted profile %s (username: %s)", profileId, profile.username);
     }
@@ -435,6 +430,7 @@ public class ProfileService {
 
         ProfileCuratedArticle article = ProfileCuratedArticle.createFromFeedItem(profileId, feedItemId, originalUrl,
                 originalTitle, originalDescription, originalImageUrl);
+        pageCache.invalidate(profileId);
 
         LOG.infof("Added curated article %s to profile %s", article.id, profileId);
         return article;
@@ -471,6 +467,7 @@ public class ProfileService {
 
         ProfileCuratedArticle article = ProfileCuratedArticle.createManual(profileId, originalUrl, originalTitle,
                 originalDescription, originalImageUrl);
+        pageCache.invalidate(profileId);
 
         // Schedule metadata refresh job
         scheduleMetadataRefresh(article.id, originalUrl);
@@ -505,6 +502,7 @@ public class ProfileService {
 
         ProfileCuratedArticle article = articleOpt.get();
         article.updateCustomization(customHeadline, customBlurb, customImageUrl);
+        pageCache.invalidate(article.profileId);
 
         LOG.infof("Updated customization for article %s", articleId);
         return article;
@@ -527,6 +525,7 @@ public class ProfileService {
 
         ProfileCuratedArticle article = articleOpt.get();
         article.deactivate();
+        pageCache.invalidate(article.profileId);
 
         LOG.infof("Removed article %s from profile %s", articleId, article.profileId);
     }
@@ -587,6 +586,7 @@ public class ProfileService {
 
         // Update slot assignment
         article.updateSlotAssignment(slotAssignment);
+        pageCache.invalidate(profileId);
 
         LOG.infof("Assigned article %s to slot: template=%s, slot=%s", articleId, template, slotAssignment.get("slot"));
         return article;
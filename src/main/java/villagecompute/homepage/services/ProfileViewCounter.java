@@ -0,0 +1,233 @@
+package villagecompute.homepage.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+import villagecompute.homepage.data.models.LinkClick;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * In-memory profile view counters, flushed to {@code user_profiles.view_count} in batches (Feature F11).
+ *
+ * <p>
+ * Recording a view never touches the database: the profile's pending count is incremented in a
+ * {@link ConcurrentHashMap} and a {@code profile_view} audit event is appended to a bounded buffer.
+ * Every {@code villagecompute.profiles.views.flush-interval} the pending counts of all profiles are applied in one
+ * JDBC-batched {@code UPDATE ... SET view_count = view_count + ?} (rows in id order, so pods lock in the same order),
+ * and buffered audit events are inserted into {@code link_clicks} in one batched transaction. Counts are subtracted
+ * only after the update commits, so a failed flush is retried on the next run; profiles whose count drops to zero are
+ * removed, so the map only holds profiles viewed since the last flush.
+ *
+ * <p>
+ * <b>Dedupe:</b> A viewer (user id, or session for anonymous visitors) counts once per profile within
+ * {@code villagecompute.profiles.views.dedupe-window}; repeat views and page refreshes inside the window are neither
+ * counted nor audited.
+ *
+ * <p>
+ * <b>Durability:</b> Pending views and audit events are flushed on shutdown. A crash loses at most one flush interval
+ * of views. When the audit buffer is full (database unavailable for a long time), new audit events are dropped and
+ * logged; view counts are still recorded.
+ *
+ * @see ProfileService#incrementViewCount
+ */
+@ApplicationScoped
+public class ProfileViewCounter {
+
+    private static final Logger LOG = Logger.getLogger(ProfileViewCounter.class);
+
+    static final String CLICK_TYPE_PROFILE_VIEW = "profile_view";
+
+    private static final int AUDIT_BATCH_SIZE = 500;
+
+    @Inject
+    EntityManager entityManager;
+
+    @ConfigProperty(
+            name = "villagecompute.profiles.views.dedupe-window",
+            defaultValue = "30m")
+    Duration dedupeWindow;
+
+    @ConfigProperty(
+            name = "villagecompute.profiles.views.audit-buffer-size",
+            defaultValue = "10000")
+    int auditBufferSize;
+
+    /**
+     * Pending (unflushed) views per profile. Updated only with atomic per-key operations, so a view recorded while a
+     * flush removes the drained entry is never lost.
+     */
+    private final Map<UUID, Long> pendingViews = new ConcurrentHashMap<>();
+
+    private BlockingQueue<ViewEvent> auditBuffer;
+
+    /** (profile, viewer) pairs already counted within the dedupe window. */
+    private Cache<String, Boolean> recentViewers;
+
+    /**
+     * Buffered {@code profile_view} audit event.
+     */
+    private record ViewEvent(UUID profileId, UUID userId, String sessionId, String ipAddress, String userAgent,
+            Instant viewedAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        auditBuffer = new LinkedBlockingQueue<>(auditBufferSize);
+        recentViewers = Caffeine.newBuilder().expireAfterWrite(dedupeWindow).maximumSize(100_000).build();
+    }
+
+    /**
+     * Records a profile view in memory.
+     *
+     * @param profileId
+     *            viewed profile
+     * @param userId
+     *            viewing user (null if anonymous)
+     * @param sessionId
+     *            session identifier (dedupe key for anonymous viewers)
+     * @param ipAddress
+     *            client IP address
+     * @param userAgent
+     *            client user agent
+     * @return true if the view was counted, false if the viewer already viewed the profile within the dedupe window
+     */
+    public boolean recordView(UUID profileId, UUID userId, String sessionId, String ipAddress, String userAgent) {
+        String viewer = userId != null ? userId.toString() : sessionId;
+        if (viewer != null && recentViewers.asMap().putIfAbsent(profileId + ":" + viewer, Boolean.TRUE) != null) {
+            return false;
+        }
+
+        pendingViews.merge(profileId, 1L, Long::sum);
+        if (!auditBuffer.offer(new ViewEvent(profileId, userId, sessionId, ipAddress, userAgent, Instant.now()))) {
+            LOG.warnf("Profile view audit buffer full (%d events), dropping audit for profile %s", auditBufferSize,
+                    profileId);
+        }
+        return true;
+    }
+
+    /**
+     * Returns views recorded for a profile but not yet flushed.
+     *
+     * @param profileId
+     *            profile UUID
+     * @return pending view count
+     */
+    public long pendingViews(UUID profileId) {
+        return pendingViews.getOrDefault(profileId, 0L);
+    }
+
+    /**
+     * Returns the number of profiles with unflushed views.
+     *
+     * @return profiles held in the pending map
+     */
+    int pendingProfiles() {
+        return pendingViews.size();
+    }
+
+    /**
+     * Applies pending view counts to {@code user_profiles} and writes buffered audit events to {@code link_clicks}.
+     *
+     * @return number of profiles whose view count was updated
+     */
+    public int flush() {
+        int profiles = flushCounts();
+        flushAudit();
+        return profiles;
+    }
+
+    @Scheduled(
+            every = "${villagecompute.profiles.views.flush-interval:5s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledFlush() {
+        flush();
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        flush();
+    }
+
+    private int flushCounts() {
+        // Sorted by id so concurrent flushes from several pods lock rows in the same order
+        SortedMap<UUID, Long> deltas = new TreeMap<>(pendingViews);
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            QuarkusTransaction.requiringNew().run(() -> entityManager.unwrap(Session.class).doWork(connection -> {
+                try (PreparedStatement update = connection
+                        .prepareStatement("UPDATE user_profiles SET view_count = view_count + ? WHERE id = ?")) {
+                    for (Map.Entry<UUID, Long> delta : deltas.entrySet()) {
+                        update.setLong(1, delta.getValue());
+                        update.setObject(2, delta.getKey());
+                        update.addBatch();
+                    }
+                    update.executeBatch();
+                }
+            }));
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to flush view counts for %d profiles (retrying next flush)", deltas.size());
+            return 0;
+        }
+
+        deltas.forEach((profileId, views) -> pendingViews.computeIfPresent(profileId,
+                (id, pending) -> pending == views.longValue() ? null : pending - views));
+        LOG.debugf("Flushed view counts for %d profiles", deltas.size());
+        return deltas.size();
+    }
+
+    private void flushAudit() {
+        List<ViewEvent> events = new ArrayList<>();
+        auditBuffer.drainTo(events);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(AUDIT_BATCH_SIZE);
+                for (ViewEvent event : events) {
+                    LinkClick click = new LinkClick();
+                    click.clickDate = LocalDate.ofInstant(event.viewedAt(), ZoneId.systemDefault());
+                    click.clickTimestamp = event.viewedAt();
+                    click.clickType = CLICK_TYPE_PROFILE_VIEW;
+                    click.targetId = event.profileId();
+                    click.userId = event.userId();
+                    click.sessionId = event.sessionId();
+                    click.ipAddress = event.ipAddress();
+                    click.userAgent = event.userAgent();
+                    click.createdAt = event.viewedAt();
+                    click.persist();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Audit is best-effort; counts are flushed separately
+            LOG.errorf(e, "Failed to write %d profile view audit events", events.size());
+        }
+    }
+}
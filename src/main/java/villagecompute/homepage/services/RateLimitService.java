@@ -2,7 +2,6 @@ package villagecompute.homepage.services;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -19,7 +18,6 @@ import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -40,12 +38,12 @@ import java.util.concurrent.TimeUnit;
  * <ul>
  * <li>Configuration loaded from database and cached with Caffeine (10min TTL)</li>
  * <li>Sliding windows stored in-memory with Caffeine eviction aligned to rate windows</li>
- * <li>Violations persisted asynchronously to avoid blocking request threads</li>
+ * <li>Violations coalesced in memory and persisted in batches by {@link RateLimitViolationRecorder}</li>
  * <li>Backward compatible with legacy {@code check(key, rule)} method for auth flows</li>
  * </ul>
  *
  * <p>
- * <b>Thread Safety:</b> All caches and buckets are thread-safe. Violation persistence runs asynchronously.
+ * <b>Thread Safety:</b> All caches and buckets are thread-safe. Violation persistence runs on the scheduler thread.
  *
  * @see RateLimitConfig for configuration schema
  * @see RateLimitViolation for violation tracking
@@ -58,6 +56,9 @@ public class RateLimitService {
     @Inject
     ObservabilityMetrics observabilityMetrics;
 
+    @Inject
+    RateLimitViolationRecorder violationRecorder;
+
     /**
      * Cache for rate limit configurations (action_type:tier -> config). Expires after 10 minutes to balance performance
      * with config freshness.
@@ -344,19 +345,11 @@ public class RateLimitService {
     }
 
     /**
-     * Records a violation asynchronously to avoid blocking the request thread.
+     * Hands a violation to the {@link RateLimitViolationRecorder}, which coalesces denials and persists them in
+     * batches off the request thread.
      */
     private void recordViolationAsync(Long userId, String ipAddress, String actionType, String endpoint, String tier) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                QuarkusTransaction.requiringNew().run(() -> {
-                    RateLimitViolation.upsertViolation(userId, ipAddress, actionType, endpoint);
-                });
-            } catch (Exception e) {
-                LOG.errorf(e, "Failed to record rate limit violation: userId=%s ip=%s action=%s", userId, ipAddress,
-                        actionType);
-            }
-        });
+        violationRecorder.record(userId, ipAddress, actionType, endpoint);
     }
 
     /**
@@ -0,0 +1,270 @@
+package villagecompute.homepage.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+import villagecompute.homepage.data.models.RateLimitViolation;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces rate limit denials in memory and writes them to {@code rate_limit_violations} in batches (Policy P14).
+ *
+ * <p>
+ * Each denial used to start a task on the common ForkJoin pool that opened its own transaction to upsert one row. Under
+ * an attack that meant thousands of tiny transactions per second, and blocked JDBC calls starving the pool shared with
+ * every other {@code CompletableFuture} in the application. Recording a denial now only increments an in-memory entry
+ * per (user or IP, action, endpoint); every {@code villagecompute.rate-limit.violations.flush-interval} the scheduler
+ * thread applies all pending entries in one transaction:
+ * <ul>
+ * <li>one query loads the recent (24h) violation rows of all subjects in the batch</li>
+ * <li>matching rows get the aggregated count added; the rest are inserted with JDBC batching</li>
+ * </ul>
+ *
+ * <p>
+ * <b>Bounds:</b> At most {@code villagecompute.rate-limit.violations.max-pending} subjects are held between flushes.
+ * Further denials for subjects that are already pending are still counted; denials for new subjects are dropped and
+ * counted in {@code homepage_rate_limit_violations_dropped_total}. Rate limiting itself is unaffected, only the audit
+ * trail is. {@code homepage_rate_limit_violations_pending} exposes the current backlog.
+ *
+ * <p>
+ * <b>Durability:</b> A failed flush puts its entries back for the next run, and pending entries are flushed on
+ * shutdown. A crash loses at most one flush interval of violations.
+ *
+ * @see RateLimitService
+ * @see RateLimitViolation
+ */
+@ApplicationScoped
+public class RateLimitViolationRecorder {
+
+    private static final Logger LOG = Logger.getLogger(RateLimitViolationRecorder.class);
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(
+            name = "villagecompute.rate-limit.violations.max-pending",
+            defaultValue = "10000")
+    int maxPending;
+
+    private final Map<ViolationKey, PendingViolation> pending = new ConcurrentHashMap<>();
+
+    private Counter droppedCounter;
+
+    private Counter flushedCounter;
+
+    /**
+     * Aggregation key. The IP address is part of the key for anonymous subjects only; a signed-in user's violations are
+     * tracked per user, as in {@link RateLimitViolation#findRecentViolation}.
+     */
+    private record ViolationKey(Long userId, String ipAddress, String actionType, String endpoint) {
+    }
+
+    /**
+     * Denials of one key since the last flush. Only mutated inside {@link ConcurrentHashMap#compute}, so no field
+     * needs to be atomic and a removed entry is never changed again.
+     */
+    private static final class PendingViolation {
+        private String ipAddress;
+        private int count;
+        private Instant firstAt;
+        private Instant lastAt;
+
+        private void add(String ip, int violations, Instant first, Instant last) {
+            ipAddress = ip != null ? ip : ipAddress;
+            count += violations;
+            firstAt = firstAt == null || first.isBefore(firstAt) ? first : firstAt;
+            lastAt = lastAt == null || last.isAfter(lastAt) ? last : lastAt;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        droppedCounter = Counter.builder("homepage_rate_limit_violations_dropped_total")
+                .description("Rate limit denials not recorded because the pending violation buffer was full")
+                .register(registry);
+        flushedCounter = Counter.builder("homepage_rate_limit_violations_flushed_total")
+                .description("Rate limit denials written to rate_limit_violations").register(registry);
+        Gauge.builder("homepage_rate_limit_violations_pending", pending, Map::size)
+                .description("Subjects with rate limit denials waiting to be flushed").register(registry);
+    }
+
+    /**
+     * Records one denial in memory.
+     *
+     * @param userId
+     *            user ID (nullable for anonymous)
+     * @param ipAddress
+     *            source IP
+     * @param actionType
+     *            action identifier
+     * @param endpoint
+     *            HTTP endpoint path
+     * @return true if the denial was recorded, false if it was dropped because the buffer is full
+     */
+    public boolean record(Long userId, String ipAddress, String actionType, String endpoint) {
+        Instant now = Instant.now();
+        ViolationKey key = new ViolationKey(userId, userId == null ? ipAddress : null, actionType, endpoint);
+        if (!merge(key, ipAddress, 1, now, now)) {
+            droppedCounter.increment();
+            LOG.debugf("Violation buffer full (%d subjects), dropping: userId=%s ip=%s action=%s", maxPending, userId,
+                    ipAddress, actionType);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of subjects with unflushed denials.
+     *
+     * @return pending entry count
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes all pending denials to {@code rate_limit_violations}.
+     *
+     * @return number of denials written
+     */
+    public int flush() {
+        int written = 0;
+        List<Map.Entry<ViolationKey, PendingViolation>> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+        for (ViolationKey key : List.copyOf(pending.keySet())) {
+            PendingViolation violation = pending.remove(key);
+            if (violation != null) {
+                batch.add(Map.entry(key, violation));
+            }
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                written += flushBatch(batch);
+                batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            written += flushBatch(batch);
+        }
+        return written;
+    }
+
+    @Scheduled(
+            every = "${villagecompute.rate-limit.violations.flush-interval:5s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledFlush() {
+        flush();
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        flush();
+    }
+
+    private boolean merge(ViolationKey key, String ipAddress, int count, Instant firstAt, Instant lastAt) {
+        // compute() makes the size check and the insert atomic per key; the size itself is approximate under races
+        return pending.compute(key, (k, existing) -> {
+            if (existing == null && pending.size() >= maxPending) {
+                return null;
+            }
+            PendingViolation violation = existing != null ? existing : new PendingViolation();
+            violation.add(ipAddress, count, firstAt, lastAt);
+            return violation;
+        }) != null;
+    }
+
+    private int flushBatch(List<Map.Entry<ViolationKey, PendingViolation>> batch) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> applyBatch(batch));
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to record %d rate limit violation subjects (retrying next flush)", batch.size());
+            int requeued = 0;
+            for (Map.Entry<ViolationKey, PendingViolation> entry : batch) {
+                PendingViolation violation = entry.getValue();
+                if (merge(entry.getKey(), violation.ipAddress, violation.count, violation.firstAt, violation.lastAt)) {
+                    requeued++;
+                } else {
+                    droppedCounter.increment(violation.count);
+                }
+            }
+            LOG.debugf("Requeued %d of %d violation subjects", requeued, batch.size());
+            return 0;
+        }
+
+        int written = batch.stream().mapToInt(entry -> entry.getValue().count).sum();
+        flushedCounter.increment(written);
+        LOG.debugf("Recorded %d rate limit violations for %d subjects", written, batch.size());
+        return written;
+    }
+
+    private void applyBatch(List<Map.Entry<ViolationKey, PendingViolation>> batch) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(FLUSH_BATCH_SIZE);
+
+        Set<Long> userIds = new HashSet<>();
+        Set<String> ipAddresses = new HashSet<>();
+        for (Map.Entry<ViolationKey, PendingViolation> entry : batch) {
+            if (entry.getKey().userId() != null) {
+                userIds.add(entry.getKey().userId());
+            } else if (entry.getKey().ipAddress() != null) {
+                ipAddresses.add(entry.getKey().ipAddress());
+            }
+        }
+
+        // Most recent row per subject and action, as RateLimitViolation.findRecentViolation would pick
+        Map<String, RateLimitViolation> recent = new HashMap<>();
+        for (RateLimitViolation row : RateLimitViolation.findRecentForSubjects(userIds, ipAddresses)) {
+            recent.putIfAbsent(subjectKey(row.userId, row.ipAddress, row.actionType), row);
+        }
+
+        for (Map.Entry<ViolationKey, PendingViolation> entry : batch) {
+            ViolationKey key = entry.getKey();
+            PendingViolation violation = entry.getValue();
+            String subject = subjectKey(key.userId(), key.ipAddress(), key.actionType());
+            RateLimitViolation row = recent.get(subject);
+            if (row != null) {
+                row.violationCount += violation.count;
+                row.lastViolationAt = violation.lastAt.isAfter(row.lastViolationAt) ? violation.lastAt
+                        : row.lastViolationAt;
+            } else {
+                row = new RateLimitViolation();
+                row.id = UUID.randomUUID();
+                row.userId = key.userId();
+                row.ipAddress = violation.ipAddress;
+                row.actionType = key.actionType();
+                row.endpoint = key.endpoint();
+                row.violationCount = violation.count;
+                row.firstViolationAt = violation.firstAt;
+                row.lastViolationAt = violation.lastAt;
+                row.persist();
+                recent.put(subject, row);
+            }
+        }
+    }
+
+    private static String subjectKey(Long userId, String ipAddress, String actionType) {
+        String subject = userId != null ? "u:" + userId : "ip:" + Objects.toString(ipAddress, "");
+        return subject + "|" + actionType;
+    }
+}
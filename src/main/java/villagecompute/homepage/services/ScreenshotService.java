@@ -1,32 +1,28 @@
 package villagecompute.homepage.services;
 
-import java.util.List;
-import java.util.concurrent.Semaphore;
-
 import org.jboss.logging.Logger;
 
-import com.ruiyun.jvppeteer.api.core.Browser;
-import com.ruiyun.jvppeteer.api.core.Page;
-import com.ruiyun.jvppeteer.cdp.core.Puppeteer;
 import com.ruiyun.jvppeteer.cdp.entities.ImageType;
-import com.ruiyun.jvppeteer.cdp.entities.LaunchOptions;
 import com.ruiyun.jvppeteer.cdp.entities.ScreenshotOptions;
 import com.ruiyun.jvppeteer.cdp.entities.Viewport;
 import com.ruiyun.jvppeteer.cdp.entities.WaitForOptions;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 /**
  * Screenshot capture service with browser pool management.
  *
  * <p>
- * Implements Policy P12: Screenshot Queue Concurrency Limits. Uses a semaphore to limit concurrent browser instances to
- * 3 maximum per pod, preventing memory exhaustion.
+ * Implements Policy P12: Screenshot Queue Concurrency Limits. Captures run against long-lived browsers from
+ * {@link BrowserPool}, which limits concurrent captures to 3 per pod and isolates each capture in its own browser
+ * context.
  * </p>
  *
  * <p>
  * <b>Browser Pool Configuration:</b>
  * <ul>
- * <li>Max concurrent browsers: 3 (enforced via semaphore)</li>
+ * <li>Max concurrent browsers: 3 (enforced by {@link BrowserPool})</li>
+ * <li>Browsers recycled after 50 captures or on crash</li>
  * <li>Browser launch timeout: 30 seconds</li>
  * <li>Page load timeout: 30 seconds</li>
  * <li>Network idle timeout: 10 seconds (best-effort)</li>
@@ -37,10 +33,10 @@ import jakarta.enterprise.context.ApplicationScoped;
  * <p>
  * <b>Performance Characteristics:</b>
  * <ul>
- * <li>Browser launch: ~2-3 seconds</li>
+ * <li>Browser launch: ~2-3 seconds (amortized across pooled captures)</li>
  * <li>Page load: 5-15 seconds (depends on site complexity)</li>
  * <li>Screenshot capture: <1 second</li>
- * <li>Total duration: 10-20 seconds per capture</li>
+ * <li>Total duration: 5-15 seconds per capture with a warm pool</li>
  * </ul>
  * </p>
  *
@@ -60,16 +56,13 @@ public class ScreenshotService {
     private static final Logger LOG = Logger.getLogger(ScreenshotService.class);
 
     /**
-     * Policy P12: Max 3 concurrent screenshot captures per pod.
-     *
-     * <p>
-     * This semaphore prevents memory exhaustion by limiting browser instances. Each browser consumes ~200-300 MB.
-     * </p>
+     * Policy P12: Pooled browsers, max 3 concurrent screenshot captures per pod.
      */
-    private final Semaphore browserSemaphore = new Semaphore(3);
+    @Inject
+    BrowserPool browserPool;
 
     /**
-     * Captures screenshot of URL with browser pooling and semaphore-limited concurrency.
+     * Captures screenshot of URL in an isolated context on a pooled browser.
      *
      * @param url
      *            Target URL to capture
@@ -81,67 +74,47 @@ public class ScreenshotService {
      * @throws ScreenshotCaptureException
      *             on timeout, network error, or other capture failure
      * @throws InterruptedException
-     *             if thread is interrupted while waiting for semaphore
+     *             if thread is interrupted while waiting for a pool permit
      */
     public byte[] captureScreenshot(String url, int viewportWidth, int viewportHeight) throws InterruptedException {
+        try {
+            return browserPool.withPage(page -> {
+                LOG.infof("Capturing screenshot (url=%s, viewport=%dx%d)", url, viewportWidth, viewportHeight);
 
-        // Acquire semaphore slot (blocks if 3 browsers already active)
-        boolean acquired = browserSemaphore.tryAcquire();
-        if (!acquired) {
-            LOG.warnf("Browser pool exhausted, waiting for slot (url=%s)", url);
-            browserSemaphore.acquire(); // Block until slot available
-        }
+                // Set viewport size for consistent screenshots
+                Viewport viewport = new Viewport();
+                viewport.setWidth(viewportWidth);
+                viewport.setHeight(viewportHeight);
+                page.setViewport(viewport);
 
-        Browser browser = null;
-        try {
-            LOG.infof("Launching browser for screenshot (url=%s, viewport=%dx%d)", url, viewportWidth, viewportHeight);
-
-            // Launch headless Chromium with memory-optimized flags
-            LaunchOptions launchOptions = LaunchOptions.builder().headless(true).timeout(30000)
-                    .args(List.of("--no-sandbox", // Required for containerized environments
-                            "--disable-setuid-sandbox", // Required for non-root users
-                            "--disable-dev-shm-usage", // Reduce memory usage in Docker
-                            "--disable-gpu", // Not needed for headless
-                            "--no-first-run", // Skip first-run wizard
-                            "--no-default-browser-check" // Skip default browser check
-                    )).build();
-
-            browser = Puppeteer.launch(launchOptions);
-            Page page = browser.newPage();
-
-            // Set viewport size for consistent screenshots
-            Viewport viewport = new Viewport();
-            viewport.setWidth(viewportWidth);
-            viewport.setHeight(viewportHeight);
-            page.setViewport(viewport);
-
-            // Navigate to URL with 30-second timeout
-            page.goTo(url);
-
-            // Wait for network idle (or timeout after 10 seconds)
-            // This ensures dynamic content (JS-rendered) is loaded
-            try {
-                WaitForOptions waitOptions = new WaitForOptions();
-                waitOptions.setTimeout(10000);
-                page.waitForNavigation(waitOptions);
-            } catch (Exception e) {
-                // Network idle timeout is best-effort, capture anyway
-                LOG.warnf("Network idle timeout for %s, capturing current state", url);
-            }
+                // Navigate to URL with 30-second timeout
+                page.goTo(url);
 
-            // Capture screenshot (PNG format)
-            ScreenshotOptions screenshotOptions = new ScreenshotOptions();
-            screenshotOptions.setFullPage(false); // Capture viewport only (not entire scrollable page)
-            screenshotOptions.setType(ImageType.PNG); // PNG format (will be converted to WebP by StorageGateway)
+                // Wait for network idle (or timeout after 10 seconds)
+                // This ensures dynamic content (JS-rendered) is loaded
+                try {
+                    WaitForOptions waitOptions = new WaitForOptions();
+                    waitOptions.setTimeout(10000);
+                    page.waitForNavigation(waitOptions);
+                } catch (Exception e) {
+                    // Network idle timeout is best-effort, capture anyway
+                    LOG.warnf("Network idle timeout for %s, capturing current state", url);
+                }
 
-            String screenshotBase64 = page.screenshot(screenshotOptions);
-            byte[] screenshotBytes = java.util.Base64.getDecoder().decode(screenshotBase64);
+                // Capture screenshot (PNG format)
+                ScreenshotOptions screenshotOptions = new ScreenshotOptions();
+                screenshotOptions.setFullPage(false); // Capture viewport only (not entire scrollable page)
+                screenshotOptions.setType(ImageType.PNG); // PNG format (will be converted to WebP by StorageGateway)
 
-            LOG.infof("Screenshot captured successfully: %d bytes (url=%s)", screenshotBytes.length, url);
+                String screenshotBase64 = page.screenshot(screenshotOptions);
+                byte[] screenshotBytes = java.util.Base64.getDecoder().decode(screenshotBase64);
 
-            page.close();
-            return screenshotBytes;
+                LOG.infof("Screenshot captured successfully: %d bytes (url=%s)", screenshotBytes.length, url);
+                return screenshotBytes;
+            });
 
+        } catch (InterruptedException e) {
+            throw e;
         } catch (Exception e) {
             // Wrap all exceptions in ScreenshotCaptureException for consistent error handling
             String errorType = e.getClass().getSimpleName();
@@ -154,17 +127,6 @@ public class ScreenshotService {
             } else {
                 throw new ScreenshotCaptureException("Screenshot capture failed: " + url, e);
             }
-        } finally {
-            // Critical: Always close browser and release semaphore, even on exception
-            if (browser != null) {
-                try {
-                    browser.close();
-                } catch (Exception e) {
-                    LOG.errorf(e, "Failed to close browser (url=%s)", url);
-                }
-            }
-            browserSemaphore.release();
-            LOG.debugf("Browser semaphore released (available=%d)", browserSemaphore.availablePermits());
         }
     }
 
@@ -172,13 +134,13 @@ public class ScreenshotService {
      * Gets the number of available browser slots.
      *
      * <p>
-     * Used for monitoring and debugging. Should return 3 when idle.
+     * Used for monitoring and debugging. Should return the pool size (3 by default) when idle.
      * </p>
      *
-     * @return Number of available semaphore permits
+     * @return Number of available browser pool permits
      */
     public int getAvailableBrowserSlots() {
-        return browserSemaphore.availablePermits();
+        return browserPool.getAvailablePermits();
     }
 
     /**
@@ -4,35 +4,61 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
-import io.quarkus.qute.Location;
-import io.quarkus.qute.Template;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import villagecompute.homepage.api.types.SitemapUrlType;
-import villagecompute.homepage.data.models.DirectoryCategory;
-import villagecompute.homepage.data.models.DirectorySite;
-import villagecompute.homepage.data.models.MarketplaceListing;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Service for generating and uploading SEO sitemap XML files.
  * <p>
  * Generates sitemaps.org-compliant XML sitemaps for all public content (directory categories, approved sites, active
- * marketplace listings). Automatically splits into multiple files if URL count exceeds 50,000 per protocol limits.
- * Uploads to Cloudflare R2 for CDN delivery.
+ * marketplace listings). Uploads to Cloudflare R2 for CDN delivery.
+ * <p>
+ * <b>Streaming, Sharded Generation:</b> {@link #generateAndUploadSitemaps()} never loads entities. It pages through
+ * {@code (id, updatedAt)} projections and writes gzip-compressed shards ({@code sitemap-*.xml.gz}) one at a time, then
+ * publishes {@code sitemap.xml} as a sitemap index. Peak memory is one compressed shard.
+ * <ul>
+ * <li><b>pages</b> shard: homepage + active directory categories</li>
+ * <li><b>sites</b> / <b>listings</b> shards: UUID key ranges. The shard count is the smallest power of two that keeps
+ * the average shard at or below 25,000 URLs, so random UUIDs keep every shard well under the 50,000 URL protocol
+ * limit.</li>
+ * </ul>
+ * <p>
+ * <b>Incremental Regeneration:</b> Each shard stores the SHA-256 of its uncompressed XML in object metadata. A shard
+ * is only uploaded when its hash differs, so a new or expired listing rewrites one listings shard rather than the whole
+ * sitemap. Range sharding keeps membership stable; only a power-of-two change in shard count reshuffles a section.
  * <p>
  * <b>URL Priority Strategy:</b>
  * <ul>
@@ -58,8 +84,6 @@ import java.util.Map;
  * <li>User profiles (private)</li>
  * <li>Admin pages</li>
  * </ul>
- *
- * @see SitemapUrlType
  */
 @ApplicationScoped
 public class SitemapGenerationService {
@@ -67,6 +91,48 @@ public class SitemapGenerationService {
     private static final Logger LOG = Logger.getLogger(SitemapGenerationService.class);
 
     private static final int MAX_URLS_PER_SITEMAP = 50000;
+
+    /**
+     * Average URLs per range shard used to size sections. Half the protocol limit leaves headroom for uneven UUID
+     * distribution and growth between runs.
+     */
+    static final int TARGET_URLS_PER_SHARD = 25000;
+
+    /**
+     * Projection rows fetched per keyset page while streaming a shard.
+     */
+    static final int PAGE_SIZE = 1000;
+
+    private static final int MAX_SHARDS_PER_SECTION = 1 << 16;
+    private static final String OBJECT_PREFIX = "sitemaps/";
+    private static final String INDEX_FILENAME = "sitemap.xml";
+    private static final String METADATA_CONTENT_HASH = "content-sha256";
+    private static final String METADATA_GENERATED_AT = "generated-at";
+
+    /**
+     * A UUID-range-sharded sitemap section.
+     *
+     * @param name
+     *            shard filename segment
+     * @param entity
+     *            JPQL entity name
+     * @param filter
+     *            JPQL predicate on alias {@code e} (may reference {@code :now})
+     * @param path
+     *            URL path prefix before the id
+     * @param changeFreq
+     *            sitemap changefreq
+     * @param priority
+     *            sitemap priority
+     */
+    record Section(String name, String entity, String filter, String path, String changeFreq, double priority) {
+    }
+
+    static final Section SITES_SECTION = new Section("sites", "DirectorySite", "e.status = 'approved'",
+            "/directory/sites/", "monthly", 0.7);
+
+    static final Section LISTINGS_SECTION = new Section("listings", "MarketplaceListing",
+            "e.status = 'active' AND e.expiresAt > :now", "/marketplace/listings/", "daily", 0.6);
     private static final DateTimeFormatter ISO_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd")
             .withZone(ZoneId.of("UTC"));
 
@@ -89,299 +155,346 @@ public class SitemapGenerationService {
     MeterRegistry meterRegistry;
 
     @Inject
-    Tracer tracer;
+    EntityManager entityManager;
 
     @Inject
-    @Location("sitemap/sitemap.xml")
-    Template sitemapTemplate;
-
-    @Inject
-    @Location("sitemap/sitemap-index.xml")
-    Template sitemapIndexTemplate;
+    Tracer tracer;
 
     /**
-     * Queries all public URLs from the database.
+     * Streams all public URLs into gzip sitemap shards and publishes the sitemap index.
      * <p>
-     * Includes:
-     * <ul>
-     * <li>Homepage</li>
-     * <li>All active directory categories</li>
-     * <li>All approved directory sites</li>
-     * <li>All active, non-expired marketplace listings</li>
-     * </ul>
+     * Shards whose content is unchanged since the last run are skipped, as is the index when no shard was added or
+     * changed. Shards are uploaded as soon as they are written, before the next shard is queried.
      *
-     * @return List of sitemap URLs sorted by priority DESC
+     * @return CDN URLs of the files uploaded in this run (empty if nothing changed)
      */
-    public List<SitemapUrlType> getSitemapUrls() {
-        Span span = tracer.spanBuilder("sitemap.get_urls").startSpan();
+    public List<String> generateAndUploadSitemaps() {
+        Span span = tracer.spanBuilder("sitemap.generate_and_upload_all").startSpan();
+
+        Timer.Sample timer = Timer.start(meterRegistry);
 
         try (var scope = span.makeCurrent()) {
-            List<SitemapUrlType> urls = new ArrayList<>();
-
-            // 1. Homepage (highest priority)
-            urls.add(new SitemapUrlType(baseUrl, formatDate(Instant.now()), "daily", 1.0));
-
-            // 2. Directory categories (high traffic)
-            List<DirectoryCategory> categories = DirectoryCategory.findActive();
-            LOG.infof("Found %d active directory categories", categories.size());
-            for (DirectoryCategory category : categories) {
-                String url = baseUrl + "/directory/" + category.slug;
-                String lastMod = formatDate(category.updatedAt);
-                urls.add(new SitemapUrlType(url, lastMod, "weekly", 0.8));
+            Instant now = Instant.now();
+            List<String> uploadedUrls = new ArrayList<>();
+            List<String[]> indexEntries = new ArrayList<>();
+            long totalUrls = 0;
+
+            // 1. Homepage + categories (small, single shard)
+            List<Object[]> categories = QuarkusTransaction.requiringNew()
+                    .call(() -> entityManager.createQuery(
+                            "SELECT c.slug, c.updatedAt FROM DirectoryCategory c WHERE c.isActive = true "
+                                    + "ORDER BY c.sortOrder",
+                            Object[].class).getResultList());
+            // Homepage lastmod follows the newest category so the pages shard hash only changes with its content
+            Instant homepageModified = categories.stream().map(row -> (Instant) row[1])
+                    .filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null);
+            ShardWriter pages = new ShardWriter();
+            pages.url(baseUrl, formatDate(homepageModified), "daily", 1.0);
+            for (Object[] row : categories) {
+                pages.url(baseUrl + "/directory/" + row[0], formatDate((Instant) row[1]), "weekly", 0.8);
             }
+            totalUrls += publishShard("sitemap-pages.xml.gz", pages, indexEntries, uploadedUrls);
 
-            // 3. Directory sites (approved only)
-            List<DirectorySite> sites = DirectorySite.findByStatus("approved");
-            LOG.infof("Found %d approved directory sites", sites.size());
-            for (DirectorySite site : sites) {
-                String url = baseUrl + "/directory/sites/" + site.id.toString();
-                String lastMod = formatDate(site.updatedAt);
-                urls.add(new SitemapUrlType(url, lastMod, "monthly", 0.7));
+            // 2. UUID-range sharded sections
+            for (Section section : List.of(SITES_SECTION, LISTINGS_SECTION)) {
+                totalUrls += streamSection(section, now, indexEntries, uploadedUrls);
             }
 
-            // 4. Marketplace listings (active only, non-expired)
-            List<MarketplaceListing> listings = MarketplaceListing
-                    .find("status = 'active' AND expiresAt > CURRENT_TIMESTAMP ORDER BY updatedAt DESC").list();
-            LOG.infof("Found %d active marketplace listings", listings.size());
-            for (MarketplaceListing listing : listings) {
-                String url = baseUrl + "/marketplace/listings/" + listing.id.toString();
-                String lastMod = formatDate(listing.updatedAt);
-                urls.add(new SitemapUrlType(url, lastMod, "daily", 0.6));
+            // 3. Sitemap index (uploaded only if shard set or shard lastmods changed)
+            StringBuilder index = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+            for (String[] entry : indexEntries) {
+                index.append("  <sitemap>\n    <loc>").append(xmlEscape(cdnUrl + "/" + OBJECT_PREFIX + entry[0]))
+                        .append("</loc>\n    <lastmod>").append(entry[1]).append("</lastmod>\n  </sitemap>\n");
+            }
+            index.append("</sitemapindex>\n");
+            byte[] indexBytes = index.toString().getBytes(StandardCharsets.UTF_8);
+            if (putIfChanged(INDEX_FILENAME, indexBytes, sha256Hex(indexBytes), "application/xml").uploaded()) {
+                uploadedUrls.add(cdnUrl + "/" + OBJECT_PREFIX + INDEX_FILENAME);
             }
 
-            // Sort by priority DESC (highest priority first)
-            urls.sort(Comparator.comparingDouble(SitemapUrlType::priority).reversed());
-
-            span.setAttribute("total_urls", urls.size());
-            span.setAttribute("categories", categories.size());
-            span.setAttribute("sites", sites.size());
-            span.setAttribute("listings", listings.size());
-
-            LOG.infof("Generated %d total sitemap URLs", urls.size());
+            span.setAttribute("total_urls", totalUrls);
+            span.setAttribute("sitemap_count", indexEntries.size());
+            span.setAttribute("files_uploaded", uploadedUrls.size());
+            meterRegistry.counter("sitemap.urls.total").increment(totalUrls);
 
-            meterRegistry.counter("sitemap.urls.total").increment(urls.size());
+            LOG.infof("Sitemap generation complete: %d URLs in %d shards, %d files uploaded", totalUrls,
+                    indexEntries.size(), uploadedUrls.size());
 
-            return urls;
+            return uploadedUrls;
 
         } catch (Exception e) {
             span.recordException(e);
-            LOG.errorf(e, "Failed to query sitemap URLs: %s", e.getMessage());
-            throw new RuntimeException("Failed to query sitemap URLs", e);
+            LOG.errorf(e, "Failed to generate and upload sitemaps: %s", e.getMessage());
+            throw new RuntimeException("Failed to generate and upload sitemaps", e);
 
         } finally {
+            timer.stop(meterRegistry.timer("sitemap.generation.duration"));
             span.end();
         }
     }
 
     /**
-     * Generates a single sitemap XML file from a list of URLs.
+     * Writes and publishes every range shard of a section.
      *
-     * @param urls
-     *            List of sitemap URLs (max 50,000)
-     * @return Sitemap XML string
+     * @return number of URLs in the section
      */
-    public String generateSitemap(List<SitemapUrlType> urls) {
-        if (urls.size() > MAX_URLS_PER_SITEMAP) {
-            throw new IllegalArgumentException(
-                    "URL count exceeds sitemap limit: " + urls.size() + " > " + MAX_URLS_PER_SITEMAP);
-        }
-
-        Span span = tracer.spanBuilder("sitemap.generate").setAttribute("url_count", urls.size()).startSpan();
-
-        try (var scope = span.makeCurrent()) {
-            String xml = sitemapTemplate.data("urls", urls).render();
-
-            // Basic XML validation
-            if (!xml.startsWith("<?xml") || !xml.contains("<urlset")) {
-                throw new RuntimeException("Generated XML is invalid");
+    private long streamSection(Section section, Instant now, List<String[]> indexEntries, List<String> uploadedUrls) {
+        long count = QuarkusTransaction.requiringNew().call(() -> {
+            TypedQuery<Long> query = entityManager.createQuery(
+                    "SELECT COUNT(e) FROM " + section.entity() + " e WHERE " + section.filter(), Long.class);
+            if (section.filter().contains(":now")) {
+                query.setParameter("now", now);
             }
+            return query.getSingleResult();
+        });
+        int shardCount = shardCountFor(count);
+
+        LOG.infof("Streaming %d %s URLs into %d shards", count, section.name(), shardCount);
+
+        long written = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            UUID lower = shardLowerBound(shard, shardCount);
+            UUID upper = shard + 1 < shardCount ? shardLowerBound(shard + 1, shardCount) : null;
+
+            ShardWriter writer = new ShardWriter();
+            UUID after = null;
+            List<Object[]> page;
+            do {
+                page = fetchPage(section, now, lower, upper, after);
+                for (Object[] row : page) {
+                    writer.url(baseUrl + section.path() + row[0], formatDate((Instant) row[1]),
+                            section.changeFreq(), section.priority());
+                }
+                if (!page.isEmpty()) {
+                    after = (UUID) page.get(page.size() - 1)[0];
+                }
+            } while (page.size() == PAGE_SIZE);
 
-            LOG.infof("Generated sitemap XML with %d URLs (%d bytes)", urls.size(), xml.length());
-
-            return xml;
-
-        } catch (Exception e) {
-            span.recordException(e);
-            LOG.errorf(e, "Failed to generate sitemap XML: %s", e.getMessage());
-            throw new RuntimeException("Failed to generate sitemap XML", e);
-
-        } finally {
-            span.end();
+            String filename = "sitemap-" + section.name() + "-" + (shard + 1) + ".xml.gz";
+            written += publishShard(filename, writer, indexEntries, uploadedUrls);
         }
+        return written;
     }
 
     /**
-     * Generates a sitemap index XML file referencing multiple sitemap files.
-     *
-     * @param sitemapUrls
-     *            List of CDN URLs for individual sitemap files
-     * @return Sitemap index XML string
+     * Fetches one keyset page of {@code (id, updatedAt)} within {@code [lower, upper)}, after {@code after}.
      */
-    public String generateSitemapIndex(List<String> sitemapUrls) {
-        Span span = tracer.spanBuilder("sitemap.generate_index").setAttribute("sitemap_count", sitemapUrls.size())
-                .startSpan();
-
-        try (var scope = span.makeCurrent()) {
-            String now = formatDate(Instant.now());
-            String xml = sitemapIndexTemplate.data("sitemapUrls", sitemapUrls).data("now", now).render();
+    private List<Object[]> fetchPage(Section section, Instant now, UUID lower, UUID upper, UUID after) {
+        StringBuilder jpql = new StringBuilder("SELECT e.id, e.updatedAt FROM ").append(section.entity())
+                .append(" e WHERE ").append(section.filter());
+        if (after != null) {
+            jpql.append(" AND e.id > :after");
+        } else if (lower != null) {
+            jpql.append(" AND e.id >= :lower");
+        }
+        if (upper != null) {
+            jpql.append(" AND e.id < :upper");
+        }
+        jpql.append(" ORDER BY e.id");
 
-            // Basic XML validation
-            if (!xml.startsWith("<?xml") || !xml.contains("<sitemapindex")) {
-                throw new RuntimeException("Generated sitemap index XML is invalid");
+        return QuarkusTransaction.requiringNew().call(() -> {
+            TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+                    .setMaxResults(PAGE_SIZE);
+            if (section.filter().contains(":now")) {
+                query.setParameter("now", now);
             }
-
-            LOG.infof("Generated sitemap index XML with %d sitemap files (%d bytes)", sitemapUrls.size(), xml.length());
-
-            return xml;
-
-        } catch (Exception e) {
-            span.recordException(e);
-            LOG.errorf(e, "Failed to generate sitemap index XML: %s", e.getMessage());
-            throw new RuntimeException("Failed to generate sitemap index XML", e);
-
-        } finally {
-            span.end();
-        }
+            if (after != null) {
+                query.setParameter("after", after);
+            } else if (lower != null) {
+                query.setParameter("lower", lower);
+            }
+            if (upper != null) {
+                query.setParameter("upper", upper);
+            }
+            return query.getResultList();
+        });
     }
 
     /**
-     * Uploads a sitemap XML file to R2 storage.
+     * Finishes a shard, uploads it if its content changed and records it for the index.
      *
-     * @param xml
-     *            Sitemap XML content
-     * @param filename
-     *            Object key (e.g., "sitemap.xml", "sitemap-1.xml")
+     * @return number of URLs in the shard
      */
-    public void uploadSitemap(String xml, String filename) {
-        Span span = tracer.spanBuilder("sitemap.upload").setAttribute("filename", filename)
-                .setAttribute("size_bytes", xml.length()).startSpan();
-
-        Timer.Sample timer = Timer.start(meterRegistry);
-
-        try (var scope = span.makeCurrent()) {
-            byte[] xmlBytes = xml.getBytes(StandardCharsets.UTF_8);
-            String objectKey = "sitemaps/" + filename;
+    private int publishShard(String filename, ShardWriter writer, List<String[]> indexEntries,
+            List<String> uploadedUrls) {
+        byte[] gzipped = writer.finish();
+
+        Published published = putIfChanged(filename, gzipped, writer.contentHash(), "application/gzip");
+        if (published.uploaded()) {
+            uploadedUrls.add(cdnUrl + "/" + OBJECT_PREFIX + filename);
+            meterRegistry.counter("sitemap.files.generated").increment();
+        } else {
+            meterRegistry.counter("sitemap.files.unchanged").increment();
+        }
 
-            // Build metadata
-            Map<String, String> metadata = Map.of("content-type", "application/xml", "generated-at",
-                    Instant.now().toString());
+        indexEntries.add(new String[]{filename, formatDate(published.generatedAt())});
+        LOG.debugf("Sitemap shard %s: %d URLs, %d bytes gzipped", filename, writer.urlCount(), gzipped.length);
+        return writer.urlCount();
+    }
 
-            PutObjectRequest putRequest = PutObjectRequest.builder().bucket(listingsBucketName).key(objectKey)
-                    .contentType("application/xml").metadata(metadata).build();
+    /**
+     * Outcome of publishing one sitemap object.
+     *
+     * @param uploaded
+     *            true if the object was written in this run
+     * @param generatedAt
+     *            when the current content was generated (used as the index lastmod)
+     */
+    private record Published(boolean uploaded, Instant generatedAt) {
+    }
 
-            s3Client.putObject(putRequest, RequestBody.fromBytes(xmlBytes));
+    /**
+     * Uploads {@code bytes} unless the stored object already has the same content hash.
+     */
+    private Published putIfChanged(String filename, byte[] bytes, String contentHash, String contentType) {
+        String objectKey = OBJECT_PREFIX + filename;
+        Instant now = Instant.now();
+
+        Map<String, String> existing = storedMetadata(objectKey);
+        if (existing != null && contentHash.equals(existing.get(METADATA_CONTENT_HASH))) {
+            LOG.debugf("Sitemap %s unchanged, skipping upload", filename);
+            String generatedAt = existing.get(METADATA_GENERATED_AT);
+            return new Published(false, generatedAt != null ? Instant.parse(generatedAt) : now);
+        }
 
-            String cdnUrlFull = cdnUrl + "/" + objectKey;
-            LOG.infof("Uploaded sitemap to %s (%d bytes)", cdnUrlFull, xmlBytes.length);
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("content-type", contentType);
+        metadata.put(METADATA_GENERATED_AT, now.toString());
+        metadata.put(METADATA_CONTENT_HASH, contentHash);
 
-            span.setAttribute("upload_success", true);
-            span.setAttribute("cdn_url", cdnUrlFull);
+        PutObjectRequest putRequest = PutObjectRequest.builder().bucket(listingsBucketName).key(objectKey)
+                .contentType(contentType).metadata(metadata).build();
+        s3Client.putObject(putRequest, RequestBody.fromBytes(bytes));
 
-            meterRegistry.counter("sitemap.upload.success").increment();
-            meterRegistry.counter("sitemap.upload.size_bytes").increment(xmlBytes.length);
+        LOG.infof("Uploaded sitemap to %s/%s (%d bytes)", cdnUrl, objectKey, bytes.length);
+        meterRegistry.counter("sitemap.upload.success").increment();
+        meterRegistry.counter("sitemap.upload.size_bytes").increment(bytes.length);
+        return new Published(true, now);
+    }
 
+    /**
+     * Returns user metadata of an existing sitemap object, or null if it does not exist or cannot be read.
+     */
+    private Map<String, String> storedMetadata(String objectKey) {
+        try {
+            HeadObjectResponse head = s3Client
+                    .headObject(HeadObjectRequest.builder().bucket(listingsBucketName).key(objectKey).build());
+            return head != null ? head.metadata() : null;
+        } catch (NoSuchKeyException e) {
+            return null;
         } catch (Exception e) {
-            span.recordException(e);
-            span.setAttribute("upload_success", false);
-            LOG.errorf(e, "Failed to upload sitemap %s: %s", filename, e.getMessage());
-            meterRegistry.counter("sitemap.upload.failure").increment();
-            throw new RuntimeException("Failed to upload sitemap: " + e.getMessage(), e);
-
-        } finally {
-            timer.stop(meterRegistry.timer("sitemap.upload.duration"));
-            span.end();
+            LOG.debugf("Could not read metadata for %s, regenerating: %s", objectKey, e.getMessage());
+            return null;
         }
     }
 
     /**
-     * Generates and uploads sitemaps for all public content.
-     * <p>
-     * If total URLs < 50,000: Generates single sitemap.xml and uploads to R2 If total URLs >= 50,000: Splits into
-     * multiple sitemap files (sitemap-1.xml, sitemap-2.xml, etc.), generates sitemap index, uploads all files
-     *
-     * @return List of CDN URLs for uploaded sitemap files
+     * Number of range shards for a section: the smallest power of two keeping the average shard at or below
+     * {@link #TARGET_URLS_PER_SHARD}.
      */
-    public List<String> generateAndUploadSitemaps() {
-        Span span = tracer.spanBuilder("sitemap.generate_and_upload_all").startSpan();
-
-        Timer.Sample timer = Timer.start(meterRegistry);
-
-        try (var scope = span.makeCurrent()) {
-            // 1. Query all public URLs
-            List<SitemapUrlType> allUrls = getSitemapUrls();
-            int totalUrls = allUrls.size();
+    static int shardCountFor(long urlCount) {
+        long needed = Math.max(1, (urlCount + TARGET_URLS_PER_SHARD - 1) / TARGET_URLS_PER_SHARD);
+        if (needed > MAX_SHARDS_PER_SECTION) {
+            throw new IllegalStateException("Sitemap section too large: " + urlCount + " URLs");
+        }
+        return needed == 1 ? 1 : Integer.highestOneBit((int) needed - 1) << 1;
+    }
 
-            span.setAttribute("total_urls", totalUrls);
+    /**
+     * Inclusive lower UUID bound of a range shard, or null for the first shard. Shards split the UUID space evenly by
+     * leading bits, matching PostgreSQL's unsigned byte-wise uuid ordering.
+     */
+    static UUID shardLowerBound(int shard, int shardCount) {
+        if (shard == 0) {
+            return null;
+        }
+        int bits = Integer.numberOfTrailingZeros(shardCount);
+        return new UUID((long) shard << (64 - bits), 0L);
+    }
 
-            if (totalUrls == 0) {
-                LOG.warn("No public URLs found for sitemap generation");
-                return List.of();
+    /**
+     * Streams {@code <url>} entries into a gzip buffer while hashing the uncompressed XML.
+     */
+    static final class ShardWriter {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final MessageDigest digest = newSha256();
+        private final Writer writer;
+        private int urlCount;
+
+        ShardWriter() {
+            try {
+                writer = new OutputStreamWriter(new DigestOutputStream(new GZIPOutputStream(buffer), digest),
+                        StandardCharsets.UTF_8);
+                writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                        + "<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+        }
 
-            List<String> uploadedUrls = new ArrayList<>();
-
-            // 2. If URLs fit in single sitemap, generate and upload
-            if (totalUrls <= MAX_URLS_PER_SITEMAP) {
-                String xml = generateSitemap(allUrls);
-                uploadSitemap(xml, "sitemap.xml");
-                String cdnUrl = this.cdnUrl + "/sitemaps/sitemap.xml";
-                uploadedUrls.add(cdnUrl);
-
-                span.setAttribute("sitemap_count", 1);
-                span.setAttribute("split", false);
-
-                LOG.infof("Uploaded single sitemap with %d URLs", totalUrls);
-
-                meterRegistry.counter("sitemap.files.generated").increment();
-
-            } else {
-                // 3. Split into multiple sitemaps
-                int chunks = (int) Math.ceil((double) totalUrls / MAX_URLS_PER_SITEMAP);
-                span.setAttribute("sitemap_count", chunks);
-                span.setAttribute("split", true);
-
-                LOG.infof("Splitting %d URLs into %d sitemap files", totalUrls, chunks);
-
-                List<String> sitemapCdnUrls = new ArrayList<>();
-
-                for (int i = 0; i < chunks; i++) {
-                    int fromIndex = i * MAX_URLS_PER_SITEMAP;
-                    int toIndex = Math.min(fromIndex + MAX_URLS_PER_SITEMAP, totalUrls);
-                    List<SitemapUrlType> chunk = allUrls.subList(fromIndex, toIndex);
-
-                    String xml = generateSitemap(chunk);
-                    String filename = "sitemap-" + (i + 1) + ".xml";
-                    uploadSitemap(xml, filename);
-
-                    String cdnUrl = this.cdnUrl + "/sitemaps/" + filename;
-                    sitemapCdnUrls.add(cdnUrl);
-
-                    LOG.infof("Uploaded sitemap %s with %d URLs", filename, chunk.size());
-
-                    meterRegistry.counter("sitemap.files.generated").increment();
+        void url(String location, String lastModified, String changeFreq, double priority) {
+            if (urlCount >= MAX_URLS_PER_SITEMAP) {
+                throw new IllegalStateException("Sitemap shard exceeds " + MAX_URLS_PER_SITEMAP + " URLs");
+            }
+            try {
+                writer.write("  <url>\n    <loc>");
+                writer.write(xmlEscape(location));
+                writer.write("</loc>\n");
+                if (lastModified != null) {
+                    writer.write("    <lastmod>" + lastModified + "</lastmod>\n");
                 }
+                writer.write("    <changefreq>" + changeFreq + "</changefreq>\n");
+                writer.write("    <priority>" + priority + "</priority>\n  </url>\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            urlCount++;
+        }
 
-                // 4. Generate and upload sitemap index
-                String indexXml = generateSitemapIndex(sitemapCdnUrls);
-                uploadSitemap(indexXml, "sitemap.xml");
-                uploadedUrls.add(this.cdnUrl + "/sitemaps/sitemap.xml");
-
-                LOG.infof("Uploaded sitemap index referencing %d sitemap files", sitemapCdnUrls.size());
+        /**
+         * Closes the XML document and returns the gzip-compressed bytes.
+         */
+        byte[] finish() {
+            try {
+                writer.write("</urlset>\n");
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+            return buffer.toByteArray();
+        }
 
-            return uploadedUrls;
+        /**
+         * SHA-256 of the uncompressed XML. Only valid after {@link #finish()}.
+         */
+        String contentHash() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
 
-        } catch (Exception e) {
-            span.recordException(e);
-            LOG.errorf(e, "Failed to generate and upload sitemaps: %s", e.getMessage());
-            throw new RuntimeException("Failed to generate and upload sitemaps", e);
+        int urlCount() {
+            return urlCount;
+        }
+    }
 
-        } finally {
-            timer.stop(meterRegistry.timer("sitemap.generation.duration"));
-            span.end();
+    private static String sha256Hex(byte[] bytes) {
+        return HexFormat.of().formatHex(newSha256().digest(bytes));
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
+    private static String xmlEscape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;")
+                .replace("'", "&apos;");
+    }
+
     /**
      * Formats an Instant as ISO 8601 date (YYYY-MM-DD) for sitemap lastmod field.
      *
@@ -390,6 +503,6 @@ public class SitemapGenerationService {
      * @return ISO 8601 date string
      */
     private String formatDate(Instant instant) {
-        return ISO_DATE_FORMATTER.format(instant);
+        return instant != null ? ISO_DATE_FORMATTER.format(instant) : null;
     }
 }
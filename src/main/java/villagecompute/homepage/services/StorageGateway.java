@@ -7,13 +7,23 @@ import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
@@ -29,18 +39,28 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
@@ -56,6 +76,9 @@ import villagecompute.homepage.api.types.StorageUploadResultType;
  * prod), with support for:
  * <ul>
  * <li>WebP conversion with thumbnail/full variants (Policy P4)</li>
+ * <li>Decode-once multi-variant uploads with parallel encoding ({@link #uploadImageVariants})</li>
+ * <li>Streaming uploads/downloads with S3 multipart upload for large objects ({@link #uploadStream},
+ * {@link #uploadFile}, {@link #downloadStream}, {@link #downloadToFile})</li>
  * <li>Signed URL generation with TTL-based access control</li>
  * <li>Bucket prefixing strategy for screenshots, listings, profiles</li>
  * <li>Retention metadata mapping for indefinite storage (Policy P4)</li>
@@ -111,6 +134,11 @@ public class StorageGateway {
             name = "villagecompute.storage.buckets.gdpr-exports")
     String gdprExportsBucket;
 
+    @ConfigProperty(
+            name = "villagecompute.storage.multipart.part-size-mb",
+            defaultValue = "8")
+    int multipartPartSizeMb;
+
     @ConfigProperty(
             name = "villagecompute.storage.webp.quality")
     Integer webpQuality;
@@ -192,7 +220,7 @@ public class StorageGateway {
                     .contentType("image/webp") // Target format after conversion
                     .metadata(metadata).build();
 
-            s3Client.putObject(putRequest, RequestBody.fromBytes(processedBytes));
+            s3Client.putObject(putRequest, bytesBody(processedBytes, processedBytes.length, "image/webp"));
 
             long latencyMs = System.currentTimeMillis() - startTime;
 
@@ -228,6 +256,107 @@ public class StorageGateway {
         }
     }
 
+    /**
+     * Uploads several WebP variants of one image, decoding the original only once.
+     *
+     * <p>
+     * {@link #upload} decodes the original bytes on every call, so producing thumbnail/list/full variants of a large
+     * phone photo decoded it three times. This method decodes once, renders variants largest-first so each smaller
+     * variant is downscaled from the previous (already reduced) raster instead of the full-resolution original, then
+     * encodes and uploads all variants in parallel.
+     *
+     * <p>
+     * Object keys, metadata, metrics and letterboxing match {@link #upload} for each variant. If any variant fails,
+     * the first failure is rethrown after in-flight uploads finish; variants already stored are overwritten on retry
+     * because keys are deterministic.
+     *
+     * @param bucket
+     *            target bucket (screenshots, listings, profiles)
+     * @param entityId
+     *            entity identifier (site_id, listing_id, user_id)
+     * @param variants
+     *            resized variants to produce ("thumbnail", "list", "full")
+     * @param originalBytes
+     *            raw image bytes
+     * @param originalContentType
+     *            original MIME type (e.g., "image/jpeg")
+     * @return upload results keyed by variant, in the order requested
+     * @throws RuntimeException
+     *             if decoding, encoding or any upload fails
+     */
+    public Map<String, StorageUploadResultType> uploadImageVariants(BucketType bucket, String entityId,
+            List<String> variants, byte[] originalBytes, String originalContentType) {
+        Span span = tracer.spanBuilder("storage.upload_variants").setAttribute("bucket", bucket.name())
+                .setAttribute("entity_id", entityId).setAttribute("variant_count", variants.size())
+                .setAttribute("size_bytes", originalBytes.length).startSpan();
+
+        long startTime = System.currentTimeMillis();
+
+        try (Scope scope = span.makeCurrent()) {
+            BufferedImage original = decodeImage(originalBytes);
+            Map<String, BufferedImage> rasters = renderVariants(original, variants);
+
+            LOG.debugf("Rendered %d variants from %dx%d original in %dms", rasters.size(), original.getWidth(),
+                    original.getHeight(), System.currentTimeMillis() - startTime);
+
+            Map<String, Future<StorageUploadResultType>> pending = new LinkedHashMap<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (String variant : variants) {
+                    BufferedImage raster = rasters.get(variant);
+                    pending.put(variant, executor.submit(Context.current().wrap(() -> encodeAndPut(bucket, entityId,
+                            variant, raster, originalBytes.length, originalContentType))));
+                }
+            }
+
+            Map<String, StorageUploadResultType> results = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<StorageUploadResultType>> entry : pending.entrySet()) {
+                results.put(entry.getKey(), entry.getValue().get());
+            }
+
+            LOG.infof("Uploaded %d variants for %s/%s (%dms)", results.size(), bucket, entityId,
+                    System.currentTimeMillis() - startTime);
+            span.setAttribute("upload_success", true);
+
+            return results;
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            span.recordException(cause);
+            span.setAttribute("upload_success", false);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Storage upload failed: " + cause.getMessage(), cause);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            span.recordException(e);
+            span.setAttribute("upload_success", false);
+            throw new RuntimeException("Storage upload interrupted", e);
+
+        } catch (IOException e) {
+            span.recordException(e);
+            span.setAttribute("upload_success", false);
+            LOG.errorf(e, "Failed to read image for %s/%s: %s", bucket, entityId, e.getMessage());
+            throw new RuntimeException("Image processing failed: " + e.getMessage(), e);
+
+        } catch (OutOfMemoryError e) {
+            span.recordException(e);
+            span.setAttribute("upload_success", false);
+            LOG.errorf(e, "Image too large to process (OOM): %d bytes", originalBytes.length);
+            throw new RuntimeException("Image too large to process", e);
+
+        } catch (RuntimeException e) {
+            span.recordException(e);
+            span.setAttribute("upload_success", false);
+            LOG.errorf(e, "Failed to upload variants to %s/%s: %s", bucket, entityId, e.getMessage());
+            throw e;
+
+        } finally {
+            span.end();
+        }
+    }
+
     /**
      * Downloads file from bucket by object key.
      *
@@ -254,7 +383,8 @@ public class StorageGateway {
 
             GetObjectRequest getRequest = GetObjectRequest.builder().bucket(bucketName).key(objectKey).build();
 
-            byte[] bytes = s3Client.getObjectAsBytes(getRequest).asByteArray();
+            // The response buffer is not shared, so hand it out directly instead of copying it
+            byte[] bytes = s3Client.getObjectAsBytes(getRequest).asByteArrayUnsafe();
 
             long latencyMs = System.currentTimeMillis() - startTime;
 
@@ -289,6 +419,166 @@ public class StorageGateway {
         }
     }
 
+    /**
+     * Uploads a stream as-is (no image conversion) without buffering the whole object on heap.
+     *
+     * <p>
+     * The stream is read one part at a time into a single reusable buffer of
+     * {@code villagecompute.storage.multipart.part-size-mb} (default 8 MB, S3 minimum 5 MB). Objects that fit in one
+     * part are stored with a single PUT; larger objects use S3 multipart upload, reusing the buffer for every part.
+     * Peak heap per upload is therefore one part regardless of object size. A failed multipart upload is aborted so no
+     * orphaned parts are billed.
+     *
+     * @param bucket
+     *            target bucket
+     * @param objectKey
+     *            full object key including prefix
+     * @param content
+     *            data to upload (not closed by this method)
+     * @param contentLength
+     *            content length in bytes if known, or -1
+     * @param contentType
+     *            MIME type stored on the object
+     * @return upload result with object key and stored size
+     * @throws RuntimeException
+     *             if reading the stream or the upload fails
+     */
+    public StorageUploadResultType uploadStream(BucketType bucket, String objectKey, InputStream content,
+            long contentLength, String contentType) {
+        return streamingUpload(bucket, objectKey, contentType, (bucketName, metadata) -> {
+            int partSize = partSizeBytes();
+            int bufferSize = contentLength >= 0 && contentLength < partSize ? (int) contentLength : partSize;
+            byte[] buffer = new byte[bufferSize];
+            int read = content.readNBytes(buffer, 0, buffer.length);
+
+            if (read < buffer.length || contentLength >= 0 && contentLength <= buffer.length) {
+                putObject(bucketName, objectKey, bytesBody(buffer, read, contentType), contentType, metadata);
+                return read;
+            }
+            return multipartUpload(bucketName, objectKey, buffer, read, content, contentType, metadata);
+        });
+    }
+
+    /**
+     * Uploads a local file as-is (no image conversion) without reading it onto the heap.
+     *
+     * <p>
+     * Files up to one part are sent with a single PUT streamed from disk; larger files use S3 multipart upload as
+     * described in {@link #uploadStream}.
+     *
+     * @param bucket
+     *            target bucket
+     * @param objectKey
+     *            full object key including prefix
+     * @param file
+     *            file to upload
+     * @param contentType
+     *            MIME type stored on the object
+     * @return upload result with object key and stored size
+     * @throws RuntimeException
+     *             if reading the file or the upload fails
+     */
+    public StorageUploadResultType uploadFile(BucketType bucket, String objectKey, Path file, String contentType) {
+        return streamingUpload(bucket, objectKey, contentType, (bucketName, metadata) -> {
+            long size = Files.size(file);
+            if (size <= partSizeBytes()) {
+                putObject(bucketName, objectKey, RequestBody.fromFile(file), contentType, metadata);
+                return size;
+            }
+            try (InputStream in = Files.newInputStream(file)) {
+                byte[] buffer = new byte[partSizeBytes()];
+                int read = in.readNBytes(buffer, 0, buffer.length);
+                return multipartUpload(bucketName, objectKey, buffer, read, in, contentType, metadata);
+            }
+        });
+    }
+
+    /**
+     * Opens a streaming download of an object.
+     *
+     * <p>
+     * Bytes are read from the network as the caller consumes the stream, so large objects never sit fully on heap.
+     * The caller <b>must</b> close the returned stream to release the HTTP connection.
+     *
+     * @param bucket
+     *            source bucket
+     * @param objectKey
+     *            full object key including prefix
+     * @return object content stream
+     * @throws RuntimeException
+     *             if the object cannot be opened (not found, network error, etc.)
+     */
+    public InputStream downloadStream(BucketType bucket, String objectKey) {
+        Span span = tracer.spanBuilder("storage.download_stream").setAttribute("bucket", bucket.name())
+                .setAttribute("object_key", objectKey).startSpan();
+
+        long startTime = System.currentTimeMillis();
+
+        try (Scope scope = span.makeCurrent()) {
+            String bucketName = getBucketName(bucket);
+
+            GetObjectRequest getRequest = GetObjectRequest.builder().bucket(bucketName).key(objectKey).build();
+
+            ResponseInputStream<GetObjectResponse> stream = s3Client.getObject(getRequest);
+
+            long latencyMs = System.currentTimeMillis() - startTime;
+            Long contentLength = stream.response().contentLength();
+            long bytes = contentLength != null ? contentLength : 0;
+
+            LOG.debugf("Opened stream for %s/%s (%d bytes, %dms to first byte)", bucketName, objectKey, bytes,
+                    latencyMs);
+
+            recordDownloadMetrics(bucket, bytes, latencyMs, true);
+            span.setAttribute("download_success", true);
+            span.setAttribute("size_bytes", bytes);
+
+            return stream;
+
+        } catch (S3Exception e) {
+            long latencyMs = System.currentTimeMillis() - startTime;
+            recordDownloadMetrics(bucket, 0, latencyMs, false);
+
+            span.recordException(e);
+            span.setAttribute("download_success", false);
+            LOG.errorf(e, "Failed to download %s: %s", objectKey, e.awsErrorDetails().errorMessage());
+            throw new RuntimeException("Storage download failed: " + e.awsErrorDetails().errorMessage(), e);
+
+        } catch (Exception e) {
+            long latencyMs = System.currentTimeMillis() - startTime;
+            recordDownloadMetrics(bucket, 0, latencyMs, false);
+
+            span.recordException(e);
+            span.setAttribute("download_success", false);
+            LOG.errorf(e, "Failed to download %s: %s", objectKey, e.getMessage());
+            throw new RuntimeException("Storage download failed: " + e.getMessage(), e);
+
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Downloads an object straight to a local file, replacing it if present.
+     *
+     * @param bucket
+     *            source bucket
+     * @param objectKey
+     *            full object key including prefix
+     * @param target
+     *            destination file
+     * @return number of bytes written
+     * @throws RuntimeException
+     *             if the download or file write fails
+     */
+    public long downloadToFile(BucketType bucket, String objectKey, Path target) {
+        try (InputStream in = downloadStream(bucket, objectKey)) {
+            return Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOG.errorf(e, "Failed to write %s to %s: %s", objectKey, target, e.getMessage());
+            throw new RuntimeException("Storage download failed: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Generates pre-signed URL for temporary direct access to private object.
      *
@@ -483,33 +773,12 @@ public class StorageGateway {
 
         try {
             // 1. Determine target dimensions based on variant
-            int targetWidth;
-            int targetHeight;
-
-            switch (variant) {
-                case "thumbnail" :
-                    targetWidth = thumbnailWidth;
-                    targetHeight = thumbnailHeight;
-                    break;
-                case "list" :
-                    targetWidth = listWidth;
-                    targetHeight = listHeight;
-                    break;
-                case "full" :
-                    targetWidth = fullWidth;
-                    targetHeight = fullHeight;
-                    break;
-                default :
-                    LOG.warnf("Unknown variant '%s', using full size", variant);
-                    targetWidth = fullWidth;
-                    targetHeight = fullHeight;
-            }
+            int[] bounds = variantBounds(variant);
+            int targetWidth = bounds[0];
+            int targetHeight = bounds[1];
 
             // 2. Load original image
-            BufferedImage original = ImageIO.read(new ByteArrayInputStream(originalBytes));
-            if (original == null) {
-                throw new IllegalArgumentException("Invalid or corrupted image file - ImageIO returned null");
-            }
+            BufferedImage original = decodeImage(originalBytes);
 
             LOG.debugf("Loaded original image: %dx%d (%d bytes)", original.getWidth(), original.getHeight(),
                     originalSize);
@@ -553,6 +822,268 @@ public class StorageGateway {
         }
     }
 
+    /**
+     * Body of a streaming upload: performs the transfer and returns the number of bytes stored.
+     */
+    @FunctionalInterface
+    private interface StreamingTransfer {
+        long transfer(String bucketName, Map<String, String> metadata) throws IOException;
+    }
+
+    /**
+     * Wraps a streaming transfer with the tracing, metrics and error handling shared by all upload methods.
+     */
+    private StorageUploadResultType streamingUpload(BucketType bucket, String objectKey, String contentType,
+            StreamingTransfer transfer) {
+        Span span = tracer.spanBuilder("storage.upload_stream").setAttribute("bucket", bucket.name())
+                .setAttribute("object_key", objectKey).startSpan();
+
+        long startTime = System.currentTimeMillis();
+
+        try (Scope scope = span.makeCurrent()) {
+            String bucketName = getBucketName(bucket);
+            long bytes = transfer.transfer(bucketName, buildMetadata(contentType, "indefinite", null));
+
+            long latencyMs = System.currentTimeMillis() - startTime;
+
+            LOG.infof("Streamed upload to %s/%s (%d bytes, %dms)", bucketName, objectKey, bytes, latencyMs);
+
+            recordUploadMetrics(bucket, bytes, latencyMs, true);
+            span.setAttribute("upload_success", true);
+            span.setAttribute("size_bytes", bytes);
+
+            return new StorageUploadResultType(objectKey, bucketName, bytes, contentType, "original", null,
+                    Instant.now().toString());
+
+        } catch (S3Exception e) {
+            long latencyMs = System.currentTimeMillis() - startTime;
+            recordUploadMetrics(bucket, 0, latencyMs, false);
+
+            span.recordException(e);
+            span.setAttribute("upload_success", false);
+            LOG.errorf(e, "Failed to upload to %s: %s", objectKey, e.awsErrorDetails().errorMessage());
+            throw new RuntimeException("Storage upload failed: " + e.awsErrorDetails().errorMessage(), e);
+
+        } catch (Exception e) {
+            long latencyMs = System.currentTimeMillis() - startTime;
+            recordUploadMetrics(bucket, 0, latencyMs, false);
+
+            span.recordException(e);
+            span.setAttribute("upload_success", false);
+            LOG.errorf(e, "Failed to upload to %s: %s", objectKey, e.getMessage());
+            throw new RuntimeException("Storage upload failed: " + e.getMessage(), e);
+
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Uploads {@code buffer[0..firstLength)} and the rest of {@code content} as an S3 multipart upload, reusing
+     * {@code buffer} for every part. Aborts the upload on failure.
+     *
+     * @return total bytes uploaded
+     */
+    private long multipartUpload(String bucketName, String objectKey, byte[] buffer, int firstLength,
+            InputStream content, String contentType, Map<String, String> metadata) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder().bucket(bucketName)
+                .key(objectKey).contentType(contentType).metadata(metadata).build()).uploadId();
+
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            long totalBytes = 0;
+            int length = firstLength;
+            while (length > 0) {
+                int partNumber = parts.size() + 1;
+                UploadPartRequest partRequest = UploadPartRequest.builder().bucket(bucketName).key(objectKey)
+                        .uploadId(uploadId).partNumber(partNumber).contentLength((long) length).build();
+
+                // Synchronous client: the part is fully sent before the buffer is refilled
+                UploadPartResponse partResponse = s3Client.uploadPart(partRequest,
+                        bytesBody(buffer, length, contentType));
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(partResponse.eTag()).build());
+                totalBytes += length;
+
+                length = content.readNBytes(buffer, 0, buffer.length);
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder().bucket(bucketName)
+                    .key(objectKey).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build()).build());
+
+            LOG.debugf("Completed multipart upload %s/%s (%d parts, %d bytes)", bucketName, objectKey, parts.size(),
+                    totalBytes);
+            meterRegistry.counter("storage.multipart.parts.total").increment(parts.size());
+
+            return totalBytes;
+
+        } catch (IOException | RuntimeException e) {
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(bucketName).key(objectKey)
+                        .uploadId(uploadId).build());
+            } catch (Exception abortError) {
+                LOG.warnf(abortError, "Failed to abort multipart upload %s for %s/%s", uploadId, bucketName, objectKey);
+            }
+            throw e;
+        }
+    }
+
+    private void putObject(String bucketName, String objectKey, RequestBody body, String contentType,
+            Map<String, String> metadata) {
+        PutObjectRequest putRequest = PutObjectRequest.builder().bucket(bucketName).key(objectKey)
+                .contentType(contentType).metadata(metadata).build();
+        s3Client.putObject(putRequest, body);
+    }
+
+    /**
+     * Request body over {@code bytes[0..length)} without the defensive copy made by {@link RequestBody#fromBytes}.
+     * Callers must not modify the array until the request completes.
+     */
+    private static RequestBody bytesBody(byte[] bytes, int length, String contentType) {
+        return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(bytes, 0, length), length, contentType);
+    }
+
+    /**
+     * Configured multipart part size, clamped to the S3 minimum of 5 MB.
+     */
+    private int partSizeBytes() {
+        return Math.max(5, multipartPartSizeMb) * 1024 * 1024;
+    }
+
+    /**
+     * Encodes a rendered variant to WebP and stores it. Runs on a worker thread from {@link #uploadImageVariants}.
+     */
+    private StorageUploadResultType encodeAndPut(BucketType bucket, String entityId, String variant,
+            BufferedImage raster, int originalSize, String originalContentType) {
+        long startTime = System.currentTimeMillis();
+        String bucketName = getBucketName(bucket);
+        String objectKey = buildObjectKey(bucket, entityId, variant, "image.webp");
+
+        byte[] webpBytes;
+        try {
+            webpBytes = encodeToWebP(raster, webpQuality);
+        } catch (IOException e) {
+            LOG.errorf(e, "Failed to encode image for variant '%s': %s", variant, e.getMessage());
+            meterRegistry.counter("storage.webp.conversions.total", "variant", variant, "status", "error").increment();
+            throw new RuntimeException("Image processing failed: " + e.getMessage(), e);
+        }
+
+        long encodeMs = System.currentTimeMillis() - startTime;
+        meterRegistry.counter("storage.webp.conversions.total", "variant", variant, "status", "success").increment();
+        meterRegistry.counter("storage.webp.bytes.saved", "variant", variant)
+                .increment(originalSize - webpBytes.length);
+        meterRegistry.timer("storage.webp.conversion.duration", "variant", variant).record(Duration.ofMillis(encodeMs));
+
+        try {
+            PutObjectRequest putRequest = PutObjectRequest.builder().bucket(bucketName).key(objectKey)
+                    .contentType("image/webp").metadata(buildMetadata(originalContentType, "indefinite", null))
+                    .build();
+
+            s3Client.putObject(putRequest, bytesBody(webpBytes, webpBytes.length, "image/webp"));
+
+            long latencyMs = System.currentTimeMillis() - startTime;
+            LOG.infof("Uploaded %s to %s/%s (%d bytes, %dms)", variant, bucketName, objectKey, webpBytes.length,
+                    latencyMs);
+            recordUploadMetrics(bucket, webpBytes.length, latencyMs, true);
+
+            return new StorageUploadResultType(objectKey, bucketName, (long) webpBytes.length, "image/webp", variant,
+                    null, Instant.now().toString());
+
+        } catch (S3Exception e) {
+            recordUploadMetrics(bucket, webpBytes.length, System.currentTimeMillis() - startTime, false);
+            LOG.errorf(e, "Failed to upload to %s/%s: %s", bucket, objectKey, e.awsErrorDetails().errorMessage());
+            throw new RuntimeException("Storage upload failed: " + e.awsErrorDetails().errorMessage(), e);
+
+        } catch (RuntimeException e) {
+            recordUploadMetrics(bucket, webpBytes.length, System.currentTimeMillis() - startTime, false);
+            LOG.errorf(e, "Failed to upload to %s/%s: %s", bucket, objectKey, e.getMessage());
+            throw new RuntimeException("Storage upload failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Renders letterboxed rasters for each variant from a single decoded original.
+     *
+     * <p>
+     * Variants are rendered largest-first. Each variant is scaled from the previous variant's image area when that
+     * area is at least as large as the new target, so a 12MP photo is reduced to 1600x1200 once and the list and
+     * thumbnail variants scale from there. Variants larger than the original (upscaling) always scale from the
+     * original.
+     *
+     * @param original
+     *            decoded source image
+     * @param variants
+     *            variants to render
+     * @return letterboxed rasters keyed by variant
+     */
+    Map<String, BufferedImage> renderVariants(BufferedImage original, List<String> variants) {
+        List<String> largestFirst = new ArrayList<>(variants);
+        largestFirst.sort(Comparator.comparingLong((String variant) -> {
+            int[] bounds = variantBounds(variant);
+            return (long) bounds[0] * bounds[1];
+        }).reversed());
+
+        Map<String, BufferedImage> rasters = new HashMap<>();
+        BufferedImage source = original;
+        for (String variant : largestFirst) {
+            int[] bounds = variantBounds(variant);
+            int[] fitted = fitWithin(original.getWidth(), original.getHeight(), bounds[0], bounds[1]);
+            BufferedImage from = source.getWidth() >= fitted[0] && source.getHeight() >= fitted[1] ? source : original;
+
+            BufferedImage canvas = resizeImage(from, bounds[0], bounds[1]);
+            rasters.put(variant, canvas);
+
+            // Chain from this variant's image area (shares the canvas raster, no copy) unless it was upscaled
+            int[] drawn = fitWithin(from.getWidth(), from.getHeight(), bounds[0], bounds[1]);
+            if (drawn[0] <= from.getWidth() && drawn[1] <= from.getHeight()) {
+                source = canvas.getSubimage((bounds[0] - drawn[0]) / 2, (bounds[1] - drawn[1]) / 2, drawn[0],
+                        drawn[1]);
+            }
+        }
+        return rasters;
+    }
+
+    /**
+     * Decodes image bytes with ImageIO.
+     *
+     * @throws IOException
+     *             if the bytes cannot be read
+     * @throws IllegalArgumentException
+     *             if no ImageIO reader recognizes the format
+     */
+    private BufferedImage decodeImage(byte[] imageBytes) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
+        if (image == null) {
+            throw new IllegalArgumentException("Invalid or corrupted image file - ImageIO returned null");
+        }
+        return image;
+    }
+
+    /**
+     * Resolves target {width, height} for a variant (thumbnail: 200x200, list: 800x600, full: 1600x1200).
+     */
+    private int[] variantBounds(String variant) {
+        switch (variant) {
+            case "thumbnail" :
+                return new int[]{thumbnailWidth, thumbnailHeight};
+            case "list" :
+                return new int[]{listWidth, listHeight};
+            case "full" :
+                return new int[]{fullWidth, fullHeight};
+            default :
+                LOG.warnf("Unknown variant '%s', using full size", variant);
+                return new int[]{fullWidth, fullHeight};
+        }
+    }
+
+    /**
+     * Computes {width, height} of an image scaled to fit within bounds while preserving aspect ratio.
+     */
+    private static int[] fitWithin(int width, int height, int maxWidth, int maxHeight) {
+        double scaleFactor = Math.min((double) maxWidth / width, (double) maxHeight / height);
+        return new int[]{Math.max(1, (int) (width * scaleFactor)), Math.max(1, (int) (height * scaleFactor))};
+    }
+
     /**
      * Resizes image to fit within target dimensions while preserving aspect ratio.
      *
@@ -569,16 +1100,10 @@ public class StorageGateway {
      * @return resized image with letterboxing/pillarboxing if needed
      */
     private BufferedImage resizeImage(BufferedImage original, int maxWidth, int maxHeight) {
-        int originalWidth = original.getWidth();
-        int originalHeight = original.getHeight();
-
-        // Calculate scaling factor to fit within bounds while preserving aspect ratio
-        double widthRatio = (double) maxWidth / originalWidth;
-        double heightRatio = (double) maxHeight / originalHeight;
-        double scaleFactor = Math.min(widthRatio, heightRatio);
-
-        int scaledWidth = (int) (originalWidth * scaleFactor);
-        int scaledHeight = (int) (originalHeight * scaleFactor);
+        // Calculate scaled size to fit within bounds while preserving aspect ratio
+        int[] fitted = fitWithin(original.getWidth(), original.getHeight(), maxWidth, maxHeight);
+        int scaledWidth = fitted[0];
+        int scaledHeight = fitted[1];
 
         // Create canvas with target dimensions (for letterboxing/pillarboxing)
         BufferedImage canvas = new BufferedImage(maxWidth, maxHeight, BufferedImage.TYPE_INT_RGB);
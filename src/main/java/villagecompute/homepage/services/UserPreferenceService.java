@@ -75,6 +75,7 @@ public class UserPreferenceService {
      * @throws IllegalArgumentException
      *             if user not found
      */
+    @DatabaseBound
     public UserPreferencesType getPreferences(UUID userId) {
         if (userId == null) {
             throw new IllegalArgumentException("userId is required");
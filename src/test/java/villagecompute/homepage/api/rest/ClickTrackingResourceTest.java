@@ -1,9 +1,12 @@
 package villagecompute.homepage.api.rest;
 
 import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
 import io.restassured.http.ContentType;
+import jakarta.ws.rs.ServiceUnavailableException;
 import org.junit.jupiter.api.Test;
 import villagecompute.homepage.data.models.LinkClick;
+import villagecompute.homepage.services.DatabaseConcurrencyLimiter;
 
 import java.util.Map;
 import java.util.UUID;
@@ -11,6 +14,8 @@ import java.util.UUID;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 
 /**
  * Tests for ClickTrackingResource (Task I5.T8).
@@ -27,6 +32,9 @@ import static org.junit.jupiter.api.Assertions.*;
 @QuarkusTest
 public class ClickTrackingResourceTest {
 
+    @InjectSpy
+    DatabaseConcurrencyLimiter limiter;
+
     /**
      * Test tracking a directory site click with full metadata.
      */
@@ -326,4 +334,19 @@ public class ClickTrackingResourceTest {
         // Metadata still stored as-is in JSONB
         assertEquals("not-a-uuid", click.getMetadataAsJson().getString("profile_id"));
     }
+
+    /**
+     * Test that the GET redirect still redirects when no database permit is free (the click is dropped, not a 503).
+     */
+    @Test
+    public void testRedirectWithoutDatabasePermit() {
+        UUID siteId = UUID.randomUUID();
+        doThrow(new ServiceUnavailableException()).when(limiter).run(any());
+
+        given().redirects().follow(false).queryParam("url", "https://example.com/saturated")
+                .queryParam("source", "good_sites_category").queryParam("metadata", "siteId:" + siteId).when()
+                .get("/track/click").then().statusCode(307).header("Location", "https://example.com/saturated");
+
+        assertEquals(0, LinkClick.count("targetId", siteId), "Click should not be persisted without a permit");
+    }
 }
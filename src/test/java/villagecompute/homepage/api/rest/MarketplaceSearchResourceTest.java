@@ -129,6 +129,22 @@ public class MarketplaceSearchResourceTest {
                 .body("results.size()", is(15)).body("totalCount", is(15)).body("offset", is(0)).body("limit", is(25));
     }
 
+    @Test
+    public void testSearchFaceted_ReturnsResultsAndFacets() {
+        given().queryParam("category", categoryId1.toString()).queryParam("limit", 5).when()
+                .get("/api/marketplace/search/faceted").then().statusCode(200).contentType(ContentType.JSON)
+                .body("results.size()", is(5)).body("totalCount", is(10)).body("$", hasKey("facets"))
+                .body("facets", hasKey("categories")).body("facets", hasKey("priceRanges"))
+                .body("facets", hasKey("postedWithin")).body("facets.categories.'" + categoryId1 + "'", is(10));
+    }
+
+    @Test
+    public void testSearchFaceted_InvalidRadius_Returns400() {
+        given().queryParam("location", "123").queryParam("radius", "99").when()
+                .get("/api/marketplace/search/faceted").then().statusCode(400)
+                .body("error", containsString("radiusMiles"));
+    }
+
     @Test
     public void testSearchByCategory_FiltersCorrectly() {
         given().queryParam("category", categoryId1.toString()).when().get("/api/marketplace/search").then()
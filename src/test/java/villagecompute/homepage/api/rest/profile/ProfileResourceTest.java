@@ -1,8 +1,10 @@
 package villagecompute.homepage.api.rest.profile;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import villagecompute.homepage.data.models.ReservedUsername;
 import villagecompute.homepage.data.models.User;
 import villagecompute.homepage.data.models.UserProfile;
+import villagecompute.homepage.services.ProfilePageCache;
+import villagecompute.homepage.services.ProfileService;
 
 import java.time.Instant;
 import java.util.Map;
@@ -36,15 +40,22 @@ import static org.hamcrest.Matchers.*;
 @QuarkusTest
 public class ProfileResourceTest {
 
+    @Inject
+    ProfilePageCache pageCache;
+
+    @Inject
+    ProfileService profileService;
+
     private UUID testUserId;
     private String testUserIdString;
 
     @BeforeEach
     @Transactional
     public void setUp() {
-        // Clean up test data
+        // Clean up test data (profiles are deleted directly, so drop pages cached by earlier tests)
         UserProfile.delete("username LIKE 'testprofile%'");
         User.delete("email LIKE 'testprofile%'");
+        pageCache.invalidateAll();
 
         // Create test user
         User testUser = new User();
@@ -346,6 +357,32 @@ public class ProfileResourceTest {
         given().when().get("/u/TESTPROFILE123").then().statusCode(200);
     }
 
+    @Test
+    public void testPublicProfilePage_CachedUntilProfileUpdated() {
+        UUID profileId = QuarkusTransaction.requiringNew().call(() -> {
+            UserProfile profile = profileService.createProfile(testUserId, "testprofile123");
+            profileService.updateProfile(profile.id, "Original Name", null, null, null, null);
+            return profile.id;
+        });
+        profileService.publishProfile(profileId);
+
+        given().when().get("/u/testprofile123").then().statusCode(200).body(containsString("Original Name"));
+
+        // A direct database change bypasses invalidation: the cached page is still served
+        QuarkusTransaction.requiringNew().run(() -> UserProfile.update("displayName = ?1 WHERE id = ?2", "Direct Name",
+                profileId));
+        given().when().get("/u/testprofile123").then().statusCode(200).body(containsString("Original Name"));
+
+        // Updating through ProfileService evicts the cached page
+        profileService.updateProfile(profileId, "Updated Name", null, null, null, null);
+        given().when().get("/u/testprofile123").then().statusCode(200).body(containsString("Updated Name"),
+                not(containsString("Original Name")));
+
+        // Unpublishing evicts it as well
+        profileService.unpublishProfile(profileId);
+        given().when().get("/u/testprofile123").then().statusCode(404);
+    }
+
     // ========== Curated Article Tests ==========
 
     @Test
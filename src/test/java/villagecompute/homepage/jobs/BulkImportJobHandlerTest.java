@@ -201,6 +201,32 @@ public class BulkImportJobHandlerTest {
         }
     }
 
+    @Test
+    public void testExecute_resumesAfterCommittedRows() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Path csvPath = createTestCsv(List.of("url,title,description", "https://first-" + suffix + ".example.org,First,",
+                "https://second-" + suffix + ".example.org,Second,",
+                "http://second-" + suffix + ".example.org,Second Again,Duplicate within the file"));
+
+        try {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("csv_path", csvPath.toString());
+            payload.put("uploaded_by_user_id", testUserId.toString());
+            // A previous attempt committed the first data row
+            payload.put(BulkImportJobHandler.PAYLOAD_ROWS_COMMITTED, 1);
+
+            handler.execute(1L, payload);
+
+            List<DirectoryAiSuggestion> suggestions = DirectoryAiSuggestion.list("uploadedByUserId", testUserId);
+            assertEquals(1, suggestions.size(), "Should skip the committed row and the in-file duplicate");
+            assertEquals("https://second-" + suffix + ".example.org", suggestions.get(0).url);
+            assertEquals("Second", suggestions.get(0).title);
+
+        } finally {
+            Files.deleteIfExists(csvPath);
+        }
+    }
+
     /**
      * Helper to create temporary CSV file for testing.
      */
@@ -1,17 +1,25 @@
 package villagecompute.homepage.jobs;
 
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import villagecompute.homepage.data.models.DirectorySite;
+import villagecompute.homepage.services.LinkHealthCheckService;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,12 +27,12 @@ import static org.junit.jupiter.api.Assertions.*;
  * Unit tests for {@link LinkHealthCheckJobHandler}.
  *
  * <p>
- * Tests link health monitoring, failure tracking, dead link detection, and recovery detection.
+ * Tests link health monitoring, failure tracking, dead link detection, recovery detection, and the service's database
+ * paging, slot filtering and batched commits.
  *
  * <p>
- * <b>Note:</b> These tests verify the database state changes and failure counter logic. They do NOT test actual HTTP
- * requests (handler uses real HttpClient for simplicity). In production, use integration tests with WireMock for HTTP
- * mocking.
+ * Site URLs point at a local stub HTTP server (JDK {@link HttpServer}), so no real websites are contacted. Jobs run
+ * outside a test transaction because the service commits each batch in its own transaction.
  */
 @QuarkusTest
 class LinkHealthCheckJobHandlerTest {
@@ -38,46 +46,48 @@ class LinkHealthCheckJobHandlerTest {
     @Inject
     EntityManager entityManager;
 
+    /**
+     * More sites than one service page (500), spanning several commit batches (50).
+     */
+    private static final int SITES_BEYOND_ONE_PAGE = 560;
+
+    private HttpServer server;
+    private String baseUrl;
+
     private UUID testSiteId1;
     private UUID testSiteId2;
 
     @BeforeEach
-    @Transactional
-    void setUp() {
-        // Clean up test data
-        DirectorySite.deleteAll();
-
-        // Create test site 1 (healthy site)
-        DirectorySite site1 = new DirectorySite();
-        site1.url = "https://httpbin.org/status/200"; // Real endpoint that returns 200
-        site1.domain = DirectorySite.extractDomain(site1.url);
-        site1.title = "Healthy Site";
-        site1.description = "Test site that should pass health checks";
-        site1.submittedByUserId = UUID.randomUUID();
-        site1.status = "approved";
-        site1.isDead = false;
-        site1.healthCheckFailures = 0;
-        site1.lastCheckedAt = null;
-        site1.createdAt = Instant.now();
-        site1.updatedAt = Instant.now();
-        site1.persist();
-        testSiteId1 = site1.id;
-
-        // Create test site 2 (site with existing failures)
-        DirectorySite site2 = new DirectorySite();
-        site2.url = "https://httpbin.org/status/404"; // Real endpoint that returns 404
-        site2.domain = DirectorySite.extractDomain(site2.url);
-        site2.title = "Failing Site";
-        site2.description = "Test site with existing failures";
-        site2.submittedByUserId = UUID.randomUUID();
-        site2.status = "approved";
-        site2.isDead = false;
-        site2.healthCheckFailures = 2; // 2 previous failures
-        site2.lastCheckedAt = Instant.now().minusSeconds(86400); // Last checked 1 day ago
-        site2.createdAt = Instant.now();
-        site2.updatedAt = Instant.now();
-        site2.persist();
-        testSiteId2 = site2.id;
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 200));
+        server.createContext("/missing", exchange -> respond(exchange, 404));
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            // Clean up test data
+            DirectorySite.deleteAll();
+
+            // Create test site 1 (healthy site)
+            DirectorySite site1 = newSite(baseUrl + "/ok", "Healthy Site", 0);
+            site1.description = "Test site that should pass health checks";
+            site1.persist();
+            testSiteId1 = site1.id;
+
+            // Create test site 2 (site with 2 previous failures, last checked 1 day ago)
+            DirectorySite site2 = newSite(baseUrl + "/missing", "Failing Site", 2);
+            site2.description = "Test site with existing failures";
+            site2.lastCheckedAt = Instant.now().minusSeconds(86400);
+            site2.persist();
+            testSiteId2 = site2.id;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
     }
 
     @Test
@@ -90,9 +100,8 @@ class LinkHealthCheckJobHandlerTest {
     }
 
     @Test
-    @Transactional
     void testExecute_healthySite_resetsFailureCounter() throws Exception {
-        // Given: Site with healthy URL (httpbin.org/status/200)
+        // Given: Site with healthy URL (stub returns 200)
         // When: Execute health check job
         Map<String, Object> payload = Map.of();
         handler.execute(1L, payload);
@@ -107,9 +116,8 @@ class LinkHealthCheckJobHandlerTest {
     }
 
     @Test
-    @Transactional
     void testExecute_failingSite_incrementsCounter() throws Exception {
-        // Given: Site with failing URL (httpbin.org/status/404) and 2 existing failures
+        // Given: Site with failing URL (stub returns 404) and 2 existing failures
         // When: Execute health check job
         Map<String, Object> payload = Map.of();
         handler.execute(1L, payload);
@@ -143,16 +151,16 @@ class LinkHealthCheckJobHandlerTest {
     }
 
     @Test
-    @Transactional
     void testDeadSiteRecovery() {
         // Given: Site marked as dead
-        DirectorySite site = DirectorySite.findById(testSiteId1);
-        site.isDead = true;
-        site.status = "dead";
-        site.healthCheckFailures = 3;
-        site.persist();
-
-        // When: Site URL becomes accessible (httpbin.org/status/200 is healthy)
+        QuarkusTransaction.requiringNew().run(() -> {
+            DirectorySite site = DirectorySite.findById(testSiteId1);
+            site.isDead = true;
+            site.status = "dead";
+            site.healthCheckFailures = 3;
+        });
+
+        // When: Site URL becomes accessible (stub returns 200)
         // Execute health check job
         Map<String, Object> payload = Map.of();
         try {
@@ -172,7 +180,6 @@ class LinkHealthCheckJobHandlerTest {
     }
 
     @Test
-    @Transactional
     void testBatchProcessing_handlesMultipleSites() throws Exception {
         // Given: Multiple test sites (already created in setUp)
         long beforeCount = DirectorySite.count("status = 'approved'");
@@ -188,7 +195,6 @@ class LinkHealthCheckJobHandlerTest {
     }
 
     @Test
-    @Transactional
     void testHealthCheckUpdatesTimestamp() throws Exception {
         // Given: Site with null lastCheckedAt
         DirectorySite site = DirectorySite.findById(testSiteId1);
@@ -206,22 +212,12 @@ class LinkHealthCheckJobHandlerTest {
     }
 
     @Test
-    @Transactional
     void testOnlyApprovedSitesChecked() {
         // Given: Create pending site
-        DirectorySite pendingSite = new DirectorySite();
-        pendingSite.url = "https://httpbin.org/status/200";
-        pendingSite.domain = DirectorySite.extractDomain(pendingSite.url);
-        pendingSite.title = "Pending Site";
+        DirectorySite pendingSite = newSite(baseUrl + "/ok", "Pending Site", 0);
         pendingSite.description = "Should not be checked";
-        pendingSite.submittedByUserId = UUID.randomUUID();
         pendingSite.status = "pending"; // Not approved
-        pendingSite.isDead = false;
-        pendingSite.healthCheckFailures = 0;
-        pendingSite.lastCheckedAt = null;
-        pendingSite.createdAt = Instant.now();
-        pendingSite.updatedAt = Instant.now();
-        pendingSite.persist();
+        QuarkusTransaction.requiringNew().run(pendingSite::persist);
 
         // When: Execute health check
         Map<String, Object> payload = Map.of();
@@ -260,4 +256,68 @@ class LinkHealthCheckJobHandlerTest {
         assertTrue(dead.updatedAt.isAfter(before.minusSeconds(1)));
         assertTrue(dead.updatedAt.isBefore(after.plusSeconds(1)));
     }
+
+    @Test
+    void testExecute_fullSweepPagesAndCommitsEveryBatch() throws Exception {
+        // Given: More sites than fit in one page, each with one previous failure
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 0; i < SITES_BEYOND_ONE_PAGE; i++) {
+                newSite(baseUrl + "/ok?site=" + i, "Bulk Site " + i, 1).persist();
+            }
+        });
+
+        // When: Execute a full sweep
+        handler.execute(1L, Map.of());
+
+        // Then: Every page was read and every batch committed
+        assertEquals(0, DirectorySite.count("lastCheckedAt IS NULL"), "Every site should have been checked");
+        assertEquals(SITES_BEYOND_ONE_PAGE + 1, DirectorySite.count("healthCheckFailures = 0"),
+                "Healthy sites should have their failure counters reset");
+        assertTrue(DirectorySite.<DirectorySite>findById(testSiteId2).isDead);
+    }
+
+    @Test
+    void testExecute_slotRunChecksOnlySitesInSlot() throws Exception {
+        // Given: Sites spread over many slots
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 0; i < 200; i++) {
+                newSite(baseUrl + "/ok?site=" + i, "Slot Site " + i, 0).persist();
+            }
+        });
+        int slotCount = LinkHealthCheckService.SLOTS_PER_WEEK;
+        int slot = LinkHealthCheckService.slotFor(testSiteId1, slotCount);
+
+        // When: Execute the slot of site 1
+        handler.execute(1L, Map.of("slot", slot, "slot_count", slotCount));
+
+        // Then: Exactly the sites hashing into that slot were checked
+        for (DirectorySite site : DirectorySite.<DirectorySite>listAll()) {
+            boolean inSlot = LinkHealthCheckService.slotFor(site.id, slotCount) == slot;
+            boolean checked = site.id.equals(testSiteId2)
+                    ? site.healthCheckFailures != 2
+                    : site.lastCheckedAt != null;
+            assertEquals(inSlot, checked, "Site " + site.id + " in slot " + inSlot + " but checked " + checked);
+        }
+    }
+
+    private static DirectorySite newSite(String url, String title, int failures) {
+        DirectorySite site = new DirectorySite();
+        site.url = url;
+        site.domain = DirectorySite.extractDomain(url);
+        site.title = title;
+        site.description = "Test site";
+        site.submittedByUserId = UUID.randomUUID();
+        site.status = "approved";
+        site.isDead = false;
+        site.healthCheckFailures = failures;
+        site.lastCheckedAt = null;
+        site.createdAt = Instant.now();
+        site.updatedAt = Instant.now();
+        return site;
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
 }
@@ -22,6 +22,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -150,14 +151,16 @@ class SitemapGenerationJobHandlerTest {
 
     @Test
     @Transactional
-    void testExecute_uploadsSingleSitemapForSmallDataset() throws Exception {
-        // Given: Small dataset (<50K URLs)
+    void testExecute_uploadsOneShardPerSectionForSmallDataset() throws Exception {
+        // Given: Small dataset (<25K URLs per section)
         Map<String, Object> payload = Map.of();
 
         // When: Execute job
         handler.execute(1L, payload);
 
-        // Then: Should upload single sitemap.xml
-        verify(s3Client, times(1)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        // Then: Should upload pages, sites and listings shards plus sitemap.xml index
+        verify(s3Client, times(4)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(s3Client, times(1)).putObject(argThat((PutObjectRequest request) -> request != null
+                && "sitemaps/sitemap.xml".equals(request.key())), any(RequestBody.class));
     }
 }
@@ -0,0 +1,61 @@
+package villagecompute.homepage.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MeterCache}: meter handle caching and tag cardinality limits.
+ */
+class MeterCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private MeterCache meters;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        meters = new MeterCache();
+        meters.registry = registry;
+        meters.defaultMaxTagValues = 2;
+    }
+
+    @Test
+    void testCounter_CachesHandles() {
+        Counter first = meters.counter("test.requests.total", "Test requests", "status", "ok");
+        Counter second = meters.counter("test.requests.total", "Test requests", "status", "ok");
+
+        assertSame(first, second);
+        assertNotSame(first, meters.counter("test.requests.total", "Test requests", "status", "error"));
+    }
+
+    @Test
+    void testCounter_CollapsesOverflowIntoOther() {
+        for (String listingId : new String[]{"a", "b", "c", "d", "a"}) {
+            meters.counter("test.images.total", null, "listing_id", listingId, "status", "ok").increment();
+        }
+
+        assertEquals(2, registry.get("test.images.total").tag("listing_id", "a").counter().count());
+        assertEquals(1, registry.get("test.images.total").tag("listing_id", "b").counter().count());
+        assertEquals(2, registry.get("test.images.total").tag("listing_id", MeterCache.OVERFLOW_TAG_VALUE).counter()
+                .count());
+        assertEquals(3, registry.get("test.images.total").counters().size());
+
+        // Dropped values are reported per metric and tag
+        assertEquals(2, registry.get("homepage_metrics_tag_overflow_total").tag("metric", "test.images.total")
+                .tag("tag", "listing_id").counter().count());
+    }
+
+    @Test
+    void testTimer_LimitsTrackedPerMetric() {
+        meters.timer("test.a.duration", null, "source_id", "1");
+        meters.timer("test.a.duration", null, "source_id", "2");
+        meters.timer("test.b.duration", null, "source_id", "3");
+
+        assertEquals(1, registry.get("test.b.duration").tag("source_id", "3").timers().size());
+        assertThrows(IllegalArgumentException.class, () -> meters.timer("test.a.duration", null, "source_id"));
+    }
+}
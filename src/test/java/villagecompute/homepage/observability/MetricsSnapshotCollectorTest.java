@@ -0,0 +1,66 @@
+package villagecompute.homepage.observability;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import villagecompute.homepage.data.models.DelayedJob;
+import villagecompute.homepage.jobs.JobQueue;
+import villagecompute.homepage.jobs.JobType;
+import villagecompute.homepage.observability.MetricsSnapshotCollector.MetricsSnapshot;
+import villagecompute.homepage.observability.MetricsSnapshotCollector.QueueStats;
+import villagecompute.homepage.testing.PostgreSQLTestProfile;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for {@link MetricsSnapshotCollector}: per-queue job depth and oldest pending age from one refresh.
+ */
+@QuarkusTest
+@TestProfile(PostgreSQLTestProfile.class)
+class MetricsSnapshotCollectorTest {
+
+    @Inject
+    MetricsSnapshotCollector collector;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        QuarkusTransaction.requiringNew().run(() -> DelayedJob.delete("queue", JobQueue.BULK));
+    }
+
+    @Test
+    void testRefresh_QueueDepthAndOldestPendingAge() {
+        Instant tenMinutesAgo = Instant.now().minus(Duration.ofMinutes(10));
+        QuarkusTransaction.requiringNew().run(() -> {
+            DelayedJob.create(JobType.DIRECTORY_BULK_IMPORT, Map.of(), tenMinutesAgo, 5);
+            DelayedJob.create(JobType.DIRECTORY_BULK_IMPORT, Map.of());
+            // Retry backoff: counts towards depth, not towards the oldest pending age
+            DelayedJob.create(JobType.DIRECTORY_BULK_IMPORT, Map.of(), Instant.now().plus(Duration.ofHours(1)), 5);
+        });
+
+        MetricsSnapshot snapshot = collector.refresh();
+        QueueStats bulk = snapshot.queue(JobQueue.BULK);
+
+        assertEquals(3, bulk.depth());
+        assertEquals(600, bulk.oldestPendingSeconds(Instant.now()), 5);
+        assertNotNull(snapshot.collectedAt());
+        assertSame(snapshot, collector.snapshot());
+    }
+
+    @Test
+    void testRefresh_EmptyQueueReportsZero() {
+        MetricsSnapshot snapshot = collector.refresh();
+        QueueStats bulk = snapshot.queue(JobQueue.BULK);
+
+        assertEquals(0, bulk.depth());
+        assertEquals(0.0, bulk.oldestPendingSeconds(Instant.now()));
+    }
+}
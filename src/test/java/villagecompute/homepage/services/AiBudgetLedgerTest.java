@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 VillageCompute Inc.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package villagecompute.homepage.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.YearMonth;
+import java.util.Optional;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import villagecompute.homepage.data.models.AiUsageTracking;
+
+/**
+ * Tests for the in-memory AI budget ledger.
+ *
+ * <p>
+ * Verifies that recorded usage counts toward budget checks before it is flushed, and that a flush applies the pending
+ * deltas to {@code ai_usage_tracking} exactly once.
+ */
+@QuarkusTest
+class AiBudgetLedgerTest {
+
+    private static final String PROVIDER = "anthropic";
+
+    @Inject
+    AiBudgetLedger budgetLedger;
+
+    @BeforeEach
+    void setUp() {
+        budgetLedger.flush(); // Drain usage left pending by other tests
+        QuarkusTransaction.requiringNew().run(() -> AiUsageTracking.deleteAll());
+    }
+
+    @Test
+    void testRecord_CountsBeforeFlush() {
+        budgetLedger.record(PROVIDER, 1, 1000, 500, 150);
+
+        long cost = QuarkusTransaction.requiringNew().call(() -> budgetLedger.costCents(PROVIDER));
+
+        assertEquals(150, cost);
+        assertTrue(findTracking().isEmpty(), "Usage should not be written before flush");
+    }
+
+    @Test
+    void testFlush_CreatesRecordAndClearsPending() {
+        budgetLedger.record(PROVIDER, 1, 1000, 500, 150);
+        budgetLedger.record(PROVIDER, 2, 2000, 1000, 300);
+
+        budgetLedger.flush();
+
+        AiUsageTracking tracking = findTracking().orElseThrow();
+        assertEquals(3, tracking.totalRequests);
+        assertEquals(3000, tracking.totalTokensInput);
+        assertEquals(1500, tracking.totalTokensOutput);
+        assertEquals(450, tracking.estimatedCostCents);
+        assertEquals(450, (long) QuarkusTransaction.requiringNew().call(() -> budgetLedger.costCents(PROVIDER)));
+
+        // Nothing pending: a second flush must not apply the same deltas again
+        budgetLedger.flush();
+        assertEquals(450, findTracking().orElseThrow().estimatedCostCents);
+    }
+
+    @Test
+    void testFlush_IncrementsExistingRecord() {
+        QuarkusTransaction.requiringNew().run(() -> AiUsageTracking.recordUsage(YearMonth.now(), PROVIDER, 1, 100, 50,
+                1000));
+        budgetLedger.record(PROVIDER, 1, 100, 50, 250);
+
+        budgetLedger.flush();
+
+        AiUsageTracking tracking = findTracking().orElseThrow();
+        assertEquals(2, tracking.totalRequests);
+        assertEquals(1250, tracking.estimatedCostCents);
+        double percentUsed = QuarkusTransaction.requiringNew().call(() -> budgetLedger.percentUsed(PROVIDER));
+        assertEquals(2.5, percentUsed, 0.01);
+    }
+
+    private static Optional<AiUsageTracking> findTracking() {
+        return QuarkusTransaction.requiringNew()
+                .call(() -> AiUsageTracking.findByMonthAndProvider(YearMonth.now().atDay(1), PROVIDER));
+    }
+}
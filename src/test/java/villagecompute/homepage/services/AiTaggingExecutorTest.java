@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025 VillageCompute Inc.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package villagecompute.homepage.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import dev.langchain4j.model.chat.ChatModel;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import villagecompute.homepage.data.models.AiUsageTracking;
+import villagecompute.homepage.data.models.FeedItem;
+
+/**
+ * Tests for the concurrent AI tagging executor.
+ *
+ * <p>
+ * Uses a stub {@link ChatModel} that answers each batch prompt with one result per article, so batching, concurrency,
+ * budget stops and the batched write-back are exercised without calling the provider.
+ */
+@QuarkusTest
+class AiTaggingExecutorTest {
+
+    @Inject
+    AiTaggingExecutor executor;
+
+    @Inject
+    AiBudgetLedger budgetLedger;
+
+    @InjectMock
+    ChatModel mockChatModel;
+
+    @BeforeEach
+    void setUp() {
+        budgetLedger.flush();
+        QuarkusTransaction.requiringNew().run(() -> {
+            FeedItem.deleteAll();
+            AiUsageTracking.deleteAll();
+        });
+    }
+
+    @Test
+    void testTagAll_RunsBatchesConcurrentlyAndStoresTags() throws Exception {
+        List<FeedItem> items = createUntaggedItems(45);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(mockChatModel.chat(anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(200);
+                return stubResponse(invocation.getArgument(0));
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+
+        AiTaggingExecutor.TaggingRun run = executor.tagAll(items);
+
+        assertEquals(45, run.tagged());
+        assertEquals(0, run.failed());
+        assertEquals(3, run.batches()); // 20 + 20 + 5
+        assertFalse(run.budgetStopped());
+        assertTrue(maxInFlight.get() > 1, "Batches should run concurrently");
+        verify(mockChatModel, times(3)).chat(anyString());
+        assertEquals(45, QuarkusTransaction.requiringNew().call(() -> FeedItem.count("aiTagged = true")));
+
+        FeedItem stored = QuarkusTransaction.requiringNew().call(() -> FeedItem.<FeedItem>findById(items.get(0).id));
+        assertEquals("positive", stored.aiTags.sentiment());
+        assertEquals(List.of("Technology"), stored.aiTags.categories());
+    }
+
+    @Test
+    void testTagAll_StopsWhenBudgetExhausted() throws Exception {
+        QuarkusTransaction.requiringNew().run(() -> {
+            AiUsageTracking tracking = AiUsageTracking.findOrCreateCurrentMonth(AiUsageTracking.DEFAULT_PROVIDER);
+            tracking.estimatedCostCents = tracking.budgetLimitCents;
+        });
+        List<FeedItem> items = createUntaggedItems(5);
+
+        AiTaggingExecutor.TaggingRun run = executor.tagAll(items);
+
+        assertEquals(0, run.batches());
+        assertTrue(run.budgetStopped());
+        verify(mockChatModel, never()).chat(anyString());
+    }
+
+    @Test
+    void testTagAll_FailedBatchLeavesItemsUntagged() throws Exception {
+        List<FeedItem> items = createUntaggedItems(3);
+        when(mockChatModel.chat(anyString())).thenThrow(new RuntimeException("Provider unavailable"));
+
+        AiTaggingExecutor.TaggingRun run = executor.tagAll(items);
+
+        assertEquals(0, run.tagged());
+        assertEquals(3, run.failed());
+        assertEquals(3, QuarkusTransaction.requiringNew().call(() -> FeedItem.count("aiTagged = false")));
+    }
+
+    @Test
+    void testTokenBucket_WaitsOnceBurstIsSpent() {
+        AiTaggingExecutor.TokenBucket bucket = new AiTaggingExecutor.TokenBucket(2, 1.0);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0, "Third permit should require waiting for a refill");
+    }
+
+    /**
+     * Stub response: one tagging result per "[i] Title:" line in the batch prompt.
+     */
+    private static String stubResponse(String prompt) {
+        int articles = prompt.split("\\] Title:", -1).length - 1;
+        return IntStream.range(0, articles)
+                .mapToObj(i -> "{\"index\": " + i + ", \"topics\": [\"Topic\"], \"sentiment\": \"positive\", "
+                        + "\"categories\": [\"Technology\"], \"confidence\": 0.9}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static List<FeedItem> createUntaggedItems(int count) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 0; i < count; i++) {
+                FeedItem item = new FeedItem();
+                item.sourceId = UUID.randomUUID();
+                item.title = "Article " + i;
+                item.description = "Description " + i;
+                item.content = "Content " + i;
+                item.url = "https://example.com/" + UUID.randomUUID();
+                item.itemGuid = "guid-" + UUID.randomUUID();
+                item.publishedAt = Instant.now();
+                item.fetchedAt = Instant.now();
+                item.aiTagged = false;
+                item.persist();
+            }
+        });
+        return QuarkusTransaction.requiringNew().call(FeedItem::findUntagged);
+    }
+}
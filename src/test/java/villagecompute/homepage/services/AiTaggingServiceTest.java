@@ -28,6 +28,7 @@ import jakarta.inject.Inject;
 
 import org.junit.jupiter.api.Test;
 
+import villagecompute.homepage.api.types.AiTagsType;
 import villagecompute.homepage.api.types.FeedItemTaggingResultType;
 import villagecompute.homepage.data.models.FeedItem;
 import villagecompute.homepage.testing.PostgreSQLTestProfile;
@@ -133,6 +134,43 @@ class AiTaggingServiceTest {
         assertEquals(0.92, result2.confidenceScore(), 0.001);
     }
 
+    /**
+     * Tests article batch tagging: per-item sentiment and the full tagArticle category list.
+     */
+    @Test
+    void testTagArticlesBatch_SentimentPerItemAndArticleCategories() {
+        // Given: mock batch response in the tagArticle schema, missing sentiment for the third item
+        String mockResponse = """
+                [
+                  {"index": 0, "topics": ["Markets"], "sentiment": "negative", "categories": ["Finance"], "confidence": 0.9},
+                  {"index": 1, "topics": ["Travel"], "sentiment": "positive", "categories": ["Travel", "World"], "confidence": 0.8},
+                  {"index": 2, "topics": ["Schools"], "categories": ["Education"], "confidence": 0.7}
+                ]
+                """;
+        List<String> prompts = new ArrayList<>();
+        when(mockChatModel.chat(anyString())).thenAnswer(invocation -> {
+            prompts.add(invocation.getArgument(0));
+            return mockResponse;
+        });
+
+        // When: tag batch
+        List<AiTagsType> results = service.tagArticlesBatch(createTestFeedItems(3));
+
+        // Then: one call whose prompt asks for sentiment and offers the tagArticle categories
+        assertEquals(1, prompts.size());
+        assertTrue(prompts.get(0).contains("sentiment"));
+        assertTrue(prompts.get(0).contains("   - Technology\n"));
+        assertTrue(prompts.get(0).contains("   - World\n"));
+        assertTrue(prompts.get(0).contains("   - Food\n"));
+
+        assertEquals(3, results.size());
+        assertEquals("negative", results.get(0).sentiment());
+        assertEquals(List.of("Finance"), results.get(0).categories());
+        assertEquals("positive", results.get(1).sentiment());
+        assertEquals(List.of("Travel", "World"), results.get(1).categories());
+        assertEquals("neutral", results.get(2).sentiment());
+    }
+
     /**
      * Tests batch tagging with 20 items (maximum batch size).
      */
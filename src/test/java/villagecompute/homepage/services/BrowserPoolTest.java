@@ -0,0 +1,182 @@
+package villagecompute.homepage.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ruiyun.jvppeteer.api.core.Browser;
+import com.ruiyun.jvppeteer.api.core.BrowserContext;
+import com.ruiyun.jvppeteer.api.core.Page;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link BrowserPool} reuse, recycling and concurrency limits.
+ *
+ * <p>
+ * Uses Mockito browsers via a substitute launcher so no Chromium binary is required.
+ */
+class BrowserPoolTest {
+
+    private BrowserPool pool;
+    private SimpleMeterRegistry registry;
+    private final List<Browser> launched = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        pool = new BrowserPool();
+        pool.meterRegistry = registry;
+        pool.poolSize = 3;
+        pool.maxCapturesPerBrowser = 50;
+        pool.browserLauncher = this::newMockBrowser;
+        pool.init();
+    }
+
+    @Test
+    void testWithPage_reusesBrowserWithFreshContext() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("ok", pool.withPage(page -> "ok"));
+        }
+
+        assertEquals(1, launched.size(), "Sequential captures should share one browser");
+        verify(launched.get(0), times(5)).createBrowserContext();
+        assertEquals(1, pool.getStats().idleBrowsers());
+        assertEquals(0, pool.getStats().busyBrowsers());
+        assertEquals(3, pool.getAvailablePermits());
+    }
+
+    @Test
+    void testWithPage_recyclesAfterMaxCaptures() throws Exception {
+        pool.maxCapturesPerBrowser = 2;
+
+        for (int i = 0; i < 5; i++) {
+            pool.withPage(page -> null);
+        }
+
+        assertEquals(3, launched.size());
+        verify(launched.get(0)).close();
+        verify(launched.get(1)).close();
+        assertEquals(2.0, registry.counter("screenshot.browser_pool.recycles.total", "reason", "max_captures").count());
+    }
+
+    @Test
+    void testWithPage_replacesDisconnectedBrowser() throws Exception {
+        pool.withPage(page -> null);
+        Browser first = launched.get(0);
+        when(first.connected()).thenReturn(false);
+
+        pool.withPage(page -> null);
+
+        assertEquals(2, launched.size());
+        verify(first).close();
+        assertEquals(1.0, registry.counter("screenshot.browser_pool.recycles.total", "reason", "disconnected").count());
+    }
+
+    @Test
+    void testWithPage_callbackFailureReleasesPermitAndKeepsBrowser() throws Exception {
+        IllegalStateException failure = new IllegalStateException("navigation failed");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> pool.withPage(page -> {
+            throw failure;
+        }));
+
+        assertSame(failure, thrown);
+        assertEquals(3, pool.getAvailablePermits());
+        assertEquals(1, pool.getStats().idleBrowsers(), "Page errors should not retire a healthy browser");
+    }
+
+    @Test
+    void testWithPage_launchFailureReleasesPermit() {
+        pool.browserLauncher = () -> {
+            throw new IllegalStateException("Failed to launch headless browser");
+        };
+
+        assertThrows(IllegalStateException.class, () -> pool.withPage(page -> null));
+        assertEquals(3, pool.getAvailablePermits());
+        assertEquals(0, pool.getStats().busyBrowsers());
+    }
+
+    @Test
+    void testWithPage_capsConcurrentCaptures() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                futures.add(executor.submit(() -> pool.withPage(page -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    Thread.sleep(50);
+                    inFlight.decrementAndGet();
+                    return null;
+                })));
+            }
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(maxInFlight.get() <= 3, "Expected at most 3 concurrent captures, saw " + maxInFlight.get());
+        assertTrue(launched.size() <= 3, "Expected at most 3 browsers, launched " + launched.size());
+        assertEquals(3, pool.getAvailablePermits());
+    }
+
+    @Test
+    void testShutdown_closesIdleBrowsers() throws Exception {
+        pool.withPage(page -> null);
+
+        pool.shutdown();
+
+        verify(launched.get(0)).close();
+        assertEquals(0, pool.getStats().idleBrowsers());
+    }
+
+    @Test
+    void testShutdown_closesBrowserBusyAtShutdown() throws Exception {
+        pool.withPage(page -> {
+            pool.shutdown();
+            return null;
+        });
+
+        verify(launched.get(0)).close();
+        assertEquals(0, pool.getStats().idleBrowsers(), "A browser released after shutdown must not be re-pooled");
+        assertEquals(3, pool.getAvailablePermits());
+        assertThrows(IllegalStateException.class, () -> pool.withPage(page -> null));
+        assertEquals(1, launched.size());
+    }
+
+    private synchronized Browser newMockBrowser() {
+        Browser browser = mock(Browser.class);
+        try {
+            when(browser.connected()).thenReturn(true);
+            when(browser.createBrowserContext()).thenAnswer(invocation -> {
+                BrowserContext context = mock(BrowserContext.class);
+                when(context.newPage()).thenReturn(mock(Page.class));
+                return context;
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        launched.add(browser);
+        return browser;
+    }
+}
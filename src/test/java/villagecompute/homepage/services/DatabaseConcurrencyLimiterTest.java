@@ -0,0 +1,95 @@
+package villagecompute.homepage.services;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import villagecompute.homepage.data.models.RateLimitViolation;
+import villagecompute.homepage.testing.PostgreSQLTestProfile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DatabaseConcurrencyLimiter: the permit cap under virtual-thread load, reentrancy, and that database work
+ * on a virtual thread does not pin its carrier.
+ */
+@QuarkusTest
+@TestProfile(PostgreSQLTestProfile.class)
+class DatabaseConcurrencyLimiterTest {
+
+    @Inject
+    DatabaseConcurrencyLimiter limiter;
+
+    @Test
+    void testCall_NeverExceedsMaxPermits() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        int tasks = limiter.maxPermits() * 4;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                results.add(executor.submit(() -> limiter.call(() -> {
+                    peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    active.decrementAndGet();
+                    return 1;
+                })));
+            }
+            int completed = 0;
+            for (Future<Integer> result : results) {
+                completed += result.get();
+            }
+            assertEquals(tasks, completed);
+        }
+
+        assertTrue(peak.get() <= limiter.maxPermits(), "peak " + peak.get() + " > " + limiter.maxPermits());
+        assertEquals(limiter.maxPermits(), limiter.availablePermits());
+    }
+
+    @Test
+    void testCall_NestedCallReusesPermit() throws Exception {
+        int available = limiter.call(() -> limiter.call(limiter::availablePermits));
+
+        assertEquals(limiter.maxPermits() - 1, available);
+        assertEquals(limiter.maxPermits(), limiter.availablePermits());
+    }
+
+    @Test
+    void testCall_DatabaseWorkDoesNotPinCarrier() throws Exception {
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            stream.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Long>> results = new ArrayList<>();
+                for (int i = 0; i < limiter.maxPermits() * 2; i++) {
+                    results.add(executor.submit(() -> limiter
+                            .call(() -> QuarkusTransaction.requiringNew().call(() -> RateLimitViolation.count()))));
+                }
+                for (Future<Long> result : results) {
+                    assertNotNull(result.get());
+                }
+            }
+
+            // stop() flushes buffered events to the onEvent handlers before returning
+            stream.stop();
+        }
+
+        assertTrue(pinned.isEmpty(), () -> "Virtual thread pinned during database work:\n" + pinned.get(0));
+    }
+}
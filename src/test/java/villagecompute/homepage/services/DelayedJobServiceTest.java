@@ -0,0 +1,64 @@
+package villagecompute.homepage.services;
+
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import villagecompute.homepage.jobs.ClickRollupJobHandler;
+import villagecompute.homepage.jobs.JobType;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for DelayedJobService virtual-thread dispatch: handlers run on a virtual thread and handler failures are
+ * absorbed by retry handling rather than failing the returned future.
+ */
+@QuarkusTest
+class DelayedJobServiceTest {
+
+    @Inject
+    DelayedJobService delayedJobService;
+
+    @InjectMock
+    ClickRollupJobHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        when(handler.handlesType()).thenReturn(JobType.CLICK_ROLLUP);
+    }
+
+    @Test
+    void testExecuteJobAsync_RunsHandlerOnVirtualThread() throws Exception {
+        AtomicReference<Thread> handlerThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            handlerThread.set(Thread.currentThread());
+            return null;
+        }).when(handler).execute(any(), any());
+
+        delayedJobService.executeJobAsync(JobType.CLICK_ROLLUP, -1L, Map.of(), 1).get(10, TimeUnit.SECONDS);
+
+        assertNotNull(handlerThread.get(), "Handler should have run");
+        assertTrue(handlerThread.get().isVirtual(), "Handler should run on a virtual thread");
+        assertNotSame(Thread.currentThread(), handlerThread.get());
+    }
+
+    @Test
+    void testExecuteJobAsync_HandlerFailureCompletesNormally() throws Exception {
+        doThrow(new IllegalStateException("boom")).when(handler).execute(any(), any());
+
+        // Job -1 does not exist, so failure handling only logs
+        delayedJobService.executeJobAsync(JobType.CLICK_ROLLUP, -1L, Map.of(), 1).get(10, TimeUnit.SECONDS);
+
+        verify(handler).execute(-1L, Map.of());
+    }
+}
@@ -0,0 +1,142 @@
+package villagecompute.homepage.services;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import villagecompute.homepage.data.models.EmailDeliveryLog;
+import villagecompute.homepage.testing.PostgreSQLTestProfile;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for {@link EmailDispatchService} claiming and outcome recording, with GreenMail as the SMTP server.
+ */
+@QuarkusTest
+@TestProfile(PostgreSQLTestProfile.class)
+class EmailDispatchServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Inject
+    EmailDispatchService dispatchService;
+
+    @BeforeEach
+    void setUp() {
+        greenMail.reset();
+        QuarkusTransaction.requiringNew().run(() -> EmailDeliveryLog.deleteAll());
+    }
+
+    @Test
+    void testDispatch_SendsConcurrentlyAndMarksSentOnCompletion() {
+        List<UUID> ids = List.of(queue("one@example.com"), queue("two@example.com"), queue("three@example.com"));
+
+        EmailDispatchService.DispatchRun run = dispatchService.dispatch();
+
+        assertEquals(3, run.sent());
+        assertEquals(0, run.failed());
+        assertEquals(1, run.batches());
+        // Results are recorded only after the SMTP server accepted each message, so no waiting is needed here
+        assertEquals(3, greenMail.getReceivedMessages().length);
+        for (UUID id : ids) {
+            EmailDeliveryLog log = load(id);
+            assertEquals(EmailDeliveryLog.DeliveryStatus.SENT, log.status);
+            assertNotNull(log.sentAt);
+            assertNull(log.claimedAt);
+        }
+    }
+
+    @Test
+    void testDispatch_InvalidAddressFailsWithoutRetry() {
+        UUID id = queue("not-an-email");
+
+        EmailDispatchService.DispatchRun run = dispatchService.dispatch();
+
+        assertEquals(1, run.failed());
+        assertEquals(0, run.requeued());
+        EmailDeliveryLog log = load(id);
+        assertEquals(EmailDeliveryLog.DeliveryStatus.FAILED, log.status);
+        assertEquals(1, log.retryCount);
+        assertNotNull(log.errorMessage);
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void testDispatch_EmptyQueue() {
+        EmailDispatchService.DispatchRun run = dispatchService.dispatch();
+
+        assertEquals(0, run.batches());
+        assertEquals(0, run.sent());
+    }
+
+    @Test
+    void testClaimBatch_SkipsFreshClaimsAndBackedOffRetries() {
+        Instant now = Instant.now();
+        UUID queued = queue("queued@example.com");
+        UUID staleSending = queueWithClaim("stale@example.com", EmailDeliveryLog.DeliveryStatus.SENDING,
+                now.minus(Duration.ofHours(1)));
+        queueWithClaim("inflight@example.com", EmailDeliveryLog.DeliveryStatus.SENDING, now);
+        queueWithClaim("backoff@example.com", EmailDeliveryLog.DeliveryStatus.QUEUED, now);
+
+        List<UUID> claimed = QuarkusTransaction.requiringNew()
+                .call(() -> EmailDeliveryLog.claimBatch(now, now.minus(EmailDispatchService.RETRY_DELAY),
+                        now.minus(Duration.ofMinutes(10)), 10));
+
+        assertEquals(2, claimed.size());
+        assertTrue(claimed.containsAll(List.of(queued, staleSending)));
+        assertEquals(EmailDeliveryLog.DeliveryStatus.SENDING, load(queued).status);
+    }
+
+    @Test
+    void testClaimBatch_RespectsLimit() {
+        for (int i = 0; i < 3; i++) {
+            queue("limit" + i + "@example.com");
+        }
+        Instant now = Instant.now();
+
+        List<UUID> first = QuarkusTransaction.requiringNew()
+                .call(() -> EmailDeliveryLog.claimBatch(now, now, now.minus(Duration.ofMinutes(10)), 2));
+        List<UUID> second = QuarkusTransaction.requiringNew()
+                .call(() -> EmailDeliveryLog.claimBatch(now, now, now.minus(Duration.ofMinutes(10)), 2));
+
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+    }
+
+    private static UUID queue(String to) {
+        return queueWithClaim(to, EmailDeliveryLog.DeliveryStatus.QUEUED, null);
+    }
+
+    private static UUID queueWithClaim(String to, EmailDeliveryLog.DeliveryStatus status, Instant claimedAt) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            EmailDeliveryLog log = new EmailDeliveryLog();
+            log.emailAddress = to;
+            log.templateName = "dispatch-test";
+            log.subject = "Dispatch test";
+            log.htmlBody = "<p>Dispatch test</p>";
+            log.textBody = "Dispatch test";
+            log.status = status;
+            log.claimedAt = claimedAt;
+            log.createdAt = Instant.now();
+            log.persist();
+            return log.id;
+        });
+    }
+
+    private static EmailDeliveryLog load(UUID id) {
+        return QuarkusTransaction.requiringNew().call(() -> EmailDeliveryLog.<EmailDeliveryLog>findById(id));
+    }
+}
@@ -0,0 +1,68 @@
+package villagecompute.homepage.services;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import villagecompute.homepage.data.models.User;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link EntityLookup}: batch loading by id and per-request user-by-email lookups.
+ */
+@QuarkusTest
+class EntityLookupTest {
+
+    @Inject
+    EntityLookup entityLookup;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> User.delete("email LIKE ?1", "%@lookup.test"));
+        alice = User.createAuthenticated("alice@lookup.test", "google", "lookup-1", "Alice", null);
+        bob = User.createAuthenticated("bob@lookup.test", "google", "lookup-2", "Bob", null);
+    }
+
+    @Test
+    @Transactional
+    void testUsers_SkipsNullDuplicateAndUnknownIds() {
+        UUID unknownId = UUID.randomUUID();
+
+        Map<UUID, User> users = entityLookup.users(Arrays.asList(bob.id, null, alice.id, unknownId, bob.id));
+
+        assertEquals(List.of(bob.id, alice.id), List.copyOf(users.keySet()));
+        assertEquals("alice@lookup.test", users.get(alice.id).email);
+        assertTrue(entityLookup.users(List.of()).isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void testUser_ReturnsManagedInstance() {
+        User loaded = entityLookup.user(alice.id).orElseThrow();
+
+        assertSame(loaded, entityLookup.users(List.of(alice.id)).get(alice.id));
+        assertTrue(entityLookup.user(null).isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void testUserByEmail_RemembersResultForRequest() {
+        User first = entityLookup.userByEmail("alice@lookup.test").orElseThrow();
+
+        assertEquals(alice.id, first.id);
+        assertSame(first, entityLookup.userByEmail("alice@lookup.test").orElseThrow());
+        assertTrue(entityLookup.userByEmail("nobody@lookup.test").isEmpty());
+        assertTrue(entityLookup.userByEmail(" ").isEmpty());
+    }
+}
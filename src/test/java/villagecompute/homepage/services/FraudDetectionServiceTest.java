@@ -11,6 +11,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
@@ -523,4 +525,69 @@ class FraudDetectionServiceTest extends BaseIntegrationTest {
         assertTrue(result.isSuspicious());
         assertTrue(result.reasons().contains("Excessive capitalization (spam indicator)"));
     }
+
+    /**
+     * Tests batch analysis with an indexed JSON array response.
+     *
+     * <p>
+     * Verifies that one prompt covers the whole batch, results are matched by index rather than array position, and a
+     * listing missing from the response falls back to rule-based analysis.
+     */
+    @Test
+    @Transactional
+    void testAnalyzeListingsBatch_MatchesByIndexAndFallsBackOnGaps() {
+        // Given: response out of order and missing index 2
+        String mockResponse = """
+                [
+                  {"index": 1, "is_suspicious": true, "confidence": 0.90, "reasons": ["Gift card payment"]},
+                  {"index": 0, "is_suspicious": false, "confidence": 0.05, "reasons": []}
+                ]
+                """;
+        when(mockChatModel.chat(anyString())).thenReturn(mockResponse);
+
+        User owner = TestFixtures.createTestUser();
+        List<MarketplaceListing> listings = List.of(
+                TestFixtures.createTestListing(owner, "Used Mountain Bike", "Well maintained.",
+                        new BigDecimal("200.00")),
+                TestFixtures.createTestListing(owner, "iPhone 15 Pro", "Pay with gift cards only.",
+                        new BigDecimal("100.00")),
+                TestFixtures.createTestListing(owner, "Designer Handbag", "Replica, looks just like the real thing.",
+                        new BigDecimal("40.00")));
+
+        // When: analyze as one batch
+        List<FraudAnalysisResultType> results = service.analyzeListingsBatch(listings);
+
+        // Then: one API call, results in listing order, gap filled by rules
+        verify(mockChatModel, times(1)).chat(anyString());
+        assertEquals(3, results.size());
+        assertFalse(results.get(0).isSuspicious());
+        assertTrue(results.get(1).isSuspicious());
+        assertTrue(results.get(1).reasons().contains("Gift card payment"));
+        assertTrue(results.get(2).isSuspicious());
+        assertTrue(results.get(2).reasons().contains("Counterfeit goods mentioned"));
+        assertEquals("rule-based-v1.0", results.get(2).promptVersion());
+    }
+
+    /**
+     * Tests batch analysis falling back to rules for every listing when the response is not a JSON array.
+     */
+    @Test
+    @Transactional
+    void testAnalyzeListingsBatch_UnparseableResponseFallsBackToRules() {
+        when(mockChatModel.chat(anyString())).thenReturn("I cannot analyze these listings.");
+
+        User owner = TestFixtures.createTestUser();
+        List<MarketplaceListing> listings = List.of(
+                TestFixtures.createTestListing(owner, "Oak Dining Table", "Solid oak, seats six.",
+                        new BigDecimal("300.00")),
+                TestFixtures.createTestListing(owner, "Work From Home", "Earn $500 daily from home, act now!",
+                        new BigDecimal("0.00")));
+
+        List<FraudAnalysisResultType> results = service.analyzeListingsBatch(listings);
+
+        assertEquals(2, results.size());
+        assertFalse(results.get(0).isSuspicious());
+        assertTrue(results.get(1).isSuspicious());
+        assertTrue(results.get(1).reasons().contains("Urgency tactics detected"));
+    }
 }
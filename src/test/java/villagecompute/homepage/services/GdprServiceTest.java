@@ -0,0 +1,220 @@
+package villagecompute.homepage.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import villagecompute.homepage.api.types.SignedUrlType;
+import villagecompute.homepage.api.types.StorageUploadResultType;
+import villagecompute.homepage.data.models.LinkClick;
+import villagecompute.homepage.data.models.RateLimitViolation;
+import villagecompute.homepage.data.models.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the streamed GDPR export: section contents, keyset paging of large sections, and that a failing section
+ * aborts the upload instead of storing a truncated archive.
+ *
+ * <p>
+ * The storage mock drains the piped ZIP on the uploader thread, like the real multipart upload, and only records an
+ * object once it has read the stream to its end.
+ */
+@QuarkusTest
+class GdprServiceTest {
+
+    private static final int LINK_CLICKS = 520; // more than one export page
+
+    private static final List<String> ENTITY_SECTIONS = List.of("curated_articles", "social_tokens", "social_posts",
+            "marketplace_listings", "marketplace_messages", "listing_promotions", "listing_flags", "payment_refunds",
+            "directory_sites", "directory_votes", "karma_audit", "account_merge_audit", "rate_limit_violations",
+            "impersonation_audit");
+
+    @Inject
+    GdprService gdprService;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @InjectMock
+    StorageGateway storageGateway;
+
+    private final Map<String, byte[]> storedObjects = new ConcurrentHashMap<>();
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            // The feature flag evaluation log is a partitioned table without an entity, so Hibernate does not create it
+            entityManager.createNativeQuery("""
+                    CREATE TABLE IF NOT EXISTS feature_flag_evaluations (
+                        flag_key TEXT NOT NULL,
+                        subject_type TEXT NOT NULL,
+                        subject_id TEXT NOT NULL,
+                        result BOOLEAN NOT NULL,
+                        consent_granted BOOLEAN NOT NULL,
+                        rollout_percentage_snapshot SMALLINT NOT NULL,
+                        evaluation_reason TEXT,
+                        trace_id TEXT,
+                        timestamp TIMESTAMPTZ NOT NULL DEFAULT NOW())
+                    """).executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM feature_flag_evaluations").executeUpdate();
+            LinkClick.deleteAll();
+            RateLimitViolation.deleteAll();
+            User.delete("email LIKE ?1", "%@gdpr.test");
+        });
+
+        user = User.createAuthenticated("export@gdpr.test", "google", "gdpr-1", "Export User", null);
+        QuarkusTransaction.requiringNew().run(() -> {
+            User managed = User.findById(user.id);
+            managed.analyticsConsent = true;
+        });
+
+        storedObjects.clear();
+        when(storageGateway.uploadStream(eq(StorageGateway.BucketType.GDPR_EXPORTS), anyString(),
+                any(InputStream.class), anyLong(), eq("application/zip"))).thenAnswer(invocation -> {
+                    String key = invocation.getArgument(1);
+                    byte[] bytes = invocation.<InputStream>getArgument(2).readAllBytes();
+                    storedObjects.put(key, bytes);
+                    return new StorageUploadResultType(key, "gdpr-exports", (long) bytes.length, "application/zip",
+                            "original", null, Instant.now().toString());
+                });
+        when(storageGateway.generateSignedUrl(eq(StorageGateway.BucketType.GDPR_EXPORTS), anyString(), anyInt()))
+                .thenAnswer(invocation -> new SignedUrlType("https://r2.test/" + invocation.getArgument(1),
+                        Instant.now().plusSeconds(3600).toString(), invocation.getArgument(2),
+                        invocation.getArgument(1)));
+    }
+
+    @Test
+    void testExportUserData_WritesEverySection() throws Exception {
+        seedLinkClicks(LINK_CLICKS);
+        QuarkusTransaction.requiringNew().run(() -> {
+            RateLimitViolation violation = new RateLimitViolation();
+            violation.id = UUID.randomUUID();
+            violation.userId = user.id.getMostSignificantBits();
+            violation.ipAddress = "10.0.0.9";
+            violation.actionType = "vote";
+            violation.endpoint = "/api/vote";
+            violation.violationCount = 2;
+            violation.firstViolationAt = Instant.now();
+            violation.lastViolationAt = Instant.now();
+            violation.persist();
+
+            for (String flag : List.of("beta_ui", "stocks_widget")) {
+                entityManager.createNativeQuery("""
+                        INSERT INTO feature_flag_evaluations
+                            (flag_key, subject_type, subject_id, result, consent_granted, rollout_percentage_snapshot)
+                        VALUES (?1, 'user', ?2, TRUE, TRUE, 100)
+                        """).setParameter(1, flag).setParameter(2, user.id.toString()).executeUpdate();
+            }
+        });
+
+        String url = gdprService.exportUserData(user.id);
+
+        assertEquals(1, storedObjects.size());
+        String objectKey = storedObjects.keySet().iterator().next();
+        assertEquals("https://r2.test/" + objectKey, url);
+
+        JsonNode export = readExport(storedObjects.get(objectKey));
+        assertEquals("export@gdpr.test", export.path("user").path("email").asText());
+        assertTrue(export.has("profile"));
+        for (String section : ENTITY_SECTIONS) {
+            assertTrue(export.path(section).isArray(), "Missing section " + section);
+        }
+        assertEquals(1, export.path("rate_limit_violations").size());
+        assertEquals("vote", export.path("rate_limit_violations").get(0).path("actionType").asText());
+
+        JsonNode clicks = export.path("analytics").path("link_clicks");
+        assertEquals(LINK_CLICKS, clicks.size());
+        Set<String> clickIds = new HashSet<>();
+        clicks.forEach(click -> clickIds.add(click.path("id").asText()));
+        assertEquals(LINK_CLICKS, clickIds.size(), "Pages must neither repeat nor skip rows");
+
+        JsonNode evaluations = export.path("analytics").path("feature_flag_evaluations");
+        assertEquals(2, evaluations.size());
+        assertEquals("beta_ui", evaluations.get(0).path("flag_key").asText());
+    }
+
+    @Test
+    void testExportUserData_ExcludesAnalyticsWithoutConsent() throws Exception {
+        seedLinkClicks(3);
+        QuarkusTransaction.requiringNew().run(() -> {
+            User managed = User.findById(user.id);
+            managed.analyticsConsent = false;
+        });
+
+        gdprService.exportUserData(user.id);
+
+        JsonNode analytics = readExport(storedObjects.values().iterator().next()).path("analytics");
+        assertFalse(analytics.has("link_clicks"));
+        assertEquals("Analytics data excluded (consent not given)", analytics.path("note").asText());
+    }
+
+    @Test
+    void testExportUserData_FailingSectionAbortsUpload() {
+        seedLinkClicks(LINK_CLICKS);
+        // The last section reads the evaluation log; without the table it fails after most of the ZIP is written
+        QuarkusTransaction.requiringNew()
+                .run(() -> entityManager.createNativeQuery("DROP TABLE feature_flag_evaluations").executeUpdate());
+
+        assertThrows(Exception.class, () -> gdprService.exportUserData(user.id));
+
+        assertTrue(storedObjects.isEmpty(), "A truncated export must not be stored");
+        verify(storageGateway, never()).generateSignedUrl(any(), anyString(), anyInt());
+    }
+
+    private JsonNode readExport(byte[] zip) throws Exception {
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry = in.getNextEntry();
+            assertNotNull(entry);
+            assertEquals("user_data.json", entry.getName());
+            JsonNode export = objectMapper.readTree(in.readAllBytes());
+            assertNull(in.getNextEntry(), "Export should contain a single entry");
+            return export;
+        }
+    }
+
+    private void seedLinkClicks(int count) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 0; i < count; i++) {
+                LinkClick click = new LinkClick();
+                click.clickDate = LocalDate.now();
+                click.clickTimestamp = Instant.now();
+                click.clickType = "profile_view";
+                click.targetUrl = "https://example.com/" + i;
+                click.userId = user.id;
+                click.persist();
+            }
+        });
+    }
+}
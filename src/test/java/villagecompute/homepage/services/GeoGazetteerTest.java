@@ -0,0 +1,167 @@
+package villagecompute.homepage.services;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import villagecompute.homepage.data.models.GeoCity;
+import villagecompute.homepage.data.models.GeoCountry;
+import villagecompute.homepage.data.models.GeoState;
+import villagecompute.homepage.testing.PostgreSQLTestProfile;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the in-memory {@link GeoGazetteer}: loading from the geo tables, ranked prefix autocomplete and
+ * grid-based nearest-city lookups.
+ */
+@QuarkusTest
+@TestProfile(PostgreSQLTestProfile.class)
+class GeoGazetteerTest {
+
+    @Inject
+    GeoGazetteer gazetteer;
+
+    @Inject
+    EntityManager entityManager;
+
+    private long grotonId;
+    private long burlingtonVtId;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            deleteGeoData();
+            GeoCountry us = createCountry("United States", "US", "USA");
+            GeoCountry canada = createCountry("Canada", "CA", "CAN");
+            GeoState vermont = createState(us, "Vermont", "VT");
+            GeoState washington = createState(us, "Washington", "WA");
+            GeoState quebec = createState(canada, "Quebec", "QC");
+
+            grotonId = createCity(vermont, us, "Groton", 44.7172, -72.2095);
+            burlingtonVtId = createCity(vermont, us, "Burlington", 44.4759, -73.2121);
+            createCity(washington, us, "Burlington", 48.4757, -122.3255);
+            createCity(vermont, us, "Burke", 44.6006, -71.9579);
+            createCity(washington, us, "Seattle", 47.6062, -122.3321);
+            createCity(washington, us, "Tacoma", 47.2529, -122.4443);
+            createCity(quebec, canada, "Montréal", 45.5017, -73.5673);
+        });
+        assertEquals(7, gazetteer.reload());
+    }
+
+    @AfterEach
+    void tearDown() {
+        QuarkusTransaction.requiringNew().run(this::deleteGeoData);
+        gazetteer.reload();
+    }
+
+    @Test
+    void testFindById() {
+        GeoGazetteer.City groton = gazetteer.findById(grotonId).orElseThrow();
+
+        assertEquals("Groton", groton.name());
+        assertEquals("VT", groton.stateCode());
+        assertEquals("US", groton.countryCode());
+        assertEquals("Groton, VT", groton.displayName());
+        assertEquals(44.7172, groton.latitude(), 1e-7);
+        assertTrue(gazetteer.findById(-1).isEmpty());
+    }
+
+    @Test
+    void testAutocomplete_RanksShorterNamesFirst() {
+        List<GeoGazetteer.City> matches = gazetteer.autocomplete("bur", 10);
+
+        assertEquals(List.of("Burke", "Burlington", "Burlington"),
+                matches.stream().map(GeoGazetteer.City::name).toList());
+        assertEquals(2, gazetteer.autocomplete("BURL", 10).size(), "Prefix match should be case-insensitive");
+        assertEquals(1, gazetteer.autocomplete("bur", 1).size());
+        assertTrue(gazetteer.autocomplete("xyz", 10).isEmpty());
+        assertTrue(gazetteer.autocomplete(" ", 10).isEmpty());
+    }
+
+    @Test
+    void testAutocomplete_FoldsAccentsAndFiltersByState() {
+        assertEquals("Montréal", gazetteer.autocomplete("montre", 10).get(0).name());
+
+        List<GeoGazetteer.City> washington = gazetteer.autocomplete("Burlington, w", 10);
+        assertEquals(1, washington.size());
+        assertEquals("Burlington, WA", washington.get(0).displayName());
+    }
+
+    @Test
+    void testAutocomplete_BiasesTowardNearbyCities() {
+        // From Seattle, Burlington WA outranks Burlington VT
+        List<GeoGazetteer.City> matches = gazetteer.autocomplete("Burlington", 47.6062, -122.3321, 10);
+
+        assertEquals("WA", matches.get(0).stateCode());
+        assertEquals("VT", matches.get(1).stateCode());
+    }
+
+    @Test
+    void testNearest() {
+        // A point just outside Groton
+        GeoGazetteer.NearbyCity nearest = gazetteer.nearest(44.72, -72.25).orElseThrow();
+
+        assertEquals(grotonId, nearest.city().id());
+        assertTrue(nearest.distanceMiles() < 5);
+        assertTrue(gazetteer.nearest(0.0, 0.0).isEmpty(), "No city within range of the Gulf of Guinea");
+    }
+
+    @Test
+    void testNearest_WidensRingsForLongitudeAtHighLatitude() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            GeoCountry us = GeoCountry.findByIso2("US").orElseThrow();
+            createCity(createState(us, "Alaska", "AK"), us, "Utqiagvik", 71.2906, -156.7886);
+        });
+        assertEquals(8, gazetteer.reload());
+
+        // 4 degrees of longitude east is ~89 miles here but eight grid columns, beyond a latitude-sized ring count
+        GeoGazetteer.NearbyCity nearest = gazetteer.nearest(71.2906, -152.7886, 100).orElseThrow();
+
+        assertEquals("Utqiagvik", nearest.city().name());
+        assertEquals(89, nearest.distanceMiles(), 2);
+    }
+
+    private void deleteGeoData() {
+        entityManager.createNativeQuery("DELETE FROM geo_cities").executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM geo_states").executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM geo_countries").executeUpdate();
+    }
+
+    private static GeoCountry createCountry(String name, String iso2, String iso3) {
+        GeoCountry country = new GeoCountry();
+        country.name = name;
+        country.iso2 = iso2;
+        country.iso3 = iso3;
+        country.persist();
+        return country;
+    }
+
+    private static GeoState createState(GeoCountry country, String name, String stateCode) {
+        GeoState state = new GeoState();
+        state.country = country;
+        state.name = name;
+        state.stateCode = stateCode;
+        state.persist();
+        return state;
+    }
+
+    private static long createCity(GeoState state, GeoCountry country, String name, double latitude,
+            double longitude) {
+        GeoCity city = new GeoCity();
+        city.state = state;
+        city.country = country;
+        city.name = name;
+        city.latitude = BigDecimal.valueOf(latitude);
+        city.longitude = BigDecimal.valueOf(longitude);
+        city.persist();
+        return city.id;
+    }
+}
@@ -0,0 +1,149 @@
+package villagecompute.homepage.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import villagecompute.homepage.services.LinkHealthCheckService.LinkCheckResult;
+import villagecompute.homepage.services.LinkHealthCheckService.LinkTarget;
+
+/**
+ * Unit tests for {@link LinkHealthCheckService} probing and slot scheduling.
+ *
+ * <p>
+ * Uses a local stub HTTP server (JDK {@link HttpServer}) instead of real websites. Database paging, the SQL slot
+ * predicate and batched commits are covered by {@code LinkHealthCheckJobHandlerTest}.
+ */
+class LinkHealthCheckServiceTest {
+
+    private HttpServer server;
+    private LinkHealthCheckService service;
+    private String baseUrl;
+
+    private final AtomicInteger concurrentSlowRequests = new AtomicInteger();
+    private final AtomicInteger maxConcurrentSlowRequests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 200));
+        server.createContext("/missing", exchange -> respond(exchange, 404));
+        server.createContext("/no-head",
+                exchange -> respond(exchange, "HEAD".equals(exchange.getRequestMethod()) ? 405 : 200));
+        server.createContext("/slow", exchange -> {
+            int current = concurrentSlowRequests.incrementAndGet();
+            maxConcurrentSlowRequests.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrentSlowRequests.decrementAndGet();
+            }
+            respond(exchange, 200);
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        service = new LinkHealthCheckService();
+        service.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testProbeAll_mapsStatusCodesInOrder() {
+        List<LinkTarget> targets = List.of(target("/ok"), target("/missing"), target("/no-head"),
+                new LinkTarget(UUID.randomUUID(), "http://127.0.0.1:1/unreachable", "127.0.0.1"));
+
+        List<LinkCheckResult> results = service.probeAll(targets);
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).accessible(), "200 should be healthy");
+        assertFalse(results.get(1).accessible(), "404 should fail");
+        assertTrue(results.get(2).accessible(), "405 on HEAD should fall back to GET");
+        assertFalse(results.get(3).accessible(), "connection refused should fail");
+        for (int i = 0; i < targets.size(); i++) {
+            assertEquals(targets.get(i).siteId(), results.get(i).siteId());
+        }
+    }
+
+    @Test
+    void testProbeAll_respectsPerHostConcurrencyCap() {
+        List<LinkTarget> targets = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            targets.add(target("/slow"));
+        }
+
+        List<LinkCheckResult> results = service.probeAll(targets);
+
+        assertEquals(12, results.size());
+        assertTrue(results.stream().allMatch(LinkCheckResult::accessible));
+        assertTrue(maxConcurrentSlowRequests.get() <= LinkHealthCheckService.MAX_REQUESTS_PER_HOST,
+                "Expected at most " + LinkHealthCheckService.MAX_REQUESTS_PER_HOST + " concurrent requests, saw "
+                        + maxConcurrentSlowRequests.get());
+        assertTrue(maxConcurrentSlowRequests.get() > 1, "Requests to one host should still overlap");
+    }
+
+    @Test
+    void testSlotFor_isStableAndCoversAllSlots() {
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            int slot = LinkHealthCheckService.slotFor(id, LinkHealthCheckService.SLOTS_PER_WEEK);
+            assertTrue(slot >= 0 && slot < LinkHealthCheckService.SLOTS_PER_WEEK);
+            assertEquals(slot, LinkHealthCheckService.slotFor(id, LinkHealthCheckService.SLOTS_PER_WEEK));
+            seen.add(slot);
+        }
+        assertEquals(LinkHealthCheckService.SLOTS_PER_WEEK, seen.size());
+        assertEquals(0, LinkHealthCheckService.slotFor(UUID.randomUUID(), 1));
+    }
+
+    @Test
+    void testSlotFor_usesLowThirtyTwoBitsUnsigned() {
+        // Must agree with the SQL predicate, which reads the id's last 8 hex digits as an unsigned number
+        assertEquals(169 % 168, LinkHealthCheckService.slotFor(UUID.fromString("00000000-0000-4000-8000-0000000000a9"),
+                LinkHealthCheckService.SLOTS_PER_WEEK));
+        assertEquals((int) (0xFFFFFFFFL % 168), LinkHealthCheckService.slotFor(
+                UUID.fromString("ffffffff-ffff-4fff-bfff-ffffffffffff"), LinkHealthCheckService.SLOTS_PER_WEEK));
+    }
+
+    @Test
+    void testCurrentSlot_hourOfWeekFromMondayUtc() {
+        assertEquals(0, LinkHealthCheckService.currentSlot(Instant.parse("2026-10-12T00:15:00Z"))); // Monday
+        assertEquals(27, LinkHealthCheckService.currentSlot(Instant.parse("2026-10-13T03:00:00Z"))); // Tuesday 3am
+        assertEquals(167, LinkHealthCheckService.currentSlot(Instant.parse("2026-10-18T23:59:59Z"))); // Sunday
+    }
+
+    private LinkTarget target(String path) {
+        return new LinkTarget(UUID.randomUUID(), baseUrl + path, "127.0.0.1");
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+}
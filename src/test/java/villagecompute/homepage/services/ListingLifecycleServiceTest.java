@@ -0,0 +1,139 @@
+package villagecompute.homepage.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import villagecompute.homepage.api.types.ContactInfoType;
+import villagecompute.homepage.api.types.FeeScheduleType;
+import villagecompute.homepage.data.models.DelayedJob;
+import villagecompute.homepage.data.models.ListingPromotion;
+import villagecompute.homepage.data.models.MarketplaceCategory;
+import villagecompute.homepage.data.models.MarketplaceListing;
+import villagecompute.homepage.jobs.JobType;
+
+/**
+ * Tests for {@link ListingLifecycleService} set-based expiration sweeps.
+ */
+@QuarkusTest
+class ListingLifecycleServiceTest {
+
+    @Inject
+    ListingLifecycleService lifecycleService;
+
+    private UUID categoryId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        MarketplaceListing.deleteAll();
+        MarketplaceCategory.deleteAll();
+        ListingPromotion.deleteAll();
+        DelayedJob.deleteAll();
+
+        MarketplaceCategory category = new MarketplaceCategory();
+        category.name = "Lifecycle Category";
+        category.slug = "lifecycle-" + UUID.randomUUID();
+        category.sortOrder = 1;
+        category.isActive = true;
+        category.feeSchedule = FeeScheduleType.free();
+        categoryId = MarketplaceCategory.create(category).id;
+    }
+
+    @Test
+    void testExpireListings_ExpiresOnlyPastDueActiveListings() {
+        Instant now = Instant.now();
+        UUID expired1 = createListing("active", now.minus(Duration.ofHours(1))).id;
+        UUID expired2 = createListing("active", now.minus(Duration.ofDays(2))).id;
+        UUID future = createListing("active", now.plus(Duration.ofDays(5))).id;
+        UUID draft = createListing("draft", now.minus(Duration.ofDays(1))).id;
+
+        ListingLifecycleService.ExpirationSweep sweep = lifecycleService.expireListings(now);
+
+        assertEquals(2, sweep.expired());
+        assertEquals(1, sweep.chunks());
+        assertEquals("expired", statusOf(expired1));
+        assertEquals("expired", statusOf(expired2));
+        assertEquals("active", statusOf(future));
+        assertEquals("draft", statusOf(draft));
+        long cleanupJobs = QuarkusTransaction.requiringNew()
+                .call(() -> DelayedJob.count("jobType", JobType.LISTING_IMAGE_CLEANUP));
+        assertEquals(2L, cleanupJobs, "Each expired listing should get an image cleanup job");
+    }
+
+    @Test
+    void testExpireListings_NothingDue() {
+        createListing("active", Instant.now().plus(Duration.ofDays(5)));
+
+        ListingLifecycleService.ExpirationSweep sweep = lifecycleService.expireListings(Instant.now());
+
+        assertEquals(0, sweep.expired());
+        assertEquals(0, sweep.chunks());
+    }
+
+    @Test
+    void testExpireBatch_RespectsLimit() {
+        Instant now = Instant.now();
+        for (int i = 0; i < 3; i++) {
+            createListing("active", now.minus(Duration.ofHours(i + 1)));
+        }
+
+        List<UUID> first = QuarkusTransaction.requiringNew().call(() -> MarketplaceListing.expireBatch(now, 2));
+        List<UUID> second = QuarkusTransaction.requiringNew().call(() -> MarketplaceListing.expireBatch(now, 2));
+
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+    }
+
+    @Test
+    void testExpireFeaturedPromotions_DeletesOnlyExpired() {
+        Instant now = Instant.now();
+        createPromotion("pi_lifecycle_expired", now.minus(Duration.ofHours(1)));
+        createPromotion("pi_lifecycle_active", now.plus(Duration.ofDays(3)));
+
+        int deleted = lifecycleService.expireFeaturedPromotions(now);
+
+        assertEquals(1, deleted);
+        assertEquals(1L, QuarkusTransaction.requiringNew().call(() -> ListingPromotion.count()));
+    }
+
+    private MarketplaceListing createListing(String status, Instant expiresAt) {
+        MarketplaceListing listing = new MarketplaceListing();
+        listing.userId = UUID.randomUUID();
+        listing.categoryId = categoryId;
+        listing.title = "Lifecycle Listing " + status;
+        listing.description = "Description for lifecycle sweep listing. Long enough to meet minimum requirements.";
+        listing.price = new BigDecimal("10.00");
+        listing.contactInfo = ContactInfoType.forListing("seller@example.com", null);
+        listing.status = status;
+        listing.expiresAt = expiresAt;
+        return MarketplaceListing.create(listing);
+    }
+
+    private void createPromotion(String paymentIntentId, Instant expiresAt) {
+        ListingPromotion promotion = new ListingPromotion();
+        promotion.listingId = UUID.randomUUID();
+        promotion.type = "featured";
+        promotion.stripePaymentIntentId = paymentIntentId;
+        promotion.amountCents = 500;
+        promotion.startsAt = expiresAt.minus(Duration.ofDays(7));
+        promotion.expiresAt = expiresAt;
+        ListingPromotion.create(promotion);
+    }
+
+    private static String statusOf(UUID listingId) {
+        return QuarkusTransaction.requiringNew()
+                .call(() -> MarketplaceListing.<MarketplaceListing>findById(listingId).status);
+    }
+}
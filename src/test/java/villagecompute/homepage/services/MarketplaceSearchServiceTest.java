@@ -5,18 +5,23 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import villagecompute.homepage.api.types.ContactInfoType;
+import villagecompute.homepage.api.types.FacetedSearchResultsType;
 import villagecompute.homepage.api.types.ListingSearchResultType;
 import villagecompute.homepage.api.types.SearchCriteria;
+import villagecompute.homepage.api.types.SearchCursor;
 import villagecompute.homepage.data.models.MarketplaceCategory;
 import villagecompute.homepage.data.models.MarketplaceListing;
 
@@ -31,7 +36,7 @@ import villagecompute.homepage.data.models.MarketplaceListing;
  * <li>Price range filtering</li>
  * <li>Date range filtering</li>
  * <li>Sorting (newest, price_asc, price_desc)</li>
- * <li>Pagination (offset, limit)</li>
+ * <li>Pagination (offset, limit, keyset cursor)</li>
  * <li>Empty result sets</li>
  * <li>Only active listings returned (draft/expired/removed excluded)</li>
  * </ul>
@@ -258,6 +263,74 @@ public class MarketplaceSearchServiceTest {
                 "Pages should not have overlapping results");
     }
 
+    @Test
+    @Transactional
+    public void testSearchKeysetPagination_MatchesOffsetPages() {
+        for (String sortBy : List.of("newest", "price_asc", "price_desc")) {
+            List<ListingSearchResultType> offsetPage2 = searchService.searchListings(
+                    new SearchCriteria(null, null, null, null, null, null, null, null, null, sortBy, 3, 3));
+
+            String cursor = searchService
+                    .searchPage(new SearchCriteria(null, null, null, null, null, null, null, null, null, sortBy, 0, 3))
+                    .nextCursor();
+            assertNotNull(cursor, "Full page should issue a cursor for " + sortBy);
+
+            List<ListingSearchResultType> cursorPage2 = searchService.searchListings(
+                    new SearchCriteria(null, null, null, null, null, null, null, null, null, sortBy, 0, 3, cursor));
+
+            assertEquals(offsetPage2.stream().map(ListingSearchResultType::id).toList(),
+                    cursorPage2.stream().map(ListingSearchResultType::id).toList(),
+                    "Cursor page should equal offset page for " + sortBy);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void testSearchKeysetPagination_NoCursorAfterFullLastPage() {
+        SearchCriteria fullPage = new SearchCriteria(null, categoryId1, null, null, null, null, null, null, null,
+                "newest", 0, 5);
+        MarketplaceSearchService.ListingPage all = searchService.searchPage(fullPage);
+        assertEquals(5, all.results().size());
+        assertNull(all.nextCursor(), "An exactly full last page should not issue a cursor");
+
+        MarketplaceSearchService.ListingPage first = searchService.searchPage(
+                new SearchCriteria(null, categoryId1, null, null, null, null, null, null, null, "newest", 0, 4));
+        assertEquals(4, first.results().size());
+        assertNotNull(first.nextCursor());
+
+        MarketplaceSearchService.ListingPage last = searchService.searchPage(new SearchCriteria(null, categoryId1,
+                null, null, null, null, null, null, null, "newest", 0, 4, first.nextCursor()));
+        assertEquals(1, last.results().size());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    public void testSearchKeysetPagination_ListingsInSameMillisecond() {
+        // Four newest listings created within one millisecond, microseconds apart
+        Instant millisecond = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS).plusMillis(123);
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int micros = 100; micros <= 400; micros += 100) {
+                createListing("Lamp " + micros, "Desk lamp " + micros, categoryId1, new BigDecimal("20"),
+                        millisecond.plus(micros, ChronoUnit.MICROS), "active");
+            }
+        });
+
+        MarketplaceSearchService.ListingPage first = searchService.searchPage(
+                new SearchCriteria(null, null, null, null, null, null, null, null, null, "newest", 0, 2));
+        List<ListingSearchResultType> page1 = first.results();
+        String cursor = first.nextCursor();
+        List<ListingSearchResultType> page2 = searchService.searchListings(
+                new SearchCriteria(null, null, null, null, null, null, null, null, null, "newest", 0, 2, cursor));
+
+        assertEquals(millisecond, SearchCursor.decode(cursor).createdAt(), "Cursor should carry milliseconds");
+        List<UUID> seen = new ArrayList<>(page1.stream().map(ListingSearchResultType::id).toList());
+        seen.addAll(page2.stream().map(ListingSearchResultType::id).toList());
+        assertEquals(4, seen.stream().distinct().count(), "Cursor pages must neither skip nor repeat listings");
+        assertTrue(Stream.concat(page1.stream(), page2.stream()).allMatch(r -> r.title().startsWith("Lamp ")));
+        assertTrue(Stream.concat(page1.stream(), page2.stream()).allMatch(r -> millisecond.equals(r.createdAt())),
+                "created_at should be stored at millisecond precision");
+    }
+
     @Test
     @Transactional
     public void testSearchTextQuery_FindsMatchingListings() {
@@ -310,6 +383,79 @@ public class MarketplaceSearchServiceTest {
         assertEquals(new BigDecimal("200"), results.get(2).price(), "Last result should be $200");
     }
 
+    @Test
+    @Transactional
+    public void testSearchWithFacets_ReturnsHitsCountAndFacets() {
+        SearchCriteria criteria = new SearchCriteria("bicycle", null, null, null, null, null, null, null, null,
+                "price_asc", 0, 2);
+
+        FacetedSearchResultsType response = searchService.searchWithFacets(criteria);
+
+        assertEquals(2, response.results().size(), "Should return one page of hits");
+        assertEquals(5, response.totalCount(), "Total count should cover all pages");
+        assertEquals(new BigDecimal("100"), response.results().get(0).price(), "Hits should honor sort");
+
+        assertEquals(5L, response.facets().categories().get(categoryId1), "Category facet should count all hits");
+        assertNull(response.facets().categories().get(categoryId2), "Non-matching category should have no bucket");
+        assertEquals(4L, response.facets().priceRanges().get("100-500"));
+        assertEquals(1L, response.facets().priceRanges().get("500-1000"));
+        assertEquals(0L, response.facets().priceRanges().get("0-25"));
+        assertEquals(5L, response.facets().postedWithin().get("30d"));
+    }
+
+    @Test
+    @Transactional
+    public void testSearchWithFacets_BrowseFacetsCachedAcrossPages() {
+        SearchCriteria firstPage = new SearchCriteria(null, categoryId2, null, null, null, null, null, null, null,
+                "newest", 0, 2);
+        SearchCriteria secondPage = new SearchCriteria(null, categoryId2, null, null, null, null, null, null, null,
+                "price_desc", 2, 2);
+
+        FacetedSearchResultsType first = searchService.searchWithFacets(firstPage);
+        FacetedSearchResultsType second = searchService.searchWithFacets(secondPage);
+
+        assertEquals(5L, first.facets().categories().get(categoryId2));
+        assertSame(first.facets(), second.facets(), "Browse facets should be reused across pages and sorts");
+        assertEquals(5, second.totalCount(), "Total count is always live");
+        assertEquals(2, second.results().size());
+    }
+
+    @Test
+    @Transactional
+    public void testSearchWithFacets_CursorPageKeepsTotalAndFacets() {
+        SearchCriteria firstPage = new SearchCriteria(null, categoryId1, null, null, null, null, null, null, null,
+                "newest", 0, 2);
+        String cursor = searchService.searchPage(firstPage).nextCursor();
+        SearchCriteria secondPage = new SearchCriteria(null, categoryId1, null, null, null, null, null, null, null,
+                "newest", 0, 2, cursor);
+
+        // Cursor page first, so a cursor-narrowed result would be what the facet cache holds
+        FacetedSearchResultsType second = searchService.searchWithFacets(secondPage);
+        FacetedSearchResultsType first = searchService.searchWithFacets(firstPage);
+
+        assertEquals(2, second.results().size());
+        assertEquals(5, second.totalCount(), "Cursor page total should cover all pages");
+        assertEquals(5, first.totalCount());
+        assertEquals(5L, second.facets().categories().get(categoryId1), "Cursor page facets should count all hits");
+        assertEquals(first.facets(), second.facets(), "Facets should not depend on the page");
+        assertEquals(4L, first.facets().priceRanges().get("100-500"));
+        assertEquals(1L, first.facets().priceRanges().get("500-1000"));
+    }
+
+    @Test
+    @Transactional
+    public void testSearchRadius_UnknownCenterCity_ReturnsEmpty() {
+        // Radius search centered on a city that does not exist
+        SearchCriteria criteria = new SearchCriteria(null, null, null, null, Long.MAX_VALUE, 25, null, null, null,
+                "distance", 0, 25);
+
+        List<ListingSearchResultType> results = searchService.searchListings(criteria);
+        long totalCount = searchService.countListings(criteria);
+
+        assertEquals(0, results.size(), "Unknown center city should match no listings");
+        assertEquals(0, totalCount, "Total count should be 0");
+    }
+
     @Test
     public void testSearchCriteriaValidation_InvalidRadius() {
         // Invalid radius value (not in 5, 10, 25, 50, 100, 250)
@@ -354,4 +500,32 @@ public class MarketplaceSearchServiceTest {
             new SearchCriteria(null, null, null, null, null, null, null, null, null, "newest", 0, 0);
         }, "Should reject limit <= 0");
     }
+
+    @Test
+    public void testSearchCriteriaValidation_Cursor() {
+        String newestCursor = new SearchCursor("newest", Instant.parse("2026-01-15T10:00:00Z"), UUID.randomUUID())
+                .encode();
+
+        SearchCriteria criteria = new SearchCriteria(null, null, null, null, null, null, null, null, null, "newest", 50,
+                25, newestCursor);
+        assertEquals(0, criteria.offset(), "Cursor should take precedence over offset");
+        assertEquals(newestCursor, criteria.decodedCursor().encode(), "Cursor should round-trip");
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new SearchCriteria(null, null, null, null, null, null, null, null, null, "price_asc", 0, 25, newestCursor);
+        }, "Should reject cursor issued for another sort");
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new SearchCriteria(null, null, null, null, 123L, 25, null, null, null, "distance", 0, 25, newestCursor);
+        }, "Should reject cursor with distance sort");
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new SearchCriteria(null, null, null, null, null, null, null, null, null, "newest", 0, 25, "not-a-cursor");
+        }, "Should reject malformed cursor");
+
+        String microsCursor = new SearchCursor("newest", Instant.parse("2026-01-15T10:00:00.123456Z"),
+                UUID.randomUUID()).encode();
+        assertEquals(Instant.parse("2026-01-15T10:00:00.123Z"), SearchCursor.decode(microsCursor).createdAt(),
+                "Newest cursors should be truncated to milliseconds");
+    }
 }
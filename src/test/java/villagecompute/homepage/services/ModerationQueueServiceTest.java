@@ -0,0 +1,158 @@
+package villagecompute.homepage.services;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import villagecompute.homepage.api.types.FlagType;
+import villagecompute.homepage.data.models.ListingFlag;
+import villagecompute.homepage.data.models.MarketplaceListing;
+import villagecompute.homepage.data.models.User;
+import villagecompute.homepage.services.ModerationQueueService.QueuePage;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ModerationQueueService covering joined flag pages, keyset pagination and per-status counts.
+ */
+@QuarkusTest
+class ModerationQueueServiceTest {
+
+    @Inject
+    ModerationQueueService moderationQueueService;
+
+    private UUID testListingId;
+    private UUID testUserId;
+    private UUID testAdminUserId;
+    private Instant now;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        // Clear all test data
+        ListingFlag.deleteAll();
+        MarketplaceListing.deleteAll();
+        User.deleteAll();
+
+        testListingId = UUID.randomUUID();
+        testUserId = UUID.randomUUID();
+        testAdminUserId = UUID.randomUUID();
+        now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        MarketplaceListing listing = new MarketplaceListing();
+        listing.id = testListingId;
+        listing.userId = testUserId;
+        listing.categoryId = UUID.randomUUID();
+        listing.geoCityId = 1L;
+        listing.title = "Test Listing";
+        listing.description = "Test description";
+        listing.contactInfo = new villagecompute.homepage.api.types.ContactInfoType("test@example.com", null,
+                "masked-test@villagecompute.com");
+        listing.status = "flagged";
+        listing.flagCount = 3L;
+        listing.createdAt = Instant.now();
+        listing.updatedAt = Instant.now();
+        listing.persist();
+
+        createTestUser(testUserId, "flagger@example.com");
+        createTestUser(testAdminUserId, "admin@example.com");
+
+        createFlag("spam", "pending", now.minusSeconds(30));
+        createFlag("fraud", "pending", now.minusSeconds(20));
+        createFlag("spam", "pending", now.minusSeconds(10));
+        ListingFlag dismissed = createFlag("prohibited_item", "dismissed", now.minusSeconds(40));
+        dismissed.reviewedByUserId = testAdminUserId;
+        dismissed.reviewedAt = now;
+    }
+
+    /**
+     * Test: A page carries listing and user details and a cursor that continues after its last flag.
+     */
+    @Test
+    @Transactional
+    void testPage_KeysetPagination() {
+        QueuePage first = moderationQueueService.page("pending", null, 0, 2);
+
+        assertEquals(List.of(now.minusSeconds(10), now.minusSeconds(20)),
+                first.flags().stream().map(FlagType::createdAt).toList());
+        assertEquals("Test Listing", first.flags().get(0).listingTitle());
+        assertEquals("flagged", first.flags().get(0).listingStatus());
+        assertEquals("flagger@example.com", first.flags().get(0).userEmail());
+        assertNotNull(first.nextCursor());
+
+        QueuePage second = moderationQueueService.page("pending", first.nextCursor(), 0, 2);
+
+        assertEquals(1, second.flags().size());
+        assertEquals(now.minusSeconds(30), second.flags().get(0).createdAt());
+        assertNull(second.nextCursor());
+    }
+
+    /**
+     * Test: Malformed cursors are rejected.
+     */
+    @Test
+    @Transactional
+    void testPage_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> moderationQueueService.page("pending", "not-a-cursor", 0, 2));
+    }
+
+    /**
+     * Test: Reviewed flags include the reviewer email.
+     */
+    @Test
+    @Transactional
+    void testPage_ReviewerEmail() {
+        QueuePage page = moderationQueueService.page("dismissed", null, 0, 20);
+
+        assertEquals(1, page.flags().size());
+        assertEquals("admin@example.com", page.flags().get(0).reviewedByEmail());
+    }
+
+    /**
+     * Test: Counts are grouped by status.
+     */
+    @Test
+    @Transactional
+    void testCountsByStatus() {
+        Map<String, Long> counts = moderationQueueService.countsByStatus();
+
+        assertEquals(3L, counts.get("pending"));
+        assertEquals(1L, counts.get("dismissed"));
+        assertFalse(counts.containsKey("approved"));
+    }
+
+    private ListingFlag createFlag(String reason, String status, Instant createdAt) {
+        ListingFlag flag = new ListingFlag();
+        flag.listingId = testListingId;
+        flag.userId = testUserId;
+        flag.reason = reason;
+        flag.status = status;
+        flag.createdAt = createdAt;
+        flag.updatedAt = createdAt;
+        flag.persist();
+        return flag;
+    }
+
+    private User createTestUser(UUID userId, String email) {
+        User user = new User();
+        user.id = userId;
+        user.email = email;
+        user.isAnonymous = false;
+        user.directoryKarma = 0;
+        user.directoryTrustLevel = "untrusted";
+        user.analyticsConsent = false;
+        user.isBanned = false;
+        user.createdAt = Instant.now();
+        user.updatedAt = Instant.now();
+        user.persist();
+        return user;
+    }
+}
@@ -0,0 +1,181 @@
+package villagecompute.homepage.services;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import villagecompute.homepage.TestFixtures;
+import villagecompute.homepage.data.models.EmailDeliveryLog;
+import villagecompute.homepage.data.models.NotificationPreferences;
+import villagecompute.homepage.data.models.User;
+import villagecompute.homepage.data.models.UserNotification;
+import villagecompute.homepage.testing.PostgreSQLTestProfile;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for {@link NotificationDigestService} paged digest generation.
+ */
+@QuarkusTest
+@TestProfile(PostgreSQLTestProfile.class)
+class NotificationDigestServiceTest {
+
+    @Inject
+    NotificationDigestService digestService;
+
+    private final List<UUID> userIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            EmailDeliveryLog.delete("userId IN ?1", userIds);
+            UserNotification.delete("userId IN ?1", userIds);
+            NotificationPreferences.delete("userId IN ?1", userIds);
+            User.delete("id IN ?1", userIds);
+        });
+        userIds.clear();
+    }
+
+    @Test
+    void testSendDigests_QueuesOneDigestPerOptedInUser() {
+        Instant since = Instant.now().minus(Duration.ofDays(7));
+        UUID optedIn = createUser(true, false);
+        UUID optedOut = createUser(false, false);
+        UUID bounced = createUser(true, true);
+        for (UUID userId : List.of(optedIn, optedOut, bounced)) {
+            createNotification(userId, "Recent notification", Instant.now().minus(Duration.ofHours(2)), null);
+            createNotification(userId, "Another notification", Instant.now().minus(Duration.ofDays(1)), null);
+        }
+        createNotification(optedIn, "Already read", Instant.now().minus(Duration.ofHours(1)), Instant.now());
+        createNotification(optedIn, "Too old", Instant.now().minus(Duration.ofDays(30)), null);
+
+        NotificationDigestService.DigestRun run = digestService.sendDigests(since);
+
+        assertEquals(1, run.digests());
+        assertEquals(2, run.notifications());
+        List<EmailDeliveryLog> queued = digestsFor(optedIn);
+        assertEquals(1, queued.size());
+        EmailDeliveryLog digest = queued.get(0);
+        assertEquals("notification-digest", digest.templateName);
+        assertEquals("You have 2 unread notifications", digest.subject);
+        assertTrue(digest.textBody.contains("Recent notification"));
+        assertTrue(digest.textBody.contains("2 hours ago"));
+        assertFalse(digest.textBody.contains("Already read"));
+        assertFalse(digest.textBody.contains("Too old"));
+        assertTrue(digestsFor(optedOut).isEmpty());
+        assertTrue(digestsFor(bounced).isEmpty());
+    }
+
+    @Test
+    void testSendDigests_RetryForSameWindowSkipsSentUsers() {
+        Instant since = Instant.now().minus(Duration.ofDays(7));
+        UUID sent = createUser(true, false);
+        createNotification(sent, "Recent notification", Instant.now().minus(Duration.ofHours(2)), null);
+
+        assertEquals(1, digestService.sendDigests(since).digests());
+
+        // A user who was not reached before the failure still gets the retried window
+        UUID pending = createUser(true, false);
+        createNotification(pending, "Recent notification", Instant.now().minus(Duration.ofHours(1)), null);
+
+        NotificationDigestService.DigestRun retry = digestService.sendDigests(since);
+
+        assertEquals(1, retry.digests());
+        assertEquals(1, digestsFor(sent).size());
+        assertEquals(1, digestsFor(pending).size());
+
+        NotificationDigestService.DigestRun nextWindow = digestService.sendDigests(since.plus(Duration.ofHours(1)));
+
+        assertEquals(2, nextWindow.digests());
+        assertEquals(2, digestsFor(sent).size());
+    }
+
+    @Test
+    void testSendDigests_FillsSharedFramePerRecipient() {
+        Instant since = Instant.now().minus(Duration.ofDays(7));
+        UUID one = createUser(true, false);
+        createNotification(one, "Tom & Jerry <3", Instant.now().minus(Duration.ofHours(3)), null);
+        UUID two = createUser(true, false);
+        createNotification(two, "First", Instant.now().minus(Duration.ofHours(1)), null);
+        createNotification(two, "Second", Instant.now().minus(Duration.ofHours(2)), null);
+
+        assertEquals(2, digestService.sendDigests(since).digests());
+
+        EmailDeliveryLog single = digestsFor(one).get(0);
+        assertTrue(single.htmlBody.contains("Hi Digest User,"));
+        assertTrue(single.htmlBody.contains("You have 1 unread notification waiting"));
+        assertTrue(single.htmlBody.contains("Tom &amp; Jerry &lt;3"), "HTML values should be escaped");
+        assertTrue(single.textBody.contains("Tom & Jerry <3"), "Text values should not be escaped");
+        assertTrue(single.htmlBody.contains("/api/notifications/unsubscribe?token="));
+
+        EmailDeliveryLog multiple = digestsFor(two).get(0);
+        assertTrue(multiple.textBody.contains("You have 2 unread notifications"));
+        assertTrue(multiple.textBody.indexOf("First") < multiple.textBody.indexOf("Second"), "Newest first");
+        assertTrue(multiple.textBody.contains("2 hours ago"));
+        for (EmailDeliveryLog digest : List.of(single, multiple)) {
+            assertFalse(digest.htmlBody.contains("\0") || digest.textBody.contains("\0"), "No placeholder left");
+            assertFalse(digest.htmlBody.contains(Long.toString(Long.MIN_VALUE)), "No count placeholder left");
+        }
+    }
+
+    @Test
+    void testSendDigests_NoRecipients() {
+        createUser(true, false);
+
+        NotificationDigestService.DigestRun run = digestService.sendDigests(Instant.now().minus(Duration.ofDays(7)));
+
+        assertEquals(0, run.digests());
+        assertEquals(0, run.pages());
+    }
+
+    @Test
+    void testTimeAgo() {
+        Instant now = Instant.now();
+        assertEquals("just now", NotificationDigestService.timeAgo(now.minusSeconds(20), now));
+        assertEquals("1 minute ago", NotificationDigestService.timeAgo(now.minusSeconds(90), now));
+        assertEquals("3 hours ago", NotificationDigestService.timeAgo(now.minus(Duration.ofHours(3)), now));
+        assertEquals("2 days ago", NotificationDigestService.timeAgo(now.minus(Duration.ofDays(2)), now));
+    }
+
+    private UUID createUser(boolean digestOptIn, boolean emailDisabled) {
+        UUID id = QuarkusTransaction.requiringNew().call(() -> {
+            User user = TestFixtures.createTestUser("digest-" + UUID.randomUUID() + "@example.com", "Digest User");
+            user.emailDisabled = emailDisabled;
+
+            NotificationPreferences prefs = new NotificationPreferences();
+            prefs.userId = user.id;
+            prefs.emailDigest = digestOptIn;
+            prefs.createdAt = Instant.now();
+            prefs.updatedAt = Instant.now();
+            prefs.persist();
+            return user.id;
+        });
+        userIds.add(id);
+        return id;
+    }
+
+    private static void createNotification(UUID userId, String title, Instant createdAt, Instant readAt) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            UserNotification notification = new UserNotification();
+            notification.userId = userId;
+            notification.type = "test";
+            notification.title = title;
+            notification.message = title + " message";
+            notification.createdAt = createdAt;
+            notification.readAt = readAt;
+            notification.persist();
+        });
+    }
+
+    private static List<EmailDeliveryLog> digestsFor(UUID userId) {
+        return QuarkusTransaction.requiringNew().call(() -> EmailDeliveryLog.findByUserId(userId));
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import villagecompute.homepage.data.models.LinkClick;
 import villagecompute.homepage.data.models.ProfileCuratedArticle;
 import villagecompute.homepage.data.models.ReservedUsername;
 import villagecompute.homepage.data.models.User;
@@ -44,6 +45,9 @@ public class ProfileServiceTest {
     @Inject
     ProfileService profileService;
 
+    @Inject
+    ProfileViewCounter viewCounter;
+
     private UUID testUserId;
 
     @BeforeEach
@@ -73,6 +77,7 @@ public class ProfileServiceTest {
     @AfterEach
     @Transactional
     public void tearDown() {
+        LinkClick.delete("targetId IN (SELECT p.id FROM UserProfile p WHERE p.username LIKE 'testservice%')");
         UserProfile.delete("username LIKE 'testservice%'");
         User.delete("id = ?1", testUserId);
     }
@@ -294,10 +299,33 @@ public class ProfileServiceTest {
         UserProfile profile = profileService.createProfile(testUserId, "testservice123");
         assertEquals(0, profile.viewCount);
 
-        profileService.incrementViewCount(profile.id, testUserId, "session123", "127.0.0.1", "Mozilla/5.0 Test Agent");
+        assertTrue(profileService.incrementViewCount(profile.id, testUserId, "session123", "127.0.0.1",
+                "Mozilla/5.0 Test Agent"));
+        assertEquals(0, profileService.getProfile(profile.id).viewCount, "Views are counted in memory until flushed");
+        assertEquals(1, viewCounter.pendingViews(profile.id));
+
+        viewCounter.flush();
 
         UserProfile updated = profileService.getProfile(profile.id);
         assertEquals(1, updated.viewCount);
+        assertEquals(0, viewCounter.pendingViews(profile.id));
+        assertEquals(0, viewCounter.pendingProfiles(), "Drained profiles are removed from the pending map");
+        assertEquals(1, QuarkusTransaction.requiringNew().call(() -> LinkClick
+                .count("clickType = ?1 AND targetId = ?2", ProfileViewCounter.CLICK_TYPE_PROFILE_VIEW, profile.id)));
+    }
+
+    @Test
+    public void testIncrementViewCount_DedupesRepeatViewsPerSession() {
+        UserProfile profile = profileService.createProfile(testUserId, "testservice123");
+
+        assertTrue(profileService.incrementViewCount(profile.id, null, "anon-a", "127.0.0.1", "Agent"));
+        assertFalse(profileService.incrementViewCount(profile.id, null, "anon-a", "127.0.0.1", "Agent"));
+        assertTrue(profileService.incrementViewCount(profile.id, null, "anon-b", "127.0.0.2", "Agent"));
+        assertEquals(2, viewCounter.pendingViews(profile.id));
+
+        viewCounter.flush();
+
+        assertEquals(2, profileService.getProfile(profile.id).viewCount);
     }
 
     // ========== Soft Delete Tests ==========
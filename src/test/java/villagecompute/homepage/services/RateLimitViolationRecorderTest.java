@@ -0,0 +1,66 @@
+package villagecompute.homepage.services;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import villagecompute.homepage.data.models.RateLimitViolation;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RateLimitViolationRecorder: in-memory coalescing of denials and batched persistence.
+ */
+@QuarkusTest
+class RateLimitViolationRecorderTest {
+
+    @Inject
+    RateLimitViolationRecorder violationRecorder;
+
+    @BeforeEach
+    void setUp() {
+        violationRecorder.flush();
+        QuarkusTransaction.requiringNew().run(() -> RateLimitViolation.deleteAll());
+    }
+
+    @Test
+    void testRecord_CoalescesDenialsPerSubject() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(violationRecorder.record(42L, "10.0.0.1", "vote", "/api/vote"));
+        }
+        violationRecorder.record(null, "10.0.0.2", "vote", "/api/vote");
+
+        violationRecorder.flush();
+        assertEquals(0, violationRecorder.pendingCount());
+
+        List<RateLimitViolation> userRows = QuarkusTransaction.requiringNew()
+                .call(() -> RateLimitViolation.findByUser(42L, 10));
+        assertEquals(1, userRows.size());
+        assertEquals(3, userRows.get(0).violationCount);
+        assertEquals("10.0.0.1", userRows.get(0).ipAddress);
+
+        List<RateLimitViolation> ipRows = QuarkusTransaction.requiringNew()
+                .call(() -> RateLimitViolation.findByIp("10.0.0.2", 10));
+        assertEquals(1, ipRows.size());
+        assertEquals(1, ipRows.get(0).violationCount);
+    }
+
+    @Test
+    void testFlush_AddsToRecentViolation() {
+        violationRecorder.record(null, "10.0.0.3", "login", "/api/auth/login");
+        violationRecorder.flush();
+
+        violationRecorder.record(null, "10.0.0.3", "login", "/api/auth/login");
+        violationRecorder.record(null, "10.0.0.3", "login", "/api/auth/login");
+        violationRecorder.flush();
+
+        List<RateLimitViolation> rows = QuarkusTransaction.requiringNew()
+                .call(() -> RateLimitViolation.findByIp("10.0.0.3", 10));
+        assertEquals(1, rows.size());
+        assertEquals(3, rows.get(0).violationCount);
+        assertFalse(rows.get(0).lastViolationAt.isBefore(rows.get(0).firstViolationAt));
+    }
+}
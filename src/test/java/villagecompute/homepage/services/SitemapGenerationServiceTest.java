@@ -1,34 +1,45 @@
 package villagecompute.homepage.services;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.InjectMock;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import villagecompute.homepage.api.types.SitemapUrlType;
 import villagecompute.homepage.data.models.DirectoryCategory;
 import villagecompute.homepage.data.models.DirectorySite;
 import villagecompute.homepage.data.models.MarketplaceListing;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for {@link SitemapGenerationService}.
  * <p>
- * Tests sitemap XML generation, URL collection, splitting logic, and R2 upload integration.
+ * Tests sharded sitemap XML generation, URL collection, exclusions, incremental upload and R2 integration.
  */
 @QuarkusTest
 class SitemapGenerationServiceTest {
@@ -42,6 +53,10 @@ class SitemapGenerationServiceTest {
     @Inject
     EntityManager entityManager;
 
+    @ConfigProperty(
+            name = "villagecompute.homepage.base-url")
+    String baseUrl;
+
     private UUID categoryId;
     private UUID siteId;
     private UUID listingId;
@@ -55,17 +70,8 @@ class SitemapGenerationServiceTest {
         DirectoryCategory.deleteAll();
 
         // Create test directory category
-        DirectoryCategory category = new DirectoryCategory();
-        category.slug = "test-category";
-        category.name = "Test Category";
-        category.description = "Test category for sitemap";
-        category.parentId = null;
-        category.iconUrl = null;
-        category.sortOrder = 1;
-        category.linkCount = 0;
-        category.isActive = true;
-        category.createdAt = Instant.now();
-        category.updatedAt = Instant.now();
+        DirectoryCategory category = newCategory("test-category", 1);
+        category.updatedAt = Instant.parse("2024-03-01T12:00:00Z");
         category.persist();
         categoryId = category.id;
 
@@ -99,45 +105,48 @@ class SitemapGenerationServiceTest {
     }
 
     @Test
-    @Transactional
-    void testGetSitemapUrls_includesAllPublicContent() {
-        // When: Query all sitemap URLs
-        List<SitemapUrlType> urls = service.getSitemapUrls();
-
-        // Then: Should include homepage, category, site, and listing
-        assertTrue(urls.size() >= 4, "Should include at least homepage + category + site + listing");
-
-        // Verify homepage (priority 1.0)
-        SitemapUrlType homepage = urls.stream().filter(u -> u.priority() == 1.0).findFirst().orElse(null);
-        assertNotNull(homepage, "Homepage should be included");
-        assertTrue(homepage.location().endsWith("/"), "Homepage should end with /");
-        assertEquals("daily", homepage.changeFreq());
-
-        // Verify category (priority 0.8)
-        SitemapUrlType category = urls.stream().filter(u -> u.location().contains("/directory/test-category"))
-                .findFirst().orElse(null);
-        assertNotNull(category, "Category should be included");
-        assertEquals(0.8, category.priority());
-        assertEquals("weekly", category.changeFreq());
-
-        // Verify site (priority 0.7)
-        SitemapUrlType site = urls.stream().filter(u -> u.location().contains("/directory/sites/" + siteId)).findFirst()
-                .orElse(null);
-        assertNotNull(site, "Directory site should be included");
-        assertEquals(0.7, site.priority());
-        assertEquals("monthly", site.changeFreq());
-
-        // Verify listing (priority 0.6)
-        SitemapUrlType listing = urls.stream().filter(u -> u.location().contains("/marketplace/listings/" + listingId))
-                .findFirst().orElse(null);
-        assertNotNull(listing, "Marketplace listing should be included");
-        assertEquals(0.6, listing.priority());
-        assertEquals("daily", listing.changeFreq());
+    void testGenerateAndUploadSitemaps_includesAllPublicContent() throws Exception {
+        // When: Generate all shards
+        Map<String, String> shards = generateShards();
+
+        // Then: Homepage and category in the pages shard, site and listing in their range shards
+        String pages = shards.get("sitemaps/sitemap-pages.xml.gz");
+        assertTrue(pages.contains("<loc>" + baseUrl + "</loc>\n    <lastmod>2024-03-01</lastmod>\n"
+                + "    <changefreq>daily</changefreq>\n    <priority>1.0</priority>"), "Homepage should be included");
+        assertTrue(pages.indexOf("<loc>" + baseUrl + "</loc>") < pages.indexOf("/directory/test-category"),
+                "Homepage should be listed first");
+        assertTrue(pages.contains("/directory/test-category</loc>\n    <lastmod>2024-03-01</lastmod>\n"
+                + "    <changefreq>weekly</changefreq>\n    <priority>0.8</priority>"), "Category should be included");
+
+        assertTrue(shards.get("sitemaps/sitemap-sites-1.xml.gz").contains("/directory/sites/" + siteId
+                + "</loc>\n    <lastmod>"), "Directory site should be included");
+        assertTrue(shards.get("sitemaps/sitemap-sites-1.xml.gz")
+                .contains("<changefreq>monthly</changefreq>\n    <priority>0.7</priority>"));
+        assertTrue(shards.get("sitemaps/sitemap-listings-1.xml.gz").contains("/marketplace/listings/" + listingId),
+                "Marketplace listing should be included");
+        assertTrue(shards.get("sitemaps/sitemap-listings-1.xml.gz")
+                .contains("<changefreq>daily</changefreq>\n    <priority>0.6</priority>"));
     }
 
     @Test
-    @Transactional
-    void testGetSitemapUrls_excludesPendingDirectorySites() {
+    void testGenerateAndUploadSitemaps_homepageLastmodFollowsNewestCategory() throws Exception {
+        // Given: A second, newer category
+        QuarkusTransaction.requiringNew().run(() -> {
+            DirectoryCategory newer = newCategory("newer-category", 2);
+            newer.updatedAt = Instant.parse("2024-05-20T10:00:00Z");
+            newer.persist();
+        });
+
+        // When: Generate all shards
+        String pages = generateShards().get("sitemaps/sitemap-pages.xml.gz");
+
+        // Then: The homepage carries the newest category date rather than the run date
+        assertTrue(pages.contains("<loc>" + baseUrl + "</loc>\n    <lastmod>2024-05-20</lastmod>"),
+                "Homepage lastmod should be the newest category updatedAt");
+    }
+
+    @Test
+    void testGenerateAndUploadSitemaps_excludesPendingDirectorySites() throws Exception {
         // Given: Create pending directory site
         DirectorySite pendingSite = new DirectorySite();
         pendingSite.url = "https://pending-site.com";
@@ -150,19 +159,19 @@ class SitemapGenerationServiceTest {
         pendingSite.healthCheckFailures = 0;
         pendingSite.createdAt = Instant.now();
         pendingSite.updatedAt = Instant.now();
-        pendingSite.persist();
+        QuarkusTransaction.requiringNew().run(pendingSite::persist);
 
-        // When: Query sitemap URLs
-        List<SitemapUrlType> urls = service.getSitemapUrls();
+        // When: Generate all shards
+        Map<String, String> shards = generateShards();
 
         // Then: Pending site should NOT be included
-        boolean hasPendingSite = urls.stream().anyMatch(u -> u.location().contains(pendingSite.id.toString()));
+        assertTrue(shards.get("sitemaps/sitemap-sites-1.xml.gz").contains(siteId.toString()));
+        boolean hasPendingSite = shards.values().stream().anyMatch(xml -> xml.contains(pendingSite.id.toString()));
         assertFalse(hasPendingSite, "Pending directory sites should be excluded");
     }
 
     @Test
-    @Transactional
-    void testGetSitemapUrls_excludesExpiredListings() {
+    void testGenerateAndUploadSitemaps_excludesExpiredListings() throws Exception {
         // Given: Create expired marketplace listing
         MarketplaceListing expiredListing = new MarketplaceListing();
         expiredListing.title = "Expired Listing";
@@ -173,100 +182,74 @@ class SitemapGenerationServiceTest {
         expiredListing.expiresAt = Instant.now().minus(1, ChronoUnit.DAYS); // Expired
         expiredListing.createdAt = Instant.now();
         expiredListing.updatedAt = Instant.now();
-        expiredListing.persist();
+        QuarkusTransaction.requiringNew().run(expiredListing::persist);
 
-        // When: Query sitemap URLs
-        List<SitemapUrlType> urls = service.getSitemapUrls();
+        // When: Generate all shards
+        Map<String, String> shards = generateShards();
 
         // Then: Expired listing should NOT be included
-        boolean hasExpiredListing = urls.stream().anyMatch(u -> u.location().contains(expiredListing.id.toString()));
+        assertTrue(shards.get("sitemaps/sitemap-listings-1.xml.gz").contains(listingId.toString()));
+        boolean hasExpiredListing = shards.values().stream()
+                .anyMatch(xml -> xml.contains(expiredListing.id.toString()));
         assertFalse(hasExpiredListing, "Expired marketplace listings should be excluded");
     }
 
     @Test
-    @Transactional
-    void testGetSitemapUrls_sortedByPriorityDesc() {
-        // When: Query sitemap URLs
-        List<SitemapUrlType> urls = service.getSitemapUrls();
-
-        // Then: URLs should be sorted by priority DESC (homepage first)
-        assertTrue(urls.size() > 0, "Should have at least one URL");
-        assertEquals(1.0, urls.get(0).priority(), "First URL should be homepage with priority 1.0");
-
-        // Verify descending priority order
-        for (int i = 1; i < urls.size(); i++) {
-            assertTrue(urls.get(i - 1).priority() >= urls.get(i).priority(), "URLs should be sorted by priority DESC");
+    void testGenerateAndUploadSitemaps_producesValidXml() throws Exception {
+        // When: Generate all shards
+        Map<String, String> shards = generateShards();
+
+        // Then: Every shard is a sitemaps.org urlset, the index a sitemapindex
+        for (Map.Entry<String, String> shard : shards.entrySet()) {
+            String xml = shard.getValue();
+            assertTrue(xml.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"),
+                    "XML should start with declaration: " + shard.getKey());
+            if (shard.getKey().equals("sitemaps/sitemap.xml")) {
+                assertTrue(xml.contains("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">"),
+                        "Index should have sitemapindex root with namespace");
+            } else {
+                assertTrue(xml.contains("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">"),
+                        "Shard should have urlset root with namespace: " + shard.getKey());
+                assertTrue(xml.endsWith("</urlset>\n"));
+            }
         }
     }
 
     @Test
-    void testGenerateSitemap_producesValidXml() {
-        // Given: Sample URLs
-        List<SitemapUrlType> urls = List.of(
-                new SitemapUrlType("https://homepage.villagecompute.com/", "2024-01-15", "daily", 1.0),
-                new SitemapUrlType("https://homepage.villagecompute.com/directory/test", "2024-01-14", "weekly", 0.8));
-
-        // When: Generate sitemap XML
-        String xml = service.generateSitemap(urls);
-
-        // Then: Should produce valid XML
-        assertTrue(xml.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"), "XML should start with declaration");
-        assertTrue(xml.contains("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">"),
-                "XML should have urlset root with namespace");
-        assertTrue(xml.contains("<loc>https://homepage.villagecompute.com/</loc>"), "XML should contain URLs");
-        assertTrue(xml.contains("<priority>1.0</priority>"), "XML should contain priority");
-        assertTrue(xml.contains("<changefreq>daily</changefreq>"), "XML should contain change frequency");
-        assertTrue(xml.contains("<lastmod>2024-01-15</lastmod>"), "XML should contain last modified date");
-    }
-
-    @Test
-    void testGenerateSitemap_throwsExceptionIfTooManyUrls() {
-        // Given: More than 50,000 URLs
-        List<SitemapUrlType> tooManyUrls = new java.util.ArrayList<>();
-        for (int i = 0; i < 50001; i++) {
-            tooManyUrls.add(new SitemapUrlType("https://example.com/" + i, "2024-01-15", "daily", 0.5));
+    void testShardWriter_throwsExceptionIfTooManyUrls() {
+        // Given: A shard already holding 50,000 URLs
+        SitemapGenerationService.ShardWriter writer = new SitemapGenerationService.ShardWriter();
+        for (int i = 0; i < 50000; i++) {
+            writer.url("https://example.com/" + i, "2024-01-15", "daily", 0.5);
         }
 
         // When/Then: Should throw exception
-        assertThrows(IllegalArgumentException.class, () -> service.generateSitemap(tooManyUrls),
+        assertThrows(IllegalStateException.class, () -> writer.url("https://example.com/50000", null, "daily", 0.5),
                 "Should reject URL count exceeding 50,000");
     }
 
     @Test
-    void testGenerateSitemapIndex_producesValidXml() {
-        // Given: Sample sitemap URLs
-        List<String> sitemapUrls = List.of("https://cdn.villagecompute.com/sitemaps/sitemap-1.xml",
-                "https://cdn.villagecompute.com/sitemaps/sitemap-2.xml");
-
-        // When: Generate sitemap index XML
-        String xml = service.generateSitemapIndex(sitemapUrls);
-
-        // Then: Should produce valid XML
-        assertTrue(xml.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"), "XML should start with declaration");
-        assertTrue(xml.contains("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">"),
-                "XML should have sitemapindex root with namespace");
-        assertTrue(xml.contains("<loc>https://cdn.villagecompute.com/sitemaps/sitemap-1.xml</loc>"),
-                "XML should contain sitemap URLs");
-        assertTrue(xml.contains("<loc>https://cdn.villagecompute.com/sitemaps/sitemap-2.xml</loc>"),
-                "XML should contain all sitemap URLs");
-        assertTrue(xml.contains("<lastmod>"), "XML should contain lastmod element");
+    void testGenerateAndUploadSitemaps_indexReferencesShardsWithLastmod() throws Exception {
+        // When: Generate all shards
+        String index = generateShards().get("sitemaps/sitemap.xml");
+
+        // Then: Index lists every shard with its CDN URL and lastmod
+        for (String shard : List.of("sitemap-pages.xml.gz", "sitemap-sites-1.xml.gz", "sitemap-listings-1.xml.gz")) {
+            assertTrue(index.matches("(?s).*<loc>\\S+/sitemaps/" + Pattern.quote(shard)
+                    + "</loc>\\s*<lastmod>\\d{4}-\\d{2}-\\d{2}</lastmod>.*"), "Index should reference " + shard);
+        }
     }
 
     @Test
-    void testUploadSitemap_callsS3Client() {
-        // Given: Sample XML
-        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><urlset></urlset>";
+    void testGenerateAndUploadSitemaps_uploadsIndexAsXml() {
+        // When: Generate all shards
+        service.generateAndUploadSitemaps();
 
-        // When: Upload sitemap
-        service.uploadSitemap(xml, "sitemap.xml");
-
-        // Then: Should call S3 client with correct parameters
+        // Then: Index is stored as XML under the sitemaps prefix
         ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
-        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client, times(4)).putObject(requestCaptor.capture(), any(RequestBody.class));
 
-        verify(s3Client, times(1)).putObject(requestCaptor.capture(), bodyCaptor.capture());
-
-        PutObjectRequest request = requestCaptor.getValue();
+        PutObjectRequest request = requestCaptor.getAllValues().get(3);
         assertEquals("sitemaps/sitemap.xml", request.key(), "Object key should include sitemaps prefix");
         assertEquals("application/xml", request.contentType(), "Content type should be application/xml");
         assertTrue(request.metadata().containsKey("content-type"), "Metadata should include content-type");
@@ -274,17 +257,94 @@ class SitemapGenerationServiceTest {
 
     @Test
     @Transactional
-    void testGenerateAndUploadSitemaps_singleFile() {
-        // Given: Less than 50K URLs (setUp creates only a few)
+    void testGenerateAndUploadSitemaps_shardedLayout() throws Exception {
+        // Given: Less than 25K URLs per section (setUp creates only a few)
         // When: Generate and upload sitemaps
         List<String> uploadedUrls = service.generateAndUploadSitemaps();
 
-        // Then: Should upload single sitemap
-        assertEquals(1, uploadedUrls.size(), "Should upload single sitemap for <50K URLs");
-        assertTrue(uploadedUrls.get(0).endsWith("/sitemaps/sitemap.xml"), "URL should be CDN sitemap URL");
+        // Then: One gzip shard per section plus the index
+        assertEquals(4, uploadedUrls.size(), "Should upload pages, sites, listings shards and index");
+        assertTrue(uploadedUrls.get(3).endsWith("/sitemaps/sitemap.xml"), "Index should be uploaded last");
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client, times(4)).putObject(requestCaptor.capture(), bodyCaptor.capture());
+
+        List<String> keys = requestCaptor.getAllValues().stream().map(PutObjectRequest::key).toList();
+        assertEquals(List.of("sitemaps/sitemap-pages.xml.gz", "sitemaps/sitemap-sites-1.xml.gz",
+                "sitemaps/sitemap-listings-1.xml.gz", "sitemaps/sitemap.xml"), keys);
+        assertEquals("application/gzip", requestCaptor.getAllValues().get(0).contentType());
+        assertNotNull(requestCaptor.getAllValues().get(0).metadata().get("content-sha256"));
 
-        // Verify S3 upload was called once
-        verify(s3Client, times(1)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        String listingsXml = gunzip(bodyCaptor.getAllValues().get(2));
+        assertTrue(listingsXml.contains("/marketplace/listings/" + listingId), "Listings shard should stream ids");
+
+        String indexXml = new String(bodyCaptor.getAllValues().get(3).contentStreamProvider().newStream()
+                .readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(indexXml.contains("/sitemaps/sitemap-sites-1.xml.gz"), "Index should reference shards");
+    }
+
+    @Test
+    @Transactional
+    void testGenerateAndUploadSitemaps_skipsUnchangedShards() {
+        // Given: A first run has stored every shard with its content hash
+        service.generateAndUploadSitemaps();
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client, times(4)).putObject(requestCaptor.capture(), any(RequestBody.class));
+        for (PutObjectRequest stored : requestCaptor.getAllValues()) {
+            when(s3Client.headObject(
+                    argThat((HeadObjectRequest head) -> head != null && stored.key().equals(head.key()))))
+                    .thenReturn(HeadObjectResponse.builder().metadata(stored.metadata()).build());
+        }
+        clearInvocations(s3Client);
+
+        // When: Regenerate with no data changes
+        List<String> uploadedUrls = service.generateAndUploadSitemaps();
+
+        // Then: Nothing is re-uploaded
+        assertTrue(uploadedUrls.isEmpty(), "Unchanged shards and index should be skipped");
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void testShardCountFor_powerOfTwoAtTargetSize() {
+        assertEquals(1, SitemapGenerationService.shardCountFor(0));
+        assertEquals(1, SitemapGenerationService.shardCountFor(25_000));
+        assertEquals(2, SitemapGenerationService.shardCountFor(25_001));
+        assertEquals(4, SitemapGenerationService.shardCountFor(75_000));
+        assertEquals(8, SitemapGenerationService.shardCountFor(150_000));
+    }
+
+    @Test
+    void testShardLowerBound_splitsUuidSpaceByLeadingBits() {
+        assertNull(SitemapGenerationService.shardLowerBound(0, 4));
+        assertEquals(UUID.fromString("40000000-0000-0000-0000-000000000000"),
+                SitemapGenerationService.shardLowerBound(1, 4));
+        assertEquals(UUID.fromString("c0000000-0000-0000-0000-000000000000"),
+                SitemapGenerationService.shardLowerBound(3, 4));
+    }
+
+    @Test
+    void testShardWriter_hashIsStableForSameContent() throws Exception {
+        SitemapGenerationService.ShardWriter first = new SitemapGenerationService.ShardWriter();
+        first.url("https://example.com/a?x=1&y=2", "2026-01-01", "daily", 0.6);
+        byte[] gzipped = first.finish();
+
+        SitemapGenerationService.ShardWriter second = new SitemapGenerationService.ShardWriter();
+        second.url("https://example.com/a?x=1&y=2", "2026-01-01", "daily", 0.6);
+        second.finish();
+
+        assertEquals(first.contentHash(), second.contentHash());
+        String xml = new String(new GZIPInputStream(new ByteArrayInputStream(gzipped)).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertTrue(xml.contains("<loc>https://example.com/a?x=1&amp;y=2</loc>"), "Locations should be XML-escaped");
+        assertTrue(xml.endsWith("</urlset>\n"));
+    }
+
+    private static String gunzip(RequestBody body) throws Exception {
+        try (var in = new GZIPInputStream(body.contentStreamProvider().newStream())) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
     }
 
     @Test
@@ -304,29 +364,67 @@ class SitemapGenerationServiceTest {
     }
 
     @Test
-    @Transactional
-    void testGetSitemapUrls_formatsLastModifiedCorrectly() {
-        // When: Query sitemap URLs
-        List<SitemapUrlType> urls = service.getSitemapUrls();
-
-        // Then: lastModified should be in ISO 8601 date format (YYYY-MM-DD)
-        for (SitemapUrlType url : urls) {
-            assertNotNull(url.lastModified(), "lastModified should not be null");
-            assertTrue(url.lastModified().matches("\\d{4}-\\d{2}-\\d{2}"),
-                    "lastModified should be ISO 8601 date format (YYYY-MM-DD)");
+    void testGenerateAndUploadSitemaps_formatsLastModifiedCorrectly() throws Exception {
+        // When: Generate all shards
+        Map<String, String> shards = generateShards();
+
+        // Then: lastmod should be in ISO 8601 date format (YYYY-MM-DD)
+        for (String xml : shards.values()) {
+            Matcher lastmod = Pattern.compile("<lastmod>([^<]*)</lastmod>").matcher(xml);
+            while (lastmod.find()) {
+                assertTrue(lastmod.group(1).matches("\\d{4}-\\d{2}-\\d{2}"),
+                        "lastmod should be ISO 8601 date format (YYYY-MM-DD): " + lastmod.group(1));
+            }
         }
     }
 
     @Test
-    @Transactional
-    void testGetSitemapUrls_absoluteUrlsOnly() {
-        // When: Query sitemap URLs
-        List<SitemapUrlType> urls = service.getSitemapUrls();
+    void testGenerateAndUploadSitemaps_absoluteUrlsOnly() throws Exception {
+        // When: Generate all shards
+        Map<String, String> shards = generateShards();
 
         // Then: All URLs should be absolute (start with http:// or https://)
-        for (SitemapUrlType url : urls) {
-            assertTrue(url.location().startsWith("http://") || url.location().startsWith("https://"),
-                    "All sitemap URLs must be absolute: " + url.location());
+        for (String xml : shards.values()) {
+            Matcher loc = Pattern.compile("<loc>([^<]*)</loc>").matcher(xml);
+            while (loc.find()) {
+                assertTrue(loc.group(1).startsWith("http://") || loc.group(1).startsWith("https://"),
+                        "All sitemap URLs must be absolute: " + loc.group(1));
+            }
         }
     }
+
+    /**
+     * Runs a full generation and returns every uploaded object's XML by key, gunzipping the shards.
+     */
+    private Map<String, String> generateShards() throws Exception {
+        service.generateAndUploadSitemaps();
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client, atLeastOnce()).putObject(requestCaptor.capture(), bodyCaptor.capture());
+
+        Map<String, String> shards = new LinkedHashMap<>();
+        for (int i = 0; i < requestCaptor.getAllValues().size(); i++) {
+            String key = requestCaptor.getAllValues().get(i).key();
+            RequestBody body = bodyCaptor.getAllValues().get(i);
+            shards.put(key, key.endsWith(".gz") ? gunzip(body)
+                    : new String(body.contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8));
+        }
+        return shards;
+    }
+
+    private static DirectoryCategory newCategory(String slug, int sortOrder) {
+        DirectoryCategory category = new DirectoryCategory();
+        category.slug = slug;
+        category.name = "Test Category";
+        category.description = "Test category for sitemap";
+        category.parentId = null;
+        category.iconUrl = null;
+        category.sortOrder = sortOrder;
+        category.linkCount = 0;
+        category.isActive = true;
+        category.createdAt = Instant.now();
+        category.updatedAt = Instant.now();
+        return category;
+    }
 }
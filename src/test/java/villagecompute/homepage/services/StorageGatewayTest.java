@@ -7,17 +7,28 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import javax.imageio.ImageIO;
 
@@ -28,9 +39,17 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Tracer;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
@@ -40,6 +59,8 @@ import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
@@ -93,6 +114,9 @@ class StorageGatewayTest {
         setField(storageGateway, "thumbnailHeight", 200);
         setField(storageGateway, "fullWidth", 1280);
         setField(storageGateway, "fullHeight", 800);
+        setField(storageGateway, "listWidth", 640);
+        setField(storageGateway, "listHeight", 400);
+        setField(storageGateway, "multipartPartSizeMb", 5);
     }
 
     /**
@@ -337,6 +361,201 @@ class StorageGatewayTest {
         assertEquals("image/webp", result.contentType(), "Content type should be WebP after conversion");
     }
 
+    /**
+     * Test: Multi-variant upload stores every variant at its target size with a single call.
+     */
+    @Test
+    void testUploadImageVariants_success() throws Exception {
+        byte[] testData = createTestImage(2400, 1800);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+
+        Map<String, StorageUploadResultType> results = storageGateway.uploadImageVariants(BucketType.LISTINGS,
+                "listing-456", List.of("thumbnail", "list", "full"), testData, "image/jpeg");
+
+        assertEquals(List.of("thumbnail", "list", "full"), List.copyOf(results.keySet()));
+        assertEquals("listing-456/thumbnail/image.webp", results.get("thumbnail").objectKey());
+        assertEquals("listing-456/list/image.webp", results.get("list").objectKey());
+        assertEquals("listing-456/full/image.webp", results.get("full").objectKey());
+        results.values().forEach(result -> {
+            assertEquals("listings", result.bucket());
+            assertEquals("image/webp", result.contentType());
+            assertTrue(result.sizeBytes() > 0);
+        });
+        verify(s3Client, times(3)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        assertEquals(3.0, meterRegistry.get("storage.uploads.total").tag("status", "success").counter().count());
+    }
+
+    /**
+     * Test: Variants rendered by successive downscaling keep target bounds and aspect ratio.
+     */
+    @Test
+    void testRenderVariants_successiveDownscaling() {
+        BufferedImage original = new BufferedImage(3000, 1500, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = original.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, 3000, 1500);
+        g.dispose();
+
+        Map<String, BufferedImage> rasters = storageGateway.renderVariants(original,
+                List.of("thumbnail", "list", "full"));
+
+        assertEquals(320, rasters.get("thumbnail").getWidth());
+        assertEquals(200, rasters.get("thumbnail").getHeight());
+        assertEquals(640, rasters.get("list").getWidth());
+        assertEquals(1280, rasters.get("full").getWidth());
+        assertEquals(800, rasters.get("full").getHeight());
+
+        // 2:1 image in 1280x800 bounds -> 1280x640 centered, 80px letterbox bars
+        BufferedImage full = rasters.get("full");
+        assertEquals(Color.BLACK.getRGB(), full.getRGB(640, 10));
+        assertEquals(Color.WHITE.getRGB(), full.getRGB(640, 400));
+        // 2:1 image in 320x200 bounds -> 320x160 centered, 20px letterbox bars
+        BufferedImage thumbnail = rasters.get("thumbnail");
+        assertEquals(Color.BLACK.getRGB(), thumbnail.getRGB(160, 5));
+        assertEquals(Color.WHITE.getRGB(), thumbnail.getRGB(160, 100));
+    }
+
+    /**
+     * Test: Undecodable bytes fail before any variant is uploaded.
+     */
+    @Test
+    void testUploadImageVariants_invalidImage() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> storageGateway.uploadImageVariants(BucketType.LISTINGS, "listing-456",
+                        List.of("thumbnail", "full"), new byte[]{1, 2, 3}, "image/jpeg"));
+
+        assertTrue(exception.getMessage().contains("Invalid or corrupted image"));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    /**
+     * Test: Streams smaller than one part are stored with a single PUT and no multipart upload.
+     */
+    @Test
+    void testUploadStream_singlePart() throws Exception {
+        byte[] data = randomBytes(64 * 1024);
+        List<byte[]> bodies = new ArrayList<>();
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            bodies.add(readBody(invocation.getArgument(1)));
+            return PutObjectResponse.builder().build();
+        });
+
+        StorageUploadResultType result = storageGateway.uploadStream(BucketType.GDPR_EXPORTS, "exports/a.zip",
+                new ByteArrayInputStream(data), -1, "application/zip");
+
+        assertEquals("exports/a.zip", result.objectKey());
+        assertEquals(data.length, result.sizeBytes());
+        assertEquals("application/zip", result.contentType());
+        assertEquals(1, bodies.size());
+        assertArrayEquals(data, bodies.get(0));
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    /**
+     * Test: Streams larger than one part are uploaded as multipart parts reusing one buffer.
+     */
+    @Test
+    void testUploadStream_multipart() throws Exception {
+        int partSize = 5 * 1024 * 1024;
+        byte[] data = randomBytes(2 * partSize + 1234);
+        ByteArrayOutputStream uploaded = new ByteArrayOutputStream();
+        stubMultipart(uploaded, -1);
+
+        StorageUploadResultType result = storageGateway.uploadStream(BucketType.GDPR_EXPORTS, "exports/big.zip",
+                new ByteArrayInputStream(data), -1, "application/zip");
+
+        assertEquals(data.length, result.sizeBytes());
+        assertArrayEquals(data, uploaded.toByteArray());
+        verify(s3Client, times(3)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client).completeMultipartUpload(argThat((CompleteMultipartUploadRequest request) -> "upload-1"
+                .equals(request.uploadId()) && request.multipartUpload().parts().size() == 3));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    /**
+     * Test: A failed part aborts the multipart upload.
+     */
+    @Test
+    void testUploadStream_multipartFailureAborts() {
+        byte[] data = randomBytes(2 * 5 * 1024 * 1024 + 1);
+        stubMultipart(new ByteArrayOutputStream(), 2);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> storageGateway.uploadStream(BucketType.GDPR_EXPORTS, "exports/big.zip",
+                        new ByteArrayInputStream(data), data.length, "application/zip"));
+
+        assertTrue(exception.getMessage().contains("Storage upload failed"));
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    /**
+     * Test: Files are uploaded from disk and downloaded back to disk via streams.
+     */
+    @Test
+    void testUploadFileAndDownloadToFile() throws Exception {
+        byte[] data = randomBytes(4096);
+        Path source = Files.createTempFile("storage-upload", ".bin");
+        Path target = Files.createTempFile("storage-download", ".bin");
+        try {
+            Files.write(source, data);
+            List<byte[]> bodies = new ArrayList<>();
+            when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+                bodies.add(readBody(invocation.getArgument(1)));
+                return PutObjectResponse.builder().build();
+            });
+            when(s3Client.getObject(any(GetObjectRequest.class)))
+                    .thenReturn(new ResponseInputStream<>(GetObjectResponse.builder().contentLength((long) data.length)
+                            .build(), AbortableInputStream.create(new ByteArrayInputStream(data))));
+
+            StorageUploadResultType result = storageGateway.uploadFile(BucketType.GDPR_EXPORTS, "exports/f.bin",
+                    source, "application/octet-stream");
+            long written = storageGateway.downloadToFile(BucketType.GDPR_EXPORTS, "exports/f.bin", target);
+
+            assertEquals(data.length, result.sizeBytes());
+            assertArrayEquals(data, bodies.get(0));
+            assertEquals(data.length, written);
+            assertArrayEquals(data, Files.readAllBytes(target));
+        } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(target);
+        }
+    }
+
+    /**
+     * Stubs multipart calls, appending part bodies to {@code uploaded}. If {@code failOnPart} is positive, that part
+     * fails with an S3Exception.
+     */
+    private void stubMultipart(ByteArrayOutputStream uploaded, int failOnPart) {
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            if (request.partNumber() == failOnPart) {
+                throw S3Exception.builder().message("part failed")
+                        .awsErrorDetails(AwsErrorDetails.builder().errorMessage("part failed").build()).build();
+            }
+            // Body must be read now: the gateway reuses its buffer for the next part
+            uploaded.write(readBody(invocation.getArgument(1)));
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        });
+        when(s3Client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(CompleteMultipartUploadResponse.builder().build());
+    }
+
+    private static byte[] readBody(RequestBody body) throws Exception {
+        try (InputStream in = body.contentStreamProvider().newStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
     /**
      * Helper method to set private fields via reflection.
      */
@@ -351,10 +570,17 @@ class StorageGatewayTest {
      * actual WebP conversion.
      */
     private byte[] createValidTestImage() throws Exception {
-        BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+        return createTestImage(10, 10);
+    }
+
+    /**
+     * Creates a solid red test image of the given size as JPEG bytes.
+     */
+    private byte[] createTestImage(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
         Graphics2D g = image.createGraphics();
         g.setColor(Color.RED);
-        g.fillRect(0, 0, 10, 10);
+        g.fillRect(0, 0, width, height);
         g.dispose();
 
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
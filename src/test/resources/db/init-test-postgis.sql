@@ -8,3 +8,6 @@ CREATE EXTENSION IF NOT EXISTS postgis_topology;
 
 -- Enable pgvector extension (for semantic search embeddings - Feature I4.T1)
 CREATE EXTENSION IF NOT EXISTS vector;
+
+-- Enable pg_trgm (trigram word similarity in the Postgres marketplace search engine)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;